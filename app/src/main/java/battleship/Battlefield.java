@@ -0,0 +1,717 @@
+package battleship;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.GridPane;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+public class Battlefield extends GridPane {
+    /**
+     * Grid side length.
+     */
+    private double sideLength;
+
+    /**
+     * Grid element side length;
+     */
+    private double cellSideLength;
+
+    /**
+     * Decoration symbol.
+     */
+    private static final String ANCHOR = "⚓";
+
+    /**
+     * Field mark saying that player hit empty cell.
+     */
+    private static final String MISS = "•";
+
+    /**
+     * Field mark saying that ship was hit.
+     */
+    private static final String HIT = "╳";
+
+    /**
+     * List for displaying game logs information, rendering only visible entries.
+     */
+    private ListView<String> logArea;
+
+    /**
+     * Bounded log of the game shown in the log list.
+     */
+    private final GameLog gameLog;
+
+    /**
+     * Journal recording every game played on this battlefield, null if games are not recorded.
+     */
+    private MoveJournal journal;
+
+    /**
+     * Text area for displaying current game state information.
+     */
+    private TextArea gameInfoArea;
+
+    /**
+     * Current game ocean instance.
+     */
+    private Ocean ocean;
+
+    /**
+     * Current version of the game, its ancestors are the moves which can be undone.
+     */
+    private OceanState state;
+
+    /**
+     * Undone versions of the game which can be redone, the next one on top.
+     */
+    private final Deque<OceanState> redoStack = new ArrayDeque<>();
+
+    /**
+     * Computer shooter which follows the game and makes moves on player's request.
+     */
+    private final Shooter shooter;
+
+    /**
+     * Visual representation of the playing field.
+     */
+    private final BattlefieldView view;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Instrumentation of moves.
+     */
+    private final GameMetrics metrics = GameMetrics.get();
+
+    /**
+     * Time budget of a hint in nanoseconds.
+     */
+    private static final long HINT_BUDGET_NANOS = 5_000_000;
+
+    /**
+     * Style of the cell suggested by a hint.
+     */
+    private static final String HINT_STYLE = "-fx-background-color: khaki;";
+
+    /**
+     * Sampler of hidden fleet layouts used for hints, created on the first hint.
+     */
+    private PosteriorSampler hintSampler;
+
+    /**
+     * Helper array to process keyboard input.
+     */
+    Short[] keyboardInput = new Short[2];
+
+    /**
+     * Constructor which purpose is to set up field and information areas and create ocean
+     *
+     * @param logArea      list for displaying game logs information
+     * @param gameInfoArea area for displaying current game state information
+     */
+    public Battlefield(ListView<String> logArea, TextArea gameInfoArea) {
+        this(logArea, new GameLog(GameLog.DEFAULT_CAPACITY), gameInfoArea, GameConfig.STANDARD, Renderer.BUTTONS);
+    }
+
+    /**
+     * Constructor which purpose is to set up field of the given size and information areas and create ocean
+     *
+     * @param logArea      list for displaying game logs information
+     * @param gameLog      bounded log of the game shown in the list
+     * @param gameInfoArea area for displaying current game state information
+     * @param config       size of the playing field and composition of the fleet
+     * @param renderer     way to draw the playing field
+     */
+    Battlefield(ListView<String> logArea, GameLog gameLog, TextArea gameInfoArea, GameConfig config,
+                Renderer renderer) {
+        this.logArea = logArea;
+        this.gameLog = gameLog;
+        logArea.setItems(new GameLogList(gameLog));
+        this.gameInfoArea = gameInfoArea;
+        this.config = config;
+        this.shooter = ProbabilityDensityShooter.create(config, new SplittableRandom(), null);
+        this.sideLength = (double) Math.min(Utils.getScreenWidth(), Utils.getScreenHeight()) / 2.5;
+        this.cellSideLength = sideLength / (Math.max(config.getRows(), config.getColumns()) + 1);
+        setStyling();
+        if (renderer == Renderer.CANVAS) {
+            var canvas = new BattlefieldCanvas(config, cellSideLength,
+                    cell -> processMove(cell / config.getColumns(), cell % config.getColumns()));
+            this.add(canvas, 0, 0);
+            view = canvas;
+        } else {
+            setAnchor();
+            setBordersCaption();
+            view = setBattlefield();
+        }
+        generateNewOcean();
+    }
+
+    /**
+     * Getter for sideLength
+     *
+     * @return double size of field side
+     */
+    public double getSideLength() {
+        return sideLength;
+    }
+
+    /**
+     * Getter for cellSideLength
+     *
+     * @return double size of cell side length
+     */
+    public double getCellSideLength() {
+        return cellSideLength;
+    }
+
+    /**
+     * Setter for the journal recording every game played on this battlefield, starting from the current one.
+     * Every move, undo, redo and switch to a new branch of moves is recorded as it happens.
+     *
+     * @param journal journal to record games to, null to stop recording
+     */
+    void setJournal(MoveJournal journal) {
+        this.journal = journal;
+        recordGameStart();
+    }
+
+    /**
+     * Method which records the start of the current game, placement of ships and moves made so far.
+     *
+     * @throws UncheckedIOException when it is impossible to write to the journal
+     */
+    private void recordGameStart() throws UncheckedIOException {
+        if (journal == null) {
+            return;
+        }
+        // The ocean records the start of the game and placement of ships, moves are made on versions.
+        ocean.setJournal(journal);
+        ocean.setJournal(null);
+        for (var version : state.getHistory()) {
+            if (version.getLastCell() >= 0) {
+                record(j -> j.shotFired(version.getLastCell(), version.getLastResult()));
+            }
+        }
+    }
+
+    /**
+     * Method which writes the event to the journal, if games are recorded.
+     *
+     * @param event event to write
+     * @throws UncheckedIOException when it is impossible to write to the journal
+     */
+    private void record(JournalEvent event) throws UncheckedIOException {
+        if (journal == null) {
+            return;
+        }
+        try {
+            event.writeTo(journal);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Method to append the entry to the game log and scroll the log list to it.
+     *
+     * @param entry message to append
+     */
+    private void appendLog(String entry) {
+        gameLog.append(entry);
+        logArea.scrollTo(gameLog.size() - 1);
+    }
+
+    /**
+     * Method to set field styling.
+     */
+    public void setStyling() {
+        this.setHgap(1);
+        this.setVgap(2);
+        this.setPadding(new Insets(5, 5, 6, 5));
+        this.setStyle("-fx-background-color: lightblue");
+        this.setMaxSize(sideLength, sideLength);
+        GridPane.setMargin(this, new Insets(0, 0, 0, 10));
+        setLogAreaStyling();
+        setGameInfoAreaStyling();
+    }
+
+    /**
+     * Method to set log area styling.
+     */
+    public void setLogAreaStyling() {
+        logArea.setMaxWidth(sideLength + cellSideLength / 4 * 3);
+        logArea.setMinWidth(sideLength + cellSideLength / 4 * 3);
+        logArea.setEditable(false);
+        GridPane.setMargin(logArea, new Insets(20, 10, 0, 10));
+    }
+
+    /**
+     * Method to set game info area styling.
+     */
+    public void setGameInfoAreaStyling() {
+        gameInfoArea.setMaxWidth(sideLength + cellSideLength / 4 * 3);
+        gameInfoArea.setMinWidth(sideLength + cellSideLength / 4 * 3);
+        gameInfoArea.setMaxHeight(sideLength + cellSideLength + 5);
+        gameInfoArea.setMinHeight(sideLength + cellSideLength + 5);
+        gameInfoArea.setEditable(false);
+        GridPane.setMargin(gameInfoArea, new Insets(0, 0, 0, 10));
+        gameInfoArea.setStyle("-fx-font-size: large;");
+    }
+
+    /**
+     * Method to set decorating icon to field.
+     */
+    private void setAnchor() {
+        var anchorCell = new BattlefieldCell(this);
+        anchorCell.setText(ANCHOR);
+        anchorCell.setMaxSize(cellSideLength, cellSideLength);
+        anchorCell.setMinSize(cellSideLength, cellSideLength);
+        this.add(anchorCell, 0, 0);
+    }
+
+    /**
+     * Helper method to set field side caption.
+     *
+     * @param isRow true if current caption location is row, false – otherwise
+     */
+    private void setCaption(boolean isRow) {
+        for (int i = 1; i < (isRow ? config.getRows() : config.getColumns()) + 1; ++i) {
+            var captionCell = new BattlefieldCell(this);
+            captionCell.setMaxSize(cellSideLength, cellSideLength);
+            captionCell.setMinSize(cellSideLength, cellSideLength);
+            captionCell.setPrefSize(cellSideLength, cellSideLength);
+            captionCell.setText(Integer.toString(i - 1));
+            this.add(captionCell, isRow ? 0 : i, isRow ? i : 0);
+        }
+    }
+
+    /**
+     * Method to set to field side caption about coordinates
+     */
+    private void setBordersCaption() {
+        setCaption(true);
+        setCaption(false);
+    }
+
+    /**
+     * Method which generates new ocean instance and places ships randomly in it.
+     * Cells of the previous game are reused. This is the path of "play again", also driven by tests.
+     */
+    void generateNewOcean() {
+        ocean = new Ocean(config);
+        ocean.placeAllShipsRandomly();
+        state = OceanState.of(ocean);
+        redoStack.clear();
+        recordGameStart();
+        shooter.reset();
+        gameLog.clear();
+        appendLog(String.format("Game seed: %d", ocean.getSeed().getAsLong()));
+        gameInfoArea.clear();
+        resetBattlefield();
+        displayGameInfo();
+    }
+
+    /**
+     * Method to display warning if player tries to shoot at already shot coordinate.
+     */
+    public void showWarning() {
+        Platform.runLater(() -> {
+            Alert alert = new Alert(Alert.AlertType.NONE, "Warning!", ButtonType.OK);
+            alert.setTitle("Warning!");
+            alert.setContentText("You have already shoot at this coordinate!");
+            alert.showAndWait();
+        });
+    }
+
+    /**
+     * Method to check whether player has hit a ship or not.
+     *
+     * @param row    where player has shoot
+     * @param column where player has shoot
+     * @return result of the shot, null if the cell had already been shot at
+     */
+    private ShotResult hitOrMiss(int row, int column) {
+        if (!state.isShot(row, column)) {
+            var shot = metrics.begin(GameMetrics.Phase.SHOT);
+            if (!redoStack.isEmpty()) {
+                var abandoned = redoStack.size();
+                record(j -> j.branchStarted(abandoned));
+                redoStack.clear();
+            }
+            state = state.fire(row, column);
+            var result = state.getLastResult();
+            var cell = state.getLastCell();
+            record(j -> j.shotFired(cell, result));
+            shooter.observe(row, column, result);
+            shot.end();
+            var marks = metrics.begin(GameMetrics.Phase.MARKS);
+            if (result == ShotResult.MISS) {
+                view.markMiss(row, column);
+                appendLog("Miss!");
+            } else {
+                view.markHit(row, column);
+                Ship ship = state.getShipAt(row, column);
+                if (result == ShotResult.SUNK) {
+                    view.markSunk(ship);
+                    appendLog(String.format("You just sunk a %s!", ship.getShipType()));
+                } else {
+                    appendLog("Hit!");
+                }
+            }
+            marks.end();
+            return result;
+        }
+        showWarning();
+        appendLog("Re-shot at coordinate.");
+        return null;
+    }
+
+    /**
+     * Method to display game information after its end.
+     */
+    public void displayFinalGameInfo() {
+        Platform.runLater(() -> {
+            Alert alert = new Alert(Alert.AlertType.NONE, "Warning!", ButtonType.YES, ButtonType.NO);
+            alert.setTitle("Game over!");
+            alert.setContentText(getFinalGameInfo());
+            alert.showAndWait().ifPresent(type -> {
+                if (type == ButtonType.YES) {
+                    generateNewOcean();
+                } else {
+                    System.exit(0);
+                }
+            });
+        });
+    }
+
+    /**
+     * Method to display information about the game such as amount of shots fired, amount of hits and amount of sunk ships.
+     */
+    private String getFinalGameInfo() {
+        var sb = new StringBuilder();
+        sb.append(String.format("Shots fired: %s\nHits: %s\nShips sunk: %s\nBest possible score: %s",
+                state.getShotsFired(), state.getHitCount(), state.getShipsSunk(), config.getFleetCells()));
+        sb.append("\nWanna play again?");
+
+        return sb.toString();
+    }
+
+    /**
+     * Method to set up clear battlefield.
+     *
+     * @return view of the playing field made of buttons
+     */
+    private BattlefieldView setBattlefield() {
+        var cells = new BattlefieldCell[config.getRows()][config.getColumns()];
+        for (var i = 1; i < config.getRows() + 1; ++i) {
+            for (var j = 1; j < config.getColumns() + 1; ++j) {
+                var cell = new BattlefieldCell(this);
+                int row = i - 1;
+                int column = j - 1;
+                cell.setOnAction(e -> processMove(row, column));
+                cells[row][column] = cell;
+
+                this.add(cell, j, i);
+            }
+        }
+        return new ButtonGrid(cells);
+    }
+
+    /**
+     * Method to clear marks and styles left on the battlefield by the previous game.
+     */
+    private void resetBattlefield() {
+        view.reset();
+        keyboardInput[0] = null;
+        keyboardInput[1] = null;
+    }
+
+    /**
+     * Method to process one player game move.
+     *
+     * @param row x-coordinate of cell on field
+     * @param column y-coordinate of cell on field
+     */
+    private void processMove(int row, int column) {
+        var move = metrics.begin(GameMetrics.Phase.MOVE);
+        view.clearHint();
+        appendLog(String.format("%d %d", row, column));
+        var result = hitOrMiss(row, column);
+        metrics.countShot(result);
+        var gameInfo = metrics.begin(GameMetrics.Phase.GAME_INFO);
+        displayGameInfo();
+        gameInfo.end();
+        var gameOverCheck = metrics.begin(GameMetrics.Phase.GAME_OVER);
+        var gameOver = state.isGameOver();
+        gameOverCheck.end();
+        move.endMove(row, column, result);
+        if (gameOver) {
+            if (journal != null) {
+                journal.commit();
+            }
+            displayFinalGameInfo();
+        }
+    }
+
+    /**
+     * Method to display current game state.
+     */
+    private void displayGameInfo() {
+        var stats = state.getStats();
+        gameInfoArea.clear();
+        gameInfoArea.appendText(String.format("\n\nSHOTS FIRED: %s\n\n\n", stats.getShotsFired()));
+        gameInfoArea.appendText(String.format("HITS: %s\n\n\n", stats.getHitCount()));
+        gameInfoArea.appendText(String.format("SHIPS SUNK: %s\n\n\n", stats.getShipsSunk()));
+        gameInfoArea.appendText(String.format("SHIPS SHOT: %s\n\n\n", stats.getShipsDamaged()));
+        gameInfoArea.appendText(String.format("WHOLE SHIPS: %s", stats.getShipsIntact()));
+    }
+
+    /**
+     * Method to let the computer shooter make one move.
+     */
+    public void autoMove() {
+        if (state.isGameOver()) {
+            return;
+        }
+        var cell = shooter.nextShot();
+        int row = cell / config.getColumns();
+        int column = cell % config.getColumns();
+        processMove(row, column);
+    }
+
+    /**
+     * Method to highlight the cell which is the most likely to hold a ship according to
+     * fleet layouts sampled within a few milliseconds.
+     */
+    public void showHint() {
+        if (state.isGameOver()) {
+            return;
+        }
+        if (hintSampler == null) {
+            hintSampler = new PosteriorSampler(config, System.nanoTime());
+        }
+        try {
+            var heatmap = hintSampler.sample(PosteriorSampler.observe(state), HINT_BUDGET_NANOS);
+            var cell = heatmap.getBestCell();
+            if (heatmap.getSamples() == 0 || cell < 0) {
+                appendLog("No hint available.");
+                return;
+            }
+            int row = cell / config.getColumns();
+            int column = cell % config.getColumns();
+            view.showHint(row, column);
+            appendLog(String.format("Hint: %d %d (%.0f%%)", row, column,
+                    heatmap.getProbability(cell) * 100));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Method to take back the last move.
+     */
+    public void undo() {
+        var previous = state.getParent();
+        if (previous == null) {
+            appendLog("Nothing to undo.");
+            return;
+        }
+        var cell = state.getLastCell();
+        record(j -> j.shotUndone(cell));
+        redoStack.push(state);
+        restore(previous);
+        appendLog(String.format("Undo %d %d", cell / config.getColumns(), cell % config.getColumns()));
+    }
+
+    /**
+     * Method to make the last undone move again.
+     */
+    public void redo() {
+        if (redoStack.isEmpty()) {
+            appendLog("Nothing to redo.");
+            return;
+        }
+        var next = redoStack.pop();
+        var cell = next.getLastCell();
+        record(j -> j.shotRedone(cell));
+        restore(next);
+        appendLog(String.format("Redo %d %d", cell / config.getColumns(), cell % config.getColumns()));
+    }
+
+    /**
+     * Method to switch the game to the given version, redrawing marks and replaying moves to the shooter.
+     *
+     * @param restored version of the current game to switch to
+     */
+    private void restore(OceanState restored) {
+        state = restored;
+        resetBattlefield();
+        shooter.reset();
+        for (var version : restored.getHistory()) {
+            var cell = version.getLastCell();
+            if (cell < 0) {
+                continue;
+            }
+            int row = cell / config.getColumns();
+            int column = cell % config.getColumns();
+            var result = version.getLastResult();
+            shooter.observe(row, column, result);
+            if (result == ShotResult.MISS) {
+                view.markMiss(row, column);
+            } else {
+                view.markHit(row, column);
+                if (result == ShotResult.SUNK) {
+                    view.markSunk(restored.getShipAt(row, column));
+                }
+            }
+        }
+        displayGameInfo();
+    }
+
+    /**
+     * Method to process gaming using keyboard input.
+     *
+     * @param value integer number from 0 to 9 representing coordinate on field.
+     */
+    public void keyboardInput(Short value) {
+        if (keyboardInput[0] == null) {
+            keyboardInput[0] = value;
+        } else if (keyboardInput[1] == null) {
+            keyboardInput[1] = value;
+        } else {
+            keyboardInput[0] = value;
+            keyboardInput[1] = null;
+        }
+
+        if (keyboardInput[0] != null && keyboardInput[1] != null) {
+            short row = keyboardInput[0];
+            short column = keyboardInput[1];
+            if (config.isInside(row, column)) {
+                processMove(row, column);
+            }
+        }
+    }
+
+    /**
+     * Event written to the journal.
+     */
+    @FunctionalInterface
+    private interface JournalEvent {
+        /**
+         * Method which writes the event.
+         *
+         * @param journal journal to write to
+         * @throws IOException when it is impossible to write to the journal
+         */
+        void writeTo(MoveJournal journal) throws IOException;
+    }
+
+    /**
+     * Ways to draw the playing field.
+     */
+    enum Renderer {
+        /**
+         * Grid of buttons styled with CSS.
+         */
+        BUTTONS,
+        /**
+         * Single canvas repainting only changed cells.
+         */
+        CANVAS
+    }
+
+    /**
+     * View of the playing field made of buttons, one per cell, marked with text and styled with CSS.
+     */
+    private static final class ButtonGrid implements BattlefieldView {
+
+        /**
+         * Playing field cells indexed by row and column.
+         */
+        private final BattlefieldCell[][] cells;
+
+        /**
+         * Cell suggested by the last hint, null if there is no hint shown.
+         */
+        private BattlefieldCell hintCell;
+
+        /**
+         * Constructor, the purpose of which is to set the buttons of the playing field.
+         *
+         * @param cells playing field cells indexed by row and column
+         */
+        ButtonGrid(BattlefieldCell[][] cells) {
+            this.cells = cells;
+        }
+
+        @Override
+        public void reset() {
+            for (var row : cells) {
+                for (var cell : row) {
+                    cell.setText("");
+                    cell.setStyle("");
+                }
+            }
+            hintCell = null;
+        }
+
+        @Override
+        public void markMiss(int row, int column) {
+            cells[row][column].setText(MISS);
+        }
+
+        @Override
+        public void markHit(int row, int column) {
+            cells[row][column].setText(HIT);
+        }
+
+        @Override
+        public void markSunk(Ship ship) {
+            setSunkStyle(ship.getBowRow(), ship.getBowColumn(), ship.getLength(), ship.isHorizontal());
+        }
+
+        /**
+         * Method to set sunk ship cells red.
+         *
+         * @param bowRow       row (0 to 9) which contains the bow (front) of the ship
+         * @param bowColumn    column (0 to 9) which contains the bow (front) of the ship
+         * @param shipLength   number of squares occupied by the ship
+         * @param isHorizontal true if the ship occupies a single row, false otherwise
+         */
+        private void setSunkStyle(int bowRow, int bowColumn, int shipLength, boolean isHorizontal) {
+            for (int i = 0; i < shipLength; ++i) {
+                var cell = isHorizontal ? cells[bowRow][bowColumn + i] : cells[bowRow + i][bowColumn];
+                cell.setStyle("-fx-background-radius: 0; " +
+                        "-fx-border-style: none; " +
+                        "-fx-background-color: lavenderblush;");
+            }
+        }
+
+        @Override
+        public void showHint(int row, int column) {
+            clearHint();
+            hintCell = cells[row][column];
+            hintCell.setStyle(HINT_STYLE);
+        }
+
+        @Override
+        public void clearHint() {
+            if (hintCell != null) {
+                hintCell.setStyle("");
+                hintCell = null;
+            }
+        }
+    }
+}
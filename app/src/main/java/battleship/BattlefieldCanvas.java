@@ -0,0 +1,351 @@
+package battleship;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.MouseButton;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Playing field drawn on a single canvas instead of a grid of buttons, so there is no layout or CSS pass
+ * per cell. Changes are collected as dirty cells and painted once per pulse; a shot repaints only
+ * the cells it changed, the whole field is painted only after a reset.
+ * A cell is shot when the primary mouse button is pressed and released over the same cell, as with buttons.
+ */
+final class BattlefieldCanvas extends Canvas implements BattlefieldView {
+
+    /**
+     * Horizontal gap between cells.
+     */
+    private static final double HGAP = 1;
+
+    /**
+     * Vertical gap between cells.
+     */
+    private static final double VGAP = 2;
+
+    /**
+     * Smallest side of a cell, in pixels, which still shows captions.
+     */
+    private static final double MIN_CAPTION_SIDE = 12;
+
+    /**
+     * Decoration symbol.
+     */
+    private static final String ANCHOR = "⚓";
+
+    /**
+     * Mark of a cell which has not been shot at.
+     */
+    private static final byte EMPTY = 0;
+
+    /**
+     * Mark of a cell where the player has missed.
+     */
+    private static final byte MISS = 1;
+
+    /**
+     * Mark of a cell where the player has hit a ship which is still afloat.
+     */
+    private static final byte HIT = 2;
+
+    /**
+     * Mark of a cell of a sunk ship.
+     */
+    private static final byte SUNK = 3;
+
+    /**
+     * Color of gaps between cells.
+     */
+    private static final Color GAP_COLOR = Color.LIGHTBLUE;
+
+    /**
+     * Color of cells.
+     */
+    private static final Color CELL_COLOR = Color.WHITE;
+
+    /**
+     * Color of cells of sunk ships.
+     */
+    private static final Color SUNK_COLOR = Color.LAVENDERBLUSH;
+
+    /**
+     * Color of the cell suggested by a hint.
+     */
+    private static final Color HINT_COLOR = Color.KHAKI;
+
+    /**
+     * Color of marks and captions.
+     */
+    private static final Color MARK_COLOR = Color.web("#333333");
+
+    /**
+     * Size of the playing field.
+     */
+    private final GameConfig config;
+
+    /**
+     * Side of a cell in pixels.
+     */
+    private final double cellSideLength;
+
+    /**
+     * Mark of every cell.
+     */
+    private final byte[] marks;
+
+    /**
+     * Cells changed since the last paint.
+     */
+    private final CellSet dirty;
+
+    /**
+     * Timer painting dirty cells on the next pulse, running only while there is something to paint.
+     */
+    private final AnimationTimer painter = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            paint();
+        }
+    };
+
+    /**
+     * True if the whole field has to be painted on the next pulse.
+     */
+    private boolean fullRepaint = true;
+
+    /**
+     * True if the painter timer is running.
+     */
+    private boolean painting;
+
+    /**
+     * Cell suggested by the last hint, -1 if there is no hint shown.
+     */
+    private int hintCell = -1;
+
+    /**
+     * Cell over which the primary mouse button was pressed, -1 if it was pressed elsewhere.
+     */
+    private int pressedCell = -1;
+
+    /**
+     * Constructor, the purpose of which is to size the canvas for the playing field and listen to the mouse.
+     *
+     * @param config         size of the playing field
+     * @param cellSideLength side of a cell in pixels
+     * @param onShot         receiver of the index of the cell shot at by the player
+     */
+    BattlefieldCanvas(GameConfig config, double cellSideLength, IntConsumer onShot) {
+        super((config.getColumns() + 1) * (cellSideLength + HGAP) - HGAP,
+                (config.getRows() + 1) * (cellSideLength + VGAP) - VGAP);
+        this.config = config;
+        this.cellSideLength = cellSideLength;
+        this.marks = new byte[config.getCells()];
+        this.dirty = new CellSet(config.getCells());
+        setOnMousePressed(event -> pressedCell = event.getButton() == MouseButton.PRIMARY
+                ? cellAt(event.getX(), event.getY()) : -1);
+        setOnMouseReleased(event -> {
+            var cell = cellAt(event.getX(), event.getY());
+            if (event.getButton() == MouseButton.PRIMARY && cell >= 0 && cell == pressedCell) {
+                onShot.accept(cell);
+            }
+            pressedCell = -1;
+        });
+        schedulePaint();
+    }
+
+    /**
+     * Method to find the cell of the playing field under the point.
+     *
+     * @param x horizontal coordinate of the point on the canvas
+     * @param y vertical coordinate of the point on the canvas
+     * @return index of the cell, -1 if the point is over a caption or a gap
+     */
+    int cellAt(double x, double y) {
+        var column = (int) Math.floor(x / (cellSideLength + HGAP)) - 1;
+        var row = (int) Math.floor(y / (cellSideLength + VGAP)) - 1;
+        if (!config.isInside(row, column)
+                || x - (column + 1) * (cellSideLength + HGAP) >= cellSideLength
+                || y - (row + 1) * (cellSideLength + VGAP) >= cellSideLength) {
+            return -1;
+        }
+        return row * config.getColumns() + column;
+    }
+
+    /**
+     * Method to find the center of the cell, which is the inverse of {@link #cellAt(double, double)}.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return coordinates of the center on the canvas
+     */
+    Point2D cellCenter(int row, int column) {
+        return new Point2D((column + 1) * (cellSideLength + HGAP) + cellSideLength / 2,
+                (row + 1) * (cellSideLength + VGAP) + cellSideLength / 2);
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(marks, EMPTY);
+        dirty.clear();
+        hintCell = -1;
+        pressedCell = -1;
+        fullRepaint = true;
+        schedulePaint();
+    }
+
+    @Override
+    public void markMiss(int row, int column) {
+        mark(row * config.getColumns() + column, MISS);
+    }
+
+    @Override
+    public void markHit(int row, int column) {
+        mark(row * config.getColumns() + column, HIT);
+    }
+
+    @Override
+    public void markSunk(Ship ship) {
+        for (var i = 0; i < ship.getLength(); i++) {
+            var row = ship.getBowRow() + (ship.isHorizontal() ? 0 : i);
+            var column = ship.getBowColumn() + (ship.isHorizontal() ? i : 0);
+            mark(row * config.getColumns() + column, SUNK);
+        }
+    }
+
+    @Override
+    public void showHint(int row, int column) {
+        clearHint();
+        hintCell = row * config.getColumns() + column;
+        invalidate(hintCell);
+    }
+
+    @Override
+    public void clearHint() {
+        if (hintCell >= 0) {
+            invalidate(hintCell);
+            hintCell = -1;
+        }
+    }
+
+    /**
+     * Method which changes the mark of the cell and schedules its repaint.
+     *
+     * @param cell index of the cell
+     * @param mark new mark of the cell
+     */
+    private void mark(int cell, byte mark) {
+        if (marks[cell] != mark) {
+            marks[cell] = mark;
+            invalidate(cell);
+        }
+    }
+
+    /**
+     * Method which schedules repaint of the cell.
+     *
+     * @param cell index of the cell
+     */
+    private void invalidate(int cell) {
+        dirty.add(cell);
+        schedulePaint();
+    }
+
+    /**
+     * Method which starts the painter timer unless it is already running.
+     */
+    private void schedulePaint() {
+        if (!painting) {
+            painting = true;
+            painter.start();
+        }
+    }
+
+    /**
+     * Method which paints the whole field after a reset or only the dirty cells otherwise, then stops the painter.
+     */
+    private void paint() {
+        if (fullRepaint) {
+            paintField();
+            fullRepaint = false;
+        } else {
+            dirty.forEach(this::paintCell);
+        }
+        dirty.clear();
+        painter.stop();
+        painting = false;
+    }
+
+    /**
+     * Method which paints gaps, captions and all cells.
+     */
+    private void paintField() {
+        var graphics = getGraphicsContext2D();
+        graphics.setFill(GAP_COLOR);
+        graphics.fillRect(0, 0, getWidth(), getHeight());
+        paintCaption(0, 0, ANCHOR);
+        for (var row = 0; row < config.getRows(); row++) {
+            paintCaption(row + 1, 0, Integer.toString(row));
+        }
+        for (var column = 0; column < config.getColumns(); column++) {
+            paintCaption(0, column + 1, Integer.toString(column));
+        }
+        for (var cell = 0; cell < marks.length; cell++) {
+            paintCell(cell);
+        }
+    }
+
+    /**
+     * Method which paints a caption cell.
+     *
+     * @param gridRow    row of the cell counting the caption row
+     * @param gridColumn column of the cell counting the caption column
+     * @param text       caption
+     */
+    private void paintCaption(int gridRow, int gridColumn, String text) {
+        var graphics = getGraphicsContext2D();
+        var x = gridColumn * (cellSideLength + HGAP);
+        var y = gridRow * (cellSideLength + VGAP);
+        graphics.setFill(CELL_COLOR);
+        graphics.fillRect(x, y, cellSideLength, cellSideLength);
+        if (cellSideLength >= MIN_CAPTION_SIDE) {
+            graphics.setFill(MARK_COLOR);
+            graphics.setFont(Font.font(cellSideLength / 2.5));
+            graphics.setTextAlign(TextAlignment.CENTER);
+            graphics.setTextBaseline(VPos.CENTER);
+            graphics.fillText(text, x + cellSideLength / 2, y + cellSideLength / 2);
+        }
+    }
+
+    /**
+     * Method which paints a cell of the playing field with its background and mark.
+     *
+     * @param cell index of the cell
+     */
+    private void paintCell(int cell) {
+        var graphics = getGraphicsContext2D();
+        var x = (cell % config.getColumns() + 1) * (cellSideLength + HGAP);
+        var y = (cell / config.getColumns() + 1) * (cellSideLength + VGAP);
+        var mark = marks[cell];
+        graphics.setFill(cell == hintCell ? HINT_COLOR : mark == SUNK ? SUNK_COLOR : CELL_COLOR);
+        graphics.fillRect(x, y, cellSideLength, cellSideLength);
+        if (mark == MISS) {
+            var radius = Math.max(1, cellSideLength / 12);
+            graphics.setFill(MARK_COLOR);
+            graphics.fillOval(x + cellSideLength / 2 - radius, y + cellSideLength / 2 - radius, 2 * radius, 2 * radius);
+        } else if (mark != EMPTY) {
+            var inset = cellSideLength / 3;
+            graphics.setStroke(MARK_COLOR);
+            graphics.setLineWidth(Math.max(1, cellSideLength / 20));
+            graphics.strokeLine(x + inset, y + inset, x + cellSideLength - inset, y + cellSideLength - inset);
+            graphics.strokeLine(x + cellSideLength - inset, y + inset, x + inset, y + cellSideLength - inset);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package battleship;
+
+/**
+ * Visual representation of the playing field. The battlefield tells the view which cells changed after a shot,
+ * so a view may repaint only those cells.
+ */
+interface BattlefieldView {
+
+    /**
+     * Method to clear marks and highlighting left by the previous game.
+     */
+    void reset();
+
+    /**
+     * Method to mark the cell where the player has missed.
+     *
+     * @param row    row of the cell
+     * @param column column of the cell
+     */
+    void markMiss(int row, int column);
+
+    /**
+     * Method to mark the cell where the player has hit a ship.
+     *
+     * @param row    row of the cell
+     * @param column column of the cell
+     */
+    void markHit(int row, int column);
+
+    /**
+     * Method to mark all cells of the sunk ship.
+     *
+     * @param ship which is sunk
+     */
+    void markSunk(Ship ship);
+
+    /**
+     * Method to highlight the cell suggested by a hint, removing the previous highlighting.
+     *
+     * @param row    row of the cell
+     * @param column column of the cell
+     */
+    void showHint(int row, int column);
+
+    /**
+     * Method to remove highlighting of the cell suggested by the last hint.
+     */
+    void clearHint();
+}
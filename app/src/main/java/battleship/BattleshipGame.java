@@ -0,0 +1,191 @@
+package battleship;
+
+import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.GridPane;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+
+/**
+ * Main game class, containing main method.
+ */
+public class BattleshipGame extends Application {
+
+    /**
+     * Possible keyboard inputs.
+     */
+    private static HashSet<String> keys = new HashSet<>();
+
+    /**
+     * Keyboard input asking the computer to make a move.
+     */
+    private static final String AUTO_MOVE_KEY = " ";
+
+    /**
+     * Keyboard input asking for a hint where to shoot.
+     */
+    private static final String HINT_KEY = "h";
+
+    /**
+     * Keyboard input taking back the last move.
+     */
+    private static final String UNDO_KEY = "u";
+
+    /**
+     * Keyboard input making the last undone move again.
+     */
+    private static final String REDO_KEY = "r";
+
+    /**
+     * Way to draw the playing field, set by the {@code battleship.renderer} property ("buttons" by default).
+     */
+    private static final Battlefield.Renderer RENDERER = Battlefield.Renderer.valueOf(
+            System.getProperty("battleship.renderer", "buttons").toUpperCase(Locale.ROOT));
+
+    /**
+     * Side of the square playing field with the standard fleet, set by the {@code battleship.side} property.
+     */
+    private static final int SIDE = Integer.getInteger("battleship.side", GameConfig.STANDARD.getRows());
+
+    /**
+     * Largest amount of entries kept by the game log, set by the {@code battleship.log.capacity} property.
+     */
+    private static final int LOG_CAPACITY = Integer.getInteger("battleship.log.capacity",
+            GameLog.DEFAULT_CAPACITY);
+
+    /**
+     * Size in bytes after which the log file is rolled over, set by the {@code battleship.log.fileSize} property.
+     */
+    private static final long LOG_FILE_SIZE = Long.getLong("battleship.log.fileSize", 1 << 20);
+
+    /**
+     * Amount of rolled over log files kept besides the file being written.
+     */
+    private static final int LOG_FILE_BACKUPS = 5;
+
+    static {
+        Collections.addAll(keys, "0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+    }
+
+    /**
+     * Method to set styling to main layout.
+     *
+     * @param gridPane to which styling is set
+     */
+    private static void setMainGridStyling(GridPane gridPane) {
+        gridPane.setStyle("-fx-background-image: url('/battleship/background.jpg');");
+        gridPane.setHgap(10);
+        gridPane.setVgap(10);
+        gridPane.setAlignment(Pos.CENTER);
+        gridPane.setPadding(new Insets(0, (Utils.getScreenWidth() - 2 * Utils.getScreenWidth() / 2.5) / 2, 0, 10));
+    }
+
+    /**
+     * Method to set styling to stage.
+     *
+     * @param stage to which styling is set
+     */
+    private static void setStageStyling(Stage stage) {
+        stage.setTitle("Battleship");
+        stage.setMinWidth(Utils.getScreenWidth());
+        stage.setMinHeight(Utils.getScreenHeight());
+    }
+
+    /**
+     * Method to create the game log, streaming entries to a rolling file
+     * if the {@code battleship.log.file} property is set.
+     *
+     * @return empty game log
+     */
+    private static GameLog createGameLog() {
+        var log = new GameLog(LOG_CAPACITY);
+        var file = System.getProperty("battleship.log.file");
+        if (file != null) {
+            try {
+                log.setSink(new RollingLogFile(Path.of(file), LOG_FILE_SIZE, LOG_FILE_BACKUPS));
+            } catch (IOException ex) {
+                System.err.println("Unable to open the log file: " + ex.getMessage());
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Method to add all needed for game components to main grid pane.
+     *
+     * @param rootGrid main layout
+     * @return instance of battleship field
+     */
+    private static Battlefield createGameUI(GridPane rootGrid) {
+        setMainGridStyling(rootGrid);
+
+        var logArea = new ListView<String>();
+        var gameInfoArea = new TextArea();
+        var config = new GameConfig(SIDE, SIDE, GameConfig.STANDARD.getFleet());
+        var field = new Battlefield(logArea, createGameLog(), gameInfoArea, config, RENDERER);
+        var journal = System.getProperty("battleship.journal");
+        if (journal != null) {
+            try {
+                field.setJournal(new MoveJournal(Path.of(journal)));
+            } catch (IOException | UncheckedIOException ex) {
+                System.err.println("Unable to open the move journal: " + ex.getMessage());
+            }
+        }
+
+        rootGrid.add(field, 0, 0);
+        rootGrid.add(logArea, 0, 1);
+        rootGrid.add(gameInfoArea, 1, 0);
+
+        return field;
+    }
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        setStageStyling(stage);
+
+        var rootGrid = new GridPane();
+        var field = createGameUI(rootGrid);
+
+        var scene = new Scene(rootGrid, Utils.getScreenWidth(), Utils.getScreenHeight());
+        scene.getStylesheets().add(getClass().getResource("stylesheet.css").toExternalForm());
+        scene.setOnKeyTyped(key -> {
+            var buttonString = key.getCharacter();
+            if (keys.contains(buttonString)) {
+                field.keyboardInput(Short.parseShort(buttonString));
+            } else if (buttonString.equals(AUTO_MOVE_KEY)) {
+                field.autoMove();
+            } else if (buttonString.equals(HINT_KEY)) {
+                field.showHint();
+            } else if (buttonString.equals(UNDO_KEY)) {
+                field.undo();
+            } else if (buttonString.equals(REDO_KEY)) {
+                field.redo();
+            }
+        });
+
+        stage.setScene(scene);
+        stage.show();
+        GameMetrics.get().startReporting();
+
+        rootGrid.requestFocus();
+    }
+
+    /**
+     * Method where game is simulated.
+     *
+     * @param args
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
\ No newline at end of file
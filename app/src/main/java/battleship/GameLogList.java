@@ -0,0 +1,55 @@
+package battleship;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.List;
+
+/**
+ * Observable view of a {@link GameLog} for list controls. Entries are not copied; every append is reported
+ * as one added row and at most one removed row, so a virtualized list updates only the rows on screen.
+ * The log must be changed on the FX application thread.
+ */
+final class GameLogList extends ObservableListBase<String> implements GameLog.Listener {
+
+    /**
+     * Viewed log.
+     */
+    private final GameLog log;
+
+    /**
+     * Constructor, the purpose of which is to start listening to the log.
+     *
+     * @param log viewed log
+     */
+    GameLogList(GameLog log) {
+        this.log = log;
+        log.setListener(this);
+    }
+
+    @Override
+    public String get(int index) {
+        return log.get(index);
+    }
+
+    @Override
+    public int size() {
+        return log.size();
+    }
+
+    @Override
+    public void appended(String entry, String evicted) {
+        beginChange();
+        if (evicted != null) {
+            nextRemove(0, evicted);
+        }
+        nextAdd(size() - 1, size());
+        endChange();
+    }
+
+    @Override
+    public void cleared(List<String> removed) {
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+}
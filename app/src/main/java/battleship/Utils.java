@@ -0,0 +1,19 @@
+package battleship;
+
+import javafx.stage.Screen;
+
+/**
+ * Screen measurements used to lay out the user interface.
+ * The primary screen is looked up through JavaFX, so measurements are also available
+ * on a headless platform such as Monocle and AWT is never loaded.
+ */
+public class Utils {
+
+    public static int getScreenWidth() {
+        return (int) Screen.getPrimary().getBounds().getWidth();
+    }
+
+    public static int getScreenHeight() {
+        return (int) Screen.getPrimary().getBounds().getHeight();
+    }
+}
@@ -0,0 +1,206 @@
+package battleship;
+
+import javafx.animation.AnimationTimer;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests of {@link BattlefieldCanvas}: mapping between points and cells, clicks, and repaint of dirty cells only.
+ */
+class BattlefieldCanvasTest {
+
+    /**
+     * Field which is not square, so rows and columns cannot be mixed up.
+     */
+    private static final GameConfig CONFIG = new GameConfig(7, 9, GameConfig.STANDARD.getFleet());
+
+    /**
+     * Side of a cell in pixels, large enough to show captions.
+     */
+    private static final double SIDE = 20;
+
+    /**
+     * Shots reported by the canvas.
+     */
+    private final List<Integer> shots = new ArrayList<>();
+
+    /**
+     * Method which starts the JavaFX platform.
+     *
+     * @throws Exception when the platform fails to start
+     */
+    @BeforeEach
+    void startPlatform() throws Exception {
+        FxThread.start();
+    }
+
+    /**
+     * Test of {@link BattlefieldCanvas#cellAt(double, double)} at centers, gaps, captions and outside of the field.
+     *
+     * @throws Exception when the user interface fails
+     */
+    @Test
+    void centersMapBackToCells() throws Exception {
+        var canvas = FxThread.call(this::newCanvas);
+        for (var row = 0; row < CONFIG.getRows(); row++) {
+            for (var column = 0; column < CONFIG.getColumns(); column++) {
+                var center = canvas.cellCenter(row, column);
+                assertEquals(row * CONFIG.getColumns() + column, canvas.cellAt(center.getX(), center.getY()));
+                assertEquals(-1, canvas.cellAt(center.getX() + SIDE / 2 + 0.5, center.getY()), "Gap after a column");
+                assertEquals(-1, canvas.cellAt(center.getX(), center.getY() + SIDE / 2 + 0.5), "Gap after a row");
+            }
+        }
+        var corner = canvas.cellCenter(0, 0);
+        assertEquals(-1, canvas.cellAt(corner.getX() - SIDE, corner.getY()), "Caption of the row");
+        assertEquals(-1, canvas.cellAt(corner.getX(), corner.getY() - SIDE), "Caption of the column");
+        assertEquals(-1, canvas.cellAt(canvas.getWidth() + 1, corner.getY()));
+        assertEquals(-1, canvas.cellAt(corner.getX(), canvas.getHeight() + 1));
+        assertEquals(-1, canvas.cellAt(-1, -1));
+    }
+
+    /**
+     * Test of clicks: a shot needs the primary button pressed and released over the same cell.
+     *
+     * @throws Exception when the user interface fails
+     */
+    @Test
+    void clickShootsCellUnderMouse() throws Exception {
+        var canvas = FxThread.call(this::newCanvas);
+        FxThread.run(() -> {
+            click(canvas, 2, 3, 2, 3, MouseButton.PRIMARY);
+            click(canvas, 6, 8, 6, 8, MouseButton.PRIMARY);
+            click(canvas, 1, 1, 1, 2, MouseButton.PRIMARY);
+            click(canvas, 4, 4, 4, 4, MouseButton.SECONDARY);
+        });
+        assertEquals(List.of(2 * 9 + 3, 6 * 9 + 8), shots);
+    }
+
+    /**
+     * Test of painting: a mark repaints only its cell, and a reset repaints the whole field.
+     * A cell is smeared directly on the canvas, so a repaint of that cell would clean it.
+     *
+     * @throws Exception when the user interface fails
+     */
+    @Test
+    void markRepaintsOnlyDirtyCells() throws Exception {
+        var canvas = FxThread.call(this::newCanvas);
+        waitForPulses();
+        assertEquals(Color.WHITE, pixel(canvas, 0, 0));
+        assertEquals(Color.WHITE, pixel(canvas, 2, 3));
+
+        FxThread.run(() -> {
+            var center = canvas.cellCenter(0, 0);
+            canvas.getGraphicsContext2D().setFill(Color.RED);
+            canvas.getGraphicsContext2D().fillRect(center.getX() - 2, center.getY() - 2, 4, 4);
+            canvas.markMiss(2, 3);
+            canvas.showHint(5, 5);
+        });
+        waitForPulses();
+        assertEquals(Color.RED, pixel(canvas, 0, 0), "Clean cell was repainted");
+        assertNotEquals(Color.WHITE, pixel(canvas, 2, 3), "Miss was not painted");
+        assertEquals(Color.KHAKI, pixel(canvas, 5, 5), "Hint was not painted");
+
+        FxThread.run(canvas::clearHint);
+        waitForPulses();
+        assertEquals(Color.WHITE, pixel(canvas, 5, 5), "Hint was not cleared");
+        assertEquals(Color.RED, pixel(canvas, 0, 0), "Clean cell was repainted");
+
+        FxThread.run(canvas::reset);
+        waitForPulses();
+        assertEquals(Color.WHITE, pixel(canvas, 0, 0), "Reset did not repaint the field");
+        assertEquals(Color.WHITE, pixel(canvas, 2, 3), "Reset did not clear the miss");
+    }
+
+    /**
+     * Method which creates a canvas recording shots.
+     *
+     * @return new canvas
+     */
+    private BattlefieldCanvas newCanvas() {
+        return new BattlefieldCanvas(CONFIG, SIDE, shots::add);
+    }
+
+    /**
+     * Method which presses the mouse button over one cell and releases it over another.
+     *
+     * @param canvas        canvas receiving events
+     * @param pressRow      row of the cell where the button is pressed
+     * @param pressColumn   column of the cell where the button is pressed
+     * @param releaseRow    row of the cell where the button is released
+     * @param releaseColumn column of the cell where the button is released
+     * @param button        mouse button
+     */
+    private static void click(BattlefieldCanvas canvas, int pressRow, int pressColumn,
+                              int releaseRow, int releaseColumn, MouseButton button) {
+        var press = canvas.cellCenter(pressRow, pressColumn);
+        var release = canvas.cellCenter(releaseRow, releaseColumn);
+        Event.fireEvent(canvas, mouseEvent(MouseEvent.MOUSE_PRESSED, press.getX(), press.getY(), button));
+        Event.fireEvent(canvas, mouseEvent(MouseEvent.MOUSE_RELEASED, release.getX(), release.getY(), button));
+    }
+
+    /**
+     * Method which creates a mouse event at the point of the canvas.
+     *
+     * @param type   type of the event
+     * @param x      horizontal coordinate on the canvas
+     * @param y      vertical coordinate on the canvas
+     * @param button mouse button
+     * @return new event
+     */
+    private static MouseEvent mouseEvent(EventType<MouseEvent> type, double x, double y,
+                                         MouseButton button) {
+        return new MouseEvent(type, x, y, x, y, button, 1, false, false, false, false,
+                button == MouseButton.PRIMARY, false, button == MouseButton.SECONDARY, false, false, true, null);
+    }
+
+    /**
+     * Method which waits for two pulses, so the painter of the canvas has run after the last change.
+     *
+     * @throws Exception when the test thread is interrupted
+     */
+    private static void waitForPulses() throws Exception {
+        var done = new CompletableFuture<Void>();
+        FxThread.run(() -> new AnimationTimer() {
+            private int pulses;
+
+            @Override
+            public void handle(long now) {
+                if (++pulses == 2) {
+                    stop();
+                    done.complete(null);
+                }
+            }
+        }.start());
+        done.get();
+    }
+
+    /**
+     * Method which reads the color at the center of the cell from a snapshot of the canvas.
+     *
+     * @param canvas canvas to read
+     * @param row    index of the row
+     * @param column index of the column
+     * @return color of the pixel
+     * @throws Exception when the user interface fails
+     */
+    private static Color pixel(BattlefieldCanvas canvas, int row, int column) throws Exception {
+        return FxThread.call(() -> {
+            var image = canvas.snapshot(null, new WritableImage((int) canvas.getWidth(), (int) canvas.getHeight()));
+            var center = canvas.cellCenter(row, column);
+            return image.getPixelReader().getColor((int) center.getX(), (int) center.getY());
+        });
+    }
+}
@@ -0,0 +1,178 @@
+package battleship;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Soak test of "play again": the computer plays 10,000 games on one battlefield shown on a headless stage,
+ * and every game is started by the same reset path as after the final dialog. The scene graph must keep
+ * the same amount of nodes and the heap retained after garbage collection must not grow.
+ */
+class BattlefieldSoakTest {
+
+    /**
+     * Amount of games played.
+     */
+    private static final int GAMES = 10_000;
+
+    /**
+     * Amount of games played before the baseline is measured, so caches and compiled code are settled.
+     */
+    private static final int WARMUP_GAMES = 500;
+
+    /**
+     * Amount of games played on the JavaFX thread between pulses.
+     */
+    private static final int GAMES_PER_PULSE = 10;
+
+    /**
+     * Largest growth of retained heap accepted between the baseline and the end, in bytes.
+     */
+    private static final long HEAP_TOLERANCE = 2 * 1024 * 1024;
+
+    /**
+     * Method which starts the JavaFX platform.
+     *
+     * @throws Exception when the platform fails to start
+     */
+    @BeforeEach
+    void startPlatform() throws Exception {
+        FxThread.start();
+    }
+
+    /**
+     * Test of node count and retained heap over 10,000 games.
+     *
+     * @throws Exception when the user interface fails
+     */
+    @Test
+    void replaysKeepNodesAndHeapFlat() throws Exception {
+        var battlefield = FxThread.call(() -> {
+            var field = new AutoBattlefield();
+            var stage = new Stage();
+            stage.setScene(new Scene(new HBox(field, field.logArea, field.infoArea)));
+            stage.show();
+            return field;
+        });
+        long baselineHeap = 0;
+        var baselineNodes = 0;
+        for (var played = 0; played < GAMES; played += GAMES_PER_PULSE) {
+            FxThread.run(() -> {
+                for (var i = 0; i < GAMES_PER_PULSE; i++) {
+                    battlefield.playGame();
+                }
+            });
+            if (played + GAMES_PER_PULSE == WARMUP_GAMES) {
+                baselineNodes = FxThread.call(() -> countNodes(battlefield.getScene().getRoot()));
+                baselineHeap = retainedHeap();
+            }
+        }
+        var nodes = FxThread.call(() -> countNodes(battlefield.getScene().getRoot()));
+        var heap = retainedHeap();
+        assertEquals(GAMES, battlefield.finishedGames);
+        assertEquals(baselineNodes, nodes, "Scene graph grows with every game");
+        assertTrue(heap - baselineHeap < HEAP_TOLERANCE,
+                "Retained heap grew from " + baselineHeap + " to " + heap + " bytes");
+        FxThread.run(() -> ((Stage) battlefield.getScene().getWindow()).close());
+    }
+
+    /**
+     * Method to count the node and all its descendants.
+     *
+     * @param node root of the subtree
+     * @return amount of nodes
+     */
+    private static int countNodes(javafx.scene.Node node) {
+        var count = 1;
+        if (node instanceof Parent) {
+            for (var child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method to measure heap retained after full garbage collection.
+     *
+     * @return used heap in bytes
+     * @throws InterruptedException when the test thread is interrupted
+     */
+    private static long retainedHeap() throws InterruptedException {
+        var memory = ManagementFactory.getMemoryMXBean();
+        var used = Long.MAX_VALUE;
+        for (var i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    /**
+     * Battlefield where the computer plays and the final dialog is replaced by counting the game.
+     */
+    private static final class AutoBattlefield extends Battlefield {
+
+        /**
+         * List showing the game log.
+         */
+        private final ListView<String> logArea;
+
+        /**
+         * Area showing the game state.
+         */
+        private final TextArea infoArea;
+
+        /**
+         * Amount of games played to the end.
+         */
+        private int finishedGames;
+
+        /**
+         * Constructor, the purpose of which is to create the standard battlefield with its information areas.
+         */
+        AutoBattlefield() {
+            this(new ListView<>(), new TextArea());
+        }
+
+        /**
+         * Constructor, the purpose of which is to keep the information areas shown next to the battlefield.
+         *
+         * @param logArea  list showing the game log
+         * @param infoArea area showing the game state
+         */
+        private AutoBattlefield(ListView<String> logArea, TextArea infoArea) {
+            super(logArea, infoArea);
+            this.logArea = logArea;
+            this.infoArea = infoArea;
+        }
+
+        /**
+         * Method which plays the current game to the end and starts the next one.
+         */
+        void playGame() {
+            var finished = finishedGames;
+            while (finishedGames == finished) {
+                autoMove();
+            }
+            generateNewOcean();
+        }
+
+        @Override
+        public void displayFinalGameInfo() {
+            finishedGames++;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package battleship;
+
+import javafx.application.Platform;
+import javafx.scene.text.Text;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Helper of user interface tests, which starts the JavaFX platform once and runs actions on its thread.
+ * Tests run on the headless Monocle platform selected by system properties of the build. On Linux JavaFX
+ * lays out text with the Pango library; where it is missing, tests using the platform are skipped.
+ */
+final class FxThread {
+
+    /**
+     * Whether the platform has been started.
+     */
+    private static boolean started;
+
+    /**
+     * Error of laying out text on the platform, null if text can be laid out.
+     */
+    private static LinkageError textError;
+
+    /**
+     * Constructor, the purpose of which is to forbid creation of instances.
+     */
+    private FxThread() {
+    }
+
+    /**
+     * Method which starts the platform, unless it is running already, and skips the test
+     * when the platform cannot lay out text.
+     *
+     * @throws Exception when the platform fails to start or the test thread is interrupted
+     */
+    static synchronized void start() throws Exception {
+        if (!started) {
+            var ready = new CompletableFuture<Void>();
+            Platform.startup(() -> ready.complete(null));
+            Platform.setImplicitExit(false);
+            ready.get();
+            textError = call(() -> {
+                try {
+                    new Text("0").getLayoutBounds();
+                    return null;
+                } catch (LinkageError ex) {
+                    return ex;
+                }
+            });
+            started = true;
+        }
+        assumeTrue(textError == null, () -> "JavaFX cannot lay out text: " + textError);
+    }
+
+    /**
+     * Method which runs the action on the JavaFX thread and waits for its result.
+     * Pulses of the platform, and so layout, CSS and rendering, happen between calls.
+     *
+     * @param action action to run
+     * @param <T>    type of the result
+     * @return result of the action
+     * @throws Exception when the action fails or the test thread is interrupted
+     */
+    static <T> T call(Callable<T> action) throws Exception {
+        var result = new CompletableFuture<T>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+        }
+    }
+
+    /**
+     * Method which runs the action on the JavaFX thread and waits for it to finish.
+     *
+     * @param action action to run
+     * @throws Exception when the action fails or the test thread is interrupted
+     */
+    static void run(Runnable action) throws Exception {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package battleship;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link GameLogList}: a wrapping log is reported as single-row changes, and after the log file
+ * has rolled over the list still reads back the newest entries, which are also the last lines written.
+ */
+class GameLogListTest {
+
+    /**
+     * Capacity of the viewed log.
+     */
+    private static final int CAPACITY = 4;
+
+    /**
+     * Directory of log files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test of changes of the list while the log fills up, wraps around and is cleared.
+     */
+    @Test
+    void wraparoundIsReportedRowByRow() {
+        var log = new GameLog(CAPACITY);
+        var list = new GameLogList(log);
+        var changes = new ArrayList<String>();
+        list.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                changes.add(change.getFrom() + "-" + change.getTo() + " removed " + change.getRemoved()
+                        + " added " + change.getAddedSubList());
+            }
+        });
+        for (var i = 0; i < CAPACITY + 2; i++) {
+            log.append("entry " + i);
+        }
+        assertEquals(List.of("entry 2", "entry 3", "entry 4", "entry 5"), List.copyOf(list));
+        assertEquals(List.of(
+                "0-1 removed [] added [entry 0]",
+                "1-2 removed [] added [entry 1]",
+                "2-3 removed [] added [entry 2]",
+                "3-4 removed [] added [entry 3]",
+                "0-0 removed [entry 0] added []",
+                "3-4 removed [] added [entry 4]",
+                "0-0 removed [entry 1] added []",
+                "3-4 removed [] added [entry 5]"), changes);
+        changes.clear();
+        log.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(List.of("0-0 removed [entry 2, entry 3, entry 4, entry 5] added []"), changes);
+    }
+
+    /**
+     * Test of a log streamed to a small rolling file: after several rollovers the list shows the newest
+     * entries, and they are the last lines of the file being written and its backups.
+     *
+     * @throws IOException when it is impossible to write or read the files
+     */
+    @Test
+    void listReadsBackAfterRollover() throws IOException {
+        var path = directory.resolve("game.log");
+        var log = new GameLog(CAPACITY);
+        var list = new GameLogList(log);
+        try (var file = new RollingLogFile(path, 64, 3)) {
+            log.setSink(file);
+            for (var i = 0; i < 50; i++) {
+                log.append(String.format("shot %04d", i));
+            }
+            assertTrue(Files.exists(file.backupPath(3)));
+            var lines = new ArrayList<String>();
+            for (var index = 3; index >= 1; index--) {
+                lines.addAll(Files.readAllLines(file.backupPath(index)));
+            }
+            lines.addAll(Files.readAllLines(path));
+            assertTrue(lines.size() >= CAPACITY);
+            assertEquals(lines.subList(lines.size() - CAPACITY, lines.size()), List.copyOf(list));
+            assertEquals(List.of("shot 0046", "shot 0047", "shot 0048", "shot 0049"), List.copyOf(list));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package battleship;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextArea;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.robot.Robot;
+import javafx.stage.Stage;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the latency from a click on a cell to the frame showing its result, for both renderers
+ * of a large playing field. Clicks are injected by {@link Robot}, so they go through picking and event dispatch
+ * like real input. The release of the button arms the measurement; a pulse listener of the scene notes
+ * the first pulse which has laid out the result and handed it to the renderer, and an animation timer ends
+ * the measurement at the start of the next pulse. So the latency includes waiting for the pulse, CSS, layout
+ * and painting, and exceeds the rendered frame by at most one frame interval.
+ * Every click hits a cell which has not been shot at, and the next click is made only after the frame,
+ * so latencies do not overlap. Only public JavaFX API is used.
+ * Run from the test class path with {@code java battleship.RenderLatencyBenchmark [moves] [side]}; it needs
+ * a display or the headless Monocle platform ({@code -Dglass.platform=Monocle -Dmonocle.platform=Headless}).
+ */
+final class RenderLatencyBenchmark {
+
+    /**
+     * Amount of moves made before measuring.
+     */
+    private static final int WARMUP_MOVES = 200;
+
+    /**
+     * Longest wait for a frame, in milliseconds.
+     */
+    private static final long FRAME_TIMEOUT = 1000;
+
+    /**
+     * Constructor, the purpose of which is to forbid creation of instances.
+     */
+    private RenderLatencyBenchmark() {
+    }
+
+    /**
+     * Pulse probe of a scene, which reports the pulse after the one that laid out the result of a click.
+     * All fields are used on the JavaFX thread only.
+     */
+    private static final class FrameProbe extends AnimationTimer {
+
+        /**
+         * Permits released once per measured frame.
+         */
+        private final Semaphore frames = new Semaphore(0);
+
+        /**
+         * True from the release of the mouse button until the next layout pulse.
+         */
+        private boolean armed;
+
+        /**
+         * True from the layout pulse which follows a click until the start of the next pulse.
+         */
+        private boolean laidOut;
+
+        /**
+         * Constructor, the purpose of which is to listen to clicks and pulses of the scene.
+         *
+         * @param scene scene of the battlefield
+         */
+        FrameProbe(Scene scene) {
+            scene.addEventFilter(MouseEvent.MOUSE_RELEASED, event -> armed = true);
+            scene.addPostLayoutPulseListener(() -> {
+                if (armed) {
+                    armed = false;
+                    laidOut = true;
+                }
+            });
+        }
+
+        @Override
+        public void handle(long now) {
+            if (laidOut) {
+                laidOut = false;
+                frames.release();
+            }
+        }
+    }
+
+    /**
+     * Method which measures latencies of moves on a new battlefield.
+     *
+     * @param renderer way to draw the playing field
+     * @param config   size of the playing field and composition of the fleet
+     * @param moves    amount of measured moves
+     * @return latency of every measured move, in nanoseconds
+     * @throws Exception when the user interface fails or a frame is not rendered in time
+     */
+    private static long[] measure(Battlefield.Renderer renderer, GameConfig config, int moves) throws Exception {
+        var battlefield = FxThread.call(() -> new Battlefield(new ListView<>(), new GameLog(GameLog.DEFAULT_CAPACITY),
+                new TextArea(), config, renderer));
+        var probe = FxThread.call(() -> {
+            var scene = new Scene(new HBox(battlefield, new ListView<String>()));
+            scene.getStylesheets().add(BattleshipGame.class.getResource("stylesheet.css").toExternalForm());
+            var stage = new Stage();
+            stage.setScene(scene);
+            stage.show();
+            var frameProbe = new FrameProbe(scene);
+            frameProbe.start();
+            return frameProbe;
+        });
+        var robot = FxThread.call(Robot::new);
+        var random = new SplittableRandom(42);
+        var cells = new int[config.getCells()];
+        Arrays.setAll(cells, cell -> cell);
+        var latencies = new long[moves];
+        for (var move = 0; move < WARMUP_MOVES + moves; move++) {
+            var swap = move + random.nextInt(cells.length - move);
+            var cell = cells[swap];
+            cells[swap] = cells[move];
+            cells[move] = cell;
+            var target = FxThread.call(() -> screenCenter(battlefield, cell / config.getColumns(),
+                    cell % config.getColumns()));
+            FxThread.run(() -> robot.mouseMove(target));
+            probe.frames.drainPermits();
+            var start = System.nanoTime();
+            FxThread.run(() -> {
+                robot.mousePress(MouseButton.PRIMARY);
+                robot.mouseRelease(MouseButton.PRIMARY);
+            });
+            if (!probe.frames.tryAcquire(FRAME_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No frame rendered after the click on cell " + cell + ".");
+            }
+            if (move >= WARMUP_MOVES) {
+                latencies[move - WARMUP_MOVES] = System.nanoTime() - start;
+            }
+        }
+        FxThread.run(() -> {
+            probe.stop();
+            battlefield.getScene().getWindow().hide();
+        });
+        return latencies;
+    }
+
+    /**
+     * Method to find the center of the cell on the screen.
+     *
+     * @param battlefield battlefield shown on the screen
+     * @param row         index of the row
+     * @param column      index of the column
+     * @return screen coordinates of the center of the cell
+     */
+    private static Point2D screenCenter(Battlefield battlefield, int row, int column) {
+        for (Node node : battlefield.getChildren()) {
+            if (node instanceof BattlefieldCanvas) {
+                var canvas = (BattlefieldCanvas) node;
+                return canvas.localToScreen(canvas.cellCenter(row, column));
+            }
+            if (node instanceof BattlefieldCell && GridPane.getRowIndex(node) == row + 1
+                    && GridPane.getColumnIndex(node) == column + 1) {
+                var bounds = node.getLayoutBounds();
+                return node.localToScreen(bounds.getCenterX(), bounds.getCenterY());
+            }
+        }
+        throw new IllegalStateException("No cell at " + row + " " + column + ".");
+    }
+
+    /**
+     * Method to format the distribution of latencies.
+     *
+     * @param latencies latency of every move, in nanoseconds
+     * @return median, 90th and 99th percentiles, maximum and mean in milliseconds
+     */
+    private static String summarize(long[] latencies) {
+        var sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return String.format("median %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms, mean %.2f ms",
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.9)] / 1e6,
+                sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6,
+                Arrays.stream(sorted).average().orElse(0) / 1e6);
+    }
+
+    /**
+     * Method where the benchmark is started from command line.
+     *
+     * @param args amount of measured moves (1000 by default) and side of the playing field (100 by default),
+     *             both optional
+     * @throws Exception when the user interface fails or a frame is not rendered in time
+     */
+    public static void main(String[] args) throws Exception {
+        var moves = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        var side = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        var config = new GameConfig(side, side, GameConfig.STANDARD.getFleet());
+        FxThread.start();
+        for (var renderer : Battlefield.Renderer.values()) {
+            System.out.printf("Input to render on %dx%d, %s, %d moves: %s%n", side, side,
+                    renderer.name().toLowerCase(Locale.ROOT), moves,
+                    summarize(measure(renderer, config, moves)));
+        }
+        javafx.application.Platform.exit();
+    }
+}
@@ -0,0 +1,137 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of keeping versions of a game: an {@link OceanState} branch against a deep copy of the ocean.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class BranchBenchmark {
+
+    /**
+     * Amount of rows and columns of the standard playing field.
+     */
+    private static final int SIDE = GameConfig.STANDARD.getColumns();
+
+    /**
+     * Ocean with randomly placed ships where every third cell has been shot at.
+     */
+    private Ocean damaged;
+
+    /**
+     * Version of the game captured from the damaged ocean.
+     */
+    private OceanState version;
+
+    /**
+     * Cells which have not been shot at yet.
+     */
+    private int[] branchCells;
+
+    /**
+     * Index of the next branch cell.
+     */
+    private int branchIndex;
+
+    /**
+     * Method which prepares the ocean and its version before the measurement.
+     */
+    @Setup
+    public void setUp() {
+        damaged = new Ocean();
+        damaged.placeAllShipsRandomly(new SplittableRandom(42));
+        for (var cell = 0; cell < SIDE * SIDE; cell += 3) {
+            damaged.shootAt(cell / SIDE, cell % SIDE);
+        }
+        version = OceanState.of(damaged);
+        var open = new int[SIDE * SIDE];
+        var openCount = 0;
+        for (var cell = 0; cell < SIDE * SIDE; cell++) {
+            if (!damaged.isShot(cell / SIDE, cell % SIDE)) {
+                open[openCount++] = cell;
+            }
+        }
+        branchCells = Arrays.copyOf(open, openCount);
+    }
+
+    /**
+     * Benchmark of one shot creating a new version.
+     *
+     * @return number of shots fired
+     */
+    @Benchmark
+    public int stateFire() {
+        return version.fire(branchCells[branchIndex++ % branchCells.length]).getShotsFired();
+    }
+
+    /**
+     * Benchmark of one shot at a deep copy of the ocean.
+     *
+     * @return true if a ship has been hit, otherwise – false
+     */
+    @Benchmark
+    public boolean deepCopyFire() {
+        var cell = branchCells[branchIndex++ % branchCells.length];
+        return deepCopy(damaged).shootAt(cell / SIDE, cell % SIDE);
+    }
+
+    /**
+     * Benchmark of a new version for every cell which has not been shot at.
+     *
+     * @return amount of versions
+     */
+    @Benchmark
+    public int stateAll() {
+        return version.getBranches().size();
+    }
+
+    /**
+     * Benchmark of a deep copy of the ocean for every cell which has not been shot at.
+     *
+     * @return amount of hits
+     */
+    @Benchmark
+    public long deepCopyAll() {
+        long hits = 0;
+        for (var cell : branchCells) {
+            hits += deepCopy(damaged).shootAt(cell / SIDE, cell % SIDE) ? 1 : 0;
+        }
+        return hits;
+    }
+
+    /**
+     * Method to copy the whole ocean, which is how a version of the game is kept without {@link OceanState}.
+     *
+     * @param source ocean to copy
+     * @return independent ocean with the same ships, shots and counters
+     */
+    private static Ocean deepCopy(Ocean source) {
+        var copy = new Ocean(source.getConfig());
+        for (var i = 0; i < source.getFleetSize(); i++) {
+            var ship = source.getShip(i);
+            Ship.ofLength(ship.getLength()).placeShipAt(ship.getBowRow(), ship.getBowColumn(), ship.isHorizontal(), copy);
+        }
+        var columns = source.getConfig().getColumns();
+        source.getShots().forEach(cell -> copy.shootAt(cell / columns, cell % columns));
+        copy.restoreCounters(source.getShotsFired(), source.getHitCount());
+        return copy;
+    }
+}
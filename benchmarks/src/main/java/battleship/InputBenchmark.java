@@ -0,0 +1,61 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of handling a typed move: parsing the coordinates and appending to the game log.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class InputBenchmark {
+
+    /**
+     * Typed coordinates.
+     */
+    private final String[] input = {"3", "7"};
+
+    /**
+     * Entries appended to the log in turn.
+     */
+    private final String[] entries = {"3 7", "Miss!", "Hit!"};
+
+    /**
+     * Log of the game with the default capacity.
+     */
+    private final GameLog log = new GameLog(GameLog.DEFAULT_CAPACITY);
+
+    /**
+     * Benchmark of parsing the coordinates.
+     *
+     * @return index of the column
+     */
+    @Benchmark
+    public int parseCoordinates() {
+        return new Coordinates(input).getX();
+    }
+
+    /**
+     * Benchmark of appending to the full log.
+     *
+     * @return amount of entries in the log
+     */
+    @Benchmark
+    public int appendToLog() {
+        log.append(entries[(int) (log.getAppended() % entries.length)]);
+        return log.size();
+    }
+}
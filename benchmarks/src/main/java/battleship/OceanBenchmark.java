@@ -0,0 +1,185 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of shooting at the ocean and of the queries made after every shot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class OceanBenchmark {
+
+    /**
+     * Amount of rows and columns of the standard playing field.
+     */
+    private static final int SIDE = GameConfig.STANDARD.getColumns();
+
+    /**
+     * Ocean of the "multi" test layout, which is shot at again and again.
+     */
+    private Ocean target;
+
+    /**
+     * Ocean of the "multi" test layout without shots, created anew for every invocation, so every shot
+     * hits a part of the battleship for the first time and goes through the update of fleet counters.
+     */
+    @State(Scope.Thread)
+    public static class FreshTarget {
+
+        /**
+         * Ocean without shots.
+         */
+        Ocean ocean;
+
+        /**
+         * Method which creates the ocean before every invocation.
+         */
+        @Setup(Level.Invocation)
+        public void setUp() {
+            ocean = new Ocean();
+            ocean.testInitializer("multi");
+        }
+    }
+
+    /**
+     * Ocean with randomly placed ships and without shots.
+     */
+    private Ocean placed;
+
+    /**
+     * Ocean with randomly placed ships where every third cell has been shot at.
+     */
+    private Ocean damaged;
+
+    /**
+     * Ship checked against the placed ocean.
+     */
+    private Ship battleship;
+
+    /**
+     * Index of the next cell where the ship is checked.
+     */
+    private int location;
+
+    /**
+     * Method which prepares oceans before the measurement.
+     */
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(42);
+        target = new Ocean();
+        target.testInitializer("multi");
+        placed = new Ocean();
+        placed.placeAllShipsRandomly(random);
+        damaged = new Ocean();
+        damaged.placeAllShipsRandomly(random);
+        for (var cell = 0; cell < SIDE * SIDE; cell += 3) {
+            damaged.shootAt(cell / SIDE, cell % SIDE);
+        }
+        battleship = new Battleship();
+    }
+
+    /**
+     * Benchmark of creating an empty ocean.
+     *
+     * @return number of shots fired
+     */
+    @Benchmark
+    public int construct() {
+        return new Ocean().getShotsFired();
+    }
+
+    /**
+     * Benchmark of shooting at an empty sea.
+     *
+     * @return true if a ship has been hit, otherwise – false
+     */
+    @Benchmark
+    public boolean shootAtMiss() {
+        return target.shootAt(0, 0);
+    }
+
+    /**
+     * Benchmark of the first hit of a part of a ship which is not sunk. Setup of every invocation
+     * is not measured, but its timer overhead is, so compare the result with {@link #shootAtHitAgain()}
+     * rather than read it as an absolute cost.
+     *
+     * @param fresh ocean without shots
+     * @return true if a ship has been hit, otherwise – false
+     */
+    @Benchmark
+    public boolean shootAtHit(FreshTarget fresh) {
+        return fresh.ocean.shootAt(2, 3);
+    }
+
+    /**
+     * Benchmark of shooting again at a part of a ship which has already been hit, which leaves
+     * fleet counters unchanged.
+     *
+     * @return true if a ship has been hit, otherwise – false
+     */
+    @Benchmark
+    public boolean shootAtHitAgain() {
+        return target.shootAt(2, 3);
+    }
+
+    /**
+     * Benchmark of sinking a submarine of a new ocean.
+     *
+     * @return number of ships sunk
+     */
+    @Benchmark
+    public int shootAtSink() {
+        var ocean = new Ocean();
+        ocean.testInitializer("submarine");
+        return ocean.shootAt(1, 1) ? ocean.getShipsSunk() : 0;
+    }
+
+    /**
+     * Benchmark of checking placement of a ship, going over all cells in both orientations.
+     *
+     * @return true if the ship can be placed, otherwise – false
+     */
+    @Benchmark
+    public boolean okToPlaceShipAt() {
+        var cell = location++ % (SIDE * SIDE);
+        return battleship.okToPlaceShipAt(cell / SIDE, cell % SIDE, (cell & 1) == 0, placed);
+    }
+
+    /**
+     * Benchmark of counting ships which have been hit.
+     *
+     * @return number of ships shot
+     */
+    @Benchmark
+    public int getShipsShot() {
+        return damaged.getShipsShot();
+    }
+
+    /**
+     * Benchmark of the hash of the position, which is the same for symmetric positions.
+     *
+     * @return canonical hash
+     */
+    @Benchmark
+    public long getCanonicalHash() {
+        return damaged.getCanonicalHash();
+    }
+}
@@ -0,0 +1,79 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of placing the whole fleet at random, on the standard and on the largest playing field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class PlacementBenchmark {
+
+    /**
+     * The largest playing field with a fleet of eleven thousand ships.
+     */
+    private static final GameConfig HUGE = new GameConfig(GameConfig.MAX_SIDE, GameConfig.MAX_SIDE, List.of(
+            new GameConfig.FleetEntry(5, 100), new GameConfig.FleetEntry(4, 1000),
+            new GameConfig.FleetEntry(1, 10000)));
+
+    /**
+     * Generator of random numbers with a fixed seed.
+     */
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * Benchmark of placing the standard fleet by trying random locations.
+     *
+     * @return number of ships sunk
+     */
+    @Benchmark
+    public int rejection() {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random, PlacementMethod.REJECTION_SAMPLING);
+        return ocean.getShipsSunk();
+    }
+
+    /**
+     * Benchmark of placing the standard fleet by choosing among the locations which are still free.
+     *
+     * @return number of ships sunk
+     */
+    @Benchmark
+    public int constraintAware() {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+        return ocean.getShipsSunk();
+    }
+
+    /**
+     * Benchmark of placing a huge fleet on the largest playing field and shooting a thousand times.
+     *
+     * @return amount of hits
+     */
+    @Benchmark
+    public long hugePlaceAndShoot() {
+        var ocean = new Ocean(HUGE);
+        ocean.placeAllShipsRandomly(random);
+        long hits = 0;
+        for (var i = 0; i < 1000; i++) {
+            hits += ocean.shootAt(random.nextInt(HUGE.getRows()), random.nextInt(HUGE.getColumns())) ? 1 : 0;
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,127 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of random fleet placement on several threads. Placement from one {@link Random} shared by all threads,
+ * as oceans did before, is compared with placement from a seed per game, where every game owns its generator.
+ * Each way is measured on one thread and on as many threads as there are processors; JMH reports throughput
+ * summed over threads, so the ratio of the two is the scaling. Other amounts of threads are measured with
+ * {@code -t}, for example {@code java -jar benchmarks.jar PlacementScaling -t 4}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class PlacementScalingBenchmark {
+
+    /**
+     * Generator shared by all threads, with its seed updated by compare-and-set.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedRandom {
+
+        /**
+         * Shared generator with a fixed seed.
+         */
+        final Random random = new Random(42);
+    }
+
+    /**
+     * Generator of seeds owned by the thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadSeeds {
+
+        /**
+         * Generator of seeds of games placed by the thread.
+         */
+        final SplittableRandom seeds = new SplittableRandom(Thread.currentThread().getId());
+    }
+
+    /**
+     * Benchmark of placement from the shared generator on one thread.
+     *
+     * @param shared shared generator
+     * @return amount of placed ships
+     */
+    @Benchmark
+    @Threads(1)
+    public int sharedSingleThread(SharedRandom shared) {
+        return placeShared(shared);
+    }
+
+    /**
+     * Benchmark of placement from the shared generator on all processors.
+     *
+     * @param shared shared generator
+     * @return amount of placed ships
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int sharedAllThreads(SharedRandom shared) {
+        return placeShared(shared);
+    }
+
+    /**
+     * Benchmark of placement from a seed per game on one thread.
+     *
+     * @param seeds generator of seeds owned by the thread
+     * @return amount of placed ships
+     */
+    @Benchmark
+    @Threads(1)
+    public int seededSingleThread(ThreadSeeds seeds) {
+        return placeSeeded(seeds);
+    }
+
+    /**
+     * Benchmark of placement from a seed per game on all processors.
+     *
+     * @param seeds generator of seeds owned by the thread
+     * @return amount of placed ships
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int seededAllThreads(ThreadSeeds seeds) {
+        return placeSeeded(seeds);
+    }
+
+    /**
+     * Method which places the standard fleet from the shared generator.
+     *
+     * @param shared shared generator
+     * @return amount of placed ships
+     */
+    private static int placeShared(SharedRandom shared) {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(shared.random);
+        return ocean.getFleetSize();
+    }
+
+    /**
+     * Method which places the standard fleet from a fresh seed, which is recorded in the ocean.
+     *
+     * @param seeds generator of seeds owned by the thread
+     * @return amount of placed ships
+     */
+    private static int placeSeeded(ThreadSeeds seeds) {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(seeds.seeds.nextLong());
+        return ocean.getFleetSize();
+    }
+}
@@ -0,0 +1,100 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of shooting at every cell of a new ocean, one shot at a time and as one batch.
+ * The baseline only places ships, so the cost of shooting is the difference to it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class SalvoBenchmark {
+
+    /**
+     * Amount of rows and columns of the standard playing field.
+     */
+    private static final int SIDE = GameConfig.STANDARD.getColumns();
+
+    /**
+     * Generator of random numbers with a fixed seed.
+     */
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * Words of the bitset with every cell of the playing field.
+     */
+    private long[] salvo;
+
+    /**
+     * Result of the batch, reused by every invocation.
+     */
+    private BatchResult batch;
+
+    /**
+     * Method which prepares the salvo before the measurement.
+     */
+    @Setup
+    public void setUp() {
+        salvo = new long[CellSet.getWordCount(SIDE * SIDE)];
+        for (var cell = 0; cell < SIDE * SIDE; cell++) {
+            salvo[cell >>> 6] |= 1L << cell;
+        }
+        batch = new BatchResult();
+    }
+
+    /**
+     * Benchmark of placing ships without shooting.
+     *
+     * @return number of ships sunk
+     */
+    @Benchmark
+    public int baseline() {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random);
+        return ocean.getShipsSunk();
+    }
+
+    /**
+     * Benchmark of shooting at every cell one by one.
+     *
+     * @return number of ships sunk
+     */
+    @Benchmark
+    public int loop() {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random);
+        for (var cell = 0; cell < SIDE * SIDE; cell++) {
+            ocean.shootAt(cell / SIDE, cell % SIDE);
+        }
+        return ocean.getShipsSunk();
+    }
+
+    /**
+     * Benchmark of shooting at every cell with one batch.
+     *
+     * @return number of ships sunk by the batch
+     */
+    @Benchmark
+    public int batch() {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random);
+        ocean.shootBatch(salvo, batch);
+        return batch.getSunkCount();
+    }
+}
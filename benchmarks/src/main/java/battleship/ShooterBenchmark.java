@@ -0,0 +1,86 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of the probability density shooter, with and without the cache of chosen shots.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ShooterBenchmark {
+
+    /**
+     * Generator of random numbers with a fixed seed.
+     */
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * Shooter without cache.
+     */
+    private ProbabilityDensityShooter shooter;
+
+    /**
+     * Shooter which remembers shots chosen for positions seen before.
+     */
+    private ProbabilityDensityShooter cachedShooter;
+
+    /**
+     * Method which creates shooters before the measurement.
+     */
+    @Setup
+    public void setUp() {
+        shooter = new ProbabilityDensityShooter(random);
+        cachedShooter = new ProbabilityDensityShooter(GameConfig.STANDARD, random, new ResultCache<>(1 << 16));
+    }
+
+    /**
+     * Benchmark of a whole game against a random ocean.
+     *
+     * @return amount of shots of the game
+     */
+    @Benchmark
+    public int game() {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random);
+        return Shooter.play(shooter, ocean);
+    }
+
+    /**
+     * Benchmark of choosing the first shot of a game.
+     *
+     * @return index of the chosen cell
+     */
+    @Benchmark
+    public int nextShot() {
+        shooter.reset();
+        return shooter.nextShot();
+    }
+
+    /**
+     * Benchmark of a whole game against a random ocean with the cache of chosen shots.
+     *
+     * @return amount of shots of the game
+     */
+    @Benchmark
+    public int gameCached() {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random);
+        return Shooter.play(cachedShooter, ocean);
+    }
+}
@@ -0,0 +1,80 @@
+package battleship;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro benchmarks of the binary snapshot of an ocean in the middle of a game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    /**
+     * Amount of rows and columns of the standard playing field.
+     */
+    private static final int SIDE = GameConfig.STANDARD.getColumns();
+
+    /**
+     * Ocean with randomly placed ships where every third cell has been shot at.
+     */
+    private Ocean damaged;
+
+    /**
+     * Direct buffer holding the snapshot of the ocean.
+     */
+    private ByteBuffer snapshot;
+
+    /**
+     * Method which prepares the ocean and its snapshot before the measurement.
+     */
+    @Setup
+    public void setUp() {
+        damaged = new Ocean();
+        damaged.placeAllShipsRandomly(new SplittableRandom(42));
+        for (var cell = 0; cell < SIDE * SIDE; cell += 3) {
+            damaged.shootAt(cell / SIDE, cell % SIDE);
+        }
+        snapshot = ByteBuffer.allocateDirect(OceanSnapshotCodec.encodedSize(damaged));
+        OceanSnapshotCodec.encode(damaged, snapshot);
+    }
+
+    /**
+     * Benchmark of writing the snapshot.
+     *
+     * @return size of the snapshot
+     */
+    @Benchmark
+    public int encode() {
+        snapshot.clear();
+        OceanSnapshotCodec.encode(damaged, snapshot);
+        return snapshot.position();
+    }
+
+    /**
+     * Benchmark of restoring the ocean from the snapshot.
+     *
+     * @return number of ships sunk
+     */
+    @Benchmark
+    public int decode() {
+        snapshot.rewind();
+        return OceanSnapshotCodec.decode(snapshot).getShipsSunk();
+    }
+}
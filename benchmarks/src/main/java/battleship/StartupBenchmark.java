@@ -0,0 +1,141 @@
+package battleship;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark of the startup of the headless core. A fresh JVM plays one game through {@link BattleshipCli}
+ * several times; wall-clock time from launch to exit and loaded classes are measured.
+ * The core is launched as a module from the jar or directory its classes are loaded from.
+ * The benchmark fails with a non-zero exit status when any class of AWT, Swing or JavaFX is loaded,
+ * so it can guard the build. Startup time depends on the machine, so the median is checked
+ * against a budget only when one is given.
+ */
+final class StartupBenchmark {
+
+    /**
+     * Prefixes of user interface classes which must never be loaded by the core.
+     */
+    private static final List<String> FORBIDDEN = List.of("java.awt.", "javax.swing.", "sun.awt.", "javafx.");
+
+    /**
+     * Arguments of the command started in every run.
+     */
+    private static final List<String> COMMAND = List.of("simulate", "1", "1", "1");
+
+    /**
+     * Constructor, the purpose of which is to forbid creation of instances.
+     */
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Method which starts the core in a fresh JVM and waits for it to exit.
+     *
+     * @param classLog file receiving the class loading log
+     * @return wall-clock time from launch to exit in nanoseconds
+     * @throws IOException          when it is impossible to start the JVM or the JVM fails
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    private static long launch(Path classLog) throws IOException, InterruptedException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xlog:class+load=info:file=" + classLog);
+        command.add("-p");
+        command.add(coreLocation().toString());
+        command.add("-m");
+        command.add("battleship.core/" + BattleshipCli.class.getName());
+        command.addAll(COMMAND);
+        var start = System.nanoTime();
+        var process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        var status = process.waitFor();
+        var elapsed = System.nanoTime() - start;
+        if (status != 0) {
+            throw new IOException("Core exited with status " + status + ".");
+        }
+        return elapsed;
+    }
+
+    /**
+     * Method to find the jar or directory of the core module.
+     *
+     * @return location of the classes of the core
+     * @throws IOException when the location cannot be determined
+     */
+    private static Path coreLocation() throws IOException {
+        try {
+            return Path.of(BattleshipCli.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException | SecurityException ex) {
+            throw new IOException("Unable to locate the core: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Method to extract names of loaded classes from the class loading log.
+     *
+     * @param classLog file with the class loading log
+     * @return names of loaded classes
+     * @throws IOException when it is impossible to read the log
+     */
+    static List<String> loadedClasses(Path classLog) throws IOException {
+        var classes = new ArrayList<String>();
+        for (var line : Files.readAllLines(classLog, StandardCharsets.UTF_8)) {
+            var begin = line.indexOf("] ", line.indexOf("[class,load]"));
+            if (begin < 0) {
+                continue;
+            }
+            var end = line.indexOf(' ', begin + 2);
+            classes.add(line.substring(begin + 2, end < 0 ? line.length() : end));
+        }
+        return classes;
+    }
+
+    /**
+     * Method where the benchmark is started from command line.
+     *
+     * @param args amount of runs (10 by default) and budget of the median startup in milliseconds,
+     *             both optional; without a positive budget the time is only reported
+     * @throws IOException          when it is impossible to start the core or read its log
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        var budget = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        var classLog = Files.createTempFile("battleship-startup", ".log");
+        try {
+            launch(classLog);
+            var times = new long[runs];
+            for (var i = 0; i < runs; i++) {
+                times[i] = launch(classLog);
+            }
+            Arrays.sort(times);
+            var median = times[runs / 2] / 1_000_000.0;
+            var classes = loadedClasses(classLog);
+            var own = classes.stream().filter(name -> name.startsWith("battleship.")).count();
+            var forbidden = classes.stream()
+                    .filter(name -> FORBIDDEN.stream().anyMatch(name::startsWith)).toList();
+            System.out.printf("Startup of '%s' over %d runs: median %.1f ms, min %.1f ms, max %.1f ms%n",
+                    String.join(" ", COMMAND), runs, median, times[0] / 1_000_000.0,
+                    times[runs - 1] / 1_000_000.0);
+            System.out.printf("Loaded classes: %d, of them battleship: %d, user interface: %d%n",
+                    classes.size(), own, forbidden.size());
+            if (!forbidden.isEmpty()) {
+                System.out.println("User interface classes loaded by the core: " + forbidden);
+                System.exit(1);
+            }
+            if (budget > 0 && median > budget) {
+                System.out.printf("Median startup exceeds the budget of %d ms%n", budget);
+                System.exit(1);
+            }
+        } finally {
+            Files.deleteIfExists(classLog);
+        }
+    }
+}
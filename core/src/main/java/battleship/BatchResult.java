@@ -0,0 +1,127 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Result of a batch of shots: bitsets of hit and missed target cells and ships sunk by the batch.
+ * Bit {@code i} of word {@code w} stands for cell {@code 64 * w + i}.
+ * A result may be reused for many batches to avoid allocation.
+ */
+final class BatchResult {
+
+    /**
+     * Target cells occupied by ships.
+     */
+    private long[] hits = new long[0];
+
+    /**
+     * Target cells of an empty sea.
+     */
+    private long[] misses = new long[0];
+
+    /**
+     * Ships sunk by the batch in the order they were sunk, first {@code sunkCount} entries are used.
+     */
+    private Ship[] sunk = new Ship[4];
+
+    /**
+     * Amount of ships sunk by the batch.
+     */
+    private int sunkCount;
+
+    /**
+     * Amount of shots fired by the batch.
+     */
+    private int shots;
+
+    /**
+     * Method which forgets the previous batch and makes room for the given amount of words.
+     *
+     * @param wordCount amount of 64-bit words covering all cells
+     */
+    void reset(int wordCount) {
+        if (hits.length != wordCount) {
+            hits = new long[wordCount];
+            misses = new long[wordCount];
+        } else {
+            Arrays.fill(hits, 0);
+            Arrays.fill(misses, 0);
+        }
+        Arrays.fill(sunk, 0, sunkCount, null);
+        sunkCount = 0;
+        shots = 0;
+    }
+
+    /**
+     * Method which stores the outcome of targets of one word.
+     *
+     * @param index  index of the word
+     * @param hits   target cells occupied by ships
+     * @param misses target cells of an empty sea
+     */
+    void setWord(int index, long hits, long misses) {
+        this.hits[index] = hits;
+        this.misses[index] = misses;
+        shots += Long.bitCount(hits | misses);
+    }
+
+    /**
+     * Method which adds the ship sunk by the batch.
+     *
+     * @param ship sunk ship
+     */
+    void addSunk(Ship ship) {
+        if (sunkCount == sunk.length) {
+            sunk = Arrays.copyOf(sunk, sunkCount * 2);
+        }
+        sunk[sunkCount++] = ship;
+    }
+
+    /**
+     * Getter for the word of hit target cells.
+     *
+     * @param index index of the word
+     * @return target cells of the word occupied by ships
+     */
+    long getHits(int index) {
+        return hits[index];
+    }
+
+    /**
+     * Getter for the word of missed target cells.
+     *
+     * @param index index of the word
+     * @return target cells of the word of an empty sea
+     */
+    long getMisses(int index) {
+        return misses[index];
+    }
+
+    /**
+     * Getter for the amount of ships sunk by the batch.
+     *
+     * @return amount of sunk ships
+     */
+    int getSunkCount() {
+        return sunkCount;
+    }
+
+    /**
+     * Getter for the ship sunk by the batch.
+     *
+     * @param index index of the ship from 0 to {@link #getSunkCount()} - 1, in the order of sinking
+     * @return sunk ship
+     */
+    Ship getSunk(int index) {
+        return sunk[index];
+    }
+
+    /**
+     * Getter for the amount of shots fired by the batch.
+     *
+     * @return amount of target cells
+     */
+    int getShots() {
+        return shots;
+    }
+}
@@ -0,0 +1,99 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Command line entry point of the headless game core. Only the classes of the chosen command are loaded,
+ * neither AWT nor JavaFX is touched, so simulations and the server start quickly on machines without display.
+ * The graphical game is started by {@code BattleshipGame} of the application module.
+ */
+final class BattleshipCli {
+
+    /**
+     * Description of commands printed when the command is missing or unknown.
+     */
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: battleship <command> [arguments]",
+            "Commands:",
+            "  simulate [games] [workers] [seed] [shooter] [side] [journal]  play games without user interface",
+            "  serve [port] [loops]                                          start the game server",
+            "  replay <journal>                                              summarize games recorded to a journal",
+            "  tournament [precision] [seed] [strategies] [report] [workers] [games]",
+            "                                                                compare shooting strategies",
+            "  layouts [workers] [seconds] [output]                          count and stream all fleet layouts",
+            "  shards [games] [shard size] [workers] [seed] [strategies] [checkpoint] [report]",
+            "                                                                play games in worker processes",
+            "  shard-worker <port> <slot>                                    worker process started by shards");
+
+    /**
+     * Constructor, the purpose of which is to forbid creation of instances.
+     */
+    private BattleshipCli() {
+    }
+
+    /**
+     * Method which summarizes games recorded to the journal.
+     *
+     * @param directory directory of journal segments
+     * @return amount of games, shots, hits and sunk ships
+     * @throws IOException when it is impossible to read the journal
+     */
+    static String replay(Path directory) throws IOException {
+        var totals = new long[3];
+        var games = new MoveJournalReader(directory).replayOceans(ocean -> {
+            totals[0] += ocean.getShotsFired();
+            totals[1] += ocean.getHitCount();
+            totals[2] += ocean.getShipsSunk();
+        });
+        return String.format("Games: %d, shots: %d, hits: %d, sunk ships: %d, shots per game: %.2f%n",
+                games, totals[0], totals[1], totals[2], games == 0 ? 0 : (double) totals[0] / games);
+    }
+
+    /**
+     * Method where the chosen command is started from command line.
+     *
+     * @param args name of the command followed by its arguments
+     * @throws IOException          when the command is unable to read or write files or sockets
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.out.println(USAGE);
+            return;
+        }
+        var rest = Arrays.copyOfRange(args, 1, args.length);
+        switch (args[0]) {
+            case "simulate":
+                SimulationRunner.main(rest);
+                break;
+            case "serve":
+                GameServer.main(rest);
+                break;
+            case "replay":
+                if (rest.length == 0) {
+                    System.err.println(USAGE);
+                    System.exit(2);
+                }
+                System.out.print(replay(Path.of(rest[0])));
+                break;
+            case "tournament":
+                Tournament.main(rest);
+                break;
+            case "layouts":
+                FleetLayoutEnumerator.main(rest);
+                break;
+            case "shards":
+                ShardCoordinator.main(rest);
+                break;
+            case "shard-worker":
+                ShardWorker.main(rest);
+                break;
+            default:
+                System.err.println("Unknown command " + args[0] + ".");
+                System.err.println(USAGE);
+                System.exit(2);
+        }
+    }
+}
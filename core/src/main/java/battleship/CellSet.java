@@ -0,0 +1,297 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of cells of the playing field packed as bits.
+ * Small fields keep every 64-bit word in an array, large fields keep only non-zero words in a hash table,
+ * so memory is spent only on cells which are actually in the set.
+ */
+final class CellSet {
+
+    /**
+     * Maximum amount of cells for which all words are kept in an array.
+     */
+    static final int DENSE_LIMIT = 1 << 16;
+
+    /**
+     * Initial capacity of the hash table of a sparse set.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Amount of cells which may be in the set.
+     */
+    private final int cells;
+
+    /**
+     * All words of a dense set, null for a sparse set.
+     */
+    private final long[] words;
+
+    /**
+     * Word indexes plus one of a sparse set, 0 for a free slot.
+     */
+    private int[] keys;
+
+    /**
+     * Words of a sparse set stored in the slots of their indexes.
+     */
+    private long[] values;
+
+    /**
+     * Amount of used slots of a sparse set.
+     */
+    private int used;
+
+    /**
+     * Amount of cells in the set.
+     */
+    private int cardinality;
+
+    /**
+     * Constructor, the purpose of which is to create an empty set.
+     *
+     * @param cells amount of cells which may be in the set
+     */
+    CellSet(int cells) {
+        this.cells = cells;
+        if (cells <= DENSE_LIMIT) {
+            words = new long[getWordCount(cells)];
+        } else {
+            words = null;
+            keys = new int[INITIAL_CAPACITY];
+            values = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Method to count 64-bit words needed to hold the given amount of cells.
+     *
+     * @param cells amount of cells
+     * @return amount of words
+     */
+    static int getWordCount(int cells) {
+        return (cells + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Getter for the amount of cells which may be in the set.
+     *
+     * @return amount of cells
+     */
+    int getCells() {
+        return cells;
+    }
+
+    /**
+     * Getter for the amount of cells in the set.
+     *
+     * @return amount of cells in the set
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Method to check whether the cell is in the set.
+     *
+     * @param cell index of the cell
+     * @return true if the cell is in the set, otherwise – false
+     */
+    boolean contains(int cell) {
+        return (getWord(cell >>> 6) & (1L << cell)) != 0;
+    }
+
+    /**
+     * Method to add the cell to the set.
+     *
+     * @param cell index of the cell
+     * @return true if the cell has not been in the set, otherwise – false
+     */
+    boolean add(int cell) {
+        var bit = 1L << cell;
+        if (words != null) {
+            var word = words[cell >>> 6];
+            if ((word & bit) != 0) {
+                return false;
+            }
+            words[cell >>> 6] = word | bit;
+        } else {
+            var slot = slot(cell >>> 6, true);
+            if ((values[slot] & bit) != 0) {
+                return false;
+            }
+            values[slot] |= bit;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Method to add all cells of the word to the set.
+     *
+     * @param index index of the word
+     * @param bits  cells to add, bit {@code i} stands for cell {@code 64 * index + i}
+     * @return cells of the word which have not been in the set
+     */
+    long addWord(int index, long bits) {
+        if (bits == 0) {
+            return 0;
+        }
+        long added;
+        if (words != null) {
+            added = bits & ~words[index];
+            words[index] |= added;
+        } else {
+            var slot = slot(index, true);
+            added = bits & ~values[slot];
+            values[slot] |= added;
+        }
+        cardinality += Long.bitCount(added);
+        return added;
+    }
+
+    /**
+     * Method to remove the cell from the set.
+     *
+     * @param cell index of the cell
+     * @return true if the cell has been in the set, otherwise – false
+     */
+    boolean remove(int cell) {
+        var bit = 1L << cell;
+        if (words != null) {
+            var word = words[cell >>> 6];
+            if ((word & bit) == 0) {
+                return false;
+            }
+            words[cell >>> 6] = word & ~bit;
+        } else {
+            var slot = slot(cell >>> 6, false);
+            if (slot < 0 || (values[slot] & bit) == 0) {
+                return false;
+            }
+            values[slot] &= ~bit;
+        }
+        cardinality--;
+        return true;
+    }
+
+    /**
+     * Method to remove all cells from the set.
+     */
+    void clear() {
+        if (words != null) {
+            Arrays.fill(words, 0);
+        } else {
+            keys = new int[INITIAL_CAPACITY];
+            values = new long[INITIAL_CAPACITY];
+            used = 0;
+        }
+        cardinality = 0;
+    }
+
+    /**
+     * Getter for the amount of 64-bit words covering all cells.
+     *
+     * @return amount of words
+     */
+    int getWordCount() {
+        return getWordCount(cells);
+    }
+
+    /**
+     * Getter for the word of the set, bit {@code i} of word {@code w} stands for cell {@code 64 * w + i}.
+     *
+     * @param index index of the word
+     * @return bits of the word
+     */
+    long getWord(int index) {
+        if (words != null) {
+            return words[index];
+        }
+        var slot = slot(index, false);
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    /**
+     * Method which calls the action for every cell in the set.
+     * Cells of a dense set are visited in ascending order, cells of a sparse set – in arbitrary order.
+     *
+     * @param action action to call with index of the cell
+     */
+    void forEach(IntConsumer action) {
+        if (words != null) {
+            for (var w = 0; w < words.length; w++) {
+                forEachBit(w, words[w], action);
+            }
+        } else {
+            for (var slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    forEachBit(keys[slot] - 1, values[slot], action);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which calls the action for every bit set in the word.
+     *
+     * @param index  index of the word
+     * @param word   bits of the word
+     * @param action action to call with index of the cell
+     */
+    private static void forEachBit(int index, long word, IntConsumer action) {
+        while (word != 0) {
+            action.accept(index * Long.SIZE + Long.numberOfTrailingZeros(word));
+            word &= word - 1;
+        }
+    }
+
+    /**
+     * Method to find the slot of the word in the hash table of a sparse set.
+     *
+     * @param index  index of the word
+     * @param create true if a slot should be taken when the word is not stored yet
+     * @return slot of the word, or -1 if it is not stored and should not be created
+     */
+    private int slot(int index, boolean create) {
+        var mask = keys.length - 1;
+        var key = index + 1;
+        var hash = key * 0x9E3779B9;
+        var slot = (hash ^ hash >>> 16) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!create) {
+            return -1;
+        }
+        if (2 * (used + 1) > keys.length) {
+            grow();
+            return slot(index, true);
+        }
+        keys[slot] = key;
+        used++;
+        return slot;
+    }
+
+    /**
+     * Method which doubles the capacity of the hash table of a sparse set.
+     */
+    private void grow() {
+        var oldKeys = keys;
+        var oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        used = 0;
+        for (var slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                values[slot(oldKeys[slot] - 1, true)] = oldValues[slot];
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package battleship;
+
+/**
+ * Map from cells of the playing field to ids of ships occupying them, 0 stands for an empty sea.
+ * Small fields keep an id for every cell in an array, large fields keep only occupied cells in a hash table.
+ */
+final class CellShipMap {
+
+    /**
+     * Initial capacity of the hash table of a sparse map.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Ids of ships of every cell of a dense map, null for a sparse map.
+     */
+    private final char[] ids;
+
+    /**
+     * Cell indexes plus one of a sparse map, 0 for a free slot.
+     */
+    private int[] keys;
+
+    /**
+     * Ids of ships of a sparse map stored in the slots of their cells.
+     */
+    private int[] values;
+
+    /**
+     * Amount of used slots of a sparse map.
+     */
+    private int used;
+
+    /**
+     * Constructor, the purpose of which is to create a map without ships.
+     *
+     * @param cells amount of cells on the playing field
+     */
+    CellShipMap(int cells) {
+        if (cells <= CellSet.DENSE_LIMIT) {
+            ids = new char[cells];
+        } else {
+            ids = null;
+            keys = new int[INITIAL_CAPACITY];
+            values = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Getter for the id of the ship occupying the cell.
+     *
+     * @param cell index of the cell
+     * @return id of the ship, 0 for an empty sea
+     */
+    int get(int cell) {
+        if (ids != null) {
+            return ids[cell];
+        }
+        var slot = slot(cell, false);
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    /**
+     * Setter for the id of the ship occupying the cell.
+     *
+     * @param cell index of the cell
+     * @param id   id of the ship, positive number
+     * @throws IllegalArgumentException when the id does not fit into a dense map
+     */
+    void put(int cell, int id) throws IllegalArgumentException {
+        if (ids != null) {
+            if (id > Character.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many ships in the ocean.");
+            }
+            ids[cell] = (char) id;
+        } else {
+            var slot = slot(cell, true);
+            values[slot] = id;
+        }
+    }
+
+    /**
+     * Method to find the slot of the cell in the hash table of a sparse map.
+     *
+     * @param cell   index of the cell
+     * @param create true if a slot should be taken when the cell is not stored yet
+     * @return slot of the cell, or -1 if it is not stored and should not be created
+     */
+    private int slot(int cell, boolean create) {
+        var mask = keys.length - 1;
+        var key = cell + 1;
+        var hash = key * 0x9E3779B9;
+        var slot = (hash ^ hash >>> 16) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (!create) {
+            return -1;
+        }
+        if (2 * (used + 1) > keys.length) {
+            grow();
+            return slot(cell, true);
+        }
+        keys[slot] = key;
+        used++;
+        return slot;
+    }
+
+    /**
+     * Method which doubles the capacity of the hash table of a sparse map.
+     */
+    private void grow() {
+        var oldKeys = keys;
+        var oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        used = 0;
+        for (var slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                values[slot(oldKeys[slot] - 1, true)] = oldValues[slot];
+            }
+        }
+    }
+}
@@ -20,17 +20,23 @@ final class Coordinates {
     private static final int LOWER_BOUND = 0;
 
     /**
-     * Constant upper bound of playing field indexes.
+     * Constructor, the purpose of which is to parse coordinates of the standard playing field from string array.
+     *
+     * @param possibleCoordinates string array, storing possible coordinates values
+     * @throws IllegalArgumentException when it is impossible to parse string array into coordinates.
      */
-    private static final int UPPER_BOUND = 9;
+    Coordinates(String[] possibleCoordinates) throws IllegalArgumentException {
+        this(possibleCoordinates, GameConfig.STANDARD);
+    }
 
     /**
      * Constructor, the purpose of which is to parse coordinates from string array.
      *
      * @param possibleCoordinates string array, storing possible coordinates values
+     * @param config              settings of the game, x is bounded by amount of rows and y by amount of columns
      * @throws IllegalArgumentException when it is impossible to parse string array into coordinates.
      */
-    Coordinates(String[] possibleCoordinates) throws IllegalArgumentException {
+    Coordinates(String[] possibleCoordinates, GameConfig config) throws IllegalArgumentException {
         final String ILLEGAL_ARGUMENT_MESSAGE = "Incorrect coordinates. Try again!";
 
         if (possibleCoordinates.length != 2) {
@@ -39,7 +45,7 @@ final class Coordinates {
 
         Integer x = intTryParse(possibleCoordinates[0]);
         Integer y = intTryParse(possibleCoordinates[1]);
-        if (x == null || y == null || outsideOfBounds(x) || outsideOfBounds(y)) {
+        if (x == null || y == null || outsideOfBounds(x, config.getRows()) || outsideOfBounds(y, config.getColumns())) {
             throw new IllegalArgumentException(ILLEGAL_ARGUMENT_MESSAGE);
         }
 
@@ -63,10 +69,11 @@ final class Coordinates {
     /**
      * Method to check whether the coordinate is inside of the playing field or not.
      * @param coordinate to check
+     * @param size       amount of indexes along the coordinate axis
      * @return true if the coordinate is outside of the bounds, otherwise – true
      */
-    private static boolean outsideOfBounds(int coordinate) {
-        return coordinate < LOWER_BOUND || coordinate > UPPER_BOUND;
+    private static boolean outsideOfBounds(int coordinate, int size) {
+        return coordinate < LOWER_BOUND || coordinate >= size;
     }
 
     /**
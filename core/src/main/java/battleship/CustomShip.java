@@ -0,0 +1,25 @@
+package battleship;
+
+class CustomShip extends Ship {
+
+    /**
+     * Constructor, the purpose of which is to set the inherited length variable to the given length,
+     * and to initialize the hit array.
+     *
+     * @param length number of squares occupied by the ship
+     */
+    CustomShip(int length) {
+        this.length = length;
+        hit = new boolean[length];
+    }
+
+    /**
+     * Method to get type of a ship.
+     *
+     * @return type of this particular ship
+     */
+    @Override
+    String getShipType() {
+        return String.format("%d-deck ship", length);
+    }
+}
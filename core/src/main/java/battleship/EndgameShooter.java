@@ -0,0 +1,146 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shooter which follows the probability density heuristic until few enough fleet layouts are consistent
+ * with observations, then plays the rest of the game with the exact {@link EndgameSolver}.
+ * The transposition table of the solver is cleared for every game, so with the time budget left unlimited
+ * the shots of a game depend only on the game.
+ */
+final class EndgameShooter implements Shooter {
+
+    /**
+     * Capacity of the transposition table of every shooter.
+     */
+    private static final int TABLE_CAPACITY = 1 << 16;
+
+    /**
+     * Shooter used while there are too many layouts.
+     */
+    private final Shooter heuristic;
+
+    /**
+     * Solver of the endgame.
+     */
+    private final EndgameSolver solver;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Time budget of a decision in nanoseconds.
+     */
+    private final long budgetNanos;
+
+    /**
+     * Largest amount of positions expanded by a decision.
+     */
+    private final long maxExpansions;
+
+    /**
+     * Observation of every cell, as expected by the solver.
+     */
+    private final byte[] observed;
+
+    /**
+     * Amount of shots chosen by the solver.
+     */
+    private long solvedShots;
+
+    /**
+     * Amount of decisions left to the heuristic because a budget ran out although there were few layouts.
+     */
+    private long expiredDecisions;
+
+    /**
+     * Constructor, the purpose of which is to set the playing field with default threshold and budgets.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param random generator of pseudo random numbers used by the heuristic
+     */
+    EndgameShooter(GameConfig config, RandomGenerator random) {
+        this(config, random, EndgameSolver.DEFAULT_LAYOUT_THRESHOLD, EndgameSolver.DEFAULT_BUDGET_NANOS,
+                EndgameSolver.DEFAULT_EXPANSIONS);
+    }
+
+    /**
+     * Constructor, the purpose of which is to set the playing field, the threshold and the budgets of decisions.
+     *
+     * @param config          size of the playing field and composition of the fleet
+     * @param random          generator of pseudo random numbers used by the heuristic
+     * @param layoutThreshold largest amount of consistent layouts for which the solver takes over
+     * @param budgetNanos     time budget of a decision in nanoseconds, {@link Long#MAX_VALUE} for no limit
+     * @param maxExpansions   largest amount of positions expanded by a decision
+     */
+    EndgameShooter(GameConfig config, RandomGenerator random, int layoutThreshold, long budgetNanos,
+                   long maxExpansions) {
+        heuristic = new ProbabilityDensityShooter(config, random);
+        solver = new EndgameSolver(config, layoutThreshold, TABLE_CAPACITY);
+        columns = config.getColumns();
+        this.budgetNanos = budgetNanos;
+        this.maxExpansions = maxExpansions;
+        observed = new byte[config.getCells()];
+    }
+
+    /**
+     * Getter for the amount of shots chosen by the solver.
+     *
+     * @return amount of shots over all games
+     */
+    long getSolvedShots() {
+        return solvedShots;
+    }
+
+    /**
+     * Getter for the amount of decisions left to the heuristic because a budget ran out.
+     *
+     * @return amount of decisions over all games
+     */
+    long getExpiredDecisions() {
+        return expiredDecisions;
+    }
+
+    @Override
+    public int nextShot() {
+        var decision = solver.decide(observed, budgetNanos, maxExpansions);
+        if (decision.getCell() >= 0) {
+            solvedShots++;
+            return decision.getCell();
+        }
+        if (decision.getLayouts() > 0) {
+            expiredDecisions++;
+        }
+        return heuristic.nextShot();
+    }
+
+    @Override
+    public void observe(int row, int column, ShotResult result) {
+        heuristic.observe(row, column, result);
+        var cell = row * columns + column;
+        if (observed[cell] != PosteriorSampler.UNKNOWN) {
+            return;
+        }
+        switch (result) {
+            case MISS:
+                observed[cell] = PosteriorSampler.MISS;
+                break;
+            case HIT:
+                observed[cell] = PosteriorSampler.HIT;
+                break;
+            case SUNK:
+                observed[cell] = PosteriorSampler.SUNK;
+                break;
+        }
+    }
+
+    @Override
+    public void reset() {
+        heuristic.reset();
+        Arrays.fill(observed, PosteriorSampler.UNKNOWN);
+        solver.getTable().clear();
+    }
+}
@@ -0,0 +1,689 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Exact solver of the endgame which minimizes the expected amount of shots needed to sink the rest of the fleet.
+ * Layouts of ships still afloat consistent with observations are enumerated with the placement rules of
+ * {@link Ship#okToPlaceShipAt}; if there are not too many of them, every layout is taken as equally likely
+ * and the shot tree is searched to the end of the game. A shot splits layouts by its result (miss, hit or sunk),
+ * so the expected amount of shots of a position is one plus the expected amount of every result weighted
+ * by the share of layouts giving it. The rest of the game depends only on which ship cells of every layout
+ * have not been shot at yet, so positions reached by different orders of shots, or differing only in misses
+ * no layout cares about, are solved once: their values are kept in a transposition table keyed by
+ * Zobrist hashes of these bitboards. The table outlives decisions, so positions searched for one shot
+ * are not searched again for the next one.
+ * Every decision has a time budget and a budget of expanded positions; when either runs out
+ * the decision is left to heuristics.
+ */
+final class EndgameSolver {
+
+    /**
+     * Default largest amount of consistent layouts for which the solver takes over.
+     */
+    static final int DEFAULT_LAYOUT_THRESHOLD = Integer.getInteger("battleship.endgame.layouts", 64);
+
+    /**
+     * Default time budget of a decision in nanoseconds.
+     */
+    static final long DEFAULT_BUDGET_NANOS = Long.getLong("battleship.endgame.budgetMillis", 20) * 1_000_000L;
+
+    /**
+     * Default largest amount of positions expanded by a decision.
+     * Unlike the time budget it makes decisions reproducible, whatever the speed and load of the machine.
+     */
+    static final long DEFAULT_EXPANSIONS = Long.getLong("battleship.endgame.expansions", 4096);
+
+    /**
+     * Amount of placement attempts per allowed layout after which enumeration gives up.
+     * Observations may admit few layouts while pruning them takes long; such positions are left to heuristics.
+     */
+    private static final int ATTEMPTS_PER_LAYOUT = 64;
+
+    /**
+     * Constant distinguishing keys of layouts from keys of ships.
+     */
+    private static final long LAYOUT_SALT = 0x5851F42D4C957F2DL;
+
+    /**
+     * Amount of placement attempts between checks of the time budget.
+     */
+    private static final int CLOCK_CHECK_PERIOD = 256;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Amount of words of a bitboard.
+     */
+    private final int words;
+
+    /**
+     * Largest amount of consistent layouts for which the solver takes over.
+     */
+    private final int layoutThreshold;
+
+    /**
+     * Expected amount of shots of solved positions by hashes of unshot ship cells of their layouts.
+     */
+    private final ResultCache<Double> table;
+
+    /**
+     * Occupied cells of every enumerated layout, {@link #words} words per layout.
+     */
+    private final long[] occupancy;
+
+    /**
+     * Cells of every ship of every enumerated layout, {@link #words} words per ship.
+     */
+    private final long[] shipMasks;
+
+    /**
+     * Index of the ship holding every cell in every enumerated layout, -1 for empty cells.
+     */
+    private final byte[] shipOf;
+
+    /**
+     * Zobrist key of every cell.
+     */
+    private final long[] cellKeys;
+
+    /**
+     * Amount of enumerated layouts.
+     */
+    private int layoutCount;
+
+    /**
+     * Lengths of ships still afloat in the current position, from the longest to the shortest.
+     */
+    private int[] afloat;
+
+    /**
+     * Total length of ships from the index to the end of {@link #afloat}.
+     */
+    private int[] lengthsFrom;
+
+    /**
+     * Observation of every cell in the current position.
+     */
+    private byte[] observed;
+
+    /**
+     * Cells which may not hold or touch a ship being placed: sunk ships and already placed ships.
+     */
+    private CellSet occupied;
+
+    /**
+     * Cells of ships placed so far during enumeration, one row per ship.
+     */
+    private int[][] placed;
+
+    /**
+     * Amount of hit cells of ships afloat not yet covered by placed ships.
+     */
+    private int uncovered;
+
+    /**
+     * Amount of placement attempts of the current decision.
+     */
+    private long nodes;
+
+    /**
+     * Largest amount of placement attempts of the current decision.
+     */
+    private long nodeLimit;
+
+    /**
+     * Start of the current decision, as returned by {@link System#nanoTime()}.
+     */
+    private long start;
+
+    /**
+     * Time budget of the current decision in nanoseconds.
+     */
+    private long budgetNanos;
+
+    /**
+     * Amount of positions expanded by the current decision.
+     */
+    private long expansions;
+
+    /**
+     * Largest amount of positions expanded by the current decision.
+     */
+    private long maxExpansions;
+
+    /**
+     * True if the current decision has run out of time, placement attempts or expansions, otherwise – false.
+     */
+    private boolean expired;
+
+    /**
+     * Constructor, the purpose of which is to allocate room for layouts and the transposition table.
+     *
+     * @param config          size of the playing field and composition of the fleet
+     * @param layoutThreshold largest amount of consistent layouts for which the solver takes over
+     * @param tableCapacity   capacity of the transposition table
+     * @throws IllegalArgumentException when the threshold or the capacity is not positive
+     */
+    EndgameSolver(GameConfig config, int layoutThreshold, int tableCapacity) throws IllegalArgumentException {
+        if (layoutThreshold <= 0) {
+            throw new IllegalArgumentException("Layout threshold must be positive.");
+        }
+        this.config = config;
+        this.layoutThreshold = layoutThreshold;
+        words = CellSet.getWordCount(config.getCells());
+        table = new ResultCache<>(tableCapacity);
+        occupancy = new long[layoutThreshold * words];
+        shipMasks = new long[layoutThreshold * config.getShipsAmount() * words];
+        shipOf = new byte[layoutThreshold * config.getCells()];
+        cellKeys = new long[config.getCells()];
+        for (var cell = 0; cell < cellKeys.length; cell++) {
+            cellKeys[cell] = ZobristHash.key(cell, 0);
+        }
+    }
+
+    /**
+     * Getter for the transposition table.
+     *
+     * @return expected amount of shots of solved positions
+     */
+    ResultCache<Double> getTable() {
+        return table;
+    }
+
+    /**
+     * Method which chooses the next shot if few enough layouts are consistent with observations.
+     *
+     * @param observed      observation of every cell, as expected by {@link PosteriorSampler}
+     * @param budgetNanos   time budget of the decision in nanoseconds
+     * @param maxExpansions largest amount of positions expanded by the decision
+     * @return chosen shot, without a cell if there are too many layouts or a budget has run out
+     * @throws IllegalArgumentException when observations contradict the fleet
+     */
+    Decision decide(byte[] observed, long budgetNanos, long maxExpansions) throws IllegalArgumentException {
+        start = System.nanoTime();
+        this.budgetNanos = budgetNanos;
+        this.maxExpansions = maxExpansions;
+        expired = false;
+        nodes = 0;
+        expansions = 0;
+        if (!enumerate(observed)) {
+            return new Decision(-1, -1, Double.NaN);
+        }
+        if (layoutCount == 0) {
+            return new Decision(-1, 0, Double.NaN);
+        }
+
+        var shots = new long[words];
+        for (var cell = 0; cell < observed.length; cell++) {
+            if (observed[cell] != PosteriorSampler.UNKNOWN) {
+                shots[cell >>> 6] |= 1L << cell;
+            }
+        }
+        var root = new Position(layoutCount, afloat.length);
+        for (var i = 0; i < layoutCount; i++) {
+            root.layouts[i] = i;
+        }
+        inspect(root, shots);
+        var groups = new int[3][layoutCount];
+        var bestCell = -1;
+        var best = Double.POSITIVE_INFINITY;
+        for (var cell : candidates(root, shots)) {
+            var value = evaluate(cell, root, shots, best, groups);
+            if (isOutOfBudget()) {
+                break;
+            }
+            if (value < best) {
+                best = value;
+                bestCell = cell;
+            }
+        }
+        if (expired) {
+            return new Decision(-1, layoutCount, Double.NaN);
+        }
+        return new Decision(bestCell, layoutCount, best);
+    }
+
+    /**
+     * Method which enumerates layouts of ships afloat consistent with observations.
+     * Ships are placed from the longest to the shortest, and ships of the same length in increasing order
+     * of locations, so every layout is met once.
+     *
+     * @param observed observation of every cell
+     * @return true if all layouts were enumerated, otherwise – false
+     * @throws IllegalArgumentException when observations contradict the fleet
+     */
+    private boolean enumerate(byte[] observed) throws IllegalArgumentException {
+        var board = new PosteriorSampler.Board(config, observed);
+        this.observed = observed;
+        afloat = board.getAfloat();
+        lengthsFrom = new int[afloat.length + 1];
+        for (var i = afloat.length - 1; i >= 0; i--) {
+            lengthsFrom[i] = lengthsFrom[i + 1] + afloat[i];
+        }
+        occupied = new CellSet(config.getCells());
+        board.getSunkCells().forEach(occupied::add);
+        placed = new int[afloat.length][];
+        uncovered = board.getOpenHits().length;
+        layoutCount = 0;
+        nodeLimit = (long) layoutThreshold * ATTEMPTS_PER_LAYOUT;
+        return uncovered <= lengthsFrom[0] && place(0, 0);
+    }
+
+    /**
+     * Method which places the ship and all following ships in every consistent way.
+     *
+     * @param ship index of the ship in {@link #afloat}
+     * @param from smallest location of the ship, twice the bow cell plus one for vertical ships
+     * @return true if enumeration may go on, otherwise – false
+     */
+    private boolean place(int ship, int from) {
+        if (ship == afloat.length) {
+            if (uncovered == 0) {
+                if (layoutCount == layoutThreshold) {
+                    return false;
+                }
+                storeLayout();
+            }
+            return true;
+        }
+        var length = afloat[ship];
+        var columns = config.getColumns();
+        var cells = new int[length];
+        for (var location = from; location < 2 * config.getCells(); location++) {
+            var horizontal = (location & 1) == 0;
+            if (!horizontal && length == 1) {
+                continue;
+            }
+            var row = (location >>> 1) / columns;
+            var column = (location >>> 1) % columns;
+            if (++nodes > nodeLimit || (nodes % CLOCK_CHECK_PERIOD == 0 && System.nanoTime() - start > budgetNanos)) {
+                expired = true;
+                return false;
+            }
+            if (!Ship.okToPlaceShipAt(row, column, length, horizontal, config, occupied)) {
+                continue;
+            }
+            var hits = 0;
+            var missed = false;
+            for (var i = 0; i < length; i++) {
+                cells[i] = horizontal ? row * columns + column + i : (row + i) * columns + column;
+                missed |= observed[cells[i]] == PosteriorSampler.MISS;
+                hits += observed[cells[i]] == PosteriorSampler.HIT ? 1 : 0;
+            }
+            // A ship hit at every cell would have been reported sunk.
+            if (missed || hits == length || uncovered - hits > lengthsFrom[ship + 1]) {
+                continue;
+            }
+            for (var cell : cells) {
+                occupied.add(cell);
+            }
+            uncovered -= hits;
+            placed[ship] = cells;
+            var next = ship + 1 < afloat.length && afloat[ship + 1] == length ? location + 1 : 0;
+            var goOn = place(ship + 1, next);
+            uncovered += hits;
+            for (var cell : cells) {
+                occupied.remove(cell);
+            }
+            if (!goOn) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method which stores the layout of placed ships.
+     */
+    private void storeLayout() {
+        var layout = layoutCount++;
+        var cells = config.getCells();
+        Arrays.fill(occupancy, layout * words, (layout + 1) * words, 0);
+        Arrays.fill(shipOf, layout * cells, (layout + 1) * cells, (byte) -1);
+        for (var ship = 0; ship < afloat.length; ship++) {
+            var mask = (layout * afloat.length + ship) * words;
+            Arrays.fill(shipMasks, mask, mask + words, 0);
+            for (var cell : placed[ship]) {
+                shipMasks[mask + (cell >>> 6)] |= 1L << cell;
+                occupancy[layout * words + (cell >>> 6)] |= 1L << cell;
+                shipOf[layout * cells + cell] = (byte) ship;
+            }
+        }
+    }
+
+    /**
+     * Method to compute the expected amount of shots to sink all ships afloat after a shot.
+     * The key of the position is derived from the position before the shot, so a position found
+     * in the transposition table is never built.
+     *
+     * @param parent  position before the shot
+     * @param indices indices of layouts of the parent giving the same result, first {@code size} entries are used
+     * @param size    amount of layouts giving the result
+     * @param cell    cell shot at
+     * @param shots   cells which have been shot at, including the cell
+     * @return expected amount of shots, meaningless if the decision has expired
+     */
+    private double expected(Position parent, int[] indices, int size, int cell, long[] shots) {
+        var cells = config.getCells();
+        if (size == 1) {
+            return parent.unshot[indices[0]] - (shipOf[parent.layouts[indices[0]] * cells + cell] < 0 ? 0 : 1);
+        }
+        var ships = afloat.length;
+        var key = 0L;
+        for (var k = 0; k < size; k++) {
+            var i = indices[k];
+            var ship = shipOf[parent.layouts[i] * cells + cell];
+            var layoutKey = parent.layoutKeys[i];
+            if (ship >= 0) {
+                var j = i * ships + ship;
+                layoutKey -= mix(parent.shipKeys[j]);
+                if (parent.left[j] > 1) {
+                    layoutKey += mix(parent.shipKeys[j] ^ cellKeys[cell]);
+                }
+            }
+            key += mix(layoutKey ^ LAYOUT_SALT);
+        }
+        var cached = table.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        expansions++;
+        if (isOutOfBudget()) {
+            return 0;
+        }
+
+        var position = new Position(size, ships);
+        for (var k = 0; k < size; k++) {
+            var i = indices[k];
+            position.layouts[k] = parent.layouts[i];
+            position.unshot[k] = parent.unshot[i];
+            position.layoutKeys[k] = parent.layoutKeys[i];
+            System.arraycopy(parent.left, i * ships, position.left, k * ships, ships);
+            System.arraycopy(parent.shipKeys, i * ships, position.shipKeys, k * ships, ships);
+            var ship = shipOf[position.layouts[k] * cells + cell];
+            if (ship >= 0) {
+                var j = k * ships + ship;
+                position.unshot[k]--;
+                position.left[j]--;
+                position.layoutKeys[k] -= mix(position.shipKeys[j]);
+                position.shipKeys[j] ^= cellKeys[cell];
+                if (position.left[j] > 0) {
+                    position.layoutKeys[k] += mix(position.shipKeys[j]);
+                }
+            }
+        }
+        var groups = new int[3][size];
+        var best = Double.POSITIVE_INFINITY;
+        for (var candidate : candidates(position, shots)) {
+            var value = evaluate(candidate, position, shots, best, groups);
+            if (isOutOfBudget()) {
+                return 0;
+            }
+            best = Math.min(best, value);
+        }
+        table.put(key, best);
+        return best;
+    }
+
+    /**
+     * Method to compute the expected amount of shots to sink all ships afloat if the cell is shot next.
+     * Every layout needs at least as many shots as it has unshot ship cells, so evaluation stops
+     * once the value cannot be below the bound.
+     *
+     * @param cell     cell shot next
+     * @param position layouts consistent with observations
+     * @param shots    cells which have been shot at, restored before returning
+     * @param bound    value of the best shot found so far
+     * @param groups   buffers of indices of layouts giving a miss, a hit and a sunk ship
+     * @return expected amount of shots, not below the bound if it is not better than the bound
+     */
+    private double evaluate(int cell, Position position, long[] shots, double bound, int[][] groups) {
+        var sizes = new int[3];
+        var lower = new double[3];
+        var total = 0.0;
+        var cells = config.getCells();
+        for (var i = 0; i < position.count; i++) {
+            var ship = shipOf[position.layouts[i] * cells + cell];
+            // 0 is a miss, 1 is a hit and 2 is a sunk ship.
+            var result = ship < 0 ? 0 : position.left[i * afloat.length + ship] == 1 ? 2 : 1;
+            groups[result][sizes[result]++] = i;
+            var remaining = position.unshot[i] - (result == 0 ? 0 : 1);
+            lower[result] += remaining;
+            total += remaining;
+        }
+        var rest = total / position.count;
+        if (1 + rest >= bound) {
+            return 1 + rest;
+        }
+        var word = cell >>> 6;
+        var saved = shots[word];
+        shots[word] |= 1L << cell;
+        var value = 1.0;
+        for (var result = 0; result < 3 && !expired; result++) {
+            if (sizes[result] == 0) {
+                continue;
+            }
+            rest -= lower[result] / position.count;
+            value += (double) sizes[result] / position.count
+                    * expected(position, groups[result], sizes[result], cell, shots);
+            if (value + rest >= bound) {
+                value += rest;
+                break;
+            }
+        }
+        shots[word] = saved;
+        return value;
+    }
+
+    /**
+     * Method to count unshot cells of every ship of every layout of the position and to combine their keys.
+     * Unshot cells of a ship are combined by Zobrist keys, ships of a layout and layouts of a position
+     * by commutative sums, so keys of positions do not depend on the order of ships, layouts or shots.
+     *
+     * @param position position to fill, its layouts are set
+     * @param shots    cells which have been shot at
+     */
+    private void inspect(Position position, long[] shots) {
+        var ships = afloat.length;
+        for (var i = 0; i < position.count; i++) {
+            var mask = position.layouts[i] * ships * words;
+            for (var ship = 0; ship < ships; ship++, mask += words) {
+                var shipKey = 0L;
+                var cells = 0;
+                for (var word = 0; word < words; word++) {
+                    var bits = shipMasks[mask + word] & ~shots[word];
+                    cells += Long.bitCount(bits);
+                    while (bits != 0) {
+                        shipKey ^= cellKeys[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                        bits &= bits - 1;
+                    }
+                }
+                position.left[i * ships + ship] = cells;
+                position.shipKeys[i * ships + ship] = shipKey;
+                position.unshot[i] += cells;
+                if (cells > 0) {
+                    position.layoutKeys[i] += mix(shipKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to check whether the current decision has run out of time or expansions.
+     *
+     * @return true if the search has to stop, otherwise – false
+     */
+    private boolean isOutOfBudget() {
+        expired |= expansions > maxExpansions || System.nanoTime() - start > budgetNanos;
+        return expired;
+    }
+
+    /**
+     * Method to scramble the bits of the value with the SplitMix64 finalizer.
+     *
+     * @param value value to scramble
+     * @return scrambled value
+     */
+    private static long mix(long value) {
+        var z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Method to collect cells which hold a ship in at least one layout, from the most likely to hit.
+     * Other cells are certain misses and never shorten the game. A cell holding a ship in every layout
+     * has to be shot at in every continuation, and shooting it at once only reveals more,
+     * so such a cell is the only candidate.
+     *
+     * @param position layouts consistent with observations
+     * @param shots    cells which have been shot at
+     * @return candidate cells
+     */
+    private int[] candidates(Position position, long[] shots) {
+        var count = position.count;
+        var covering = new int[config.getCells()];
+        for (var i = 0; i < count; i++) {
+            for (var word = 0; word < words; word++) {
+                var bits = occupancy[position.layouts[i] * words + word] & ~shots[word];
+                while (bits != 0) {
+                    covering[(word << 6) + Long.numberOfTrailingZeros(bits)]++;
+                    bits &= bits - 1;
+                }
+            }
+        }
+        var ordered = new long[covering.length];
+        var size = 0;
+        for (var cell = 0; cell < covering.length; cell++) {
+            if (covering[cell] > 0) {
+                ordered[size++] = (long) (count - covering[cell]) << 32 | cell;
+            }
+        }
+        Arrays.sort(ordered, 0, size);
+        if (size > 0 && ordered[0] >>> 32 == 0) {
+            size = 1;
+        }
+        var cells = new int[size];
+        for (var i = 0; i < size; i++) {
+            cells[i] = (int) ordered[i];
+        }
+        return cells;
+    }
+
+    /**
+     * Layouts of a searched position with unshot cells of their ships.
+     */
+    private static final class Position {
+
+        /**
+         * Amount of layouts.
+         */
+        private final int count;
+
+        /**
+         * Indices of enumerated layouts.
+         */
+        private final int[] layouts;
+
+        /**
+         * Amount of unshot ship cells of every layout.
+         */
+        private final int[] unshot;
+
+        /**
+         * Amount of unshot cells of every ship of every layout.
+         */
+        private final int[] left;
+
+        /**
+         * Zobrist key of unshot cells of every ship of every layout.
+         */
+        private final long[] shipKeys;
+
+        /**
+         * Key of unshot ships of every layout.
+         */
+        private final long[] layoutKeys;
+
+        /**
+         * Constructor, the purpose of which is to allocate an empty position.
+         *
+         * @param count amount of layouts
+         * @param ships amount of ships afloat
+         */
+        Position(int count, int ships) {
+            this.count = count;
+            layouts = new int[count];
+            unshot = new int[count];
+            left = new int[count * ships];
+            shipKeys = new long[count * ships];
+            layoutKeys = new long[count];
+        }
+    }
+
+    /**
+     * Class of a decision of the solver.
+     */
+    static final class Decision {
+
+        /**
+         * Chosen cell, optimal under equally likely layouts, -1 if the solver does not take over.
+         */
+        private final int cell;
+
+        /**
+         * Amount of consistent layouts, -1 if enumeration was not finished.
+         */
+        private final int layouts;
+
+        /**
+         * Expected amount of shots to sink all ships afloat, NaN if the search was not finished.
+         */
+        private final double expectedShots;
+
+        /**
+         * Constructor, the purpose of which is to set the outcome of the search.
+         *
+         * @param cell          chosen cell, -1 if the solver does not take over
+         * @param layouts       amount of consistent layouts, -1 if enumeration was not finished
+         * @param expectedShots expected amount of shots to sink all ships afloat, NaN if the search was not finished
+         */
+        Decision(int cell, int layouts, double expectedShots) {
+            this.cell = cell;
+            this.layouts = layouts;
+            this.expectedShots = expectedShots;
+        }
+
+        /**
+         * Getter for the chosen cell.
+         *
+         * @return index of the cell, -1 if the solver does not take over
+         */
+        int getCell() {
+            return cell;
+        }
+
+        /**
+         * Getter for the amount of consistent layouts.
+         *
+         * @return amount of layouts, -1 if enumeration was not finished
+         */
+        int getLayouts() {
+            return layouts;
+        }
+
+        /**
+         * Getter for the expected amount of shots to sink all ships afloat.
+         *
+         * @return expected amount of shots, NaN if the search was not finished
+         */
+        double getExpectedShots() {
+            return expectedShots;
+        }
+    }
+}
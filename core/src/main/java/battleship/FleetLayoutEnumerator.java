@@ -0,0 +1,932 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Class which counts exactly, and streams lazily, every legal layout of the fleet, where ships do not touch
+ * each other even diagonally, as {@link Ship#okToPlaceShipAt} requires.
+ * Layouts are counted by dynamic programming over cells in row-major order with a broken profile:
+ * the state keeps, for every column, the content of the last visited cell of the column, the length of the run
+ * ending to the left of the current cell and whether the cell above and to the left is occupied.
+ * Instead of keeping amounts of unfinished ships in the state, every state holds a vector of amounts of ways
+ * indexed by the amounts of unfinished ships of every length, which keeps the amount of states small.
+ * Layouts are partitioned by the location of one of the longest ships; partitions are counted in parallel,
+ * and only one location of every orbit under symmetries of the playing field is counted.
+ * A backward pass, which recomputes layers of one row at a time from checkpoints at row boundaries,
+ * gives the amount of layouts occupying every cell.
+ * The stream visits layouts by backtracking over precomputed locations, so it holds one layout at a time.
+ */
+final class FleetLayoutEnumerator {
+
+    /**
+     * Initial capacity of the map of states of one layer.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 8;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Generator with precomputed locations of ships.
+     */
+    private final FleetPlacementGenerator generator;
+
+    /**
+     * Amount of rows of the playing field.
+     */
+    private final int rows;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Amount of cells of the playing field.
+     */
+    private final int cells;
+
+    /**
+     * Length of the longest ship.
+     */
+    private final int maxLength;
+
+    /**
+     * Lengths of all ships, from the longest to the shortest.
+     */
+    private final int[] lengths;
+
+    /**
+     * Amount of the longest ships.
+     */
+    private final int longestCopies;
+
+    /**
+     * Length of the longest ship left after placing one of the longest ships.
+     */
+    private final int longestRest;
+
+    /**
+     * Content of a cell of a horizontal ship in the profile, contents from 1 to the longest length
+     * are lengths of vertical runs ending in the cell.
+     */
+    private final int horizontal;
+
+    /**
+     * Amount of bits of the content of one column.
+     */
+    private final int valueBits;
+
+    /**
+     * Mask of the content of one column.
+     */
+    private final long valueMask;
+
+    /**
+     * Position of the length of the run ending to the left of the current cell.
+     */
+    private final int runShift;
+
+    /**
+     * Mask of the length of the run.
+     */
+    private final long runMask;
+
+    /**
+     * Bit of the state which is set when the cell above and to the left of the current cell is occupied.
+     */
+    private final long diagonalBit;
+
+    /**
+     * Position of the code of ships finished by a transition, above the bits of the state.
+     */
+    private final int finishedShift;
+
+    /**
+     * Mask of the bits of the state.
+     */
+    private final long stateMask;
+
+    /**
+     * Amount of vectors of unfinished ships left after placing one of the longest ships.
+     */
+    private final int width;
+
+    /**
+     * Index of the vector where no ship is finished yet.
+     */
+    private final int fullIndex;
+
+    /**
+     * Index of the vector after finishing a ship of the given length, for every code of finished ships,
+     * -1 if no such ship is left. The code of ships {@code a} and {@code b} is {@code a * (maxLength + 1) + b},
+     * where 0 stands for no ship.
+     */
+    private final int[][] finishing;
+
+    /**
+     * Constructor, the purpose of which is to check that states of the playing field fit into 64 bits
+     * and to precompute indices of vectors of unfinished ships.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @throws IllegalArgumentException when the playing field is too wide to count layouts
+     */
+    FleetLayoutEnumerator(GameConfig config) throws IllegalArgumentException {
+        this.config = config;
+        generator = config.getPlacementGenerator();
+        rows = config.getRows();
+        columns = config.getColumns();
+        cells = config.getCells();
+        maxLength = config.getMaxShipLength();
+        lengths = config.getShipLengths();
+        horizontal = maxLength + 1;
+        valueBits = bitsOf(horizontal);
+        valueMask = (1L << valueBits) - 1;
+        runShift = columns * valueBits;
+        runMask = (1L << bitsOf(maxLength)) - 1;
+        diagonalBit = 1L << runShift + bitsOf(maxLength);
+        finishedShift = runShift + bitsOf(maxLength) + 1;
+        stateMask = (1L << finishedShift) - 1;
+        if (finishedShift + bitsOf(horizontal * horizontal) > Long.SIZE - 1) {
+            throw new IllegalArgumentException("Playing field is too wide to count fleet layouts.");
+        }
+
+        var counts = new int[maxLength + 1];
+        for (var length : lengths) {
+            counts[length]++;
+        }
+        longestCopies = counts[maxLength];
+        counts[maxLength]--;
+        var rest = 0;
+        for (var length = 1; length <= maxLength; length++) {
+            rest = counts[length] > 0 ? length : rest;
+        }
+        longestRest = rest;
+        var strides = new int[maxLength + 2];
+        strides[1] = 1;
+        for (var length = 1; length <= maxLength; length++) {
+            strides[length + 1] = Math.multiplyExact(strides[length], counts[length] + 1);
+        }
+        width = strides[maxLength + 1];
+        var full = 0;
+        for (var length = 1; length <= maxLength; length++) {
+            full += counts[length] * strides[length];
+        }
+        fullIndex = full;
+        var single = new int[horizontal][width];
+        for (var index = 0; index < width; index++) {
+            single[0][index] = index;
+            for (var length = 1; length <= maxLength; length++) {
+                var left = index / strides[length] % (counts[length] + 1);
+                single[length][index] = left > 0 ? index - strides[length] : -1;
+            }
+        }
+        finishing = new int[horizontal * horizontal][width];
+        for (var first = 0; first < horizontal; first++) {
+            for (var second = 0; second < horizontal; second++) {
+                for (var index = 0; index < width; index++) {
+                    var after = single[first][index];
+                    finishing[first * horizontal + second][index] = after < 0 ? -1 : single[second][after];
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to count bits needed to store the value.
+     *
+     * @param value non-negative value
+     * @return amount of bits
+     */
+    private static int bitsOf(int value) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Getter for the size of the playing field and composition of the fleet.
+     *
+     * @return configuration of the game
+     */
+    GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Getter for the generator whose location indices make up streamed layouts.
+     *
+     * @return generator with precomputed locations of ships
+     */
+    FleetPlacementGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Method which counts all layouts and the amount of layouts occupying every cell.
+     *
+     * @param workers amount of threads counting partitions
+     * @return census of layouts
+     * @throws InterruptedException when the calling thread is interrupted while waiting
+     */
+    Census count(int workers) throws InterruptedException {
+        var start = System.nanoTime();
+        var symmetries = symmetries();
+        var from = generator.getFirstLocation(maxLength);
+        var to = generator.getFirstLocation(maxLength + 1);
+        var counted = new boolean[to - from];
+        var tasks = new ArrayList<Callable<long[]>>();
+        var orbits = new ArrayList<List<int[]>>();
+        for (var location = from; location < to; location++) {
+            if (counted[location - from]) {
+                continue;
+            }
+            var orbit = new ArrayList<int[]>();
+            for (var symmetry : symmetries) {
+                var image = imageOf(location, symmetry);
+                if (!counted[image - from]) {
+                    counted[image - from] = true;
+                    orbit.add(symmetry);
+                }
+            }
+            var placed = location;
+            orbits.add(orbit);
+            tasks.add(() -> countPartition(placed));
+        }
+        var totals = new long[cells + 1];
+        var executor = Executors.newFixedThreadPool(workers);
+        try {
+            var futures = executor.invokeAll(tasks);
+            for (var i = 0; i < futures.size(); i++) {
+                var partition = futures.get(i).get();
+                for (var symmetry : orbits.get(i)) {
+                    totals[0] = Math.addExact(totals[0], partition[0]);
+                    for (var cell = 0; cell < cells; cell++) {
+                        totals[symmetry[cell] + 1] = Math.addExact(totals[symmetry[cell] + 1], partition[cell + 1]);
+                    }
+                }
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Counting of layouts failed.", ex.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        for (var i = 0; i < totals.length; i++) {
+            totals[i] /= longestCopies;
+        }
+        return new Census(totals, tasks.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Method to list symmetries of the playing field: reflections and, for a square field, rotations.
+     *
+     * @return image of every cell under every symmetry, the identity first
+     */
+    private List<int[]> symmetries() {
+        var symmetries = new ArrayList<int[]>();
+        for (var transform = 0; transform < (rows == columns ? 8 : 4); transform++) {
+            var images = new int[cells];
+            for (var row = 0; row < rows; row++) {
+                for (var column = 0; column < columns; column++) {
+                    var r = (transform & 1) != 0 ? rows - 1 - row : row;
+                    var c = (transform & 2) != 0 ? columns - 1 - column : column;
+                    images[row * columns + column] = (transform & 4) != 0 ? c * columns + r : r * columns + c;
+                }
+            }
+            symmetries.add(images);
+        }
+        return symmetries;
+    }
+
+    /**
+     * Method to find the location of one of the longest ships which the symmetry maps the location to.
+     *
+     * @param location location of one of the longest ships
+     * @param symmetry image of every cell
+     * @return location of the image
+     */
+    private int imageOf(int location, int[] symmetry) {
+        var image = new boolean[cells];
+        for (var cell = 0; cell < cells; cell++) {
+            image[symmetry[cell]] = generator.covers(location, cell);
+        }
+        for (var candidate = generator.getFirstLocation(maxLength); ; candidate++) {
+            var same = true;
+            for (var cell = 0; cell < cells && same; cell++) {
+                same = generator.covers(candidate, cell) == image[cell];
+            }
+            if (same) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Method which counts layouts with one of the longest ships at the location,
+     * forward over all cells, then backward row by row to find how many of them occupy every cell.
+     *
+     * @param placed location of one of the longest ships
+     * @return amount of layouts followed by the amount of layouts occupying every cell
+     */
+    long[] countPartition(int placed) {
+        var blocked = new long[generator.getWords()];
+        generator.forbid(placed, blocked, 0, 0);
+        var checkpoints = new Layer[rows + 1];
+        var layer = new Layer(width, INITIAL_CAPACITY);
+        layer.values[layer.add(0) * width + fullIndex] = 1;
+        for (var cell = 0; cell < cells; cell++) {
+            if (cell % columns == 0) {
+                checkpoints[cell / columns] = layer;
+            }
+            layer = advance(layer, cell, blocked);
+        }
+        checkpoints[rows] = layer;
+
+        var result = new long[cells + 1];
+        layer.completions = new long[layer.size * width];
+        for (var position = 0; position < layer.size; position++) {
+            for (var index = 0; index < width; index++) {
+                var after = index;
+                for (var column = 0; column < columns && after >= 0; column++) {
+                    var value = valueOf(layer.keys[position], column);
+                    after = value == horizontal ? after : finishing[value][after];
+                }
+                if (after == 0) {
+                    layer.completions[position * width + index] = 1;
+                    result[0] = Math.addExact(result[0], layer.values[position * width + index]);
+                }
+            }
+        }
+        var row = new Layer[columns];
+        for (var r = rows - 1; r >= 0; r--) {
+            row[0] = checkpoints[r];
+            for (var column = 1; column < columns; column++) {
+                row[column] = advance(row[column - 1], r * columns + column - 1, blocked);
+            }
+            var next = checkpoints[r + 1];
+            for (var column = columns - 1; column >= 0; column--) {
+                result[r * columns + column + 1] = retreat(row[column], next, r * columns + column, blocked);
+                next = row[column];
+            }
+            checkpoints[r + 1] = null;
+        }
+        for (var cell = 0; cell < cells; cell++) {
+            if (generator.covers(placed, cell)) {
+                result[cell + 1] = result[0];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method which moves the forward pass over the cell.
+     *
+     * @param current layer before the cell
+     * @param cell    index of the cell
+     * @param blocked mask of cells which must stay empty
+     * @return layer after the cell
+     */
+    private Layer advance(Layer current, int cell, long[] blocked) {
+        var next = new Layer(width, Math.max(INITIAL_CAPACITY, current.size * 2));
+        var column = cell % columns;
+        var free = (blocked[cell >>> 6] & 1L << cell) == 0;
+        for (var position = 0; position < current.size; position++) {
+            var state = current.keys[position];
+            for (var move = 0; move < 2; move++) {
+                var target = move == 0 ? leaveEmpty(state, column) : free ? occupy(state, column) : -1;
+                if (target < 0) {
+                    continue;
+                }
+                var to = next.add(target & stateMask) * width;
+                var map = finishing[(int) (target >>> finishedShift)];
+                var from = position * width;
+                for (var index = 0; index < width; index++) {
+                    var ways = current.values[from + index];
+                    if (ways != 0 && map[index] >= 0) {
+                        next.values[to + map[index]] = Math.addExact(next.values[to + map[index]], ways);
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Method which moves the backward pass over the cell, filling completions of the layer before it.
+     *
+     * @param current layer before the cell
+     * @param next    layer after the cell, with completions
+     * @param cell    index of the cell
+     * @param blocked mask of cells which must stay empty
+     * @return amount of layouts occupying the cell
+     */
+    private long retreat(Layer current, Layer next, int cell, long[] blocked) {
+        current.completions = new long[current.size * width];
+        var column = cell % columns;
+        var free = (blocked[cell >>> 6] & 1L << cell) == 0;
+        long occupying = 0;
+        for (var position = 0; position < current.size; position++) {
+            var state = current.keys[position];
+            for (var move = 0; move < 2; move++) {
+                var target = move == 0 ? leaveEmpty(state, column) : free ? occupy(state, column) : -1;
+                var found = target < 0 ? -1 : next.find(target & stateMask);
+                if (found < 0) {
+                    continue;
+                }
+                var to = found * width;
+                var map = finishing[(int) (target >>> finishedShift)];
+                var from = position * width;
+                for (var index = 0; index < width; index++) {
+                    if (map[index] >= 0) {
+                        var ways = next.completions[to + map[index]];
+                        current.completions[from + index] += ways;
+                        if (move == 1) {
+                            occupying = Math.addExact(occupying, current.values[from + index] * ways);
+                        }
+                    }
+                }
+            }
+        }
+        next.completions = null;
+        return occupying;
+    }
+
+    /**
+     * Method to get the content of the column in the profile.
+     *
+     * @param state  state of the dynamic programming
+     * @param column index of the column
+     * @return content of the last visited cell of the column
+     */
+    private int valueOf(long state, int column) {
+        return (int) (state >>> column * valueBits & valueMask);
+    }
+
+    /**
+     * Method to replace the content of the column in the profile.
+     *
+     * @param state  state of the dynamic programming
+     * @param column index of the column
+     * @param value  new content of the column
+     * @return updated state
+     */
+    private long withValue(long state, int column, int value) {
+        var shift = column * valueBits;
+        return state & ~(valueMask << shift) | (long) value << shift;
+    }
+
+    /**
+     * Method to replace the length of the run ending to the left of the next cell.
+     *
+     * @param state state of the dynamic programming
+     * @param run   length of the run
+     * @return updated state
+     */
+    private long withRun(long state, int run) {
+        return state & ~(runMask << runShift) | (long) run << runShift;
+    }
+
+    /**
+     * Method of the transition leaving the current cell empty, which finishes runs ending next to the cell.
+     *
+     * @param state  state before the cell
+     * @param column column of the cell
+     * @return state after the cell with the code of finished ships above it, -1 if the transition is illegal
+     */
+    private long leaveEmpty(long state, int column) {
+        var up = valueOf(state, column);
+        var run = (int) (state >>> runShift & runMask);
+        var finished = up != horizontal ? up : 0;
+        if (run >= 2) {
+            finished = finished * horizontal + run;
+        }
+        state = withRun(withValue(state, column, 0), 0);
+        state = up != 0 ? state | diagonalBit : state & ~diagonalBit;
+        if (column == columns - 1) {
+            state &= ~diagonalBit;
+        }
+        return state | (long) finished << finishedShift;
+    }
+
+    /**
+     * Method of the transition occupying the current cell, which extends the run above or to the left of it.
+     *
+     * @param state  state before the cell
+     * @param column column of the cell
+     * @return state after the cell with the code of finished ships above it, -1 if the transition is illegal
+     */
+    private long occupy(long state, int column) {
+        if ((state & diagonalBit) != 0 || column + 1 < columns && valueOf(state, column + 1) != 0) {
+            return -1;
+        }
+        var up = valueOf(state, column);
+        var run = (int) (state >>> runShift & runMask);
+        if (up != 0) {
+            if (up == horizontal || run != 0 || up + 1 > longestRest) {
+                return -1;
+            }
+            state = withRun(withValue(state, column, up + 1), 1) | diagonalBit;
+        } else if (run > 0) {
+            var left = valueOf(state, column - 1);
+            if (left != 1 && left != horizontal || run + 1 > longestRest) {
+                return -1;
+            }
+            state = withValue(withValue(state, column - 1, horizontal), column, horizontal);
+            state = withRun(state, run + 1) & ~diagonalBit;
+            run++;
+        } else {
+            if (longestRest == 0) {
+                return -1;
+            }
+            state = withRun(withValue(state, column, 1), 1) & ~diagonalBit;
+        }
+        if (column < columns - 1) {
+            return state;
+        }
+        state = withRun(state, 0) & ~diagonalBit;
+        return run >= 2 ? state | (long) run << finishedShift : state;
+    }
+
+    /**
+     * Method which streams every legal layout lazily. A layout is an array of location indices
+     * of the placement generator, ordered as {@link GameConfig#getShipLengths()}; ships of the same length
+     * are listed in increasing order of locations, so every layout is visited once.
+     * The stream may be parallel, it is split on the location of the first ship.
+     *
+     * @param parallel true if the stream should be parallel, otherwise – false
+     * @return stream of layouts
+     */
+    Stream<int[]> stream(boolean parallel) {
+        return StreamSupport.stream(new LayoutSpliterator(generator.getFirstLocation(lengths[0]),
+                generator.getFirstLocation(lengths[0] + 1)), parallel);
+    }
+
+    /**
+     * Method which measures how many layouts the sequential stream visits per second.
+     *
+     * @param nanos duration of the measurement, in nanoseconds
+     * @return amount of visited layouts and elapsed nanoseconds
+     */
+    long[] measureStream(long nanos) {
+        var start = System.nanoTime();
+        var iterator = stream(false).iterator();
+        long visited = 0;
+        var elapsed = 0L;
+        while (elapsed < nanos && iterator.hasNext()) {
+            iterator.next();
+            if (++visited % 4096 == 0) {
+                elapsed = System.nanoTime() - start;
+            }
+        }
+        return new long[]{visited, System.nanoTime() - start};
+    }
+
+    /**
+     * Method where layouts of the standard fleet are counted from command line.
+     *
+     * @param args amount of workers, seconds of streaming and path of JSON result file, all optional
+     * @throws IOException          when it is impossible to write the result file
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var workers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        var seconds = args.length > 1 ? Double.parseDouble(args[1]) : 5;
+        var output = Path.of(args.length > 2 ? args[2] : "layouts.json");
+        var enumerator = new FleetLayoutEnumerator(GameConfig.STANDARD);
+        var census = enumerator.count(workers);
+        System.out.printf(Locale.ROOT, "Layouts: %d in %d partitions, %.3f s, %.3e layouts/s counted%n",
+                census.getLayouts(), census.getPartitions(), census.getElapsedNanos() / 1e9,
+                census.getLayoutsPerSecond());
+        var streamed = enumerator.measureStream((long) (seconds * 1e9));
+        var streamRate = streamed[0] * 1e9 / streamed[1];
+        System.out.printf(Locale.ROOT, "Streamed: %d in %.3f s, %.0f layouts/s, all layouts in %.1f days%n",
+                streamed[0], streamed[1] / 1e9, streamRate, census.getLayouts() / streamRate / 86_400);
+        System.out.println("Occupancy marginals, %:");
+        var marginals = new ArrayList<String>();
+        for (var row = 0; row < GameConfig.STANDARD.getRows(); row++) {
+            var line = new StringBuilder();
+            var values = new ArrayList<String>();
+            for (var column = 0; column < GameConfig.STANDARD.getColumns(); column++) {
+                var marginal = census.getMarginal(row * GameConfig.STANDARD.getColumns() + column);
+                line.append(String.format(Locale.ROOT, "%6.2f", 100 * marginal));
+                values.add(String.format(Locale.ROOT, "%.6f", marginal));
+            }
+            System.out.println(line);
+            marginals.add("    [" + String.join(", ", values) + "]");
+        }
+        Files.writeString(output, String.format(Locale.ROOT,
+                "{\n  \"rows\": %d,\n  \"columns\": %d,\n  \"layouts\": %d,\n  \"partitions\": %d,\n"
+                        + "  \"countSeconds\": %.3f,\n  \"countedLayoutsPerSecond\": %.1f,\n"
+                        + "  \"streamedLayouts\": %d,\n  \"streamSeconds\": %.3f,\n"
+                        + "  \"streamedLayoutsPerSecond\": %.1f,\n  \"marginals\": [\n%s\n  ]\n}\n",
+                GameConfig.STANDARD.getRows(), GameConfig.STANDARD.getColumns(), census.getLayouts(),
+                census.getPartitions(), census.getElapsedNanos() / 1e9, census.getLayoutsPerSecond(), streamed[0],
+                streamed[1] / 1e9, streamRate, String.join(",\n", marginals)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Class of results of counting: the amount of all layouts and of layouts occupying every cell.
+     */
+    static final class Census {
+
+        /**
+         * Amount of layouts followed by the amount of layouts occupying every cell.
+         */
+        private final long[] totals;
+
+        /**
+         * Amount of partitions counted, one per orbit of locations of one of the longest ships.
+         */
+        private final int partitions;
+
+        /**
+         * Wall clock time of counting, in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+        /**
+         * Constructor, the purpose of which is to set results of counting.
+         *
+         * @param totals       amount of layouts followed by the amount of layouts occupying every cell
+         * @param partitions   amount of partitions counted
+         * @param elapsedNanos wall clock time of counting, in nanoseconds
+         */
+        Census(long[] totals, int partitions, long elapsedNanos) {
+            this.totals = totals;
+            this.partitions = partitions;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Getter for the amount of legal layouts.
+         *
+         * @return amount of layouts
+         */
+        long getLayouts() {
+            return totals[0];
+        }
+
+        /**
+         * Getter for the amount of layouts in which a ship occupies the cell.
+         *
+         * @param cell index of the cell
+         * @return amount of layouts
+         */
+        long getOccupying(int cell) {
+            return totals[cell + 1];
+        }
+
+        /**
+         * Getter for the share of layouts in which a ship occupies the cell.
+         *
+         * @param cell index of the cell
+         * @return occupancy marginal of the cell
+         */
+        double getMarginal(int cell) {
+            return (double) totals[cell + 1] / totals[0];
+        }
+
+        /**
+         * Getter for the amount of partitions counted.
+         *
+         * @return amount of partitions
+         */
+        int getPartitions() {
+            return partitions;
+        }
+
+        /**
+         * Getter for the wall clock time of counting.
+         *
+         * @return time in nanoseconds
+         */
+        long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Getter for the amount of layouts counted per second.
+         *
+         * @return layouts per second
+         */
+        double getLayoutsPerSecond() {
+            return totals[0] * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Class of a spliterator visiting layouts by depth-first search over locations of ships,
+     * keeping the mask of forbidden cells of every depth.
+     */
+    private final class LayoutSpliterator implements Spliterator<int[]> {
+
+        /**
+         * Amount of 64-bit words in one cell mask.
+         */
+        private final int words;
+
+        /**
+         * Location of every placed ship.
+         */
+        private final int[] picked;
+
+        /**
+         * Next location to try for every ship.
+         */
+        private final int[] next;
+
+        /**
+         * Forbidden cells before placing every ship, {@code words} words per ship.
+         */
+        private final long[] masks;
+
+        /**
+         * End of the locations of the first ship left to this spliterator, exclusive.
+         */
+        private int firstEnd;
+
+        /**
+         * Index of the ship placed next, -1 when all layouts are visited.
+         */
+        private int depth;
+
+        /**
+         * Constructor, the purpose of which is to visit layouts with the first ship in the range of locations.
+         *
+         * @param firstFrom first location of the first ship
+         * @param firstEnd  end of locations of the first ship, exclusive
+         */
+        LayoutSpliterator(int firstFrom, int firstEnd) {
+            words = generator.getWords();
+            picked = new int[lengths.length];
+            next = new int[lengths.length];
+            masks = new long[(lengths.length + 1) * words];
+            next[0] = firstFrom;
+            this.firstEnd = firstEnd;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super int[]> action) {
+            while (depth >= 0) {
+                var length = lengths[depth];
+                var end = depth == 0 ? firstEnd : generator.getFirstLocation(length + 1);
+                var location = next[depth];
+                while (location < end && !generator.fits(location, masks, depth * words)) {
+                    location++;
+                }
+                if (location >= end) {
+                    depth--;
+                    continue;
+                }
+                picked[depth] = location;
+                next[depth] = location + 1;
+                generator.forbid(location, masks, depth * words, (depth + 1) * words);
+                if (depth == lengths.length - 1) {
+                    action.accept(picked.clone());
+                    return true;
+                }
+                depth++;
+                next[depth] = lengths[depth] == length ? location + 1 : generator.getFirstLocation(lengths[depth]);
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<int[]> trySplit() {
+            if (depth < 0 || firstEnd - next[0] < 2) {
+                return null;
+            }
+            var middle = next[0] + (firstEnd - next[0]) / 2;
+            var split = new LayoutSpliterator(middle, firstEnd);
+            firstEnd = middle;
+            return split;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    /**
+     * Class of the states of one layer with a vector of amounts of ways per state, stored densely
+     * in the order of insertion and indexed by a hash table with open addressing.
+     */
+    private static final class Layer {
+
+        /**
+         * Length of the vector of every state.
+         */
+        private final int width;
+
+        /**
+         * Dense position of the state in every slot of the hash table, -1 in free slots.
+         */
+        private int[] table;
+
+        /**
+         * States in the order of insertion.
+         */
+        private long[] keys;
+
+        /**
+         * Amounts of ways reaching every state from the first cell, indexed by unfinished ships.
+         */
+        private long[] values;
+
+        /**
+         * Amounts of ways finishing the fleet from every state, filled by the backward pass.
+         */
+        private long[] completions;
+
+        /**
+         * Amount of stored states.
+         */
+        private int size;
+
+        /**
+         * Constructor, the purpose of which is to create an empty layer.
+         *
+         * @param width    length of the vector of every state
+         * @param capacity expected amount of states
+         */
+        Layer(int width, int capacity) {
+            this.width = width;
+            table = new int[Integer.highestOneBit(Math.max(capacity, 1)) << 2];
+            Arrays.fill(table, -1);
+            keys = new long[capacity];
+            values = new long[capacity * width];
+        }
+
+        /**
+         * Method to find the slot of the state in the hash table.
+         *
+         * @param state state of the dynamic programming
+         * @return slot holding the state or the free slot where it belongs
+         */
+        private int slotOf(long state) {
+            var mask = table.length - 1;
+            var slot = (int) (Tournament.mix(state, 0) & mask);
+            while (table[slot] >= 0 && keys[table[slot]] != state) {
+                slot = slot + 1 & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Method to find the position of the state.
+         *
+         * @param state state of the dynamic programming
+         * @return dense position, -1 for an unknown state
+         */
+        int find(long state) {
+            return table[slotOf(state)];
+        }
+
+        /**
+         * Method which adds the state with a zero vector unless it is already stored.
+         *
+         * @param state state of the dynamic programming
+         * @return dense position of the state
+         */
+        int add(long state) {
+            var slot = slotOf(state);
+            if (table[slot] >= 0) {
+                return table[slot];
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2 * width);
+            }
+            keys[size] = state;
+            table[slot] = size;
+            if (++size * 2 > table.length) {
+                table = new int[table.length * 2];
+                Arrays.fill(table, -1);
+                for (var position = 0; position < size; position++) {
+                    table[slotOf(keys[position])] = position;
+                }
+            }
+            return size - 1;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package battleship;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator of random fleet layouts, which precomputes every legal location of a ship
+ * as a bitmask of occupied cells and a bitmask of cells forbidden for other ships.
+ * While placing the fleet it keeps a running mask of forbidden cells, samples every ship uniformly
+ * among its remaining legal locations and backtracks when some ship cannot be placed,
+ * so the cost of placement is bounded by the size of the search tree.
+ */
+final class FleetPlacementGenerator {
+
+    /**
+     * Amount of rows of the playing field.
+     */
+    private final int rows;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Amount of 64-bit words in one cell mask.
+     */
+    private final int words;
+
+    /**
+     * Bow row of every location.
+     */
+    private final int[] bowRows;
+
+    /**
+     * Bow column of every location.
+     */
+    private final int[] bowColumns;
+
+    /**
+     * Orientation of every location.
+     */
+    private final boolean[] horizontals;
+
+    /**
+     * Cells occupied by every location, {@code words} words per location.
+     */
+    private final long[] bodies;
+
+    /**
+     * Cells occupied by every location and their neighbours, {@code words} words per location.
+     */
+    private final long[] zones;
+
+    /**
+     * Index of the first location of the given ship length, locations of one length are stored contiguously.
+     */
+    private final int[] firstLocation;
+
+    /**
+     * Constructor, the purpose of which is to precompute locations of ships up to the given length.
+     *
+     * @param rows          amount of rows of the playing field
+     * @param columns       amount of columns of the playing field
+     * @param maxShipLength length of the longest ship
+     */
+    FleetPlacementGenerator(int rows, int columns, int maxShipLength) {
+        this.rows = rows;
+        this.columns = columns;
+        this.words = CellSet.getWordCount(rows * columns);
+        firstLocation = new int[maxShipLength + 2];
+        var count = 0;
+        for (var length = 1; length <= maxShipLength; length++) {
+            firstLocation[length] = count;
+            count += locationsCount(length);
+        }
+        firstLocation[maxShipLength + 1] = count;
+
+        bowRows = new int[count];
+        bowColumns = new int[count];
+        horizontals = new boolean[count];
+        bodies = new long[count * words];
+        zones = new long[count * words];
+        var location = 0;
+        for (var length = 1; length <= maxShipLength; length++) {
+            for (var orientation = 0; orientation < (length == 1 ? 1 : 2); orientation++) {
+                var horizontal = orientation == 0;
+                var rowLimit = horizontal ? rows : rows - length + 1;
+                var columnLimit = horizontal ? columns - length + 1 : columns;
+                for (var row = 0; row < rowLimit; row++) {
+                    for (var column = 0; column < columnLimit; column++) {
+                        describe(location++, row, column, length, horizontal);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to count locations of a ship with the given length.
+     *
+     * @param length length of the ship
+     * @return amount of locations inside of the playing field
+     */
+    private int locationsCount(int length) {
+        return (int) countLocations(rows, columns, length);
+    }
+
+    /**
+     * Method to count locations of a ship with the given length on a playing field of the given size.
+     *
+     * @param rows    amount of rows of the playing field
+     * @param columns amount of columns of the playing field
+     * @param length  length of the ship
+     * @return amount of locations inside of the playing field
+     */
+    static long countLocations(int rows, int columns, int length) {
+        var horizontalCount = (long) rows * Math.max(columns - length + 1, 0);
+        var verticalCount = (long) Math.max(rows - length + 1, 0) * columns;
+        return length == 1 ? horizontalCount : horizontalCount + verticalCount;
+    }
+
+    /**
+     * Method to estimate memory taken by the generator of the given playing field,
+     * which grows with the amount of locations times the amount of cells.
+     *
+     * @param rows          amount of rows of the playing field
+     * @param columns       amount of columns of the playing field
+     * @param maxShipLength length of the longest ship
+     * @return approximate amount of bytes
+     */
+    static long estimateBytes(int rows, int columns, int maxShipLength) {
+        long locations = 0;
+        for (var length = 1; length <= maxShipLength; length++) {
+            locations += countLocations(rows, columns, length);
+        }
+        var words = (long) CellSet.getWordCount(rows * columns);
+        return locations * (2 * words * Long.BYTES + 2 * Integer.BYTES + 1);
+    }
+
+    /**
+     * Method which fills position and masks of the location.
+     *
+     * @param location   index of the location
+     * @param row        bow row
+     * @param column     bow column
+     * @param length     length of the ship
+     * @param horizontal true if ship is horizontally oriented, otherwise - false
+     */
+    private void describe(int location, int row, int column, int length, boolean horizontal) {
+        bowRows[location] = row;
+        bowColumns[location] = column;
+        horizontals[location] = horizontal;
+        var lastRow = horizontal ? row : row + length - 1;
+        var lastColumn = horizontal ? column + length - 1 : column;
+        for (var i = Math.max(row - 1, 0); i <= Math.min(lastRow + 1, rows - 1); i++) {
+            for (var j = Math.max(column - 1, 0); j <= Math.min(lastColumn + 1, columns - 1); j++) {
+                var cell = i * columns + j;
+                zones[location * words + (cell >>> 6)] |= 1L << cell;
+                if (i >= row && i <= lastRow && j >= column && j <= lastColumn) {
+                    bodies[location * words + (cell >>> 6)] |= 1L << cell;
+                }
+            }
+        }
+    }
+
+    /**
+     * Getter for the amount of 64-bit words in one cell mask.
+     *
+     * @return amount of words
+     */
+    int getWords() {
+        return words;
+    }
+
+    /**
+     * Getter for bow row of the location.
+     *
+     * @param location index of the location
+     * @return bow row
+     */
+    int getBowRow(int location) {
+        return bowRows[location];
+    }
+
+    /**
+     * Getter for bow column of the location.
+     *
+     * @param location index of the location
+     * @return bow column
+     */
+    int getBowColumn(int location) {
+        return bowColumns[location];
+    }
+
+    /**
+     * Getter for orientation of the location.
+     *
+     * @param location index of the location
+     * @return true if ship is horizontally oriented, otherwise - false
+     */
+    boolean isHorizontal(int location) {
+        return horizontals[location];
+    }
+
+    /**
+     * Getter for the index of the first location of ships of the given length.
+     * Locations of one length end where locations of the next length begin.
+     *
+     * @param length length of the ship, up to one more than the longest length
+     * @return index of the location
+     */
+    int getFirstLocation(int length) {
+        return firstLocation[length];
+    }
+
+    /**
+     * Method to check whether the location does not intersect forbidden cells.
+     *
+     * @param location index of the location
+     * @param masks    array containing mask of forbidden cells
+     * @param offset   offset of the mask in the array
+     * @return true if the ship may be placed at the location, otherwise – false
+     */
+    boolean fits(int location, long[] masks, int offset) {
+        for (var w = 0; w < words; w++) {
+            if ((bodies[location * words + w] & masks[offset + w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method which adds the location and its neighbours to the mask of forbidden cells.
+     *
+     * @param location index of the location
+     * @param masks    array containing masks of forbidden cells
+     * @param from     offset of the mask before placing the ship
+     * @param to       offset of the mask after placing the ship, may be equal to {@code from}
+     */
+    void forbid(int location, long[] masks, int from, int to) {
+        for (var w = 0; w < words; w++) {
+            masks[to + w] = masks[from + w] | zones[location * words + w];
+        }
+    }
+
+    /**
+     * Method to check whether the location covers the cell.
+     *
+     * @param location index of the location
+     * @param cell     index of the cell
+     * @return true if the ship at the location occupies the cell, otherwise – false
+     */
+    boolean covers(int location, int cell) {
+        return (bodies[location * words + (cell >>> 6)] & 1L << cell) != 0;
+    }
+
+    /**
+     * Method to pick a location for every ship.
+     *
+     * @param lengths   lengths of ships to place
+     * @param forbidden cells where no ship may be placed, {@code getWords()} words
+     * @param random    generator of pseudo random numbers
+     * @return index of the location picked for every ship
+     * @throws IllegalStateException when there is no legal layout of the fleet
+     */
+    int[] place(int[] lengths, long[] forbidden, RandomGenerator random) throws IllegalStateException {
+        var depthCount = lengths.length;
+        var picked = new int[depthCount];
+        var masks = new long[(depthCount + 1) * words];
+        System.arraycopy(forbidden, 0, masks, 0, words);
+        var candidates = new int[depthCount][];
+        var candidateCounts = new int[depthCount];
+
+        var depth = 0;
+        var entering = true;
+        while (depth < depthCount) {
+            if (entering) {
+                var length = lengths[depth];
+                if (candidates[depth] == null) {
+                    candidates[depth] = new int[firstLocation[length + 1] - firstLocation[length]];
+                }
+                candidateCounts[depth] = collectLegal(length, masks, depth * words, candidates[depth]);
+            }
+            var count = candidateCounts[depth];
+            if (count == 0) {
+                if (depth == 0) {
+                    throw new IllegalStateException("Fleet cannot be placed in the ocean.");
+                }
+                depth--;
+                entering = false;
+                continue;
+            }
+            var pick = random.nextInt(count);
+            var location = candidates[depth][pick];
+            candidates[depth][pick] = candidates[depth][count - 1];
+            candidateCounts[depth] = count - 1;
+            picked[depth] = location;
+            forbid(location, masks, depth * words, (depth + 1) * words);
+            depth++;
+            entering = true;
+        }
+        return picked;
+    }
+
+    /**
+     * Method which collects locations of the given length not intersecting forbidden cells.
+     *
+     * @param length    length of the ship
+     * @param masks     array containing mask of forbidden cells
+     * @param offset    offset of the mask in the array
+     * @param collected buffer for the collected locations
+     * @return amount of collected locations
+     */
+    private int collectLegal(int length, long[] masks, int offset, int[] collected) {
+        var count = 0;
+        for (var location = firstLocation[length]; location < firstLocation[length + 1]; location++) {
+            if (fits(location, masks, offset)) {
+                collected[count++] = location;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,262 @@
+package battleship;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Class of game settings: size of the playing field and composition of the fleet.
+ */
+final class GameConfig {
+
+    /**
+     * Maximum amount of rows or columns of the playing field.
+     */
+    static final int MAX_SIDE = 10_000;
+
+    /**
+     * Largest amount of memory in bytes which precomputed ship locations of a generator or a shooter may take,
+     * set by the {@code battleship.precomputeLimit} property, a quarter of the maximal heap by default.
+     */
+    static final long PRECOMPUTE_LIMIT = Long.getLong("battleship.precomputeLimit",
+            Runtime.getRuntime().maxMemory() / 4);
+
+    /**
+     * Classic game: field 10×10, one battleship, two cruisers, three destroyers and four submarines.
+     */
+    static final GameConfig STANDARD = new GameConfig(10, 10, List.of(
+            new FleetEntry(4, 1), new FleetEntry(3, 2), new FleetEntry(2, 3), new FleetEntry(1, 4)));
+
+    /**
+     * Amount of rows of the playing field.
+     */
+    private final int rows;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Kinds of ships in the fleet, from the longest to the shortest.
+     */
+    private final List<FleetEntry> fleet;
+
+    /**
+     * Lengths of all ships of the fleet, from the longest to the shortest.
+     */
+    private final int[] shipLengths;
+
+    /**
+     * Generator of fleet layouts, created on first use.
+     */
+    private volatile FleetPlacementGenerator placementGenerator;
+
+    /**
+     * Constructor, the purpose of which is to set up the playing field and the fleet.
+     *
+     * @param rows    amount of rows of the playing field
+     * @param columns amount of columns of the playing field
+     * @param fleet   kinds of ships in the fleet
+     * @throws IllegalArgumentException when the field size is out of bounds or the fleet is empty
+     */
+    GameConfig(int rows, int columns, List<FleetEntry> fleet) throws IllegalArgumentException {
+        if (rows <= 0 || columns <= 0 || rows > MAX_SIDE || columns > MAX_SIDE || fleet.isEmpty()) {
+            throw new IllegalArgumentException("Incorrect game settings.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        var sorted = new ArrayList<>(fleet);
+        sorted.sort(Comparator.comparingInt(FleetEntry::getLength).reversed());
+        this.fleet = List.copyOf(sorted);
+
+        var shipsAmount = 0;
+        for (var entry : this.fleet) {
+            if (entry.getLength() > Math.max(rows, columns)) {
+                throw new IllegalArgumentException("Ship does not fit into the playing field.");
+            }
+            shipsAmount += entry.getCount();
+        }
+        shipLengths = new int[shipsAmount];
+        var i = 0;
+        for (var entry : this.fleet) {
+            for (var j = 0; j < entry.getCount(); j++) {
+                shipLengths[i++] = entry.getLength();
+            }
+        }
+    }
+
+    /**
+     * Getter for the amount of rows.
+     *
+     * @return amount of rows of the playing field
+     */
+    int getRows() {
+        return rows;
+    }
+
+    /**
+     * Getter for the amount of columns.
+     *
+     * @return amount of columns of the playing field
+     */
+    int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Getter for the amount of cells.
+     *
+     * @return amount of cells of the playing field
+     */
+    int getCells() {
+        return rows * columns;
+    }
+
+    /**
+     * Getter for the fleet composition.
+     *
+     * @return kinds of ships in the fleet, from the longest to the shortest
+     */
+    List<FleetEntry> getFleet() {
+        return fleet;
+    }
+
+    /**
+     * Getter for the lengths of all ships.
+     *
+     * @return lengths of all ships of the fleet, from the longest to the shortest
+     */
+    int[] getShipLengths() {
+        return shipLengths.clone();
+    }
+
+    /**
+     * Getter for the amount of ships.
+     *
+     * @return amount of ships in the fleet
+     */
+    int getShipsAmount() {
+        return shipLengths.length;
+    }
+
+    /**
+     * Getter for the length of the longest ship.
+     *
+     * @return length of the longest ship
+     */
+    int getMaxShipLength() {
+        return shipLengths[0];
+    }
+
+    /**
+     * Getter for the amount of cells occupied by the fleet, which is also the best possible score.
+     *
+     * @return amount of cells occupied by all ships
+     */
+    int getFleetCells() {
+        var cells = 0;
+        for (var length : shipLengths) {
+            cells += length;
+        }
+        return cells;
+    }
+
+    /**
+     * Method to check whether the location is inside of the playing field.
+     *
+     * @param row    row of the location
+     * @param column column of the location
+     * @return true if the location is inside of the playing field, otherwise – false
+     */
+    boolean isInside(int row, int column) {
+        return row >= 0 && row < rows && column >= 0 && column < columns;
+    }
+
+    /**
+     * Method to check whether precomputed data of the given size fits into {@link #PRECOMPUTE_LIMIT}.
+     *
+     * @param bytes estimated amount of bytes
+     * @return true if the data may be precomputed, otherwise – false
+     */
+    static boolean canPrecompute(long bytes) {
+        return bytes <= PRECOMPUTE_LIMIT;
+    }
+
+    /**
+     * Method to check whether ship locations of the fleet placement generator may be precomputed.
+     *
+     * @return true if the field is small enough for the generator, otherwise – false
+     */
+    boolean canUsePlacementGenerator() {
+        return getCells() <= CellSet.DENSE_LIMIT
+                && canPrecompute(FleetPlacementGenerator.estimateBytes(rows, columns, getMaxShipLength()));
+    }
+
+    /**
+     * Getter for the generator of fleet layouts, which is created on first use.
+     *
+     * @return generator with precomputed ship locations
+     * @throws IllegalStateException when the field is too large to precompute ship locations
+     */
+    FleetPlacementGenerator getPlacementGenerator() throws IllegalStateException {
+        var generator = placementGenerator;
+        if (generator == null) {
+            if (!canUsePlacementGenerator()) {
+                throw new IllegalStateException("Playing field is too large to precompute ship locations.");
+            }
+            generator = new FleetPlacementGenerator(rows, columns, getMaxShipLength());
+            placementGenerator = generator;
+        }
+        return generator;
+    }
+
+    /**
+     * Class of one kind of ships in the fleet.
+     */
+    static final class FleetEntry {
+
+        /**
+         * Length of ships of this kind.
+         */
+        private final int length;
+
+        /**
+         * Amount of ships of this kind.
+         */
+        private final int count;
+
+        /**
+         * Constructor, the purpose of which is to set length and amount of ships.
+         *
+         * @param length length of ships of this kind
+         * @param count  amount of ships of this kind
+         * @throws IllegalArgumentException when length or amount is not positive
+         */
+        FleetEntry(int length, int count) throws IllegalArgumentException {
+            if (length <= 0 || count <= 0) {
+                throw new IllegalArgumentException("Incorrect fleet settings.");
+            }
+            this.length = length;
+            this.count = count;
+        }
+
+        /**
+         * Getter for the length of ships.
+         *
+         * @return length of ships of this kind
+         */
+        int getLength() {
+            return length;
+        }
+
+        /**
+         * Getter for the amount of ships.
+         *
+         * @return amount of ships of this kind
+         */
+        int getCount() {
+            return count;
+        }
+    }
+}
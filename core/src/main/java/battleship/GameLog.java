@@ -0,0 +1,190 @@
+package battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Bounded log of game messages kept in a ring buffer. When the log is full, the oldest entry is evicted,
+ * so appending costs O(1) however long the session is. Every entry may also be streamed to a sink
+ * such as a rolling file. A listener is told about every change, so a view can update only the changed rows.
+ * The log is not thread-safe and is meant to be used from the thread driving the game.
+ */
+final class GameLog {
+
+    /**
+     * Receiver of changes of the log.
+     */
+    interface Listener {
+
+        /**
+         * Method called after an entry has been appended.
+         *
+         * @param entry   appended entry, now the last one
+         * @param evicted oldest entry removed to make room, null if the log was not full
+         */
+        void appended(String entry, String evicted);
+
+        /**
+         * Method called after all entries have been removed.
+         *
+         * @param removed removed entries from the oldest one
+         */
+        void cleared(List<String> removed);
+    }
+
+    /**
+     * Largest amount of entries kept by default.
+     */
+    static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * Entries in order of appending, starting from {@link #head} and wrapping around.
+     */
+    private final String[] entries;
+
+    /**
+     * Position of the oldest entry.
+     */
+    private int head;
+
+    /**
+     * Amount of kept entries.
+     */
+    private int size;
+
+    /**
+     * Amount of entries appended since the log was created.
+     */
+    private long appended;
+
+    /**
+     * Receiver of changes, null if nobody listens.
+     */
+    private Listener listener;
+
+    /**
+     * Receiver of every appended entry, null if entries are only kept in memory.
+     */
+    private Consumer<String> sink;
+
+    /**
+     * Constructor, the purpose of which is to create an empty log.
+     *
+     * @param capacity largest amount of kept entries
+     * @throws IllegalArgumentException when the capacity is not positive
+     */
+    GameLog(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity of the log must be positive.");
+        }
+        this.entries = new String[capacity];
+    }
+
+    /**
+     * Getter for the largest amount of kept entries.
+     *
+     * @return capacity of the log
+     */
+    int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Getter for the amount of kept entries.
+     *
+     * @return amount of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Getter for the amount of entries appended since the log was created, including evicted ones.
+     *
+     * @return amount of appended entries
+     */
+    long getAppended() {
+        return appended;
+    }
+
+    /**
+     * Getter for the kept entry.
+     *
+     * @param index position of the entry, 0 for the oldest one
+     * @return entry
+     * @throws IndexOutOfBoundsException when there is no entry at the position
+     */
+    String get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        var position = head + index;
+        return entries[position < entries.length ? position : position - entries.length];
+    }
+
+    /**
+     * Setter for the receiver of changes.
+     *
+     * @param listener receiver of changes, null to stop listening
+     */
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Setter for the receiver of every appended entry.
+     *
+     * @param sink receiver of entries, null to keep entries only in memory
+     */
+    void setSink(Consumer<String> sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Method which appends the entry, evicting the oldest one if the log is full.
+     *
+     * @param entry message to append
+     */
+    void append(String entry) {
+        String evicted = null;
+        var tail = head + size;
+        if (tail >= entries.length) {
+            tail -= entries.length;
+        }
+        if (size == entries.length) {
+            evicted = entries[head];
+            head = head + 1 == entries.length ? 0 : head + 1;
+        } else {
+            size++;
+        }
+        entries[tail] = entry;
+        appended++;
+        if (sink != null) {
+            sink.accept(entry);
+        }
+        if (listener != null) {
+            listener.appended(entry, evicted);
+        }
+    }
+
+    /**
+     * Method which removes all kept entries. Entries already passed to the sink stay there.
+     */
+    void clear() {
+        List<String> removed = null;
+        if (listener != null && size > 0) {
+            removed = new ArrayList<>(size);
+            for (var i = 0; i < size; i++) {
+                removed.add(get(i));
+            }
+        }
+        Arrays.fill(entries, null);
+        head = 0;
+        size = 0;
+        if (removed != null) {
+            listener.cleared(removed);
+        }
+    }
+}
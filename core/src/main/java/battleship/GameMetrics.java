@@ -0,0 +1,377 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * Instrumentation of the game loop: latency histograms of every phase of a move, counters of shots,
+ * and flight recorder events.
+ * Histograms and counters are collected only when the {@code battleship.metrics} system property is true;
+ * the flag is a constant, so disabled instrumentation is removed by the compiler.
+ * Flight recorder events are emitted whenever a recording with battleship events enabled is running.
+ * A report can be printed as text and written as JSON periodically.
+ */
+final class GameMetrics {
+
+    /**
+     * True if histograms and counters are collected.
+     */
+    static final boolean ENABLED = Boolean.getBoolean("battleship.metrics");
+
+    /**
+     * Metrics shared by the whole application.
+     */
+    private static final GameMetrics INSTANCE = new GameMetrics();
+
+    /**
+     * Span doing nothing, returned when neither metrics nor events are enabled.
+     */
+    private static final Span DISABLED = new Span(null, null, 0, null);
+
+    /**
+     * Latency histogram of every phase.
+     */
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+    /**
+     * Amount of shots at cells which had not been shot at.
+     */
+    private final LongAdder shots = new LongAdder();
+
+    /**
+     * Amount of shots which hit a ship.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Amount of shots which sank a ship.
+     */
+    private final LongAdder sinks = new LongAdder();
+
+    /**
+     * Amount of shots at cells which had already been shot at.
+     */
+    private final LongAdder reShots = new LongAdder();
+
+    /**
+     * Flight recorder type of move events, resolved on first use.
+     */
+    private volatile EventType moveEventType;
+
+    /**
+     * Flight recorder type of move phase events, resolved on first use.
+     */
+    private volatile EventType phaseEventType;
+
+    /**
+     * Constructor, the purpose of which is to create empty histograms of all phases.
+     */
+    private GameMetrics() {
+        for (var phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Getter for metrics shared by the whole application.
+     *
+     * @return shared metrics
+     */
+    static GameMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Method which starts timing of the phase.
+     *
+     * @param phase phase of a move
+     * @return span to end when the phase is over
+     */
+    Span begin(Phase phase) {
+        var jfr = getEventType(phase).isEnabled();
+        if (!ENABLED && !jfr) {
+            return DISABLED;
+        }
+        Event event = null;
+        if (jfr) {
+            event = phase == Phase.MOVE ? new MoveEvent() : new MovePhaseEvent();
+            event.begin();
+        }
+        return new Span(this, phase, ENABLED ? System.nanoTime() : 0, event);
+    }
+
+    /**
+     * Getter for the flight recorder type of events of the phase. Types are resolved on first use, so loading
+     * this class does not register events with the flight recorder.
+     *
+     * @param phase phase of a move
+     * @return type of move events for the whole move, type of move phase events otherwise
+     */
+    private EventType getEventType(Phase phase) {
+        if (phase == Phase.MOVE) {
+            var type = moveEventType;
+            if (type == null) {
+                type = EventType.getEventType(MoveEvent.class);
+                moveEventType = type;
+            }
+            return type;
+        }
+        var type = phaseEventType;
+        if (type == null) {
+            type = EventType.getEventType(MovePhaseEvent.class);
+            phaseEventType = type;
+        }
+        return type;
+    }
+
+    /**
+     * Method which counts the shot.
+     *
+     * @param result result of the shot, null if the cell had already been shot at
+     */
+    void countShot(ShotResult result) {
+        if (!ENABLED) {
+            return;
+        }
+        if (result == null) {
+            reShots.increment();
+            return;
+        }
+        shots.increment();
+        if (result != ShotResult.MISS) {
+            hits.increment();
+        }
+        if (result == ShotResult.SUNK) {
+            sinks.increment();
+        }
+    }
+
+    /**
+     * Getter for the latency histogram of the phase.
+     *
+     * @param phase phase of a move
+     * @return histogram of the phase
+     */
+    LatencyHistogram getHistogram(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * Method which builds a human-readable report.
+     *
+     * @return counters and latency percentiles of every phase in microseconds
+     */
+    String toText() {
+        var sb = new StringBuilder();
+        sb.append(String.format("Shots: %d, hits: %d, sinks: %d, re-shots: %d%n",
+                shots.sum(), hits.sum(), sinks.sum(), reShots.sum()));
+        sb.append(String.format("%-12s %10s %10s %10s %10s %10s %10s%n",
+                "phase", "count", "mean us", "p50 us", "p99 us", "p99.9 us", "max us"));
+        for (var phase : Phase.values()) {
+            var histogram = histograms.get(phase);
+            sb.append(String.format(Locale.ROOT, "%-12s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    phase.getLabel(), histogram.getCount(), histogram.getMean() / 1000,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMax() / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Method which builds a JSON report.
+     *
+     * @return counters and latency percentiles of every phase in nanoseconds
+     */
+    String toJson() {
+        var sb = new StringBuilder("{\n");
+        sb.append(String.format("  \"timestamp\": %d,\n", System.currentTimeMillis()));
+        sb.append(String.format("  \"counters\": {\"shots\": %d, \"hits\": %d, \"sinks\": %d, \"reShots\": %d},\n",
+                shots.sum(), hits.sum(), sinks.sum(), reShots.sum()));
+        sb.append("  \"phases\": {\n");
+        var phases = Phase.values();
+        for (var i = 0; i < phases.length; i++) {
+            var histogram = histograms.get(phases[i]);
+            sb.append(String.format(Locale.ROOT,
+                    "    \"%s\": {\"count\": %d, \"mean\": %.1f, \"p50\": %d, \"p90\": %d, \"p99\": %d, "
+                            + "\"p999\": %d, \"max\": %d}",
+                    phases[i].getLabel(), histogram.getCount(), histogram.getMean(),
+                    histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                    histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMax()));
+            sb.append(i + 1 < phases.length ? ",\n" : "\n");
+        }
+        return sb.append("  }\n}\n").toString();
+    }
+
+    /**
+     * Method which starts printing the text report and writing the JSON report periodically,
+     * if metrics are enabled. The period in seconds is set by the {@code battleship.metrics.period} property
+     * (10 by default), the JSON file by the {@code battleship.metrics.json} property (no file by default).
+     *
+     * @return scheduler of reports to shut down on exit, null if metrics are disabled
+     */
+    ScheduledExecutorService startReporting() {
+        if (!ENABLED) {
+            return null;
+        }
+        var period = Long.getLong("battleship.metrics.period", 10);
+        var json = System.getProperty("battleship.metrics.json");
+        var scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            var thread = new Thread(task, "game-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> {
+            System.out.print(toText());
+            if (json != null) {
+                try {
+                    Files.writeString(Path.of(json), toJson(), StandardCharsets.UTF_8);
+                } catch (IOException ex) {
+                    System.err.println("Unable to write metrics report: " + ex.getMessage());
+                }
+            }
+        }, period, period, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    /**
+     * Phases of a move of the player.
+     */
+    enum Phase {
+        /**
+         * The whole move.
+         */
+        MOVE("move"),
+        /**
+         * Shot at the ocean and notification of the computer shooter.
+         */
+        SHOT("shot"),
+        /**
+         * Update of the cell marks and the log.
+         */
+        MARKS("marks"),
+        /**
+         * Refresh of the game information area.
+         */
+        GAME_INFO("gameInfo"),
+        /**
+         * Check whether the game is over.
+         */
+        GAME_OVER("gameOver");
+
+        /**
+         * Name of the phase in reports.
+         */
+        private final String label;
+
+        /**
+         * Constructor, the purpose of which is to set the name of the phase.
+         *
+         * @param label name of the phase in reports
+         */
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Getter for the name of the phase.
+         *
+         * @return name of the phase in reports
+         */
+        String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Timing of one phase in progress.
+     */
+    static final class Span {
+
+        /**
+         * Metrics receiving the latency, null for the disabled span.
+         */
+        private final GameMetrics metrics;
+
+        /**
+         * Timed phase.
+         */
+        private final Phase phase;
+
+        /**
+         * Value of {@link System#nanoTime()} when the phase began.
+         */
+        private final long start;
+
+        /**
+         * Flight recorder event of the phase, null if events are disabled.
+         */
+        private final Event event;
+
+        /**
+         * Constructor, the purpose of which is to remember the beginning of the phase.
+         *
+         * @param metrics metrics receiving the latency
+         * @param phase   timed phase
+         * @param start   value of {@link System#nanoTime()} when the phase began
+         * @param event   flight recorder event of the phase, null if events are disabled
+         */
+        private Span(GameMetrics metrics, Phase phase, long start, Event event) {
+            this.metrics = metrics;
+            this.phase = phase;
+            this.start = start;
+            this.event = event;
+        }
+
+        /**
+         * Method which ends the phase.
+         */
+        void end() {
+            if (metrics == null) {
+                return;
+            }
+            if (ENABLED) {
+                metrics.histograms.get(phase).record(System.nanoTime() - start);
+            }
+            if (event instanceof MovePhaseEvent) {
+                var phaseEvent = (MovePhaseEvent) event;
+                phaseEvent.phase = phase.getLabel();
+                phaseEvent.commit();
+            }
+        }
+
+        /**
+         * Method which ends the whole move.
+         *
+         * @param row    row of the cell shot at
+         * @param column column of the cell shot at
+         * @param result result of the shot, null if the cell had already been shot at
+         */
+        void endMove(int row, int column, ShotResult result) {
+            if (metrics == null) {
+                return;
+            }
+            if (ENABLED) {
+                metrics.histograms.get(phase).record(System.nanoTime() - start);
+            }
+            if (event instanceof MoveEvent) {
+                var moveEvent = (MoveEvent) event;
+                moveEvent.row = row;
+                moveEvent.column = column;
+                moveEvent.result = result == null ? "RESHOT" : result.name();
+                moveEvent.commit();
+            }
+        }
+    }
+}
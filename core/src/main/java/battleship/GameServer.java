@@ -0,0 +1,535 @@
+package battleship;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Headless server hosting single player games behind a line based TCP protocol.
+ * Every connection owns its own ocean with randomly placed ships. Client sends lines
+ * {@code "<row> <column>"} parsed with the rules of {@link Coordinates}, {@code "NEW"} or {@code "QUIT"},
+ * server answers every line with exactly one line: {@code "MISS"}, {@code "HIT"}, {@code "SUNK <ship type>"},
+ * {@code "GAME OVER <shots>"} when the last ship is sunk, {@code "NEW GAME"} or {@code "ERROR <message>"}.
+ * Right after connection server sends {@code "WELCOME <rows> <columns>"}.
+ * Connections are multiplexed over a few event loops with non-blocking channels, so an idle session costs
+ * only its ocean and a small line buffer and no thread is ever blocked by a client.
+ */
+final class GameServer implements AutoCloseable {
+
+    /**
+     * Maximum length of a line sent by a client.
+     */
+    private static final int MAX_LINE_LENGTH = 64;
+
+    /**
+     * Size of the buffer for reading on every event loop.
+     */
+    private static final int INPUT_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Size of the buffer for writing on every event loop, large enough for answers to the shortest commands.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 32 * INPUT_BUFFER_SIZE;
+
+    /**
+     * Pause of the acceptor after the first failure to accept a connection, in milliseconds.
+     */
+    private static final long MIN_ACCEPT_BACKOFF = 10;
+
+    /**
+     * Longest pause of the acceptor between failures to accept a connection, in milliseconds.
+     */
+    private static final long MAX_ACCEPT_BACKOFF = 1000;
+
+    /**
+     * Size of the playing field and composition of the fleet of every session.
+     */
+    private final GameConfig config;
+
+    /**
+     * Channel accepting connections.
+     */
+    private final ServerSocketChannel serverChannel;
+
+    /**
+     * Event loops serving connections.
+     */
+    private final List<EventLoop> loops = new ArrayList<>();
+
+    /**
+     * Threads running the acceptor and the event loops.
+     */
+    private final List<Thread> threads = new ArrayList<>();
+
+    /**
+     * True while the server is running.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Constructor, the purpose of which is to bind the server to the local port and start event loops.
+     *
+     * @param port   port to listen on, 0 for any free port
+     * @param loops  amount of event loops
+     * @param config size of the playing field and composition of the fleet of every session
+     * @param seed   seed of generators of pseudo random numbers used for ship placement
+     * @throws IOException when it is impossible to bind the port
+     */
+    GameServer(int port, int loops, GameConfig config, long seed) throws IOException {
+        this.config = config;
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", port), 4096);
+        var master = new SplittableRandom(seed);
+        for (var i = 0; i < loops; i++) {
+            var loop = new EventLoop(master.split());
+            this.loops.add(loop);
+            startThread("battleship-loop-" + i, loop::run);
+        }
+        startThread("battleship-acceptor", this::accept);
+    }
+
+    /**
+     * Method which starts a daemon thread.
+     *
+     * @param name   name of the thread
+     * @param target code to run
+     */
+    private void startThread(String name, Runnable target) {
+        var thread = new Thread(target, name);
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    /**
+     * Getter for the port the server listens on.
+     *
+     * @return local port
+     * @throws IOException when the server channel is closed
+     */
+    int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Method which accepts connections and hands them to event loops in turn. When accepting fails,
+     * for example because the process is out of file descriptors, the error is logged and the acceptor
+     * waits before the next attempt, doubling the pause while failures go on, so it does not spin.
+     * When the server channel has been closed, the acceptor stops.
+     */
+    private void accept() {
+        var next = 0;
+        var backoff = 0L;
+        while (running) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException ex) {
+                if (!running || !serverChannel.isOpen()) {
+                    return;
+                }
+                backoff = Math.min(Math.max(2 * backoff, MIN_ACCEPT_BACKOFF), MAX_ACCEPT_BACKOFF);
+                System.err.println("Failed to accept connection, retrying in " + backoff + " ms: "
+                        + ex.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                continue;
+            }
+            backoff = 0;
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops.get(next).register(channel);
+                next = (next + 1) % loops.size();
+            } catch (IOException ex) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // The connection is dropped anyway.
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which stops the server and closes all connections.
+     *
+     * @throws IOException when it is impossible to close the server channel
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverChannel.close();
+        for (var loop : loops) {
+            loop.selector.wakeup();
+        }
+        for (var thread : threads) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * State of one connection: its game and the unfinished line sent by the client.
+     */
+    private static final class Session {
+
+        /**
+         * Ocean of the current game.
+         */
+        private Ocean ocean;
+
+        /**
+         * Bytes of the line received so far.
+         */
+        private final byte[] line = new byte[MAX_LINE_LENGTH];
+
+        /**
+         * Amount of bytes of the line received so far, -1 while skipping a too long line.
+         */
+        private int lineLength;
+
+        /**
+         * Answers which could not be written yet, ready to be read, null if everything has been written.
+         * The session is not read while answers are pending, so they never exceed answers to one input buffer.
+         */
+        private ByteBuffer pending;
+    }
+
+    /**
+     * Event loop serving a part of connections on a single thread.
+     */
+    private final class EventLoop {
+
+        /**
+         * Selector of channels of this loop.
+         */
+        private final Selector selector;
+
+        /**
+         * Channels accepted but not registered yet.
+         */
+        private final ConcurrentLinkedQueue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Generator of pseudo random numbers used for ship placement.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * Buffer for reading from channels.
+         */
+        private final ByteBuffer input = ByteBuffer.allocateDirect(INPUT_BUFFER_SIZE);
+
+        /**
+         * Buffer for answers to the channel being served.
+         */
+        private final ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+
+        /**
+         * Constructor, the purpose of which is to open the selector.
+         *
+         * @param random generator of pseudo random numbers used for ship placement
+         * @throws IOException when it is impossible to open the selector
+         */
+        EventLoop(SplittableRandom random) throws IOException {
+            this.selector = Selector.open();
+            this.random = random;
+        }
+
+        /**
+         * Method which passes an accepted channel to this loop.
+         *
+         * @param channel accepted channel
+         */
+        void register(SocketChannel channel) {
+            accepted.add(channel);
+            selector.wakeup();
+        }
+
+        /**
+         * Method which serves channels until the server is stopped.
+         */
+        void run() {
+            try (selector) {
+                while (running) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = accepted.poll()) != null) {
+                        open(channel);
+                    }
+                    for (var key : selector.selectedKeys()) {
+                        serve(key);
+                    }
+                    selector.selectedKeys().clear();
+                }
+                for (var key : selector.keys()) {
+                    key.channel().close();
+                }
+            } catch (IOException ex) {
+                System.err.println("Event loop failed: " + ex.getMessage());
+            }
+        }
+
+        /**
+         * Method which starts a session for the channel and greets the client.
+         *
+         * @param channel accepted channel
+         */
+        private void open(SocketChannel channel) {
+            var session = new Session();
+            newGame(session);
+            try {
+                var key = channel.register(selector, SelectionKey.OP_READ, session);
+                output.clear();
+                answer(session, String.format("WELCOME %d %d", config.getRows(), config.getColumns()));
+                flush(key, session);
+            } catch (IOException ex) {
+                closeQuietly(channel);
+            }
+        }
+
+        /**
+         * Method which serves a ready channel.
+         *
+         * @param key selection key of the channel
+         */
+        private void serve(SelectionKey key) {
+            var channel = (SocketChannel) key.channel();
+            var session = (Session) key.attachment();
+            try {
+                if (key.isValid() && key.isWritable()) {
+                    channel.write(session.pending);
+                    if (!session.pending.hasRemaining()) {
+                        session.pending = null;
+                        key.interestOps(SelectionKey.OP_READ);
+                    }
+                    return;
+                }
+                if (key.isValid() && key.isReadable()) {
+                    input.clear();
+                    if (channel.read(input) < 0) {
+                        key.cancel();
+                        channel.close();
+                        return;
+                    }
+                    input.flip();
+                    output.clear();
+                    if (!readLines(session)) {
+                        flush(key, session);
+                        key.cancel();
+                        channel.close();
+                        return;
+                    }
+                    flush(key, session);
+                }
+            } catch (IOException ex) {
+                key.cancel();
+                closeQuietly(channel);
+            }
+        }
+
+        /**
+         * Method which splits input into lines and processes every complete line.
+         *
+         * @param session session of the channel
+         * @return false if the client asked to close the connection, otherwise – true
+         */
+        private boolean readLines(Session session) {
+            while (input.hasRemaining()) {
+                var b = input.get();
+                if (b == '\n') {
+                    var length = session.lineLength;
+                    session.lineLength = 0;
+                    if (length < 0) {
+                        answer(session, "ERROR Line is too long.");
+                        continue;
+                    }
+                    if (length > 0 && session.line[length - 1] == '\r') {
+                        length--;
+                    }
+                    if (!process(session, new String(session.line, 0, length, StandardCharsets.US_ASCII))) {
+                        return false;
+                    }
+                } else if (session.lineLength >= 0) {
+                    if (session.lineLength == MAX_LINE_LENGTH) {
+                        session.lineLength = -1;
+                    } else {
+                        session.line[session.lineLength++] = b;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Method which executes one command of the client.
+         *
+         * @param session session of the channel
+         * @param command line sent by the client
+         * @return false if the client asked to close the connection, otherwise – true
+         */
+        private boolean process(Session session, String command) {
+            var trimmed = command.trim();
+            if (trimmed.equalsIgnoreCase("QUIT")) {
+                return false;
+            }
+            if (trimmed.equalsIgnoreCase("NEW")) {
+                newGame(session);
+                answer(session, "NEW GAME");
+                return true;
+            }
+            if (session.ocean.isGameOver()) {
+                answer(session, "ERROR Game is over. Send NEW to play again.");
+                return true;
+            }
+            Coordinates coordinates;
+            try {
+                coordinates = new Coordinates(trimmed.split("\\s+"), config);
+            } catch (IllegalArgumentException ex) {
+                answer(session, "ERROR " + ex.getMessage());
+                return true;
+            }
+            var ocean = session.ocean;
+            var result = ocean.fireAt(coordinates.getX(), coordinates.getY());
+            switch (result) {
+                case MISS:
+                    answer(session, "MISS");
+                    break;
+                case HIT:
+                    answer(session, "HIT");
+                    break;
+                case SUNK:
+                    if (ocean.isGameOver()) {
+                        answer(session, "GAME OVER " + ocean.getShotsFired());
+                    } else {
+                        var ship = ocean.getShipAt(coordinates.getX(), coordinates.getY());
+                        answer(session, "SUNK " + ship.getShipType());
+                    }
+                    break;
+            }
+            return true;
+        }
+
+        /**
+         * Method which starts a new game of the session.
+         *
+         * @param session session of the channel
+         */
+        private void newGame(Session session) {
+            session.ocean = new Ocean(config);
+            session.ocean.placeAllShipsRandomly(random);
+        }
+
+        /**
+         * Method which appends an answer line to the output buffer, moving answers buffered so far
+         * to the pending answers of the session when the buffer is full. Answers are never dropped.
+         *
+         * @param session session of the channel
+         * @param text    answer without line separator
+         */
+        private void answer(Session session, String text) {
+            if (output.remaining() <= text.length()) {
+                output.flip();
+                keep(session);
+                output.clear();
+            }
+            for (var i = 0; i < text.length(); i++) {
+                output.put((byte) text.charAt(i));
+            }
+            output.put((byte) '\n');
+        }
+
+        /**
+         * Method which appends the rest of the output buffer to the pending answers of the session.
+         *
+         * @param session session of the channel
+         */
+        private void keep(Session session) {
+            if (!output.hasRemaining()) {
+                return;
+            }
+            var pending = session.pending;
+            var merged = ByteBuffer.allocate((pending == null ? 0 : pending.remaining()) + output.remaining());
+            if (pending != null) {
+                merged.put(pending);
+            }
+            session.pending = merged.put(output).flip();
+        }
+
+        /**
+         * Method which writes answers to the channel. When the channel cannot take all of them,
+         * the rest is kept and the session stops reading until it is written, so a client which
+         * does not read its answers is slowed down by TCP instead of filling the memory of the server.
+         *
+         * @param key     selection key of the channel
+         * @param session session of the channel
+         * @throws IOException when it is impossible to write to the channel
+         */
+        private void flush(SelectionKey key, Session session) throws IOException {
+            var channel = (SocketChannel) key.channel();
+            output.flip();
+            if (session.pending == null && output.hasRemaining()) {
+                channel.write(output);
+            }
+            keep(session);
+            if (session.pending == null) {
+                return;
+            }
+            channel.write(session.pending);
+            if (session.pending.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else {
+                session.pending = null;
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * Method which closes the channel ignoring errors.
+         *
+         * @param channel channel to close
+         */
+        private void closeQuietly(SocketChannel channel) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // The connection is dropped anyway.
+            }
+        }
+    }
+
+    /**
+     * Method where the server is started from command line.
+     *
+     * @param args port and amount of event loops, both optional
+     * @throws IOException          when it is impossible to start the server
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        var loops = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        try (var server = new GameServer(port, loops, GameConfig.STANDARD, System.nanoTime())) {
+            System.out.printf("Battleship server is listening on port %d%n", server.getPort());
+            Thread.currentThread().join();
+        }
+    }
+}
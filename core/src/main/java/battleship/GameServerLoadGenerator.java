@@ -0,0 +1,180 @@
+package battleship;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local load generator for {@link GameServer}. It opens idle connections which only hold sessions
+ * and active connections which keep shooting at cells one by one, starting a new game when one is over,
+ * and reports the rate of answered shots.
+ */
+final class GameServerLoadGenerator {
+
+    /**
+     * State of one active connection.
+     */
+    private static final class Client {
+
+        /**
+         * Index of the next cell to shoot at.
+         */
+        private int nextCell;
+
+        /**
+         * Answers which have not been split into lines yet.
+         */
+        private final StringBuilder received = new StringBuilder();
+    }
+
+    /**
+     * Address of the server.
+     */
+    private final InetSocketAddress address;
+
+    /**
+     * Size of the playing field of the server.
+     */
+    private final GameConfig config;
+
+    /**
+     * Constructor, the purpose of which is to set up the server address.
+     *
+     * @param address address of the server
+     * @param config  size of the playing field of the server
+     */
+    GameServerLoadGenerator(InetSocketAddress address, GameConfig config) {
+        this.address = address;
+        this.config = config;
+    }
+
+    /**
+     * Method which opens idle connections.
+     *
+     * @param count amount of connections
+     * @return opened channels
+     * @throws IOException when it is impossible to connect
+     */
+    List<SocketChannel> openIdle(int count) throws IOException {
+        var channels = new ArrayList<SocketChannel>(count);
+        for (var i = 0; i < count; i++) {
+            channels.add(SocketChannel.open(address));
+        }
+        return channels;
+    }
+
+    /**
+     * Method which keeps active connections shooting for the given time.
+     *
+     * @param connections amount of active connections
+     * @param millis      duration of the load, in milliseconds
+     * @return amount of answered shots per second
+     * @throws IOException when it is impossible to talk to the server
+     */
+    double shoot(int connections, long millis) throws IOException {
+        var buffer = ByteBuffer.allocate(64 * 1024);
+        long shots = 0;
+        try (var selector = Selector.open()) {
+            for (var i = 0; i < connections; i++) {
+                var channel = SocketChannel.open(address);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new Client());
+            }
+
+            var start = System.nanoTime();
+            var deadline = start + millis * 1_000_000;
+            while (System.nanoTime() < deadline) {
+                selector.select(100);
+                for (var key : selector.selectedKeys()) {
+                    var channel = (SocketChannel) key.channel();
+                    var client = (Client) key.attachment();
+                    buffer.clear();
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException("Server closed the connection.");
+                    }
+                    client.received.append(new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+                    shots += answered(channel, client);
+                }
+                selector.selectedKeys().clear();
+            }
+            for (var key : selector.keys()) {
+                key.channel().close();
+            }
+            return shots * 1e9 / (System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Method which consumes complete answers of the client and sends the next command after every answer.
+     *
+     * @param channel channel of the client
+     * @param client  state of the client
+     * @return amount of answered shots
+     * @throws IOException when it is impossible to write to the channel
+     */
+    private int answered(SocketChannel channel, Client client) throws IOException {
+        var shots = 0;
+        int end;
+        while ((end = client.received.indexOf("\n")) >= 0) {
+            var line = client.received.substring(0, end);
+            client.received.delete(0, end + 1);
+            String command;
+            if (line.startsWith("GAME OVER")) {
+                shots++;
+                command = "NEW";
+            } else if (line.startsWith("WELCOME") || line.startsWith("NEW GAME")) {
+                client.nextCell = 0;
+                command = nextShot(client);
+            } else if (line.startsWith("ERROR")) {
+                throw new IOException("Server rejected the command: " + line);
+            } else {
+                shots++;
+                command = nextShot(client);
+            }
+            var bytes = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.US_ASCII));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        return shots;
+    }
+
+    /**
+     * Method which builds the command shooting at the next cell of the client.
+     *
+     * @param client state of the client
+     * @return command with coordinates of the cell
+     */
+    private String nextShot(Client client) {
+        var cell = client.nextCell++;
+        return (cell / config.getColumns()) + " " + (cell % config.getColumns());
+    }
+
+    /**
+     * Method where the load generator is started from command line.
+     *
+     * @param args port, amount of idle connections, amount of active connections and duration in seconds
+     * @throws IOException when it is impossible to talk to the server
+     */
+    public static void main(String[] args) throws IOException {
+        var port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        var idle = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        var active = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        var seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        var generator = new GameServerLoadGenerator(new InetSocketAddress("127.0.0.1", port), GameConfig.STANDARD);
+        var idleChannels = generator.openIdle(idle);
+        System.out.printf("Opened %d idle sessions%n", idleChannels.size());
+        System.out.printf("%.0f shots/s over %d active sessions%n", generator.shoot(active, seconds * 1000L), active);
+        for (var channel : idleChannels) {
+            channel.close();
+        }
+    }
+}
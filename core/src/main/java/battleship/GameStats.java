@@ -0,0 +1,94 @@
+package battleship;
+
+/**
+ * Immutable snapshot of the game state counters.
+ */
+final class GameStats {
+
+    /**
+     * The total number of shots fired.
+     */
+    private final int shotsFired;
+
+    /**
+     * The number of times a shot hit a ship.
+     */
+    private final int hitCount;
+
+    /**
+     * The number of ships sunk.
+     */
+    private final int shipsSunk;
+
+    /**
+     * The number of ships which have been hit but not sunk yet.
+     */
+    private final int shipsDamaged;
+
+    /**
+     * The number of ships which have not been hit.
+     */
+    private final int shipsIntact;
+
+    /**
+     * Constructor, the purpose of which is to store counters values.
+     *
+     * @param shotsFired   total number of shots fired
+     * @param hitCount     number of times a shot hit a ship
+     * @param shipsSunk    number of ships sunk
+     * @param shipsDamaged number of ships which have been hit but not sunk yet
+     * @param shipsIntact  number of ships which have not been hit
+     */
+    GameStats(int shotsFired, int hitCount, int shipsSunk, int shipsDamaged, int shipsIntact) {
+        this.shotsFired = shotsFired;
+        this.hitCount = hitCount;
+        this.shipsSunk = shipsSunk;
+        this.shipsDamaged = shipsDamaged;
+        this.shipsIntact = shipsIntact;
+    }
+
+    /**
+     * Getter for the number of shots fired.
+     *
+     * @return number of shots which have been fired
+     */
+    int getShotsFired() {
+        return shotsFired;
+    }
+
+    /**
+     * Getter for the number of hits.
+     *
+     * @return number of hits which have been done
+     */
+    int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Getter for the number of sunk ships.
+     *
+     * @return number of ships which have been sunk
+     */
+    int getShipsSunk() {
+        return shipsSunk;
+    }
+
+    /**
+     * Getter for the number of damaged ships.
+     *
+     * @return number of ships which have been hit but not sunk yet
+     */
+    int getShipsDamaged() {
+        return shipsDamaged;
+    }
+
+    /**
+     * Getter for the number of intact ships.
+     *
+     * @return number of ships which have not been hit
+     */
+    int getShipsIntact() {
+        return shipsIntact;
+    }
+}
@@ -0,0 +1,255 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shooter which hunts for ships on a lattice spaced by the shortest ship still afloat
+ * and, after a hit, targets neighbouring cells until the ship is sunk.
+ * Ships never touch each other, so cells diagonal to a hit and cells around a sunk ship are skipped.
+ */
+final class HuntTargetShooter implements Shooter {
+
+    /**
+     * State of a cell which has not been shot at and may hold a ship.
+     */
+    private static final byte UNKNOWN = 0;
+
+    /**
+     * State of a cell shot at without hitting a ship.
+     */
+    private static final byte MISS = 1;
+
+    /**
+     * State of a cell of a ship which has been hit but not sunk.
+     */
+    private static final byte HIT = 2;
+
+    /**
+     * State of a cell of a sunk ship.
+     */
+    private static final byte SUNK = 3;
+
+    /**
+     * State of a cell which has not been shot at but cannot hold a ship.
+     */
+    private static final byte EMPTY = 4;
+
+    /**
+     * Amount of rows of the playing field.
+     */
+    private final int rows;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Amount of ships of every length in the fleet, index is length.
+     */
+    private final int[] fleet;
+
+    /**
+     * Amount of ships of every length still afloat, index is length.
+     */
+    private final int[] remaining;
+
+    /**
+     * State of every cell.
+     */
+    private final byte[] states;
+
+    /**
+     * Cells of the ship being targeted which have been hit.
+     */
+    private final int[] openHits;
+
+    /**
+     * Amount of cells of the ship being targeted which have been hit.
+     */
+    private int openHitCount;
+
+    /**
+     * Buffer of candidate cells of the next shot.
+     */
+    private final int[] candidates;
+
+    /**
+     * Offset of the hunting lattice chosen for the current game.
+     */
+    private int latticeOffset;
+
+    /**
+     * Generator of pseudo random numbers.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * Constructor, the purpose of which is to set the playing field and the generator of pseudo random numbers.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param random generator of pseudo random numbers
+     */
+    HuntTargetShooter(GameConfig config, RandomGenerator random) {
+        this.random = random;
+        rows = config.getRows();
+        columns = config.getColumns();
+        var maxLength = 0;
+        for (var entry : config.getFleet()) {
+            maxLength = Math.max(maxLength, entry.getLength());
+        }
+        fleet = new int[maxLength + 1];
+        for (var entry : config.getFleet()) {
+            fleet[entry.getLength()] += entry.getCount();
+        }
+        remaining = new int[fleet.length];
+        states = new byte[config.getCells()];
+        openHits = new int[maxLength];
+        candidates = new int[config.getCells()];
+        reset();
+    }
+
+    @Override
+    public int nextShot() {
+        var count = openHitCount > 0 ? targetCandidates() : 0;
+        if (count == 0) {
+            count = huntCandidates();
+        }
+        if (count == 0) {
+            for (var cell = 0; cell < states.length; cell++) {
+                if (states[cell] == UNKNOWN || states[cell] == EMPTY) {
+                    candidates[count++] = cell;
+                }
+            }
+        }
+        return candidates[random.nextInt(count)];
+    }
+
+    /**
+     * Method which collects cells extending the ship being targeted.
+     *
+     * @return amount of candidate cells
+     */
+    private int targetCandidates() {
+        var count = 0;
+        if (openHitCount == 1) {
+            var row = openHits[0] / columns;
+            var column = openHits[0] % columns;
+            count = addCandidate(row - 1, column, count);
+            count = addCandidate(row + 1, column, count);
+            count = addCandidate(row, column - 1, count);
+            return addCandidate(row, column + 1, count);
+        }
+        var first = Integer.MAX_VALUE;
+        var last = Integer.MIN_VALUE;
+        for (var i = 0; i < openHitCount; i++) {
+            first = Math.min(first, openHits[i]);
+            last = Math.max(last, openHits[i]);
+        }
+        if (first / columns == last / columns) {
+            count = addCandidate(first / columns, first % columns - 1, count);
+            return addCandidate(last / columns, last % columns + 1, count);
+        }
+        count = addCandidate(first / columns - 1, first % columns, count);
+        return addCandidate(last / columns + 1, last % columns, count);
+    }
+
+    /**
+     * Method which collects unknown cells of the hunting lattice, or all unknown cells if the lattice is exhausted.
+     *
+     * @return amount of candidate cells
+     */
+    private int huntCandidates() {
+        var spacing = 1;
+        while (spacing < remaining.length && remaining[spacing] == 0) {
+            spacing++;
+        }
+        var count = 0;
+        if (spacing > 1 && spacing < remaining.length) {
+            for (var cell = 0; cell < states.length; cell++) {
+                if (states[cell] == UNKNOWN && (cell / columns + cell % columns) % spacing == latticeOffset % spacing) {
+                    candidates[count++] = cell;
+                }
+            }
+        }
+        if (count == 0) {
+            for (var cell = 0; cell < states.length; cell++) {
+                if (states[cell] == UNKNOWN) {
+                    candidates[count++] = cell;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method which adds the cell to candidates if it is inside the field and unknown.
+     *
+     * @param row    row of the cell
+     * @param column column of the cell
+     * @param count  amount of candidates so far
+     * @return amount of candidates after the cell is considered
+     */
+    private int addCandidate(int row, int column, int count) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns && states[row * columns + column] == UNKNOWN) {
+            candidates[count++] = row * columns + column;
+        }
+        return count;
+    }
+
+    /**
+     * Method which marks the cell as unable to hold a ship if it is inside the field and unknown.
+     *
+     * @param row    row of the cell
+     * @param column column of the cell
+     */
+    private void ruleOut(int row, int column) {
+        if (row >= 0 && row < rows && column >= 0 && column < columns && states[row * columns + column] == UNKNOWN) {
+            states[row * columns + column] = EMPTY;
+        }
+    }
+
+    @Override
+    public void observe(int row, int column, ShotResult result) {
+        var cell = row * columns + column;
+        if (states[cell] != UNKNOWN && states[cell] != EMPTY) {
+            return;
+        }
+        if (result == ShotResult.MISS) {
+            states[cell] = MISS;
+            return;
+        }
+        states[cell] = HIT;
+        ruleOut(row - 1, column - 1);
+        ruleOut(row - 1, column + 1);
+        ruleOut(row + 1, column - 1);
+        ruleOut(row + 1, column + 1);
+        if (openHitCount < openHits.length) {
+            openHits[openHitCount++] = cell;
+        }
+        if (result == ShotResult.SUNK) {
+            for (var i = 0; i < openHitCount; i++) {
+                var hit = openHits[i];
+                states[hit] = SUNK;
+                for (var dr = -1; dr <= 1; dr++) {
+                    for (var dc = -1; dc <= 1; dc++) {
+                        ruleOut(hit / columns + dr, hit % columns + dc);
+                    }
+                }
+            }
+            if (remaining[openHitCount] > 0) {
+                remaining[openHitCount]--;
+            }
+            openHitCount = 0;
+        }
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(states, UNKNOWN);
+        System.arraycopy(fleet, 0, remaining, 0, fleet.length);
+        openHitCount = 0;
+        latticeOffset = random.nextInt(Math.max(1, fleet.length - 1));
+    }
+}
@@ -0,0 +1,142 @@
+package battleship;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds with about two significant digits of precision,
+ * in the spirit of HdrHistogram. Values below 128 are counted exactly, every larger power of two
+ * is split into 64 equal buckets, so the relative error stays below 1.6% for any value.
+ * Recording never allocates; one thread may record while others read a consistent enough snapshot.
+ */
+final class LatencyHistogram {
+
+    /**
+     * Amount of bits of a value kept exactly.
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /**
+     * Amount of buckets per power of two above the exact range.
+     */
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+
+    /**
+     * Amount of buckets covering all non-negative long values.
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+
+    /**
+     * Amount of recorded values in every bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Amount of recorded values.
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Sum of recorded values.
+     */
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Largest recorded value.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Method which records the value.
+     *
+     * @param nanos latency in nanoseconds, negative values are recorded as 0
+     */
+    void record(long nanos) {
+        var value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucket(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Getter for the amount of recorded values.
+     *
+     * @return amount of values
+     */
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Getter for the largest recorded value.
+     *
+     * @return largest value in nanoseconds, 0 if nothing was recorded
+     */
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Getter for the mean of recorded values.
+     *
+     * @return mean in nanoseconds, 0 if nothing was recorded
+     */
+    double getMean() {
+        var count = getCount();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * Getter for the value below which the given share of recorded values lies.
+     *
+     * @param percentile percentile from 0 to 100
+     * @return highest value equivalent to the bucket holding the percentile, 0 if nothing was recorded
+     */
+    long getValueAtPercentile(double percentile) {
+        var total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        var seen = 0L;
+        for (var bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Method to compute the bucket of the value.
+     *
+     * @param value non-negative value
+     * @return index of the bucket
+     */
+    static int bucket(long value) {
+        if (value < 2 * HALF_SUB_BUCKETS) {
+            return (int) value;
+        }
+        var shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Method to compute the highest value counted by the bucket.
+     *
+     * @param bucket index of the bucket
+     * @return highest value of the bucket
+     */
+    static long highestEquivalentValue(int bucket) {
+        if (bucket < 2 * HALF_SUB_BUCKETS) {
+            return bucket;
+        }
+        var shift = bucket / HALF_SUB_BUCKETS - 1;
+        var subBucket = (long) (bucket - shift * HALF_SUB_BUCKETS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,35 @@
+package battleship;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning one move of the player, from the click to the updated game state.
+ */
+@Name("battleship.Move")
+@Label("Move")
+@Category("Battleship")
+@Description("One move processed on the FX thread")
+final class MoveEvent extends Event {
+
+    /**
+     * Row of the cell shot at.
+     */
+    @Label("Row")
+    int row;
+
+    /**
+     * Column of the cell shot at.
+     */
+    @Label("Column")
+    int column;
+
+    /**
+     * Result of the shot, "RESHOT" if the cell had already been shot at.
+     */
+    @Label("Result")
+    String result;
+}
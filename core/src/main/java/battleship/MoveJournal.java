@@ -0,0 +1,343 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary journal of game events written to memory-mapped segment files.
+ * Every event starts with a type byte: a game start carries field size, the amount of kinds of ships
+ * and the length and count of every kind,
+ * a ship placement takes 7 bytes (cell and length), a shot, an undo and a redo take 5 bytes (cell)
+ * and a switch to a new branch of moves takes 5 bytes (amount of abandoned undone moves).
+ * Mapped pages are forced to disk once per group of events, so a crash loses at most the last group.
+ * A journal is written by a single thread; concurrent writers should use separate journals.
+ */
+final class MoveJournal implements AutoCloseable {
+
+    /**
+     * Type of the byte filling the unused tail of a segment.
+     */
+    static final byte END = 0;
+
+    /**
+     * Type of the game start event.
+     */
+    static final byte GAME_START = 1;
+
+    /**
+     * Type of the event of horizontal ship placement.
+     */
+    static final byte PLACE_HORIZONTAL = 2;
+
+    /**
+     * Type of the event of vertical ship placement.
+     */
+    static final byte PLACE_VERTICAL = 3;
+
+    /**
+     * Type of the event of a shot at an empty sea.
+     */
+    static final byte SHOT_MISS = 4;
+
+    /**
+     * Type of the event of a shot which hit a ship.
+     */
+    static final byte SHOT_HIT = 5;
+
+    /**
+     * Type of the event of a shot which sunk a ship.
+     */
+    static final byte SHOT_SUNK = 6;
+
+    /**
+     * Type of the event taking back the last shot.
+     */
+    static final byte SHOT_UNDONE = 7;
+
+    /**
+     * Type of the event making the last undone shot again.
+     */
+    static final byte SHOT_REDONE = 8;
+
+    /**
+     * Type of the event abandoning undone shots, so the next shot starts a new branch of moves.
+     */
+    static final byte BRANCH = 9;
+
+    /**
+     * Default size of one segment file, in bytes.
+     */
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Default amount of events between forcing mapped pages to disk.
+     */
+    static final int DEFAULT_GROUP_SIZE = 64 * 1024;
+
+    /**
+     * Directory of segment files.
+     */
+    private final Path directory;
+
+    /**
+     * Size of one segment file, in bytes.
+     */
+    private final int segmentSize;
+
+    /**
+     * Amount of events between forcing mapped pages to disk.
+     */
+    private final int groupSize;
+
+    /**
+     * Index of the current segment.
+     */
+    private int segmentIndex;
+
+    /**
+     * Channel of the current segment file.
+     */
+    private FileChannel channel;
+
+    /**
+     * Mapped content of the current segment.
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * Amount of events written since pages have been forced last time.
+     */
+    private int uncommitted;
+
+    /**
+     * Total amount of events written.
+     */
+    private long events;
+
+    /**
+     * Constructor, the purpose of which is to open the journal with default segment and group sizes.
+     *
+     * @param directory directory of segment files, created if missing
+     * @throws IOException when it is impossible to create the first segment
+     */
+    MoveJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_GROUP_SIZE);
+    }
+
+    /**
+     * Constructor, the purpose of which is to open the journal. New segments follow the existing segment
+     * with the highest index, so gaps left by deleted segments are never filled.
+     *
+     * @param directory   directory of segment files, created if missing
+     * @param segmentSize size of one segment file, in bytes
+     * @param groupSize   amount of events between forcing mapped pages to disk
+     * @throws IOException when it is impossible to create the first segment
+     */
+    MoveJournal(Path directory, int segmentSize, int groupSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.groupSize = groupSize;
+        Files.createDirectories(directory);
+        var segments = MoveJournalReader.listSegments(directory);
+        segmentIndex = segments.isEmpty() ? 0 : segmentIndex(segments.get(segments.size() - 1)) + 1;
+        openSegment();
+    }
+
+    /**
+     * Method to get path of the segment file.
+     *
+     * @param directory directory of segment files
+     * @param index     index of the segment
+     * @return path of the segment file
+     */
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("journal-%08d.seg", index));
+    }
+
+    /**
+     * Method to get the index of the segment from the name of its file.
+     *
+     * @param segment path of the segment file
+     * @return index of the segment
+     */
+    static int segmentIndex(Path segment) {
+        var name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring("journal-".length(), name.length() - ".seg".length()));
+    }
+
+    /**
+     * Method which creates and maps the next segment file.
+     *
+     * @throws IOException when it is impossible to create the segment
+     */
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(segmentPath(directory, segmentIndex++),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    /**
+     * Method which finishes the current segment: forces its pages and cuts off the unused tail.
+     *
+     * @throws IOException when it is impossible to finish the segment
+     */
+    private void closeSegment() throws IOException {
+        buffer.force();
+        channel.truncate(buffer.position());
+        channel.close();
+        buffer = null;
+        channel = null;
+    }
+
+    /**
+     * Method which makes sure the current segment has room for the event.
+     *
+     * @param size size of the event, in bytes
+     * @throws IOException           when it is impossible to open the next segment
+     * @throws IllegalStateException when the journal is closed
+     */
+    private void reserve(int size) throws IOException, IllegalStateException {
+        checkOpen();
+        if (buffer.remaining() < size) {
+            closeSegment();
+            openSegment();
+        }
+    }
+
+    /**
+     * Method which counts the written event and forces pages once per group.
+     */
+    private void written() {
+        events++;
+        if (++uncommitted >= groupSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Method which checks that the journal can still be written.
+     *
+     * @throws IllegalStateException when the journal is closed
+     */
+    private void checkOpen() throws IllegalStateException {
+        if (buffer == null) {
+            throw new IllegalStateException("Journal is closed.");
+        }
+    }
+
+    /**
+     * Method which forces written events to disk.
+     *
+     * @throws IllegalStateException when the journal is closed
+     */
+    void commit() throws IllegalStateException {
+        checkOpen();
+        buffer.force();
+        uncommitted = 0;
+    }
+
+    /**
+     * Getter for the amount of written events.
+     *
+     * @return total amount of events
+     */
+    long getEvents() {
+        return events;
+    }
+
+    /**
+     * Method which records the start of a new game.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @throws IOException when it is impossible to open the next segment
+     */
+    void gameStarted(GameConfig config) throws IOException {
+        var fleet = config.getFleet();
+        reserve(13 + 6 * fleet.size());
+        buffer.put(GAME_START).putInt(config.getRows()).putInt(config.getColumns()).putInt(fleet.size());
+        for (var entry : fleet) {
+            buffer.putShort((short) entry.getLength()).putInt(entry.getCount());
+        }
+        written();
+    }
+
+    /**
+     * Method which records placement of a ship.
+     *
+     * @param bowCell    index of the cell with the bow of the ship
+     * @param length     length of the ship
+     * @param horizontal true if ship is horizontally oriented, otherwise - false
+     * @throws IOException when it is impossible to open the next segment
+     */
+    void shipPlaced(int bowCell, int length, boolean horizontal) throws IOException {
+        reserve(7);
+        buffer.put(horizontal ? PLACE_HORIZONTAL : PLACE_VERTICAL).putInt(bowCell).putShort((short) length);
+        written();
+    }
+
+    /**
+     * Method which records a shot.
+     *
+     * @param cell   index of the cell shot at
+     * @param result result of the shot
+     * @throws IOException when it is impossible to open the next segment
+     */
+    void shotFired(int cell, ShotResult result) throws IOException {
+        reserve(5);
+        buffer.put(result == ShotResult.MISS ? SHOT_MISS : result == ShotResult.HIT ? SHOT_HIT : SHOT_SUNK)
+                .putInt(cell);
+        written();
+    }
+
+    /**
+     * Method which records that the last shot has been taken back.
+     *
+     * @param cell index of the cell of the undone shot
+     * @throws IOException when it is impossible to open the next segment
+     */
+    void shotUndone(int cell) throws IOException {
+        reserve(5);
+        buffer.put(SHOT_UNDONE).putInt(cell);
+        written();
+    }
+
+    /**
+     * Method which records that the last undone shot has been made again.
+     *
+     * @param cell index of the cell of the redone shot
+     * @throws IOException when it is impossible to open the next segment
+     */
+    void shotRedone(int cell) throws IOException {
+        reserve(5);
+        buffer.put(SHOT_REDONE).putInt(cell);
+        written();
+    }
+
+    /**
+     * Method which records that undone shots have been abandoned and the next shot starts a new branch.
+     *
+     * @param abandoned amount of undone shots which cannot be redone any more
+     * @throws IOException when it is impossible to open the next segment
+     */
+    void branchStarted(int abandoned) throws IOException {
+        reserve(5);
+        buffer.put(BRANCH).putInt(abandoned);
+        written();
+    }
+
+    /**
+     * Method which forces all events to disk and closes the journal.
+     *
+     * @throws IOException when it is impossible to finish the current segment
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            closeSegment();
+        }
+    }
+}
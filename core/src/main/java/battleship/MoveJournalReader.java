@@ -0,0 +1,315 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Reader streaming events of a {@link MoveJournal}. Segments are mapped read-only one at a time,
+ * so a journal of any size is replayed without loading it onto the heap.
+ */
+final class MoveJournalReader {
+
+    /**
+     * Receiver of journal events.
+     */
+    interface Listener {
+
+        /**
+         * Method called when a new game starts.
+         *
+         * @param config size of the playing field and composition of the fleet
+         */
+        void gameStarted(GameConfig config);
+
+        /**
+         * Method called when a ship is placed.
+         *
+         * @param bowCell    index of the cell with the bow of the ship
+         * @param length     length of the ship
+         * @param horizontal true if ship is horizontally oriented, otherwise - false
+         */
+        void shipPlaced(int bowCell, int length, boolean horizontal);
+
+        /**
+         * Method called when a shot is fired.
+         *
+         * @param cell   index of the cell shot at
+         * @param result recorded result of the shot
+         */
+        void shotFired(int cell, ShotResult result);
+
+        /**
+         * Method called when the last shot is taken back.
+         *
+         * @param cell index of the cell of the undone shot
+         */
+        void shotUndone(int cell);
+
+        /**
+         * Method called when the last undone shot is made again.
+         *
+         * @param cell index of the cell of the redone shot
+         */
+        void shotRedone(int cell);
+
+        /**
+         * Method called when undone shots are abandoned and the next shot starts a new branch.
+         *
+         * @param abandoned amount of undone shots which cannot be redone any more
+         */
+        void branchStarted(int abandoned);
+    }
+
+    /**
+     * Directory of segment files.
+     */
+    private final Path directory;
+
+    /**
+     * Constructor, the purpose of which is to set the journal directory.
+     *
+     * @param directory directory of segment files
+     */
+    MoveJournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Method to list segment files of the journal in the order of writing.
+     *
+     * @param directory directory of segment files
+     * @return paths of segment files
+     * @throws IOException when it is impossible to list the directory
+     */
+    static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().matches("journal-\\d{8}\\.seg"))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Method which streams all events of the journal to the listener.
+     *
+     * @param listener receiver of events
+     * @return amount of events read
+     * @throws IOException when it is impossible to read a segment or a segment is corrupted
+     */
+    long replay(Listener listener) throws IOException {
+        long events = 0;
+        for (var segment : listSegments(directory)) {
+            try (var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                events += replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), listener);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Method which streams events of one segment to the listener.
+     * Events end at the end of the segment or at the first zero byte left by an unfinished segment.
+     *
+     * @param buffer   mapped content of the segment
+     * @param listener receiver of events
+     * @return amount of events read
+     * @throws IOException when the segment is corrupted
+     */
+    private static long replay(ByteBuffer buffer, Listener listener) throws IOException {
+        long events = 0;
+        while (buffer.hasRemaining()) {
+            var type = buffer.get();
+            switch (type) {
+                case MoveJournal.END:
+                    return events;
+                case MoveJournal.GAME_START:
+                    var rows = buffer.getInt();
+                    var columns = buffer.getInt();
+                    var entries = buffer.getInt();
+                    if (entries <= 0 || entries > buffer.remaining() / 6) {
+                        throw new IOException("Corrupted journal game start with " + entries + " kinds of ships.");
+                    }
+                    var fleet = new ArrayList<GameConfig.FleetEntry>(entries);
+                    for (var i = 0; i < entries; i++) {
+                        fleet.add(new GameConfig.FleetEntry(buffer.getShort(), buffer.getInt()));
+                    }
+                    listener.gameStarted(new GameConfig(rows, columns, fleet));
+                    break;
+                case MoveJournal.PLACE_HORIZONTAL:
+                case MoveJournal.PLACE_VERTICAL:
+                    listener.shipPlaced(buffer.getInt(), buffer.getShort(), type == MoveJournal.PLACE_HORIZONTAL);
+                    break;
+                case MoveJournal.SHOT_MISS:
+                    listener.shotFired(buffer.getInt(), ShotResult.MISS);
+                    break;
+                case MoveJournal.SHOT_HIT:
+                    listener.shotFired(buffer.getInt(), ShotResult.HIT);
+                    break;
+                case MoveJournal.SHOT_SUNK:
+                    listener.shotFired(buffer.getInt(), ShotResult.SUNK);
+                    break;
+                case MoveJournal.SHOT_UNDONE:
+                    listener.shotUndone(buffer.getInt());
+                    break;
+                case MoveJournal.SHOT_REDONE:
+                    listener.shotRedone(buffer.getInt());
+                    break;
+                case MoveJournal.BRANCH:
+                    listener.branchStarted(buffer.getInt());
+                    break;
+                default:
+                    throw new IOException("Corrupted journal event of type " + type + ".");
+            }
+            events++;
+        }
+        return events;
+    }
+
+    /**
+     * Method which rebuilds every recorded game and passes its ocean to the consumer once the game is read.
+     * Undone shots are not applied, so the ocean holds the moves of the last branch of the game.
+     *
+     * @param consumer receiver of rebuilt oceans
+     * @return amount of rebuilt games
+     * @throws IOException when it is impossible to read the journal
+     */
+    long replayOceans(Consumer<Ocean> consumer) throws IOException {
+        var rebuilder = new OceanRebuilder(consumer);
+        replay(rebuilder);
+        rebuilder.finish();
+        return rebuilder.games;
+    }
+
+    /**
+     * Listener which applies events to oceans. Shots are collected while the game is read
+     * and fired when it ends, because undo and redo may change them.
+     */
+    private static final class OceanRebuilder implements Listener {
+
+        /**
+         * Receiver of rebuilt oceans.
+         */
+        private final Consumer<Ocean> consumer;
+
+        /**
+         * Ocean of the game being read.
+         */
+        private Ocean ocean;
+
+        /**
+         * Amount of rebuilt games.
+         */
+        private long games;
+
+        /**
+         * Cells of shots of the game being read, first {@code shotCount} entries are used.
+         */
+        private int[] shots = new int[64];
+
+        /**
+         * Amount of shots of the game being read.
+         */
+        private int shotCount;
+
+        /**
+         * Cells of undone shots which can be redone, the next one last, first {@code undoneCount} entries are used.
+         */
+        private int[] undone = new int[64];
+
+        /**
+         * Amount of undone shots which can be redone.
+         */
+        private int undoneCount;
+
+        /**
+         * Constructor, the purpose of which is to set the receiver of rebuilt oceans.
+         *
+         * @param consumer receiver of rebuilt oceans
+         */
+        OceanRebuilder(Consumer<Ocean> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void gameStarted(GameConfig config) {
+            finish();
+            ocean = new Ocean(config);
+        }
+
+        @Override
+        public void shipPlaced(int bowCell, int length, boolean horizontal) {
+            var columns = ocean.getConfig().getColumns();
+            Ship.ofLength(length).placeShipAt(bowCell / columns, bowCell % columns, horizontal, ocean);
+        }
+
+        @Override
+        public void shotFired(int cell, ShotResult result) {
+            undoneCount = 0;
+            shots = push(shots, shotCount++, cell);
+        }
+
+        @Override
+        public void shotUndone(int cell) {
+            if (shotCount > 0) {
+                undone = push(undone, undoneCount++, shots[--shotCount]);
+            }
+        }
+
+        @Override
+        public void shotRedone(int cell) {
+            if (undoneCount > 0) {
+                shots = push(shots, shotCount++, undone[--undoneCount]);
+            }
+        }
+
+        @Override
+        public void branchStarted(int abandoned) {
+            undoneCount = 0;
+        }
+
+        /**
+         * Method which stores the cell at the given position of the array, growing the array when it is full.
+         *
+         * @param cells    array of cells
+         * @param position position of the new cell
+         * @param cell     index of the cell
+         * @return array holding the cell
+         */
+        private static int[] push(int[] cells, int position, int cell) {
+            if (position == cells.length) {
+                cells = Arrays.copyOf(cells, cells.length * 2);
+            }
+            cells[position] = cell;
+            return cells;
+        }
+
+        /**
+         * Method which fires the shots of the game being read and passes its ocean to the consumer.
+         */
+        void finish() {
+            if (ocean != null) {
+                var columns = ocean.getConfig().getColumns();
+                for (var i = 0; i < shotCount; i++) {
+                    ocean.shootAt(shots[i] / columns, shots[i] % columns);
+                }
+                shotCount = 0;
+                undoneCount = 0;
+                consumer.accept(ocean);
+                games++;
+                ocean = null;
+            }
+        }
+    }
+}
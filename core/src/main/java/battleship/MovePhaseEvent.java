@@ -0,0 +1,23 @@
+package battleship;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event spanning one phase of a move, such as the shot or the refresh of game information.
+ */
+@Name("battleship.MovePhase")
+@Label("Move Phase")
+@Category("Battleship")
+@Description("One phase of a move processed on the FX thread")
+final class MovePhaseEvent extends Event {
+
+    /**
+     * Name of the phase.
+     */
+    @Label("Phase")
+    String phase;
+}
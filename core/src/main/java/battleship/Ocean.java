@@ -0,0 +1,634 @@
+package battleship;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+import static java.lang.System.out;
+
+/**
+ * Class of the playing field with the size and the fleet given by its {@link GameConfig},
+ * rows and columns are numbered from 0 to {@link GameConfig#getRows()} - 1 and {@link GameConfig#getColumns()} - 1.
+ */
+class Ocean {
+
+    /**
+     * Zobrist feature of a cell occupied by a ship.
+     */
+    private static final int OCCUPIED_FEATURE = 0;
+
+    /**
+     * Zobrist feature of a cell which has been shot at.
+     */
+    private static final int SHOT_FEATURE = 1;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Ships placed in the ocean, indexed by ship id minus one.
+     */
+    private Ship[] fleet;
+    /**
+     * Amount of ships placed in the ocean.
+     */
+    private int fleetSize;
+    /**
+     * Id of the ship occupying each cell (index in fleet plus one), 0 for an empty sea.
+     */
+    private final CellShipMap shipIds;
+    /**
+     * Bitset of cells occupied by ships.
+     */
+    private final CellSet occupied;
+    /**
+     * Bitset of cells which have been shot at.
+     */
+    private final CellSet shots;
+    /**
+     * Bitset of occupied cells which have been hit.
+     */
+    private final CellSet hits;
+    /**
+     * Zobrist hash of ship cells and shot cells of the ocean and its symmetric images.
+     */
+    private final ZobristHash hash;
+    /**
+     * True if the hash misses shots fired by a batch and has to be recomputed before use.
+     */
+    private boolean hashStale;
+    /**
+     * Journal recording placements and shots, null if the game is not recorded.
+     */
+    private MoveJournal journal;
+    /**
+     * Seed from which ships were placed, meaningful only if {@link #seeded} is true.
+     */
+    private long seed;
+    /**
+     * True if ships were placed from a recorded seed.
+     */
+    private boolean seeded;
+    /**
+     * The total number of shots fired by the user.
+     */
+    private int shotsFired;
+    /**
+     * The number of times a shot hit a ship. If the user shoots the same part of a ship more than once,
+     * every hit is counted, even though the additional "hits" don't do the user any good.
+     */
+    private int hitCount;
+    /**
+     * The number of ships sunk (maximum is the amount of ships of the fleet, see {@link GameConfig#getShipsAmount()}).
+     */
+    private int shipsSunk;
+    /**
+     * The number of ships which have been hit but not sunk yet.
+     */
+    private int shipsDamaged;
+
+    /**
+     * Constructor, the purpose of which is to create an "empty" ocean.
+     * Also initializes such game variables as how many shots have been fired,
+     * how many hits have been done and how many ships have been sunk.
+     */
+    Ocean() {
+        this(GameConfig.STANDARD);
+    }
+
+    /**
+     * Constructor, the purpose of which is to create an "empty" ocean with the given settings.
+     *
+     * @param config size of the playing field and composition of the fleet
+     */
+    Ocean(GameConfig config) {
+        this.config = config;
+        fleet = new Ship[config.getShipsAmount()];
+        shipIds = new CellShipMap(config.getCells());
+        occupied = new CellSet(config.getCells());
+        shots = new CellSet(config.getCells());
+        hits = new CellSet(config.getCells());
+        hash = new ZobristHash(config.getRows(), config.getColumns());
+        shotsFired = 0;
+        hitCount = 0;
+        shipsSunk = 0;
+    }
+
+    /**
+     * Getter for game settings.
+     *
+     * @return size of the playing field and composition of the fleet
+     */
+    GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Method for placing all ships of the fleet randomly in the ocean from a fresh seed, which is recorded.
+     * The seed is drawn from the generator of the current thread, so oceans built in parallel do not contend.
+     */
+    void placeAllShipsRandomly() {
+        placeAllShipsRandomly(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Method for placing all ships of the fleet randomly in the ocean from the given seed, which is recorded.
+     * The same seed always gives the same layout in an empty ocean of the same settings.
+     *
+     * @param seed seed of the generator of pseudo random numbers used for placement
+     */
+    void placeAllShipsRandomly(long seed) {
+        placeAllShipsRandomly(new SplittableRandom(seed));
+        this.seed = seed;
+        seeded = true;
+    }
+
+    /**
+     * Method for placing all ships of the fleet randomly in the ocean using the given generator.
+     * The generator is used only by this call, so it should not be shared between threads.
+     *
+     * @param random generator of pseudo random numbers used for placement
+     */
+    void placeAllShipsRandomly(RandomGenerator random) {
+        placeAllShipsRandomly(random, PlacementMethod.REJECTION_SAMPLING);
+    }
+
+    /**
+     * Getter for the seed from which ships were placed.
+     *
+     * @return seed of the last placement, empty if ships were placed with a generator supplied by the caller
+     */
+    OptionalLong getSeed() {
+        return seeded ? OptionalLong.of(seed) : OptionalLong.empty();
+    }
+
+    /**
+     * Method for placing all ships of the fleet randomly in the ocean using the given generator and placement method.
+     * Fields too large to precompute ship locations, see {@link GameConfig#canUsePlacementGenerator()},
+     * always use rejection sampling.
+     *
+     * @param random generator of pseudo random numbers used for placement
+     * @param method method of choosing ship locations
+     */
+    void placeAllShipsRandomly(RandomGenerator random, PlacementMethod method) {
+        seeded = false;
+        var lengths = config.getShipLengths();
+        Ship[] ships = new Ship[lengths.length];
+
+        for (var i = 0; i < ships.length; i++) {
+            ships[i] = Ship.ofLength(lengths[i]);
+        }
+
+        if (method == PlacementMethod.CONSTRAINT_AWARE && config.canUsePlacementGenerator()) {
+            placeShipsWithGenerator(ships, random);
+            return;
+        }
+
+        int successfullyPlacedCount = 0;
+        for (var ship : ships) {
+            while (successfullyPlacedCount != ships.length) {
+                int row = random.nextInt(config.getRows());
+                int column = random.nextInt(config.getColumns());
+                boolean horizontal = random.nextBoolean();
+                if (ship.okToPlaceShipAt(row, column, horizontal, this)) {
+                    ship.placeShipAt(row, column, horizontal, this);
+                    successfullyPlacedCount++;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method for placing ships in locations picked by the fleet placement generator.
+     *
+     * @param ships  ships to place
+     * @param random generator of pseudo random numbers used for placement
+     */
+    private void placeShipsWithGenerator(Ship[] ships, RandomGenerator random) {
+        var generator = config.getPlacementGenerator();
+        var lengths = new int[ships.length];
+        for (var i = 0; i < ships.length; i++) {
+            lengths[i] = ships[i].getLength();
+        }
+        var forbidden = new long[generator.getWords()];
+        for (var i = 0; i < fleetSize; i++) {
+            var ship = fleet[i];
+            var lastRow = ship.isHorizontal() ? ship.getBowRow() : ship.getBowRow() + ship.getLength() - 1;
+            var lastColumn = ship.isHorizontal() ? ship.getBowColumn() + ship.getLength() - 1 : ship.getBowColumn();
+            for (var row = ship.getBowRow() - 1; row <= lastRow + 1; row++) {
+                for (var column = ship.getBowColumn() - 1; column <= lastColumn + 1; column++) {
+                    if (config.isInside(row, column)) {
+                        var cell = cellIndex(row, column);
+                        forbidden[cell >>> 6] |= 1L << cell;
+                    }
+                }
+            }
+        }
+
+        var locations = generator.place(lengths, forbidden, random);
+        for (var i = 0; i < ships.length; i++) {
+            var location = locations[i];
+            ships[i].placeShipAt(generator.getBowRow(location), generator.getBowColumn(location),
+                    generator.isHorizontal(location), this);
+        }
+    }
+
+    /**
+     * Method to get index of the cell in the bitsets.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return index of the cell
+     */
+    int cellIndex(int row, int column) {
+        return row * config.getColumns() + column;
+    }
+
+    /**
+     * Method which registers the ship in the ocean and marks cells it occupies.
+     * Ship position must be already set.
+     *
+     * @param ship ship to register
+     */
+    void placeShip(Ship ship) {
+        if (fleetSize == fleet.length) {
+            fleet = Arrays.copyOf(fleet, fleetSize * 2);
+        }
+        fleet[fleetSize++] = ship;
+        var id = fleetSize;
+        var row = ship.getBowRow();
+        var column = ship.getBowColumn();
+        for (var i = 0; i < ship.getLength(); i++) {
+            var cell = ship.isHorizontal() ? cellIndex(row, column + i) : cellIndex(row + i, column);
+            shipIds.put(cell, id);
+            occupied.add(cell);
+            hash.toggle(cell, OCCUPIED_FEATURE);
+        }
+        if (journal != null) {
+            recordPlacement(ship);
+        }
+    }
+
+    /**
+     * Setter for the journal recording placements and shots of this ocean.
+     * The start of the game and ships placed so far are recorded immediately.
+     *
+     * @param journal journal to record events to, null to stop recording
+     * @throws UncheckedIOException when it is impossible to write to the journal
+     */
+    void setJournal(MoveJournal journal) throws UncheckedIOException {
+        this.journal = journal;
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.gameStarted(config);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        for (var i = 0; i < fleetSize; i++) {
+            recordPlacement(fleet[i]);
+        }
+    }
+
+    /**
+     * Method which records placement of the ship to the journal.
+     *
+     * @param ship placed ship
+     * @throws UncheckedIOException when it is impossible to write to the journal
+     */
+    private void recordPlacement(Ship ship) throws UncheckedIOException {
+        try {
+            journal.shipPlaced(cellIndex(ship.getBowRow(), ship.getBowColumn()), ship.getLength(), ship.isHorizontal());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Method which records the shot to the journal.
+     *
+     * @param cell   index of the cell shot at
+     * @param result result of the shot
+     * @throws UncheckedIOException when it is impossible to write to the journal
+     */
+    private void recordShot(int cell, ShotResult result) throws UncheckedIOException {
+        try {
+            journal.shotFired(cell, result);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Method to check if the given location contains a ship.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return true if the given location contains a ship,
+     * otherwise – false.
+     */
+    boolean isOccupied(int row, int column) {
+        return occupied.contains(cellIndex(row, column));
+    }
+
+    /**
+     * Method to check if the given location has already been shot at.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return true if the given location has been shot at, otherwise – false
+     */
+    boolean isShot(int row, int column) {
+        return shots.contains(cellIndex(row, column));
+    }
+
+    /**
+     * Method which updates the number of shots that have been fired, and the number of hits.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return true if the given location contains a "real" ship, still afloat, otherwise - false
+     */
+    boolean shootAt(int row, int column) {
+        return fireAt(row, column) != ShotResult.MISS;
+    }
+
+    /**
+     * Method which shoots at the given location and reports what the player observes.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return MISS for an empty sea, SUNK if this shot sank the ship at the location, otherwise - HIT,
+     * also for a shot at a ship which has already been sunk
+     */
+    ShotResult fireAt(int row, int column) {
+        shotsFired++;
+        var cell = cellIndex(row, column);
+        if (shots.add(cell) && !hashStale) {
+            hash.toggle(cell, SHOT_FEATURE);
+        }
+        var id = shipIds.get(cell);
+        if (id == 0) {
+            if (journal != null) {
+                recordShot(cell, ShotResult.MISS);
+            }
+            return ShotResult.MISS;
+        }
+        var ship = fleet[id - 1];
+        var result = ShotResult.HIT;
+        if (ship.shootAt(row, column)) {
+            hitCount++;
+            if (hits.add(cell)) {
+                updateFleetCounters(ship);
+                if (ship.isSunk()) {
+                    result = ShotResult.SUNK;
+                }
+            }
+        }
+        if (journal != null) {
+            recordShot(cell, result);
+        }
+        return result;
+    }
+
+    /**
+     * Method which fires at all target cells at once. The outcome and all counters are the same as
+     * after calling {@link #shootAt(int, int)} for every target cell in ascending order,
+     * but cells of an empty sea are resolved a word of 64 cells at a time,
+     * and the Zobrist hash is brought up to date only when it is requested.
+     *
+     * @param targets bitset of target cells, bit {@code i} of word {@code w} stands for cell {@code 64 * w + i}
+     * @param result  result to fill, its previous content is discarded
+     * @throws IllegalArgumentException when the bitset does not match the playing field
+     */
+    void shootBatch(long[] targets, BatchResult result) throws IllegalArgumentException {
+        var wordCount = shots.getWordCount();
+        if (targets.length != wordCount
+                || (config.getCells() % Long.SIZE != 0 && targets[wordCount - 1] >>> config.getCells() != 0)) {
+            throw new IllegalArgumentException("Targets do not match the playing field.");
+        }
+        result.reset(wordCount);
+        var columns = config.getColumns();
+        for (var w = 0; w < wordCount; w++) {
+            var word = targets[w];
+            if (word == 0) {
+                continue;
+            }
+            var occupiedWord = occupied.getWord(w);
+            result.setWord(w, word & occupiedWord, word & ~occupiedWord);
+            if (journal != null) {
+                for (var bits = word; bits != 0; bits &= bits - 1) {
+                    var cell = w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    var ship = getShipAt(cell / columns, cell % columns);
+                    var wasSunk = ship != null && ship.isSunk();
+                    shootAt(cell / columns, cell % columns);
+                    if (ship != null && !wasSunk && ship.isSunk()) {
+                        result.addSunk(ship);
+                    }
+                }
+                continue;
+            }
+            shotsFired += Long.bitCount(word);
+            if (shots.addWord(w, word) != 0) {
+                hashStale = true;
+            }
+            for (var bits = word & occupiedWord; bits != 0; bits &= bits - 1) {
+                var cell = w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                var ship = fleet[shipIds.get(cell) - 1];
+                if (ship.shootAt(cell / columns, cell % columns)) {
+                    hitCount++;
+                    if (hits.add(cell)) {
+                        updateFleetCounters(ship);
+                        if (ship.isSunk()) {
+                            result.addSunk(ship);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which updates fleet counters after a new part of the ship has been hit.
+     *
+     * @param ship ship which has been hit
+     */
+    private void updateFleetCounters(Ship ship) {
+        if (ship.isSunk()) {
+            shipsSunk++;
+            if (ship.getLength() > 1) {
+                shipsDamaged--;
+            }
+        } else if (ship.getAmountOfAffectedParts() == 1) {
+            shipsDamaged++;
+        }
+    }
+
+    /**
+     * Getter for the number of shots fired.
+     *
+     * @return number of shots which have been fired
+     */
+    int getShotsFired() {
+        return shotsFired;
+    }
+
+    /**
+     * Getter for the number of hits.
+     *
+     * @return number of hits which have been done
+     */
+    int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Getter for the number of sunk ships.
+     *
+     * @return number of ships which have been sunk, from 0 to {@link GameConfig#getShipsAmount()}
+     */
+    int getShipsSunk() {
+        return shipsSunk;
+    }
+
+    /**
+     * Getter for the number of ships which have been shot but not sunk yet.
+     *
+     * @return number of ships which have been shot
+     */
+    int getShipsShot() {
+        return shipsDamaged;
+    }
+
+    /**
+     * Method to get snapshot of the current game state counters.
+     *
+     * @return immutable game statistics
+     */
+    GameStats getStats() {
+        return new GameStats(shotsFired, hitCount, shipsSunk, shipsDamaged, fleetSize - shipsSunk - shipsDamaged);
+    }
+
+    /**
+     * Method to define if game is over or not.
+     *
+     * @return true if amount of ships sunk is equals to maximum possible ships amount,
+     * otherwise - false
+     */
+    boolean isGameOver() {
+        return shipsSunk == config.getShipsAmount();
+    }
+
+    /**
+     * Getter for the amount of ships placed in the ocean.
+     *
+     * @return amount of placed ships
+     */
+    int getFleetSize() {
+        return fleetSize;
+    }
+
+    /**
+     * Getter for the placed ship by its placement order.
+     *
+     * @param index index of the ship from 0 to the amount of placed ships
+     * @return ship placed with the given index
+     */
+    Ship getShip(int index) {
+        return fleet[index];
+    }
+
+    /**
+     * Getter for the cells occupied by ships. The returned set must not be modified.
+     *
+     * @return bitset of cells occupied by ships
+     */
+    CellSet getOccupiedCells() {
+        return occupied;
+    }
+
+    /**
+     * Getter for the cells which have been shot at. The returned set must not be modified.
+     *
+     * @return bitset of cells which have been shot at
+     */
+    CellSet getShots() {
+        return shots;
+    }
+
+    /**
+     * Method which restores counters that cannot be derived from the shot cells, such as repeated shots.
+     *
+     * @param shotsFired total number of shots fired
+     * @param hitCount   number of times a shot hit a ship
+     */
+    void restoreCounters(int shotsFired, int hitCount) {
+        this.shotsFired = shotsFired;
+        this.hitCount = hitCount;
+    }
+
+    /**
+     * Getter for the hash of the fleet layout and the shot cells, which is the same for all
+     * rotations and reflections of the ocean.
+     *
+     * @return canonical Zobrist hash of the ocean
+     */
+    long getCanonicalHash() {
+        if (hashStale) {
+            hash.clear();
+            occupied.forEach(cell -> hash.toggle(cell, OCCUPIED_FEATURE));
+            shots.forEach(cell -> hash.toggle(cell, SHOT_FEATURE));
+            hashStale = false;
+        }
+        return hash.getCanonicalHash();
+    }
+
+    /**
+     * Getter for the ship at the given location.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return ship occupying the given location, null for an empty sea
+     */
+    Ship getShipAt(int row, int column) {
+        var id = shipIds.get(cellIndex(row, column));
+        return id == 0 ? null : fleet[id - 1];
+    }
+
+    // Methods used for tests only.
+
+    void testInitializer(String shipType) {
+        switch (shipType) {
+            case "submarine":
+                var submarine = new Submarine();
+                submarine.placeShipAt(1, 1, true, this);
+                break;
+            case "destroyer":
+                var destroyer = new Destroyer();
+                destroyer.placeShipAt(5, 5, false, this);
+                break;
+            case "cruiser":
+                var cruiser = new Cruiser();
+                cruiser.placeShipAt(2, 1, true, this);
+                break;
+            case "battleship":
+                var battleship = new Battleship();
+                battleship.placeShipAt(1, 3, false, this);
+                break;
+            case "multi":
+                var firstShip = new Battleship();
+                firstShip.placeShipAt(2, 3, true, this);
+                var secondShip = new Destroyer();
+                secondShip.placeShipAt(7, 7, false, this);
+                break;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,328 @@
+package battleship;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned binary snapshot of a game in progress.
+ * A snapshot holds the field size, the fleet as (length, bow, orientation) tuples, the shot counters
+ * and the shot grid as a bitset, all numbers except the bitset written as variable-length integers.
+ * Hits are not stored: a cell has been hit exactly when it is occupied and has been shot at.
+ * A standard 10x10 game takes about 40 bytes.
+ */
+final class OceanSnapshotCodec {
+
+    /**
+     * Version of the snapshot format written by the codec.
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * Mode of the shot grid stored as a bitset with one bit per cell.
+     */
+    private static final byte SHOTS_BITSET = 0;
+
+    /**
+     * Mode of the shot grid stored as a list of shot cells, used for sparse grids on huge fields.
+     */
+    private static final byte SHOTS_LIST = 1;
+
+    /**
+     * Private constructor, the purpose of which is to forbid creating instances of the codec.
+     */
+    private OceanSnapshotCodec() {
+    }
+
+    /**
+     * Method which calculates the size of the snapshot of the ocean.
+     *
+     * @param ocean ocean to save
+     * @return amount of bytes the snapshot takes
+     */
+    static int encodedSize(Ocean ocean) {
+        var config = ocean.getConfig();
+        var size = 1 + varIntSize(config.getRows()) + varIntSize(config.getColumns())
+                + varIntSize(ocean.getFleetSize());
+        for (var i = 0; i < ocean.getFleetSize(); i++) {
+            var ship = ocean.getShip(i);
+            size += varIntSize(ship.getLength())
+                    + varIntSize(cellOf(ship, config) << 1 | (ship.isHorizontal() ? 1 : 0));
+        }
+        size += varIntSize(ocean.getShotsFired()) + varIntSize(ocean.getHitCount()) + 1;
+        var shots = ocean.getShots();
+        if (isSparse(shots)) {
+            var listSize = new int[]{varIntSize(shots.cardinality())};
+            shots.forEach(cell -> listSize[0] += varIntSize(cell));
+            return size + listSize[0];
+        }
+        return size + bitsetBytes(config.getCells());
+    }
+
+    /**
+     * Method which writes the snapshot of the ocean to the buffer at its position.
+     *
+     * @param ocean  ocean to save
+     * @param buffer buffer with at least {@link #encodedSize(Ocean)} bytes remaining
+     * @throws java.nio.BufferOverflowException when the snapshot does not fit into the buffer
+     */
+    static void encode(Ocean ocean, ByteBuffer buffer) {
+        var config = ocean.getConfig();
+        buffer.put(VERSION);
+        putVarInt(buffer, config.getRows());
+        putVarInt(buffer, config.getColumns());
+        putVarInt(buffer, ocean.getFleetSize());
+        for (var i = 0; i < ocean.getFleetSize(); i++) {
+            var ship = ocean.getShip(i);
+            putVarInt(buffer, ship.getLength());
+            putVarInt(buffer, cellOf(ship, config) << 1 | (ship.isHorizontal() ? 1 : 0));
+        }
+        putVarInt(buffer, ocean.getShotsFired());
+        putVarInt(buffer, ocean.getHitCount());
+
+        var shots = ocean.getShots();
+        if (isSparse(shots)) {
+            buffer.put(SHOTS_LIST);
+            putVarInt(buffer, shots.cardinality());
+            shots.forEach(cell -> putVarInt(buffer, cell));
+            return;
+        }
+        buffer.put(SHOTS_BITSET);
+        var bytes = bitsetBytes(config.getCells());
+        var word = 0L;
+        for (var b = 0; b < bytes; b++) {
+            if (b % Long.BYTES == 0) {
+                word = shots.getWord(b / Long.BYTES);
+            }
+            buffer.put((byte) word);
+            word >>>= Byte.SIZE;
+        }
+    }
+
+    /**
+     * Method which reads the snapshot from the buffer at its position and restores the ocean.
+     *
+     * @param buffer buffer holding the snapshot
+     * @return restored ocean
+     * @throws IllegalArgumentException when the snapshot is damaged or has an unknown version
+     */
+    static Ocean decode(ByteBuffer buffer) throws IllegalArgumentException {
+        return decode(buffer, GameConfig.STANDARD);
+    }
+
+    /**
+     * Method which reads the snapshot from the buffer at its position and restores the ocean.
+     * The given settings are reused when the snapshot matches them, otherwise settings are restored
+     * from the field size and the lengths of the saved ships.
+     *
+     * @param buffer buffer holding the snapshot
+     * @param config expected size of the playing field and composition of the fleet
+     * @return restored ocean
+     * @throws IllegalArgumentException when the snapshot is damaged or has an unknown version
+     */
+    static Ocean decode(ByteBuffer buffer, GameConfig config) throws IllegalArgumentException {
+        try {
+            var version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version + ".");
+            }
+            var rows = getVarInt(buffer);
+            var columns = getVarInt(buffer);
+            var fleetSize = getVarInt(buffer);
+            var fleetStart = buffer.position();
+            if (!matchesFleet(buffer, rows, columns, fleetSize, config)) {
+                buffer.position(fleetStart);
+                config = readConfig(buffer, rows, columns, fleetSize);
+            }
+            buffer.position(fleetStart);
+
+            var ocean = new Ocean(config);
+            for (var i = 0; i < fleetSize; i++) {
+                var length = getVarInt(buffer);
+                var location = getVarInt(buffer);
+                var cell = location >>> 1;
+                var horizontal = (location & 1) != 0;
+                if (length <= 0 || cell >= config.getCells()
+                        || (horizontal ? cell % columns : cell / columns) + length > (horizontal ? columns : rows)) {
+                    throw new IllegalArgumentException("Snapshot contains a ship outside of the playing field.");
+                }
+                var ship = Ship.ofLength(length);
+                if (!ship.okToPlaceShipAt(cell / columns, cell % columns, horizontal, ocean)) {
+                    throw new IllegalArgumentException("Snapshot contains overlapping ships.");
+                }
+                ship.placeShipAt(cell / columns, cell % columns, horizontal, ocean);
+            }
+            var shotsFired = getVarInt(buffer);
+            var hitCount = getVarInt(buffer);
+            var mode = buffer.get();
+            if (mode == SHOTS_LIST) {
+                for (var i = getVarInt(buffer); i > 0; i--) {
+                    var cell = getVarInt(buffer);
+                    if (cell < 0 || cell >= config.getCells()) {
+                        throw new IllegalArgumentException("Shot cell is out of the playing field.");
+                    }
+                    ocean.shootAt(cell / columns, cell % columns);
+                }
+            } else if (mode == SHOTS_BITSET) {
+                var bytes = bitsetBytes(config.getCells());
+                for (var b = 0; b < bytes; b++) {
+                    var bits = buffer.get() & 0xFF;
+                    while (bits != 0) {
+                        var cell = b * Byte.SIZE + Integer.numberOfTrailingZeros(bits);
+                        if (cell >= config.getCells()) {
+                            throw new IllegalArgumentException("Shot cell is out of the playing field.");
+                        }
+                        ocean.shootAt(cell / columns, cell % columns);
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown shot grid mode " + mode + ".");
+            }
+            // Every shot cell was shot at least once and every hit cell was hit at least once,
+            // and repeated shots add at most as many hits as shots.
+            if (shotsFired < ocean.getShotsFired() || hitCount < ocean.getHitCount()
+                    || hitCount - ocean.getHitCount() > shotsFired - ocean.getShotsFired()) {
+                throw new IllegalArgumentException("Shot counters do not match the shot cells.");
+            }
+            ocean.restoreCounters(shotsFired, hitCount);
+            return ocean;
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Snapshot is truncated.", ex);
+        }
+    }
+
+    /**
+     * Method to check whether the saved field size and fleet match the settings without allocating anything.
+     *
+     * @param buffer    buffer positioned at the first saved ship
+     * @param rows      saved amount of rows
+     * @param columns   saved amount of columns
+     * @param fleetSize saved amount of ships
+     * @param config    settings to compare with
+     * @return true if the settings describe the saved game, otherwise – false
+     */
+    private static boolean matchesFleet(ByteBuffer buffer, int rows, int columns, int fleetSize, GameConfig config) {
+        if (rows != config.getRows() || columns != config.getColumns() || fleetSize != config.getShipsAmount()) {
+            return false;
+        }
+        for (var entry : config.getFleet()) {
+            for (var j = 0; j < entry.getCount(); j++) {
+                if (getVarInt(buffer) != entry.getLength()) {
+                    return false;
+                }
+                getVarInt(buffer);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method which restores settings from the field size and the lengths of the saved ships.
+     *
+     * @param buffer    buffer positioned at the first saved ship
+     * @param rows      saved amount of rows
+     * @param columns   saved amount of columns
+     * @param fleetSize saved amount of ships
+     * @return settings of the saved game
+     * @throws IllegalArgumentException when the saved settings are invalid
+     */
+    private static GameConfig readConfig(ByteBuffer buffer, int rows, int columns, int fleetSize)
+            throws IllegalArgumentException {
+        List<GameConfig.FleetEntry> fleet = new ArrayList<>();
+        var length = 0;
+        var count = 0;
+        for (var i = 0; i < fleetSize; i++) {
+            var next = getVarInt(buffer);
+            getVarInt(buffer);
+            if (next != length && count > 0) {
+                fleet.add(new GameConfig.FleetEntry(length, count));
+                count = 0;
+            }
+            length = next;
+            count++;
+        }
+        if (count > 0) {
+            fleet.add(new GameConfig.FleetEntry(length, count));
+        }
+        return new GameConfig(rows, columns, fleet);
+    }
+
+    /**
+     * Method to check whether the shot grid is smaller when written as a list of cells.
+     *
+     * @param shots cells which have been shot at
+     * @return true if the grid should be written as a list, otherwise – false
+     */
+    private static boolean isSparse(CellSet shots) {
+        return (long) shots.cardinality() * Integer.BYTES < bitsetBytes(shots.getCells());
+    }
+
+    /**
+     * Method which calculates the amount of bytes of the bitset with one bit per cell.
+     *
+     * @param cells amount of cells
+     * @return amount of bytes of the bitset
+     */
+    private static int bitsetBytes(int cells) {
+        return (cells + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Method which calculates the index of the cell holding the bow of the ship.
+     *
+     * @param ship   placed ship
+     * @param config size of the playing field
+     * @return index of the bow cell
+     */
+    private static int cellOf(Ship ship, GameConfig config) {
+        return ship.getBowRow() * config.getColumns() + ship.getBowColumn();
+    }
+
+    /**
+     * Method which calculates the amount of bytes of the variable-length integer.
+     *
+     * @param value non-negative integer
+     * @return amount of bytes from 1 to 5
+     */
+    private static int varIntSize(int value) {
+        return (38 - Integer.numberOfLeadingZeros(value | 1)) / 7;
+    }
+
+    /**
+     * Method which writes the non-negative integer using 7 bits per byte, the lowest bits first.
+     *
+     * @param buffer buffer to write to
+     * @param value  non-negative integer
+     */
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Method which reads the variable-length integer written by {@link #putVarInt(ByteBuffer, int)}.
+     *
+     * @param buffer buffer to read from
+     * @return non-negative integer
+     * @throws IllegalArgumentException when the integer takes more than 5 bytes or is negative
+     */
+    private static int getVarInt(ByteBuffer buffer) throws IllegalArgumentException {
+        var value = 0;
+        for (var shift = 0; shift < Integer.SIZE; shift += 7) {
+            var b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Negative variable-length integer.");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable-length integer.");
+    }
+}
@@ -0,0 +1,387 @@
+package battleship;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable version of the game state. Firing returns a new version and leaves this one valid, so
+ * versions form a tree: undo is the parent, redo and what-if branches are children kept by the caller.
+ * All versions of a game share the fleet layout, and shot and hit cells are persistent sets,
+ * so a new version costs a few dozen bytes instead of a deep copy of the {@link Ocean}.
+ * Counters follow the same rules as in {@link Ocean#shootAt(int, int)}.
+ */
+final class OceanState {
+
+    /**
+     * Fleet layout shared by all versions of the game.
+     */
+    private final Layout layout;
+
+    /**
+     * Version before the last shot, null for the first version.
+     */
+    private final OceanState parent;
+
+    /**
+     * Index of the cell shot at by the last shot, -1 for the first version.
+     */
+    private final int lastCell;
+
+    /**
+     * Result of the last shot, null for the first version.
+     */
+    private final ShotResult lastResult;
+
+    /**
+     * Cells which have been shot at.
+     */
+    private final PersistentCellSet shots;
+
+    /**
+     * Cells of ships which have been hit.
+     */
+    private final PersistentCellSet hits;
+
+    /**
+     * The total number of shots fired.
+     */
+    private final int shotsFired;
+
+    /**
+     * The number of times a shot hit a ship.
+     */
+    private final int hitCount;
+
+    /**
+     * The number of ships sunk.
+     */
+    private final int shipsSunk;
+
+    /**
+     * The number of ships which have been hit but not sunk yet.
+     */
+    private final int shipsDamaged;
+
+    /**
+     * Amount of shots since the first version.
+     */
+    private final int depth;
+
+    /**
+     * Constructor, the purpose of which is to set all values of the version.
+     *
+     * @param layout       fleet layout shared by all versions of the game
+     * @param parent       version before the last shot, null for the first version
+     * @param lastCell     index of the cell shot at by the last shot, -1 for the first version
+     * @param lastResult   result of the last shot, null for the first version
+     * @param shots        cells which have been shot at
+     * @param hits         cells of ships which have been hit
+     * @param shotsFired   total number of shots fired
+     * @param hitCount     number of times a shot hit a ship
+     * @param shipsSunk    number of ships sunk
+     * @param shipsDamaged number of ships which have been hit but not sunk yet
+     */
+    private OceanState(Layout layout, OceanState parent, int lastCell, ShotResult lastResult,
+                       PersistentCellSet shots, PersistentCellSet hits,
+                       int shotsFired, int hitCount, int shipsSunk, int shipsDamaged) {
+        this.layout = layout;
+        this.parent = parent;
+        this.lastCell = lastCell;
+        this.lastResult = lastResult;
+        this.shots = shots;
+        this.hits = hits;
+        this.shotsFired = shotsFired;
+        this.hitCount = hitCount;
+        this.shipsSunk = shipsSunk;
+        this.shipsDamaged = shipsDamaged;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /**
+     * Method to capture the current state of the ocean as the first version of a game.
+     * Later changes of the ocean do not affect the version.
+     *
+     * @param ocean ocean with all ships placed
+     * @return first version, without a parent
+     */
+    static OceanState of(Ocean ocean) {
+        var layout = new Layout(ocean);
+        var hits = new CellSet(layout.config.getCells());
+        ocean.getShots().forEach(cell -> {
+            if (layout.shipIds.get(cell) != 0) {
+                hits.add(cell);
+            }
+        });
+        var stats = ocean.getStats();
+        return new OceanState(layout, null, -1, null, PersistentCellSet.of(ocean.getShots()),
+                PersistentCellSet.of(hits), stats.getShotsFired(), stats.getHitCount(),
+                stats.getShipsSunk(), stats.getShipsDamaged());
+    }
+
+    /**
+     * Method which shoots at the given location.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return version after the shot, this version stays unchanged
+     */
+    OceanState fire(int row, int column) {
+        return fire(row * layout.config.getColumns() + column);
+    }
+
+    /**
+     * Method which shoots at the given cell.
+     *
+     * @param cell index of the cell
+     * @return version after the shot, this version stays unchanged
+     */
+    OceanState fire(int cell) {
+        var newShots = shots.with(cell);
+        var id = layout.shipIds.get(cell);
+        if (id == 0) {
+            return new OceanState(layout, this, cell, ShotResult.MISS, newShots, hits,
+                    shotsFired + 1, hitCount, shipsSunk, shipsDamaged);
+        }
+        var length = layout.fleet[id - 1].getLength();
+        if (hits.contains(cell)) {
+            var sunk = countHitParts(id, hits) == length;
+            return new OceanState(layout, this, cell, ShotResult.HIT, newShots, hits,
+                    shotsFired + 1, sunk ? hitCount : hitCount + 1, shipsSunk, shipsDamaged);
+        }
+        var newHits = hits.with(cell);
+        var parts = countHitParts(id, newHits);
+        var sunk = parts == length;
+        var damaged = shipsDamaged;
+        if (sunk && length > 1) {
+            damaged--;
+        } else if (!sunk && parts == 1) {
+            damaged++;
+        }
+        return new OceanState(layout, this, cell, sunk ? ShotResult.SUNK : ShotResult.HIT, newShots, newHits,
+                shotsFired + 1, hitCount + 1, sunk ? shipsSunk + 1 : shipsSunk, damaged);
+    }
+
+    /**
+     * Method to count hit parts of the ship.
+     *
+     * @param id   id of the ship
+     * @param hits cells of ships which have been hit
+     * @return amount of hit parts
+     */
+    private int countHitParts(int id, PersistentCellSet hits) {
+        var ship = layout.fleet[id - 1];
+        var cell = ship.getBowRow() * layout.config.getColumns() + ship.getBowColumn();
+        var step = ship.isHorizontal() ? 1 : layout.config.getColumns();
+        var parts = 0;
+        for (var i = 0; i < ship.getLength(); i++, cell += step) {
+            if (hits.contains(cell)) {
+                parts++;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Method which fires at every cell that has not been shot at yet, for search algorithms
+     * looking one move ahead. This version and all branches share their unchanged parts.
+     *
+     * @return one version for every cell not shot at, in ascending order of cells
+     */
+    List<OceanState> getBranches() {
+        var branches = new ArrayList<OceanState>(layout.config.getCells() - shots.size());
+        for (var cell = 0; cell < layout.config.getCells(); cell++) {
+            if (!shots.contains(cell)) {
+                branches.add(fire(cell));
+            }
+        }
+        return branches;
+    }
+
+    /**
+     * Getter for the version before the last shot.
+     *
+     * @return previous version, null for the first version
+     */
+    OceanState getParent() {
+        return parent;
+    }
+
+    /**
+     * Method to list versions from the first one to this one, which replays the shots in order.
+     *
+     * @return versions after every shot, starting with the first version
+     */
+    List<OceanState> getHistory() {
+        var history = new ArrayList<OceanState>(depth + 1);
+        for (var state = this; state != null; state = state.parent) {
+            history.add(state);
+        }
+        Collections.reverse(history);
+        return history;
+    }
+
+    /**
+     * Getter for the amount of shots since the first version.
+     *
+     * @return amount of versions before this one
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Getter for the cell shot at by the last shot.
+     *
+     * @return index of the cell, -1 for the first version
+     */
+    int getLastCell() {
+        return lastCell;
+    }
+
+    /**
+     * Getter for the result of the last shot.
+     *
+     * @return result of the shot, null for the first version
+     */
+    ShotResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Getter for the size of the playing field and composition of the fleet.
+     *
+     * @return game configuration
+     */
+    GameConfig getConfig() {
+        return layout.config;
+    }
+
+    /**
+     * Method to check if the location has been shot at.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return true if the location has been shot at, otherwise – false
+     */
+    boolean isShot(int row, int column) {
+        return shots.contains(row * layout.config.getColumns() + column);
+    }
+
+    /**
+     * Getter for the ship at the given location. The ship only describes the placement,
+     * its hit parts are not tracked, use {@link #isSunkAt(int, int)} instead.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return ship occupying the given location, null for an empty sea
+     */
+    Ship getShipAt(int row, int column) {
+        var id = layout.shipIds.get(row * layout.config.getColumns() + column);
+        return id == 0 ? null : layout.fleet[id - 1];
+    }
+
+    /**
+     * Method to check if the ship at the given location is sunk.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return true if a sunk ship occupies the location, otherwise – false
+     */
+    boolean isSunkAt(int row, int column) {
+        var id = layout.shipIds.get(row * layout.config.getColumns() + column);
+        return id != 0 && countHitParts(id, hits) == layout.fleet[id - 1].getLength();
+    }
+
+    /**
+     * Getter for the number of shots fired.
+     *
+     * @return number of shots which have been fired
+     */
+    int getShotsFired() {
+        return shotsFired;
+    }
+
+    /**
+     * Getter for the number of hits.
+     *
+     * @return number of times a shot hit a ship
+     */
+    int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Getter for the number of sunk ships.
+     *
+     * @return number of ships sunk
+     */
+    int getShipsSunk() {
+        return shipsSunk;
+    }
+
+    /**
+     * Method to get the game state counters.
+     *
+     * @return immutable game statistics
+     */
+    GameStats getStats() {
+        return new GameStats(shotsFired, hitCount, shipsSunk, shipsDamaged,
+                layout.fleet.length - shipsSunk - shipsDamaged);
+    }
+
+    /**
+     * Method to define if game is over or not.
+     *
+     * @return true if amount of ships sunk is equals to maximum possible ships amount,
+     * otherwise - false
+     */
+    boolean isGameOver() {
+        return shipsSunk == layout.config.getShipsAmount();
+    }
+
+    /**
+     * Fleet layout of a game, which never changes after the ships are placed.
+     */
+    private static final class Layout {
+
+        /**
+         * Size of the playing field and composition of the fleet.
+         */
+        private final GameConfig config;
+
+        /**
+         * Ships describing placement only, indexed by id minus one.
+         */
+        private final Ship[] fleet;
+
+        /**
+         * Ids of ships occupying cells.
+         */
+        private final CellShipMap shipIds;
+
+        /**
+         * Constructor, the purpose of which is to copy placement of ships of the ocean.
+         *
+         * @param ocean ocean with all ships placed
+         */
+        Layout(Ocean ocean) {
+            config = ocean.getConfig();
+            fleet = new Ship[ocean.getFleetSize()];
+            shipIds = new CellShipMap(config.getCells());
+            for (var i = 0; i < fleet.length; i++) {
+                var ship = ocean.getShip(i);
+                var copy = Ship.ofLength(ship.getLength());
+                copy.setBowRow(ship.getBowRow());
+                copy.setBowColumn(ship.getBowColumn());
+                copy.setHorizontal(ship.isHorizontal());
+                fleet[i] = copy;
+                var cell = ship.getBowRow() * config.getColumns() + ship.getBowColumn();
+                var step = ship.isHorizontal() ? 1 : config.getColumns();
+                for (var part = 0; part < ship.getLength(); part++, cell += step) {
+                    shipIds.put(cell, i + 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package battleship;
+
+/**
+ * Immutable set of cells of the playing field. Adding a cell returns a new set which shares all
+ * unchanged nodes with the old one, so both stay valid and the new set costs only the copied path.
+ * Cells are kept in a trie of 64-bit words: leaves hold up to {@value #LEAF_WORDS} words,
+ * inner nodes hold up to {@value #FANOUT} children and empty subtrees are not stored.
+ * A field of up to 512 cells, such as the standard one, is a single leaf.
+ */
+final class PersistentCellSet {
+
+    /**
+     * Maximal amount of words in a leaf.
+     */
+    private static final int LEAF_WORDS = 8;
+
+    /**
+     * Amount of bits of a word index selecting the word in a leaf.
+     */
+    private static final int LEAF_SHIFT = 3;
+
+    /**
+     * Amount of children of an inner node.
+     */
+    private static final int FANOUT = 8;
+
+    /**
+     * Amount of bits of a leaf index selecting the child of an inner node.
+     */
+    private static final int FANOUT_SHIFT = 3;
+
+    /**
+     * Amount of cells of the playing field.
+     */
+    private final int cells;
+
+    /**
+     * Amount of inner levels above the leaves, 0 if the root is a leaf.
+     */
+    private final int levels;
+
+    /**
+     * Root node: an array of words for a leaf, an array of children for an inner node, null for an empty set.
+     */
+    private final Object root;
+
+    /**
+     * Amount of cells in the set.
+     */
+    private final int size;
+
+    /**
+     * Constructor, the purpose of which is to set all nodes of the set.
+     *
+     * @param cells  amount of cells of the playing field
+     * @param levels amount of inner levels above the leaves
+     * @param root   root node
+     * @param size   amount of cells in the set
+     */
+    private PersistentCellSet(int cells, int levels, Object root, int size) {
+        this.cells = cells;
+        this.levels = levels;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Method to create an empty set.
+     *
+     * @param cells amount of cells of the playing field
+     * @return set without cells
+     */
+    static PersistentCellSet empty(int cells) {
+        var levels = 0;
+        for (var leaves = (CellSet.getWordCount(cells) + LEAF_WORDS - 1) / LEAF_WORDS; leaves > 1;
+             leaves = (leaves + FANOUT - 1) / FANOUT) {
+            levels++;
+        }
+        return new PersistentCellSet(cells, levels, null, 0);
+    }
+
+    /**
+     * Method to create a set with the same cells as the mutable set.
+     *
+     * @param set cells to copy
+     * @return set of the same cells
+     */
+    static PersistentCellSet of(CellSet set) {
+        var empty = empty(set.getCells());
+        var root = new Object[1];
+        set.forEach(cell -> root[0] = empty.insert(root[0], empty.levels, cell, false));
+        return new PersistentCellSet(empty.cells, empty.levels, root[0], set.cardinality());
+    }
+
+    /**
+     * Getter for the amount of cells of the playing field.
+     *
+     * @return amount of cells
+     */
+    int getCells() {
+        return cells;
+    }
+
+    /**
+     * Getter for the amount of cells in the set.
+     *
+     * @return amount of cells
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Method to check whether the cell is in the set.
+     *
+     * @param cell index of the cell
+     * @return true if the cell is in the set, otherwise – false
+     */
+    boolean contains(int cell) {
+        var word = cell >>> 6;
+        var node = root;
+        for (var level = levels; level > 0 && node != null; level--) {
+            node = ((Object[]) node)[childIndex(word, level)];
+        }
+        return node != null && (((long[]) node)[word & (LEAF_WORDS - 1)] & 1L << cell) != 0;
+    }
+
+    /**
+     * Method which adds the cell, copying only the nodes on the path to it.
+     *
+     * @param cell index of the cell
+     * @return set with the cell, this set if the cell is already in it
+     */
+    PersistentCellSet with(int cell) {
+        if (contains(cell)) {
+            return this;
+        }
+        return new PersistentCellSet(cells, levels, insert(root, levels, cell, true), size + 1);
+    }
+
+    /**
+     * Method which sets the bit of the cell in the subtree.
+     *
+     * @param node  root of the subtree, null for an empty subtree
+     * @param level amount of inner levels of the subtree
+     * @param cell  index of the cell
+     * @param copy  true if nodes must be copied before changing, false if they are not shared yet
+     * @return root of the changed subtree
+     */
+    private Object insert(Object node, int level, int cell, boolean copy) {
+        var word = cell >>> 6;
+        if (level == 0) {
+            var leaf = node == null ? new long[levels == 0 ? CellSet.getWordCount(cells) : LEAF_WORDS]
+                    : copy ? ((long[]) node).clone() : (long[]) node;
+            leaf[word & (LEAF_WORDS - 1)] |= 1L << cell;
+            return leaf;
+        }
+        var inner = node == null ? new Object[FANOUT] : copy ? ((Object[]) node).clone() : (Object[]) node;
+        var index = childIndex(word, level);
+        inner[index] = insert(inner[index], level - 1, cell, copy);
+        return inner;
+    }
+
+    /**
+     * Method to find the child of an inner node leading to the word.
+     *
+     * @param word  index of the word
+     * @param level level of the inner node, 1 for parents of leaves
+     * @return index of the child
+     */
+    private static int childIndex(int word, int level) {
+        return (word >>> (LEAF_SHIFT + FANOUT_SHIFT * (level - 1))) & (FANOUT - 1);
+    }
+}
@@ -0,0 +1,15 @@
+package battleship;
+
+/**
+ * Methods of placing the fleet randomly in the ocean.
+ */
+enum PlacementMethod {
+    /**
+     * Random locations are tried until a legal one is found for every ship.
+     */
+    REJECTION_SAMPLING,
+    /**
+     * Every ship is placed uniformly among its remaining legal locations, backtracking when stuck.
+     */
+    CONSTRAINT_AWARE
+}
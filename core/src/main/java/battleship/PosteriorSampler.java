@@ -0,0 +1,764 @@
+package battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Monte Carlo sampler of hidden fleet layouts consistent with observed shots.
+ * Every worker runs a Markov chain over layouts: one or two ships are moved to random locations and the move
+ * is accepted if the layout stays consistent, so all consistent layouts reachable by the chain are equally likely.
+ * Chains restart from a fresh random layout from time to time to avoid getting stuck around the first one.
+ * Per-cell occupancy frequencies of all chains are merged into a heatmap.
+ * Ships follow the rules of {@link Ship#okToPlaceShipAt(int, int, int, boolean, GameConfig, CellSet)}.
+ * The sampler keeps one byte per cell, so it suits moderate playing fields.
+ * A sampler is used by one thread at a time, its chains run on its own daemon workers.
+ */
+final class PosteriorSampler implements AutoCloseable {
+
+    /**
+     * Observation of a cell which has not been shot at.
+     */
+    static final byte UNKNOWN = 0;
+
+    /**
+     * Observation of a cell where a shot missed.
+     */
+    static final byte MISS = 1;
+
+    /**
+     * Observation of a cell where a shot hit a ship which is still afloat.
+     */
+    static final byte HIT = 2;
+
+    /**
+     * Observation of a cell of a sunk ship.
+     */
+    static final byte SUNK = 3;
+
+    /**
+     * Amount of samples a chain takes before restarting from a fresh layout.
+     */
+    private static final int SAMPLES_PER_RESTART = 1024;
+
+    /**
+     * Amount of sweeps over the fleet made after a restart before samples are taken.
+     */
+    private static final int BURN_IN_SWEEPS = 64;
+
+    /**
+     * Amount of random locations tried before all locations of a ship are scanned.
+     */
+    private static final int RANDOM_TRIES = 64;
+
+    /**
+     * Amount of attempts to build a consistent layout from scratch.
+     */
+    private static final int LAYOUT_ATTEMPTS = 1000;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Amount of chains run in parallel.
+     */
+    private final int chains;
+
+    /**
+     * Workers running the chains.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Generator from which generators of chains are split.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Constructor, the purpose of which is to start a chain worker per available processor.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param seed   seed of pseudo random numbers
+     */
+    PosteriorSampler(GameConfig config, long seed) {
+        this(config, Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    /**
+     * Constructor, the purpose of which is to start chain workers.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param chains amount of chains run in parallel
+     * @param seed   seed of pseudo random numbers
+     * @throws IllegalArgumentException when amount of chains is not positive
+     */
+    PosteriorSampler(GameConfig config, int chains, long seed) throws IllegalArgumentException {
+        if (chains <= 0) {
+            throw new IllegalArgumentException("Amount of chains must be positive.");
+        }
+        this.config = config;
+        this.chains = chains;
+        this.random = new SplittableRandom(seed);
+        executor = Executors.newFixedThreadPool(chains, task -> {
+            var thread = new Thread(task, "posterior-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method which collects what the player sees on the ocean: misses, hits and sunk ships.
+     *
+     * @param ocean ocean of the game
+     * @return observation of every cell
+     */
+    static byte[] observe(Ocean ocean) {
+        var config = ocean.getConfig();
+        var observed = new byte[config.getCells()];
+        for (var row = 0; row < config.getRows(); row++) {
+            for (var column = 0; column < config.getColumns(); column++) {
+                if (ocean.isShot(row, column)) {
+                    var ship = ocean.getShipAt(row, column);
+                    observed[row * config.getColumns() + column] = ship == null ? MISS : ship.isSunk() ? SUNK : HIT;
+                }
+            }
+        }
+        return observed;
+    }
+
+    /**
+     * Method which collects what the player sees in the version of the game: misses, hits and sunk ships.
+     *
+     * @param state version of the game
+     * @return observation of every cell
+     */
+    static byte[] observe(OceanState state) {
+        var config = state.getConfig();
+        var observed = new byte[config.getCells()];
+        for (var row = 0; row < config.getRows(); row++) {
+            for (var column = 0; column < config.getColumns(); column++) {
+                if (state.isShot(row, column)) {
+                    observed[row * config.getColumns() + column] = state.getShipAt(row, column) == null ? MISS
+                            : state.isSunkAt(row, column) ? SUNK : HIT;
+                }
+            }
+        }
+        return observed;
+    }
+
+    /**
+     * Method which samples layouts consistent with observations until the time budget runs out.
+     *
+     * @param observed     observation of every cell
+     * @param budgetNanos  time budget in nanoseconds
+     * @return merged heatmap of all chains, without samples if no consistent layout was found
+     * @throws IllegalArgumentException when observations contradict the fleet
+     * @throws InterruptedException     when the calling thread is interrupted while waiting for chains
+     */
+    Heatmap sample(byte[] observed, long budgetNanos) throws IllegalArgumentException, InterruptedException {
+        var deadline = System.nanoTime() + budgetNanos;
+        var board = new Board(config, observed);
+        List<Callable<Heatmap>> tasks = new ArrayList<>();
+        for (var i = 0; i < chains; i++) {
+            var chainRandom = random.split();
+            tasks.add(() -> new Chain(board, chainRandom).run(deadline));
+        }
+        var heatmap = new Heatmap(config.getCells(), observed);
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                heatmap.merge(future.get());
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Sampling chain failed.", ex.getCause());
+        }
+        return heatmap;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Per-cell occupancy frequencies of sampled layouts.
+     */
+    static final class Heatmap {
+
+        /**
+         * Amount of sampled layouts with a ship afloat on every cell.
+         */
+        private final long[] counts;
+
+        /**
+         * Observation of every cell.
+         */
+        private final byte[] observed;
+
+        /**
+         * Amount of sampled layouts.
+         */
+        private long samples;
+
+        /**
+         * Constructor, the purpose of which is to create an empty heatmap.
+         *
+         * @param cells    amount of cells
+         * @param observed observation of every cell
+         */
+        Heatmap(int cells, byte[] observed) {
+            counts = new long[cells];
+            this.observed = observed;
+        }
+
+        /**
+         * Method which adds a sampled ship afloat to the heatmap.
+         *
+         * @param cell index of the cell covered by the ship
+         */
+        void count(int cell) {
+            counts[cell]++;
+        }
+
+        /**
+         * Method which adds frequencies of the other heatmap.
+         *
+         * @param other heatmap of the same board
+         */
+        void merge(Heatmap other) {
+            for (var cell = 0; cell < counts.length; cell++) {
+                counts[cell] += other.counts[cell];
+            }
+            samples += other.samples;
+        }
+
+        /**
+         * Getter for the amount of sampled layouts.
+         *
+         * @return amount of samples
+         */
+        long getSamples() {
+            return samples;
+        }
+
+        /**
+         * Getter for the estimated probability that a ship afloat occupies the cell.
+         *
+         * @param cell index of the cell
+         * @return probability from 0 to 1, 0 if there are no samples
+         */
+        double getProbability(int cell) {
+            return samples == 0 ? 0 : (double) counts[cell] / samples;
+        }
+
+        /**
+         * Getter for the cell which has not been shot at and is the most likely to hold a ship.
+         *
+         * @return index of the cell, or -1 if all cells have been shot at
+         */
+        int getBestCell() {
+            var best = -1;
+            for (var cell = 0; cell < counts.length; cell++) {
+                if (observed[cell] == UNKNOWN && (best < 0 || counts[cell] > counts[best])) {
+                    best = cell;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Immutable constraints derived from observations: sunk ships, open hits and remaining fleet.
+     * Shared with {@link EndgameSolver}, which enumerates layouts under the same constraints.
+     */
+    static final class Board {
+
+        /**
+         * Size of the playing field and composition of the fleet.
+         */
+        private final GameConfig config;
+
+        /**
+         * Observation of every cell.
+         */
+        private final byte[] observed;
+
+        /**
+         * Cells of sunk ships.
+         */
+        private final CellSet sunkCells;
+
+        /**
+         * Lengths of ships still afloat, from the longest to the shortest.
+         */
+        private final int[] afloat;
+
+        /**
+         * Cells where a ship afloat has been hit.
+         */
+        private final int[] openHits;
+
+        /**
+         * Constructor, the purpose of which is to restore sunk ships and the fleet still afloat.
+         * Ships do not touch each other, so a sunk ship consists of hit cells in line with a sunk cell.
+         *
+         * @param config   size of the playing field and composition of the fleet
+         * @param observed observation of every cell
+         * @throws IllegalArgumentException when observations contradict the fleet
+         */
+        Board(GameConfig config, byte[] observed) throws IllegalArgumentException {
+            if (observed.length != config.getCells()) {
+                throw new IllegalArgumentException("Observations do not match the playing field.");
+            }
+            this.config = config;
+            this.observed = observed;
+            sunkCells = new CellSet(config.getCells());
+            var remaining = new int[config.getMaxShipLength() + 1];
+            for (var length : config.getShipLengths()) {
+                remaining[length]++;
+            }
+
+            var columns = config.getColumns();
+            for (var cell = 0; cell < observed.length; cell++) {
+                if (observed[cell] != SUNK || sunkCells.contains(cell)) {
+                    continue;
+                }
+                var row = cell / columns;
+                var column = cell % columns;
+                var horizontal = isShip(row, column - 1) || isShip(row, column + 1);
+                var first = horizontal ? column : row;
+                while (horizontal ? isShip(row, first - 1) : isShip(first - 1, column)) {
+                    first--;
+                }
+                var length = 0;
+                while (horizontal ? isShip(row, first + length) : isShip(first + length, column)) {
+                    sunkCells.add(horizontal ? row * columns + first + length : (first + length) * columns + column);
+                    length++;
+                }
+                if (length >= remaining.length || remaining[length] == 0) {
+                    throw new IllegalArgumentException("Sunk ship of length " + length + " is not in the fleet.");
+                }
+                remaining[length]--;
+            }
+
+            var afloatCount = 0;
+            for (var count : remaining) {
+                afloatCount += count;
+            }
+            afloat = new int[afloatCount];
+            var i = 0;
+            for (var length = remaining.length - 1; length > 0; length--) {
+                for (var j = 0; j < remaining[length]; j++) {
+                    afloat[i++] = length;
+                }
+            }
+            var hits = 0;
+            var cells = new int[observed.length];
+            for (var cell = 0; cell < observed.length; cell++) {
+                if (observed[cell] == HIT && !sunkCells.contains(cell)) {
+                    cells[hits++] = cell;
+                }
+            }
+            openHits = Arrays.copyOf(cells, hits);
+        }
+
+        /**
+         * Getter for cells of sunk ships.
+         *
+         * @return cells of sunk ships, must not be modified
+         */
+        CellSet getSunkCells() {
+            return sunkCells;
+        }
+
+        /**
+         * Getter for lengths of ships still afloat.
+         *
+         * @return lengths from the longest to the shortest, must not be modified
+         */
+        int[] getAfloat() {
+            return afloat;
+        }
+
+        /**
+         * Getter for cells where a ship afloat has been hit.
+         *
+         * @return cells of open hits, must not be modified
+         */
+        int[] getOpenHits() {
+            return openHits;
+        }
+
+        /**
+         * Method to check whether a ship has been hit at the location.
+         *
+         * @param row    row of the cell, may be outside the playing field
+         * @param column column of the cell, may be outside the playing field
+         * @return true if the cell is inside the field and is hit or sunk, otherwise – false
+         */
+        private boolean isShip(int row, int column) {
+            if (!config.isInside(row, column)) {
+                return false;
+            }
+            var observation = observed[row * config.getColumns() + column];
+            return observation == HIT || observation == SUNK;
+        }
+    }
+
+    /**
+     * Markov chain over consistent layouts of the fleet afloat, owned by a single worker.
+     */
+    private static final class Chain {
+
+        /**
+         * Constraints derived from observations.
+         */
+        private final Board board;
+
+        /**
+         * Size of the playing field and composition of the fleet.
+         */
+        private final GameConfig config;
+
+        /**
+         * Generator of pseudo random numbers of the chain.
+         */
+        private final SplittableRandom random;
+
+        /**
+         * Cells occupied by sunk ships and ships of the current layout.
+         */
+        private final CellSet occupied;
+
+        /**
+         * Bow cell of every ship afloat in the current layout.
+         */
+        private final int[] bows;
+
+        /**
+         * Orientation of every ship afloat in the current layout.
+         */
+        private final boolean[] horizontals;
+
+        /**
+         * Amount of open hits not covered by ships of the current layout.
+         */
+        private int uncoveredHits;
+
+        /**
+         * Constructor, the purpose of which is to create a chain without a layout.
+         *
+         * @param board  constraints derived from observations
+         * @param random generator of pseudo random numbers of the chain
+         */
+        Chain(Board board, SplittableRandom random) {
+            this.board = board;
+            this.config = board.config;
+            this.random = random;
+            occupied = new CellSet(config.getCells());
+            bows = new int[board.afloat.length];
+            horizontals = new boolean[board.afloat.length];
+        }
+
+        /**
+         * Method which samples layouts until the deadline.
+         *
+         * @param deadline value of {@link System#nanoTime()} when sampling stops
+         * @return heatmap of sampled layouts
+         */
+        Heatmap run(long deadline) {
+            var heatmap = new Heatmap(config.getCells(), board.observed);
+            var ships = board.afloat.length;
+            while (System.nanoTime() < deadline) {
+                if (!buildLayout(deadline)) {
+                    continue;
+                }
+                for (var sweep = 0; sweep < BURN_IN_SWEEPS && System.nanoTime() < deadline; sweep++) {
+                    sweep();
+                }
+                for (var sample = 0; sample < SAMPLES_PER_RESTART && System.nanoTime() < deadline; sample++) {
+                    sweep();
+                    for (var ship = 0; ship < ships; ship++) {
+                        var step = horizontals[ship] ? 1 : config.getColumns();
+                        for (var i = 0; i < board.afloat[ship]; i++) {
+                            heatmap.count(bows[ship] + i * step);
+                        }
+                    }
+                    heatmap.samples++;
+                }
+                if (ships == 0) {
+                    break;
+                }
+            }
+            return heatmap;
+        }
+
+        /**
+         * Method which builds a random consistent layout from scratch.
+         * Ships are first placed through uncovered open hits, the rest of the fleet is placed anywhere.
+         *
+         * @param deadline value of {@link System#nanoTime()} when attempts stop
+         * @return true if a consistent layout was built, otherwise – false
+         */
+        private boolean buildLayout(long deadline) {
+            for (var attempt = 0; attempt < LAYOUT_ATTEMPTS && System.nanoTime() < deadline; attempt++) {
+                clearLayout();
+                var placed = new boolean[board.afloat.length];
+                var ok = true;
+                for (var hit : board.openHits) {
+                    if (occupied.contains(hit)) {
+                        continue;
+                    }
+                    var ship = randomUnplaced(placed);
+                    if (ship < 0 || !placeThrough(ship, hit)) {
+                        ok = false;
+                        break;
+                    }
+                    placed[ship] = true;
+                }
+                for (var ship = 0; ok && ship < placed.length; ship++) {
+                    if (!placed[ship]) {
+                        ok = placeAnywhere(ship);
+                    }
+                }
+                if (ok && uncoveredHits == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Method which removes all ships afloat from the layout.
+         */
+        private void clearLayout() {
+            occupied.clear();
+            board.sunkCells.forEach(occupied::add);
+            uncoveredHits = board.openHits.length;
+        }
+
+        /**
+         * Method to choose a random ship which has not been placed yet.
+         *
+         * @param placed true for ships which have been placed
+         * @return index of the ship, or -1 if all ships have been placed
+         */
+        private int randomUnplaced(boolean[] placed) {
+            var chosen = -1;
+            var seen = 0;
+            for (var ship = 0; ship < placed.length; ship++) {
+                if (!placed[ship] && random.nextInt(++seen) == 0) {
+                    chosen = ship;
+                }
+            }
+            return chosen;
+        }
+
+        /**
+         * Method which places the ship at a random consistent location covering the cell.
+         *
+         * @param ship index of the ship
+         * @param cell index of the cell to cover
+         * @return true if the ship was placed, otherwise – false
+         */
+        private boolean placeThrough(int ship, int cell) {
+            var length = board.afloat[ship];
+            var columns = config.getColumns();
+            var horizontal = length > 1 && random.nextBoolean();
+            for (var orientation = 0; orientation < 2; orientation++, horizontal = !horizontal) {
+                var offset = random.nextInt(length);
+                for (var i = 0; i < length; i++) {
+                    var shift = (offset + i) % length;
+                    var bow = horizontal ? cell - shift : cell - shift * columns;
+                    if (horizontal ? cell % columns < shift : cell < shift * columns) {
+                        continue;
+                    }
+                    if (fits(length, bow, horizontal)) {
+                        place(ship, bow, horizontal);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Method which places the ship at a random consistent location.
+         *
+         * @param ship index of the ship
+         * @return true if the ship was placed, otherwise – false
+         */
+        private boolean placeAnywhere(int ship) {
+            var length = board.afloat[ship];
+            for (var attempt = 0; attempt < RANDOM_TRIES; attempt++) {
+                var bow = random.nextInt(config.getCells());
+                var horizontal = random.nextBoolean();
+                if (fits(length, bow, horizontal)) {
+                    place(ship, bow, horizontal);
+                    return true;
+                }
+            }
+            var chosen = -1;
+            var seen = 0;
+            for (var location = 0; location < 2 * config.getCells(); location++) {
+                if (fits(length, location >> 1, (location & 1) == 0) && random.nextInt(++seen) == 0) {
+                    chosen = location;
+                }
+            }
+            if (chosen < 0) {
+                return false;
+            }
+            place(ship, chosen >> 1, (chosen & 1) == 0);
+            return true;
+        }
+
+        /**
+         * Method which proposes to move every ship once, alone and together with another random ship.
+         * Moving two ships at once lets them exchange the open hits they cover.
+         */
+        private void sweep() {
+            var ships = board.afloat.length;
+            for (var ship = 0; ship < ships; ship++) {
+                moveShips(ship, -1);
+                if (ships > 1) {
+                    var other = random.nextInt(ships - 1);
+                    moveShips(ship, other < ship ? other : other + 1);
+                }
+            }
+        }
+
+        /**
+         * Method which proposes to move one or two ships to uniformly random locations and accepts the move
+         * if the layout stays consistent. The proposal is symmetric, so the chain keeps all consistent
+         * layouts equally likely.
+         *
+         * @param ship  index of the ship
+         * @param other index of the other ship to move, -1 to move a single ship
+         */
+        private void moveShips(int ship, int other) {
+            var oldBow = bows[ship];
+            var oldHorizontal = horizontals[ship];
+            var otherBow = other < 0 ? 0 : bows[other];
+            var otherHorizontal = other >= 0 && horizontals[other];
+            remove(ship);
+            if (other >= 0) {
+                remove(other);
+            }
+            var moved = tryPlace(ship);
+            if (moved && (other < 0 || tryPlace(other))) {
+                if (uncoveredHits == 0) {
+                    return;
+                }
+                if (other >= 0) {
+                    remove(other);
+                }
+            }
+            if (moved) {
+                remove(ship);
+            }
+            place(ship, oldBow, oldHorizontal);
+            if (other >= 0) {
+                place(other, otherBow, otherHorizontal);
+            }
+        }
+
+        /**
+         * Method which places the ship at a uniformly random location if the location is consistent.
+         *
+         * @param ship index of the ship
+         * @return true if the ship was placed, otherwise – false
+         */
+        private boolean tryPlace(int ship) {
+            var length = board.afloat[ship];
+            var bow = random.nextInt(config.getCells());
+            var horizontal = length == 1 || random.nextBoolean();
+            if (!fits(length, bow, horizontal)) {
+                return false;
+            }
+            place(ship, bow, horizontal);
+            return true;
+        }
+
+        /**
+         * Method to check whether a ship afloat may lie at the location: it follows the placement rules,
+         * avoids misses and sunk ships, has a cell which has not been hit and touches no hit it does not cover.
+         *
+         * @param length     length of the ship
+         * @param bow        index of the bow cell
+         * @param horizontal true if the ship is horizontal, otherwise – false
+         * @return true if the location is consistent with observations, otherwise – false
+         */
+        private boolean fits(int length, int bow, boolean horizontal) {
+            var columns = config.getColumns();
+            var row = bow / columns;
+            var column = bow % columns;
+            if (!Ship.okToPlaceShipAt(row, column, length, horizontal, config, occupied)) {
+                return false;
+            }
+            var unshot = false;
+            for (var i = 0; i < length; i++) {
+                var observation = board.observed[horizontal ? bow + i : bow + i * columns];
+                if (observation == MISS || observation == SUNK) {
+                    return false;
+                }
+                unshot |= observation == UNKNOWN;
+            }
+            if (!unshot) {
+                return false;
+            }
+            var lastRow = horizontal ? row : row + length - 1;
+            var lastColumn = horizontal ? column + length - 1 : column;
+            for (var i = row - 1; i <= lastRow + 1; i++) {
+                for (var j = column - 1; j <= lastColumn + 1; j++) {
+                    var inside = i >= row && i <= lastRow && j >= column && j <= lastColumn;
+                    if (!inside && config.isInside(i, j) && board.observed[i * columns + j] == HIT) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Method which puts the ship on the layout.
+         *
+         * @param ship       index of the ship
+         * @param bow        index of the bow cell
+         * @param horizontal true if the ship is horizontal, otherwise – false
+         */
+        private void place(int ship, int bow, boolean horizontal) {
+            bows[ship] = bow;
+            horizontals[ship] = horizontal;
+            var step = horizontal ? 1 : config.getColumns();
+            for (var i = 0; i < board.afloat[ship]; i++) {
+                var cell = bow + i * step;
+                occupied.add(cell);
+                if (board.observed[cell] == HIT) {
+                    uncoveredHits--;
+                }
+            }
+        }
+
+        /**
+         * Method which takes the ship off the layout.
+         *
+         * @param ship index of the ship
+         */
+        private void remove(int ship) {
+            var step = horizontals[ship] ? 1 : config.getColumns();
+            for (var i = 0; i < board.afloat[ship]; i++) {
+                var cell = bows[ship] + i * step;
+                occupied.remove(cell);
+                if (board.observed[cell] == HIT) {
+                    uncoveredHits++;
+                }
+            }
+        }
+    }
+}
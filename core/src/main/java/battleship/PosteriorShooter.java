@@ -0,0 +1,87 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Shooter which samples fleet layouts consistent with observed shots within a time budget
+ * and shoots at the cell most likely to hold a ship.
+ * It trades latency for accuracy: a larger budget gives a more precise heatmap.
+ */
+final class PosteriorShooter implements Shooter {
+
+    /**
+     * Sampler of layouts.
+     */
+    private final PosteriorSampler sampler;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Time budget of a decision in nanoseconds.
+     */
+    private final long budgetNanos;
+
+    /**
+     * Observation of every cell, as expected by the sampler.
+     */
+    private final byte[] observed;
+
+    /**
+     * Constructor, the purpose of which is to set the sampler and the time budget of a decision.
+     *
+     * @param config      size of the playing field and composition of the fleet
+     * @param sampler     sampler of layouts of the same settings
+     * @param budgetNanos time budget of a decision in nanoseconds
+     */
+    PosteriorShooter(GameConfig config, PosteriorSampler sampler, long budgetNanos) {
+        this.sampler = sampler;
+        this.columns = config.getColumns();
+        this.budgetNanos = budgetNanos;
+        observed = new byte[config.getCells()];
+    }
+
+    @Override
+    public int nextShot() {
+        try {
+            var cell = sampler.sample(observed, budgetNanos).getBestCell();
+            if (cell >= 0) {
+                return cell;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (var cell = 0; cell < observed.length; cell++) {
+            if (observed[cell] == PosteriorSampler.UNKNOWN) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("All cells have been shot at.");
+    }
+
+    @Override
+    public void observe(int row, int column, ShotResult result) {
+        var cell = row * columns + column;
+        if (observed[cell] != PosteriorSampler.UNKNOWN) {
+            return;
+        }
+        switch (result) {
+            case MISS:
+                observed[cell] = PosteriorSampler.MISS;
+                break;
+            case HIT:
+                observed[cell] = PosteriorSampler.HIT;
+                break;
+            case SUNK:
+                observed[cell] = PosteriorSampler.SUNK;
+                break;
+        }
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(observed, PosteriorSampler.UNKNOWN);
+    }
+}
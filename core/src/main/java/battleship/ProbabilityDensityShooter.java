@@ -0,0 +1,543 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shooter which keeps a heatmap of how many ship locations consistent with observed shots cover every cell.
+ * Every location of every ship length is precomputed; a miss, a sunk ship or a hit rules out cells
+ * (a ship may not touch another one, so neighbours of a sunk ship and diagonal neighbours of a hit are empty),
+ * and only the locations covering ruled out cells are removed from the heatmap.
+ * While there are hits of ships still afloat the shooter targets cells of locations passing through them,
+ * otherwise it hunts for the cell covered by the most locations of remaining ships.
+ */
+final class ProbabilityDensityShooter implements Shooter {
+
+    /**
+     * Maximal amount of shots in positions whose decisions are cached.
+     * Deeper positions almost never repeat, so looking them up only evicts useful decisions.
+     */
+    static final int CACHED_DEPTH = Integer.getInteger("battleship.cachedDepth", 8);
+
+    /**
+     * Approximate size of the header of an array object.
+     */
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    /**
+     * Amount of rows of the playing field.
+     */
+    private final int rows;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Amount of cells on the playing field.
+     */
+    private final int cellsAmount;
+
+    /**
+     * Length of the longest ship.
+     */
+    private final int maxLength;
+
+    /**
+     * Amount of ships of every length at the beginning of the game.
+     */
+    private final int[] fleet;
+
+    /**
+     * Length of every location.
+     */
+    private final int[] locationLengths;
+
+    /**
+     * Cells covered by every location.
+     */
+    private final int[][] locationCells;
+
+    /**
+     * Locations covering every cell.
+     */
+    private final int[][] cellLocations;
+
+    /**
+     * Amount of locations of every length covering every cell on the empty playing field.
+     */
+    private final int[][] initialCoverage;
+
+    /**
+     * Amount of locations of every length consistent with observations covering every cell.
+     */
+    private final int[][] coverage;
+
+    /**
+     * True for locations which are still consistent with observations.
+     */
+    private final boolean[] consistent;
+
+    /**
+     * Amount of ships of every length still afloat.
+     */
+    private final int[] remaining;
+
+    /**
+     * True for cells which have been shot at.
+     */
+    private final boolean[] shot;
+
+    /**
+     * True for cells which cannot contain a ship still afloat.
+     */
+    private final boolean[] ruledOut;
+
+    /**
+     * True for cells of ships which have been hit but not sunk yet.
+     */
+    private final boolean[] openHit;
+
+    /**
+     * Amount of cells which have been shot at.
+     */
+    private int shotCount;
+
+    /**
+     * Cells of ships which have been hit but not sunk yet, first {@code openHitCount} entries are used.
+     */
+    private final int[] openHits;
+
+    /**
+     * Amount of cells of ships which have been hit but not sunk yet.
+     */
+    private int openHitCount;
+
+    /**
+     * Buffer of target scores of cells.
+     */
+    private final long[] scores;
+
+    /**
+     * Generator of pseudo random numbers used to break ties.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * Zobrist hash of observed results of shots, used to look up decisions of symmetric positions.
+     */
+    private final ZobristHash observations;
+
+    /**
+     * Cache of chosen cells in the canonical image of the position, null if decisions are not cached.
+     */
+    private final ResultCache<Integer> cache;
+
+    /**
+     * Constructor, the purpose of which is to precompute ship locations for the standard game.
+     *
+     * @param random generator of pseudo random numbers used to break ties
+     */
+    ProbabilityDensityShooter(RandomGenerator random) {
+        this(GameConfig.STANDARD, random);
+    }
+
+    /**
+     * Constructor, the purpose of which is to precompute every location of every ship of the fleet.
+     * Memory and time grow with the amount of locations, so the shooter suits moderate playing fields.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param random generator of pseudo random numbers used to break ties
+     */
+    ProbabilityDensityShooter(GameConfig config, RandomGenerator random) {
+        this(config, random, null);
+    }
+
+    /**
+     * Constructor, the purpose of which is to precompute every location of every ship of the fleet
+     * and to share decisions with other shooters through the cache.
+     * A position met again, or any of its rotations and reflections, reuses the cached decision
+     * instead of scanning the heatmap.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param random generator of pseudo random numbers used to break ties
+     * @param cache  cache of decisions shared by shooters of the same settings, null to disable caching
+     */
+    ProbabilityDensityShooter(GameConfig config, RandomGenerator random, ResultCache<Integer> cache) {
+        this.random = random;
+        this.cache = cache;
+        observations = new ZobristHash(config.getRows(), config.getColumns());
+        rows = config.getRows();
+        columns = config.getColumns();
+        cellsAmount = config.getCells();
+        maxLength = config.getMaxShipLength();
+        fleet = new int[maxLength + 1];
+        for (var entry : config.getFleet()) {
+            fleet[entry.getLength()] += entry.getCount();
+        }
+
+        var count = 0;
+        for (var length = 1; length <= maxLength; length++) {
+            if (fleet[length] > 0) {
+                count += rows * Math.max(columns - length + 1, 0);
+                if (length > 1) {
+                    count += Math.max(rows - length + 1, 0) * columns;
+                }
+            }
+        }
+        locationLengths = new int[count];
+        locationCells = new int[count][];
+        var cellCounts = new int[cellsAmount];
+        var location = 0;
+        for (var length = 1; length <= maxLength; length++) {
+            if (fleet[length] == 0) {
+                continue;
+            }
+            for (var orientation = 0; orientation < (length == 1 ? 1 : 2); orientation++) {
+                var horizontal = orientation == 0;
+                for (var row = 0; row < (horizontal ? rows : rows - length + 1); row++) {
+                    for (var column = 0; column < (horizontal ? columns - length + 1 : columns); column++) {
+                        var cells = new int[length];
+                        for (var i = 0; i < length; i++) {
+                            cells[i] = horizontal ? row * columns + column + i : (row + i) * columns + column;
+                            cellCounts[cells[i]]++;
+                        }
+                        locationLengths[location] = length;
+                        locationCells[location++] = cells;
+                    }
+                }
+            }
+        }
+
+        cellLocations = new int[cellsAmount][];
+        initialCoverage = new int[maxLength + 1][cellsAmount];
+        for (var cell = 0; cell < cellsAmount; cell++) {
+            cellLocations[cell] = new int[cellCounts[cell]];
+            cellCounts[cell] = 0;
+        }
+        for (location = 0; location < count; location++) {
+            for (var cell : locationCells[location]) {
+                cellLocations[cell][cellCounts[cell]++] = location;
+                initialCoverage[locationLengths[location]][cell]++;
+            }
+        }
+
+        coverage = new int[maxLength + 1][cellsAmount];
+        consistent = new boolean[count];
+        remaining = new int[maxLength + 1];
+        shot = new boolean[cellsAmount];
+        ruledOut = new boolean[cellsAmount];
+        openHit = new boolean[cellsAmount];
+        openHits = new int[cellsAmount];
+        scores = new long[cellsAmount];
+        reset();
+    }
+
+    /**
+     * Method to create the shooter for the game, or a random shooter when precomputed locations
+     * would not fit into {@link GameConfig#PRECOMPUTE_LIMIT}.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param random generator of pseudo random numbers used to break ties
+     * @param cache  cache of decisions shared by shooters of the same settings, null to disable caching
+     * @return probability density shooter if it fits into memory, otherwise – random shooter
+     */
+    static Shooter create(GameConfig config, RandomGenerator random, ResultCache<Integer> cache) {
+        if (GameConfig.canPrecompute(estimateBytes(config))) {
+            return new ProbabilityDensityShooter(config, random, cache);
+        }
+        return new RandomShooter(config, random);
+    }
+
+    /**
+     * Method to estimate memory taken by the shooter of the given game.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @return approximate amount of bytes
+     */
+    static long estimateBytes(GameConfig config) {
+        long locations = 0;
+        long cells = 0;
+        var lengths = new boolean[config.getMaxShipLength() + 1];
+        for (var entry : config.getFleet()) {
+            lengths[entry.getLength()] = true;
+        }
+        for (var length = 1; length < lengths.length; length++) {
+            if (lengths[length]) {
+                var count = FleetPlacementGenerator.countLocations(config.getRows(), config.getColumns(), length);
+                locations += count;
+                cells += count * length;
+            }
+        }
+        // Arrays of cells of every location and locations of every cell, per-location and per-cell arrays.
+        return locations * (ARRAY_HEADER_BYTES + 2 * Integer.BYTES + 1) + 2 * cells * Integer.BYTES
+                + config.getCells() * (ARRAY_HEADER_BYTES + 2L * (lengths.length + 1) * Integer.BYTES + Long.BYTES + 7);
+    }
+
+    @Override
+    public void reset() {
+        for (var length = 1; length <= maxLength; length++) {
+            System.arraycopy(initialCoverage[length], 0, coverage[length], 0, cellsAmount);
+        }
+        System.arraycopy(fleet, 0, remaining, 0, fleet.length);
+        Arrays.fill(consistent, true);
+        Arrays.fill(shot, false);
+        Arrays.fill(ruledOut, false);
+        Arrays.fill(openHit, false);
+        openHitCount = 0;
+        shotCount = 0;
+        observations.clear();
+    }
+
+    /**
+     * Getter for the heatmap value of the cell.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @return amount of consistent locations of ships still afloat covering the cell, weighted by amount of ships
+     */
+    long getDensity(int row, int column) {
+        return density(row * columns + column);
+    }
+
+    /**
+     * Method to compute the heatmap value of the cell.
+     *
+     * @param cell index of the cell
+     * @return amount of consistent locations of ships still afloat covering the cell, weighted by amount of ships
+     */
+    private long density(int cell) {
+        long density = 0;
+        for (var length = 1; length <= maxLength; length++) {
+            density += (long) remaining[length] * coverage[length][cell];
+        }
+        return density;
+    }
+
+    @Override
+    public int nextShot() {
+        if (cache == null || shotCount > CACHED_DEPTH) {
+            return chooseShot();
+        }
+        var symmetry = observations.getCanonicalSymmetry();
+        var hash = observations.getCanonicalHash();
+        var cached = cache.get(hash);
+        if (cached != null) {
+            return observations.inverse(cached, symmetry);
+        }
+        var cell = chooseShot();
+        cache.put(hash, observations.transform(cell, symmetry));
+        return cell;
+    }
+
+    /**
+     * Method to choose the next cell from the heatmap.
+     *
+     * @return index of a cell which has not been shot at yet
+     */
+    private int chooseShot() {
+        if (openHitCount > 0) {
+            var target = target();
+            if (target >= 0) {
+                return target;
+            }
+        }
+        return hunt();
+    }
+
+    /**
+     * Method to choose the not shot cell with the highest heatmap value.
+     *
+     * @return index of the cell
+     */
+    private int hunt() {
+        var best = -1;
+        long bestDensity = -1;
+        var ties = 0;
+        for (var cell = 0; cell < cellsAmount; cell++) {
+            if (shot[cell]) {
+                continue;
+            }
+            var density = density(cell);
+            if (density > bestDensity) {
+                best = cell;
+                bestDensity = density;
+                ties = 1;
+            } else if (density == bestDensity && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to choose the cell covered by the most consistent locations passing through open hits.
+     * Locations covering several open hits are strongly preferred.
+     *
+     * @return index of the cell, or -1 if no consistent location passes through open hits
+     */
+    private int target() {
+        for (var i = 0; i < openHitCount; i++) {
+            for (var location : cellLocations[openHits[i]]) {
+                var length = locationLengths[location];
+                if (!consistent[location] || remaining[length] == 0) {
+                    continue;
+                }
+                var covered = 0;
+                for (var cell : locationCells[location]) {
+                    if (openHit[cell]) {
+                        covered++;
+                    }
+                }
+                var weight = weight(remaining[length], covered);
+                for (var cell : locationCells[location]) {
+                    if (!shot[cell]) {
+                        var score = scores[cell] + weight;
+                        scores[cell] = score < 0 ? Long.MAX_VALUE : score;
+                    }
+                }
+            }
+        }
+
+        var best = -1;
+        long bestScore = 0;
+        var ties = 0;
+        for (var cell = 0; cell < cellsAmount; cell++) {
+            var score = scores[cell];
+            if (score == 0) {
+                continue;
+            }
+            scores[cell] = 0;
+            if (score > bestScore) {
+                best = cell;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Method to compute the target weight of a location, which grows 256 times with every open hit it covers.
+     * Weights of long ships covering many hits saturate instead of overflowing.
+     *
+     * @param ships   amount of ships of the length of the location still afloat
+     * @param covered amount of open hits covered by the location
+     * @return weight of the location
+     */
+    private static long weight(int ships, int covered) {
+        var shift = 8 * covered;
+        return shift >= Long.numberOfLeadingZeros(ships) ? Long.MAX_VALUE : (long) ships << shift;
+    }
+
+    @Override
+    public void observe(int row, int column, ShotResult result) {
+        var cell = row * columns + column;
+        if (shot[cell]) {
+            return;
+        }
+        shot[cell] = true;
+        shotCount++;
+        observations.toggle(cell, result.ordinal());
+        switch (result) {
+            case MISS:
+                ruleOut(cell);
+                break;
+            case HIT:
+                openHit[cell] = true;
+                openHits[openHitCount++] = cell;
+                ruleOutDiagonals(row, column);
+                break;
+            case SUNK:
+                openHit[cell] = true;
+                openHits[openHitCount++] = cell;
+                sink(cell);
+                break;
+        }
+    }
+
+    /**
+     * Method which removes locations covering the cell from the heatmap.
+     *
+     * @param cell index of the cell which cannot contain a ship still afloat
+     */
+    private void ruleOut(int cell) {
+        if (ruledOut[cell]) {
+            return;
+        }
+        ruledOut[cell] = true;
+        for (var location : cellLocations[cell]) {
+            if (consistent[location]) {
+                consistent[location] = false;
+                var length = locationLengths[location];
+                for (var covered : locationCells[location]) {
+                    coverage[length][covered]--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which rules out diagonal neighbours of the hit cell.
+     *
+     * @param row    row of the hit cell
+     * @param column column of the hit cell
+     */
+    private void ruleOutDiagonals(int row, int column) {
+        for (var i = row - 1; i <= row + 1; i += 2) {
+            for (var j = column - 1; j <= column + 1; j += 2) {
+                if (i >= 0 && i < rows && j >= 0 && j < columns) {
+                    ruleOut(i * columns + j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which closes open hits of the sunk ship, rules out its cells with neighbours
+     * and removes it from the remaining fleet.
+     * Ships do not touch each other, so the sunk ship consists of open hits in line with the last shot.
+     *
+     * @param cell index of the cell which sunk the ship
+     */
+    private void sink(int cell) {
+        var column = cell % columns;
+        var first = cell;
+        var last = cell;
+        var horizontal = (column > 0 && openHit[cell - 1]) || (column < columns - 1 && openHit[cell + 1]);
+        var step = horizontal ? 1 : columns;
+        while ((horizontal ? first % columns > 0 : first >= columns) && openHit[first - step]) {
+            first -= step;
+        }
+        while ((horizontal ? last % columns < columns - 1 : last < cellsAmount - columns) && openHit[last + step]) {
+            last += step;
+        }
+
+        var length = 0;
+        for (var part = first; part <= last; part += step) {
+            openHit[part] = false;
+            length++;
+            var partRow = part / columns;
+            var partColumn = part % columns;
+            for (var i = Math.max(partRow - 1, 0); i <= Math.min(partRow + 1, rows - 1); i++) {
+                for (var j = Math.max(partColumn - 1, 0); j <= Math.min(partColumn + 1, columns - 1); j++) {
+                    ruleOut(i * columns + j);
+                }
+            }
+        }
+        if (length <= maxLength && remaining[length] > 0) {
+            remaining[length]--;
+        }
+
+        var open = 0;
+        for (var i = 0; i < openHitCount; i++) {
+            if (openHit[openHits[i]]) {
+                openHits[open++] = openHits[i];
+            }
+        }
+        openHitCount = open;
+    }
+}
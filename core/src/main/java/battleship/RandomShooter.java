@@ -0,0 +1,84 @@
+package battleship;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Shooter which shoots at cells in random order, ignoring results.
+ */
+final class RandomShooter implements Shooter {
+
+    /**
+     * Cells which have been shot at followed by cells which have not.
+     */
+    private final int[] cells;
+
+    /**
+     * Position of every cell in the cells array.
+     */
+    private final int[] positions;
+
+    /**
+     * Amount of columns of the playing field.
+     */
+    private final int columns;
+
+    /**
+     * Amount of cells already shot at.
+     */
+    private int shots;
+
+    /**
+     * Generator of pseudo random numbers.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * Constructor, the purpose of which is to set the generator of pseudo random numbers.
+     *
+     * @param random generator of pseudo random numbers
+     */
+    RandomShooter(RandomGenerator random) {
+        this(GameConfig.STANDARD, random);
+    }
+
+    /**
+     * Constructor, the purpose of which is to set the playing field and the generator of pseudo random numbers.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param random generator of pseudo random numbers
+     */
+    RandomShooter(GameConfig config, RandomGenerator random) {
+        this.random = random;
+        cells = new int[config.getCells()];
+        positions = new int[cells.length];
+        columns = config.getColumns();
+        reset();
+    }
+
+    @Override
+    public int nextShot() {
+        return cells[shots + random.nextInt(cells.length - shots)];
+    }
+
+    @Override
+    public void observe(int row, int column, ShotResult result) {
+        var cell = row * columns + column;
+        var position = positions[cell];
+        if (position >= shots) {
+            var other = cells[shots];
+            cells[position] = other;
+            positions[other] = position;
+            cells[shots] = cell;
+            positions[cell] = shots++;
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (var i = 0; i < cells.length; i++) {
+            cells[i] = i;
+            positions[i] = i;
+        }
+        shots = 0;
+    }
+}
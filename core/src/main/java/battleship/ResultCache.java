@@ -0,0 +1,209 @@
+package battleship;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded concurrent cache of evaluation results keyed by canonical board hashes.
+ * The cache is direct-mapped: every hash has a single slot, and storing a result evicts the previous
+ * entry of the slot. Entries are immutable and slots are replaced atomically, so readers never block
+ * and never see a torn entry. A result may be computed twice by racing threads, which is harmless
+ * for deterministic evaluations.
+ * A cache must only be shared by users of the same game settings.
+ *
+ * @param <V> type of cached results
+ */
+final class ResultCache<V> {
+
+    /**
+     * Slots of the cache.
+     */
+    private final AtomicReferenceArray<Entry<V>> slots;
+
+    /**
+     * Mask selecting the slot index from the hash.
+     */
+    private final int mask;
+
+    /**
+     * Amount of lookups which found a result.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Amount of lookups which found no result.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Amount of results replaced by results of other hashes.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor, the purpose of which is to create an empty cache.
+     *
+     * @param capacity maximal amount of results, rounded up to a power of two
+     * @throws IllegalArgumentException when capacity is not positive or exceeds 2^30
+     */
+    ResultCache(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Cache capacity must be from 1 to 2^30.");
+        }
+        var size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Method to look up the result of the hash.
+     *
+     * @param hash canonical hash of the board
+     * @return cached result, null if there is none
+     */
+    V get(long hash) {
+        var entry = slots.get(slot(hash));
+        if (entry != null && entry.hash == hash) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Method which stores the result of the hash.
+     *
+     * @param hash  canonical hash of the board
+     * @param value result of evaluation, not null
+     */
+    void put(long hash, V value) {
+        var previous = slots.getAndSet(slot(hash), new Entry<>(hash, value));
+        if (previous != null && previous.hash != hash) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Method to look up the result of the hash and evaluate and store it if there is none.
+     *
+     * @param hash     canonical hash of the board
+     * @param evaluate function computing the result from the hash
+     * @return cached or computed result
+     */
+    V computeIfAbsent(long hash, LongFunction<V> evaluate) {
+        var value = get(hash);
+        if (value == null) {
+            value = evaluate.apply(hash);
+            put(hash, value);
+        }
+        return value;
+    }
+
+    /**
+     * Method which removes all results; statistics are kept.
+     */
+    void clear() {
+        for (var i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    /**
+     * Getter for the maximal amount of results.
+     *
+     * @return amount of slots
+     */
+    int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Getter for the amount of lookups which found a result.
+     *
+     * @return amount of hits
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Getter for the amount of lookups which found no result.
+     *
+     * @return amount of misses
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Getter for the amount of results replaced by results of other hashes.
+     *
+     * @return amount of evictions
+     */
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Getter for the share of lookups which found a result.
+     *
+     * @return hit rate from 0 to 1, 0 if there were no lookups
+     */
+    double getHitRate() {
+        var hits = getHits();
+        var lookups = hits + getMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Method which returns metrics of the cache.
+     *
+     * @return human-readable hit rate and eviction counters
+     */
+    @Override
+    public String toString() {
+        return String.format("Cache capacity: %d%nHits: %d%nMisses: %d%nHit rate: %.2f%%%nEvictions: %d%n",
+                getCapacity(), getHits(), getMisses(), getHitRate() * 100, getEvictions());
+    }
+
+    /**
+     * Method to compute the slot of the hash.
+     *
+     * @param hash canonical hash of the board
+     * @return index of the slot
+     */
+    private int slot(long hash) {
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    /**
+     * Immutable cached result.
+     *
+     * @param <V> type of the result
+     */
+    private static final class Entry<V> {
+
+        /**
+         * Hash of the board.
+         */
+        private final long hash;
+
+        /**
+         * Result of evaluation.
+         */
+        private final V value;
+
+        /**
+         * Constructor, the purpose of which is to store the result of the hash.
+         *
+         * @param hash  hash of the board
+         * @param value result of evaluation
+         */
+        Entry(long hash, V value) {
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+}
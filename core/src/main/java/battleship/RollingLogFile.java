@@ -0,0 +1,128 @@
+package battleship;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Sink of log entries writing one entry per line to a text file. When the file grows beyond the limit,
+ * it is renamed to {@code name.1}, older files are shifted to {@code name.2} and so on,
+ * the oldest one is deleted and a new file is started.
+ */
+final class RollingLogFile implements Consumer<String>, AutoCloseable {
+
+    /**
+     * Path of the file being written.
+     */
+    private final Path path;
+
+    /**
+     * Size of a file in bytes after which it is rolled over.
+     */
+    private final long maxBytes;
+
+    /**
+     * Amount of rolled over files kept besides the file being written.
+     */
+    private final int backups;
+
+    /**
+     * Writer of the file being written.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * Amount of bytes in the file being written.
+     */
+    private long bytes;
+
+    /**
+     * Constructor, the purpose of which is to open the file for appending.
+     *
+     * @param path     path of the file to write
+     * @param maxBytes size of a file in bytes after which it is rolled over
+     * @param backups  amount of rolled over files to keep
+     * @throws IOException              when it is impossible to open the file
+     * @throws IllegalArgumentException when the size or the amount of files is not positive
+     */
+    RollingLogFile(Path path, long maxBytes, int backups) throws IOException, IllegalArgumentException {
+        if (maxBytes <= 0 || backups <= 0) {
+            throw new IllegalArgumentException("Size and amount of log files must be positive.");
+        }
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.backups = backups;
+        open();
+    }
+
+    /**
+     * Method to compute the path of the rolled over file.
+     *
+     * @param index index of the file, 1 for the newest one
+     * @return path of the file
+     */
+    Path backupPath(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    /**
+     * Method which opens the file for appending.
+     *
+     * @throws IOException when it is impossible to open the file
+     */
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        bytes = Files.size(path);
+    }
+
+    /**
+     * Method which closes the file, shifts rolled over files and opens a new file.
+     *
+     * @throws IOException when it is impossible to rename or open files
+     */
+    private void roll() throws IOException {
+        writer.close();
+        Files.deleteIfExists(backupPath(backups));
+        for (var index = backups - 1; index >= 1; index--) {
+            if (Files.exists(backupPath(index))) {
+                Files.move(backupPath(index), backupPath(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, backupPath(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    /**
+     * Method which writes the entry as a line and flushes it, rolling the file over first if it is full.
+     *
+     * @param entry log entry
+     * @throws UncheckedIOException when it is impossible to write the file
+     */
+    @Override
+    public void accept(String entry) throws UncheckedIOException {
+        try {
+            var line = entry + System.lineSeparator();
+            var size = line.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes > 0 && bytes + size > maxBytes) {
+                roll();
+            }
+            writer.write(line);
+            writer.flush();
+            bytes += size;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
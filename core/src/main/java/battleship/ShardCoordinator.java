@@ -0,0 +1,532 @@
+package battleship;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinator of a simulation sharded between worker JVMs on the same machine, so a batch is not limited
+ * by the heap and garbage collector of one process. Games are split into shards of consecutive game indices;
+ * the coordinator starts {@link ShardWorker} processes, hands out shards over localhost sockets and merges
+ * statistics streamed back after every shard. Completed shards are appended to an optional checkpoint file,
+ * so a restarted coordinator skips them. A worker which dies is started again and its unfinished shard
+ * is handed out again. Statistics are integer counters, so the result is the same for any shard size,
+ * amount of workers or order of completion.
+ */
+final class ShardCoordinator {
+
+    /**
+     * Amount of times a worker slot is started again after its process exits before the job is done.
+     */
+    static final int MAX_RESTARTS = 3;
+
+    /**
+     * Interval at which waiting threads check whether the job is done, in milliseconds.
+     */
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * Time given to workers to exit after the job is done, in milliseconds.
+     */
+    private static final long EXIT_MILLIS = 5000;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Names of the playing strategies.
+     */
+    private final List<String> names;
+
+    /**
+     * Seed from which all layouts and shooter decisions are derived.
+     */
+    private final long seed;
+
+    /**
+     * Amount of games to play.
+     */
+    private final long games;
+
+    /**
+     * Amount of games of every shard but the last one.
+     */
+    private final int shardSize;
+
+    /**
+     * Amount of worker processes.
+     */
+    private final int workers;
+
+    /**
+     * File where completed shards are appended, null if they are not recorded.
+     */
+    private final Path checkpoint;
+
+    /**
+     * Statistics merged from completed shards.
+     */
+    private final ShardStatistics totals;
+
+    /**
+     * True for every completed shard.
+     */
+    private final boolean[] done;
+
+    /**
+     * Shards waiting for a worker, unfinished shards of dead workers are put first.
+     */
+    private final LinkedBlockingDeque<Integer> pending = new LinkedBlockingDeque<>();
+
+    /**
+     * Process of every worker slot.
+     */
+    private final Process[] processes;
+
+    /**
+     * Amount of restarts of every worker slot.
+     */
+    private final int[] slotRestarts;
+
+    /**
+     * Amount of shards completed before this run and read from the checkpoint.
+     */
+    private int resumedShards;
+
+    /**
+     * Amount of games of shards read from the checkpoint.
+     */
+    private long resumedGames;
+
+    /**
+     * Amount of restarts of all worker slots.
+     */
+    private int restarts;
+
+    /**
+     * Amount of worker slots which have not exhausted their restarts.
+     */
+    private int liveSlots;
+
+    /**
+     * Shards not completed yet.
+     */
+    private CountDownLatch remaining;
+
+    /**
+     * Writer appending completed shards to the checkpoint, null if they are not recorded.
+     */
+    private PrintWriter checkpointWriter;
+
+    /**
+     * Socket accepting connections of workers.
+     */
+    private ServerSocket server;
+
+    /**
+     * Reason why the job cannot be done, null while it can.
+     */
+    private volatile IllegalStateException failure;
+
+    /**
+     * True when all shards are completed.
+     */
+    private volatile boolean finished;
+
+    /**
+     * Constructor, the purpose of which is to set up the job.
+     *
+     * @param config     size of the playing field and composition of the fleet
+     * @param names      names of known strategies to play, see {@link Tournament#STRATEGIES}
+     * @param seed       seed from which all layouts and shooter decisions are derived
+     * @param games      amount of games to play
+     * @param shardSize  amount of games of every shard
+     * @param workers    amount of worker processes
+     * @param checkpoint file where completed shards are appended, null if they should not be recorded
+     * @throws IllegalArgumentException when a strategy is unknown or parameters are incorrect
+     */
+    ShardCoordinator(GameConfig config, List<String> names, long seed, long games, int shardSize, int workers,
+                     Path checkpoint) throws IllegalArgumentException {
+        if (names.isEmpty() || games < 0 || shardSize <= 0 || workers <= 0
+                || (games + shardSize - 1) / shardSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Incorrect sharding parameters.");
+        }
+        for (var name : names) {
+            if (!Tournament.STRATEGIES.containsKey(name) || name.contains(",")) {
+                throw new IllegalArgumentException("Unknown strategy " + name + ".");
+            }
+        }
+        this.config = config;
+        this.names = List.copyOf(names);
+        this.seed = seed;
+        this.games = games;
+        this.shardSize = shardSize;
+        this.workers = workers;
+        this.checkpoint = checkpoint;
+        totals = new ShardStatistics(names.size(), config.getCells());
+        done = new boolean[(int) ((games + shardSize - 1) / shardSize)];
+        processes = new Process[workers];
+        slotRestarts = new int[workers];
+    }
+
+    /**
+     * Getter for the amount of shards.
+     *
+     * @return amount of shards of the job
+     */
+    int getShards() {
+        return done.length;
+    }
+
+    /**
+     * Getter for the amount of shards read from the checkpoint instead of being played.
+     *
+     * @return amount of resumed shards
+     */
+    int getResumedShards() {
+        return resumedShards;
+    }
+
+    /**
+     * Getter for the amount of games of shards read from the checkpoint.
+     *
+     * @return amount of resumed games
+     */
+    long getResumedGames() {
+        return resumedGames;
+    }
+
+    /**
+     * Getter for the amount of restarts of worker processes.
+     *
+     * @return amount of restarts
+     */
+    synchronized int getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Method which builds the line describing the job, sent to workers and written first to the checkpoint.
+     *
+     * @return description of the job
+     */
+    private String describeJob() {
+        return "JOB " + seed + " " + config.getRows() + " " + config.getColumns() + " " + String.join(",", names);
+    }
+
+    /**
+     * Method which plays all shards not completed before and waits for workers to finish.
+     *
+     * @return statistics merged from all shards
+     * @throws IOException          when it is impossible to read the checkpoint or to listen for workers
+     * @throws InterruptedException when the calling thread is interrupted while waiting
+     */
+    ShardStatistics run() throws IOException, InterruptedException {
+        resume();
+        for (var shard = 0; shard < done.length; shard++) {
+            if (!done[shard]) {
+                pending.add(shard);
+            }
+        }
+        remaining = new CountDownLatch(pending.size());
+        if (pending.isEmpty()) {
+            return totals;
+        }
+        if (checkpoint != null) {
+            checkpointWriter = new PrintWriter(new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(
+                    checkpoint, StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8)));
+        }
+        server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress());
+        try {
+            startThread("shard-acceptor", this::accept);
+            liveSlots = Math.min(workers, pending.size());
+            for (var slot = 0; slot < liveSlots; slot++) {
+                launch(slot);
+            }
+            while (!remaining.await(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+            return totals;
+        } finally {
+            finished = true;
+            server.close();
+            stopWorkers();
+            if (checkpointWriter != null) {
+                synchronized (this) {
+                    checkpointWriter.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which reads shards completed before from the checkpoint. The checkpoint is rewritten
+     * without a line cut short by a crash, so lines appended later stay readable.
+     *
+     * @throws IOException when it is impossible to read or rewrite the checkpoint
+     * @throws IllegalArgumentException when the checkpoint belongs to another job
+     */
+    private void resume() throws IOException, IllegalArgumentException {
+        if (checkpoint == null || !Files.exists(checkpoint)) {
+            if (checkpoint != null) {
+                Files.writeString(checkpoint, describeJob() + " " + games + " " + shardSize + "\n",
+                        StandardCharsets.UTF_8);
+            }
+            return;
+        }
+        var lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        var header = describeJob() + " " + games + " " + shardSize;
+        if (lines.isEmpty() || !lines.get(0).equals(header)) {
+            throw new IllegalArgumentException("Checkpoint " + checkpoint + " belongs to another job.");
+        }
+        var kept = new ArrayList<String>();
+        kept.add(header);
+        for (var line : lines.subList(1, lines.size())) {
+            try {
+                var parts = line.split(" ", 3);
+                var shard = Integer.parseInt(parts[1]);
+                var statistics = ShardStatistics.decode(names.size(), config.getCells(), parts[2]);
+                if (parts[0].equals("DONE") && !done[shard]) {
+                    done[shard] = true;
+                    totals.merge(statistics);
+                    resumedShards++;
+                    resumedGames += statistics.getGames();
+                    kept.add(line);
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+                System.err.println("Skipped damaged checkpoint line: " + ex.getMessage());
+            }
+        }
+        var temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.write(temporary, kept, StandardCharsets.UTF_8);
+        Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Method which starts a daemon thread.
+     *
+     * @param name   name of the thread
+     * @param target code to run
+     */
+    private static void startThread(String name, Runnable target) {
+        var thread = new Thread(target, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Method which starts the worker process of the slot. Properties of the game starting with
+     * {@code "battleship."} are passed on, so workers are tuned like the coordinator.
+     *
+     * @param slot index of the worker slot
+     * @throws IOException when it is impossible to start the process
+     */
+    private void launch(int slot) throws IOException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (var name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("battleship.")) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BattleshipCli.class.getName());
+        command.add("shard-worker");
+        command.add(String.valueOf(server.getLocalPort()));
+        command.add(String.valueOf(slot));
+        var process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        synchronized (this) {
+            processes[slot] = process;
+        }
+        process.onExit().thenRun(() -> exited(slot));
+    }
+
+    /**
+     * Method called when the process of the slot exits, which starts it again while the job is not done.
+     *
+     * @param slot index of the worker slot
+     */
+    private synchronized void exited(int slot) {
+        if (finished) {
+            return;
+        }
+        if (slotRestarts[slot] < MAX_RESTARTS) {
+            try {
+                slotRestarts[slot]++;
+                restarts++;
+                launch(slot);
+                return;
+            } catch (IOException ex) {
+                System.err.println("Failed to restart shard worker " + slot + ": " + ex.getMessage());
+            }
+        }
+        if (--liveSlots == 0) {
+            failure = new IllegalStateException("All shard workers failed, "
+                    + remaining.getCount() + " shards are not completed.");
+        }
+    }
+
+    /**
+     * Method which accepts connections of workers and serves every one on its own thread.
+     */
+    private void accept() {
+        while (!finished) {
+            try {
+                var socket = server.accept();
+                startThread("shard-connection", () -> serve(socket));
+            } catch (IOException ex) {
+                if (!finished) {
+                    System.err.println("Failed to accept shard worker: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which hands out shards to the connected worker until the job is done.
+     * When the connection breaks, the unfinished shard is put back first in the queue.
+     *
+     * @param socket connection of the worker
+     */
+    private void serve(Socket socket) {
+        Integer shard = null;
+        try (socket;
+             var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             var out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            var hello = in.readLine();
+            if (hello == null || !hello.startsWith("HELLO ")) {
+                return;
+            }
+            out.println(describeJob());
+            out.flush();
+            while (!finished) {
+                shard = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (shard == null) {
+                    continue;
+                }
+                var from = (long) shard * shardSize;
+                out.println("SHARD " + shard + " " + from + " " + Math.min(games, from + shardSize));
+                out.flush();
+                var line = in.readLine();
+                if (line == null) {
+                    throw new IOException("Worker closed the connection.");
+                }
+                var parts = line.split(" ", 3);
+                if (!parts[0].equals("DONE") || Integer.parseInt(parts[1]) != shard) {
+                    throw new IOException("Unexpected answer of worker: " + parts[0] + ".");
+                }
+                complete(shard, line, ShardStatistics.decode(names.size(), config.getCells(), parts[2]));
+                shard = null;
+            }
+            out.println("STOP");
+            out.flush();
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException ex) {
+            if (!finished) {
+                System.err.println("Shard worker failed: " + ex.getMessage());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (shard != null) {
+                pending.addFirst(shard);
+            }
+        }
+    }
+
+    /**
+     * Method which merges statistics of the completed shard and appends them to the checkpoint.
+     *
+     * @param shard      index of the shard
+     * @param line       answer of the worker
+     * @param statistics statistics of the shard
+     */
+    private synchronized void complete(int shard, String line, ShardStatistics statistics) {
+        if (done[shard]) {
+            return;
+        }
+        done[shard] = true;
+        totals.merge(statistics);
+        if (checkpointWriter != null) {
+            checkpointWriter.println(line);
+            checkpointWriter.flush();
+        }
+        remaining.countDown();
+    }
+
+    /**
+     * Method which waits for workers to exit after receiving {@code "STOP"} and kills those which do not.
+     *
+     * @throws InterruptedException when the calling thread is interrupted while waiting
+     */
+    private void stopWorkers() throws InterruptedException {
+        Process[] started;
+        synchronized (this) {
+            started = processes.clone();
+        }
+        for (var process : started) {
+            if (process != null && !process.waitFor(EXIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Method where the sharded simulation is started from command line.
+     *
+     * @param args amount of games, games per shard, amount of workers, seed, comma separated strategies
+     *             (all by default), checkpoint file ("-" for none) and path of the JSON report, all optional
+     * @throws IOException          when it is impossible to use the checkpoint, sockets or the report
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        var shardSize = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        var workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        var seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        var names = args.length > 4 ? List.of(args[4].split(",")) : List.copyOf(Tournament.STRATEGIES.keySet());
+        var checkpoint = args.length > 5 && !args[5].equals("-") ? Path.of(args[5]) : null;
+        var report = Path.of(args.length > 6 ? args[6] : "shards-report.json");
+        var coordinator = new ShardCoordinator(GameConfig.STANDARD, names, seed, games, shardSize, workers,
+                checkpoint);
+        var start = System.nanoTime();
+        var statistics = coordinator.run();
+        var elapsed = System.nanoTime() - start;
+        var played = statistics.getGames() - coordinator.getResumedGames();
+        System.out.printf(Locale.ROOT, "Shards: %d of %d games, %d resumed, %d worker restarts, "
+                        + "%.3f s, %.0f games/s%n", coordinator.getShards(), shardSize,
+                coordinator.getResumedShards(), coordinator.getRestarts(), elapsed / 1e9, played * 1e9 / elapsed);
+        if (names.size() > 1) {
+            System.out.print(new TournamentReport(names, statistics.getTally(), seed, 0, 1, elapsed));
+        }
+        Files.writeString(report, String.format(Locale.ROOT,
+                "{\n  \"masterSeed\": %d,\n  \"games\": %d,\n  \"shards\": %d,\n  \"shardSize\": %d,\n"
+                        + "  \"workers\": %d,\n  \"resumedShards\": %d,\n  \"restarts\": %d,\n"
+                        + "  \"elapsedSeconds\": %.3f,\n  \"strategies\": %s\n}\n",
+                seed, statistics.getGames(), coordinator.getShards(), shardSize, workers,
+                coordinator.getResumedShards(), coordinator.getRestarts(), elapsed / 1e9,
+                statistics.toJson(names, GameConfig.STANDARD.getColumns())), StandardCharsets.UTF_8);
+    }
+}
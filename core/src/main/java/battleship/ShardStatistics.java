@@ -0,0 +1,245 @@
+package battleship;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class of statistics of games played by one shard or merged from many shards: paired results of strategies,
+ * histograms of shots needed to win and shots and hits at every cell. All statistics are integer counters,
+ * so merging is associative and commutative and merged statistics do not depend on the amount of shards,
+ * on the order in which shards complete or on the process which played them.
+ * Statistics travel between processes and to checkpoints as one line of numbers.
+ */
+final class ShardStatistics {
+
+    /**
+     * Amount of strategies.
+     */
+    private final int strategies;
+
+    /**
+     * Amount of cells of the playing field.
+     */
+    private final int cells;
+
+    /**
+     * Paired results of strategies.
+     */
+    private final Tournament.Tally tally;
+
+    /**
+     * Histogram of games by amount of shots needed to win, for every strategy.
+     */
+    private final long[][] shotsHistograms;
+
+    /**
+     * Amount of shots at every cell, for every strategy.
+     */
+    private final long[][] cellShots;
+
+    /**
+     * Amount of shots hitting a ship at every cell, for every strategy.
+     */
+    private final long[][] cellHits;
+
+    /**
+     * Constructor, the purpose of which is to create empty statistics.
+     *
+     * @param strategies amount of strategies
+     * @param cells      amount of cells of the playing field
+     */
+    ShardStatistics(int strategies, int cells) {
+        this(strategies, cells, new Tournament.Tally(strategies));
+    }
+
+    /**
+     * Constructor, the purpose of which is to create statistics with the given paired results and empty counters.
+     *
+     * @param strategies amount of strategies
+     * @param cells      amount of cells of the playing field
+     * @param tally      paired results of strategies
+     */
+    private ShardStatistics(int strategies, int cells, Tournament.Tally tally) {
+        this.strategies = strategies;
+        this.cells = cells;
+        this.tally = tally;
+        shotsHistograms = new long[strategies][cells + 1];
+        cellShots = new long[strategies][cells];
+        cellHits = new long[strategies][cells];
+    }
+
+    /**
+     * Method which records one shot of the strategy.
+     *
+     * @param strategy index of the strategy
+     * @param cell     index of the target cell
+     * @param hit      true if the shot hit a ship, otherwise – false
+     */
+    void recordShot(int strategy, int cell, boolean hit) {
+        cellShots[strategy][cell]++;
+        if (hit) {
+            cellHits[strategy][cell]++;
+        }
+    }
+
+    /**
+     * Method which records shots needed by every strategy to win one layout.
+     *
+     * @param shots amount of shots of every strategy
+     */
+    void recordGame(int[] shots) {
+        tally.record(shots);
+        for (var i = 0; i < strategies; i++) {
+            shotsHistograms[i][shots[i]]++;
+        }
+    }
+
+    /**
+     * Method which adds the other statistics to these.
+     *
+     * @param other statistics of the same strategies on the same playing field
+     * @throws IllegalArgumentException when statistics are of different strategies or playing fields
+     */
+    void merge(ShardStatistics other) throws IllegalArgumentException {
+        if (other.strategies != strategies || other.cells != cells) {
+            throw new IllegalArgumentException("Statistics of different games cannot be merged.");
+        }
+        tally.merge(other.tally);
+        for (var i = 0; i < strategies; i++) {
+            for (var shots = 0; shots <= cells; shots++) {
+                shotsHistograms[i][shots] += other.shotsHistograms[i][shots];
+            }
+            for (var cell = 0; cell < cells; cell++) {
+                cellShots[i][cell] += other.cellShots[i][cell];
+                cellHits[i][cell] += other.cellHits[i][cell];
+            }
+        }
+    }
+
+    /**
+     * Getter for paired results of strategies.
+     *
+     * @return results
+     */
+    Tournament.Tally getTally() {
+        return tally;
+    }
+
+    /**
+     * Getter for the amount of games played.
+     *
+     * @return amount of layouts
+     */
+    long getGames() {
+        return tally.getGames();
+    }
+
+    /**
+     * Getter for the histogram of shots of the strategy.
+     *
+     * @param strategy index of the strategy
+     * @return histogram of games by amount of shots needed to win, index is amount of shots
+     */
+    long[] getShotsHistogram(int strategy) {
+        return shotsHistograms[strategy].clone();
+    }
+
+    /**
+     * Getter for the share of shots at the cell which hit a ship.
+     *
+     * @param strategy index of the strategy
+     * @param cell     index of the cell
+     * @return hit frequency, 0 if no shot was fired at the cell
+     */
+    double getHitFrequency(int strategy, int cell) {
+        return cellShots[strategy][cell] == 0 ? 0 : (double) cellHits[strategy][cell] / cellShots[strategy][cell];
+    }
+
+    /**
+     * Method which encodes statistics as one line of decimal numbers separated by spaces.
+     *
+     * @return paired results followed by histograms, shots and hits of every strategy
+     */
+    String encode() {
+        var sb = new StringBuilder();
+        for (var value : tally.toArray()) {
+            sb.append(value).append(' ');
+        }
+        for (var i = 0; i < strategies; i++) {
+            for (var value : shotsHistograms[i]) {
+                sb.append(value).append(' ');
+            }
+            for (var cell = 0; cell < cells; cell++) {
+                sb.append(cellShots[i][cell]).append(' ').append(cellHits[i][cell]).append(' ');
+            }
+        }
+        sb.setLength(sb.length() - 1);
+        return sb.toString();
+    }
+
+    /**
+     * Method to decode statistics encoded by {@link #encode()}.
+     *
+     * @param strategies amount of strategies
+     * @param cells      amount of cells of the playing field
+     * @param line       encoded statistics
+     * @return decoded statistics
+     * @throws IllegalArgumentException when the line is not encoded statistics of the given size
+     */
+    static ShardStatistics decode(int strategies, int cells, String line) throws IllegalArgumentException {
+        var tokens = line.trim().split(" ");
+        var tallyLength = Tournament.Tally.getArrayLength(strategies);
+        if (tokens.length != tallyLength + strategies * (3 * cells + 1)) {
+            throw new IllegalArgumentException("Incorrect amount of statistics: " + tokens.length + ".");
+        }
+        var values = new long[tokens.length];
+        for (var i = 0; i < tokens.length; i++) {
+            values[i] = Long.parseLong(tokens[i]);
+        }
+        var statistics = new ShardStatistics(strategies, cells, Tournament.Tally.fromArray(strategies, values, 0));
+        var position = tallyLength;
+        for (var i = 0; i < strategies; i++) {
+            System.arraycopy(values, position, statistics.shotsHistograms[i], 0, cells + 1);
+            position += cells + 1;
+            for (var cell = 0; cell < cells; cell++) {
+                statistics.cellShots[i][cell] = values[position++];
+                statistics.cellHits[i][cell] = values[position++];
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Method which builds a JSON report of histograms and hit frequencies.
+     *
+     * @param names   names of the strategies
+     * @param columns amount of columns of the playing field
+     * @return JSON array with one object per strategy, indented to be a value of a top level key
+     */
+    String toJson(List<String> names, int columns) {
+        var entries = new String[strategies];
+        for (var i = 0; i < strategies; i++) {
+            var histogram = shotsHistograms[i];
+            var last = histogram.length - 1;
+            while (last > 0 && histogram[last] == 0) {
+                last--;
+            }
+            var rows = new String[cells / columns];
+            for (var row = 0; row < rows.length; row++) {
+                var frequencies = new String[columns];
+                for (var column = 0; column < columns; column++) {
+                    frequencies[column] = String.format(Locale.ROOT, "%.6f",
+                            getHitFrequency(i, row * columns + column));
+                }
+                rows[row] = "        [" + String.join(", ", frequencies) + "]";
+            }
+            entries[i] = String.format(Locale.ROOT,
+                    "    {\"strategy\": \"%s\", \"meanShots\": %.4f, \"shotsHistogram\": %s,\n"
+                            + "      \"hitFrequencies\": [\n%s\n      ]}",
+                    names.get(i), tally.getMean(i), Arrays.toString(Arrays.copyOf(histogram, last + 1)),
+                    String.join(",\n", rows));
+        }
+        return "[\n" + String.join(",\n", entries) + "\n  ]";
+    }
+}
@@ -0,0 +1,186 @@
+package battleship;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Worker process of a sharded simulation. It connects to the {@link ShardCoordinator} on localhost,
+ * announces itself with {@code "HELLO <slot>"}, receives the job as {@code "JOB <seed> <rows> <columns> <strategies>"}
+ * and then answers every {@code "SHARD <index> <from> <to>"} with {@code "DONE <index> <statistics>"}
+ * until it receives {@code "STOP"}. Layouts and shooter decisions are derived from the seed and the index
+ * of the game exactly as in {@link Tournament}, so a shard gives the same statistics in whichever process it runs.
+ */
+final class ShardWorker {
+
+    /**
+     * Amount of shards after which the worker halts on receiving the next shard, negative to never halt.
+     * Used to check that the coordinator recovers from workers dying in the middle of a shard.
+     */
+    static final int CRASH_AFTER = Integer.getInteger("battleship.shard.crashAfter", -1);
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Names of the playing strategies.
+     */
+    private final List<String> names;
+
+    /**
+     * Seed from which all layouts and shooter decisions are derived.
+     */
+    private final long seed;
+
+    /**
+     * Constructor, the purpose of which is to set up the job.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param names  names of known strategies to play, see {@link Tournament#STRATEGIES}
+     * @param seed   seed from which all layouts and shooter decisions are derived
+     * @throws IllegalArgumentException when a strategy is unknown
+     */
+    ShardWorker(GameConfig config, List<String> names, long seed) throws IllegalArgumentException {
+        for (var name : names) {
+            if (!Tournament.STRATEGIES.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown strategy " + name + ".");
+            }
+        }
+        this.config = config;
+        this.names = List.copyOf(names);
+        this.seed = seed;
+    }
+
+    /**
+     * Method which plays the layouts of one shard with every strategy.
+     *
+     * @param from index of the first layout
+     * @param to   index after the last layout
+     * @return statistics of the shard
+     */
+    ShardStatistics play(long from, long to) {
+        var statistics = new ShardStatistics(names.size(), config.getCells());
+        var randoms = new Tournament.GameRandom[names.size()];
+        var shooters = new Shooter[names.size()];
+        for (var i = 0; i < shooters.length; i++) {
+            randoms[i] = new Tournament.GameRandom();
+            shooters[i] = new RecordingShooter(Tournament.STRATEGIES.get(names.get(i)).apply(config, randoms[i]),
+                    statistics, i, config.getColumns());
+        }
+        var shots = new int[shooters.length];
+        for (var game = from; game < to; game++) {
+            var layoutSeed = Tournament.mix(seed, game);
+            for (var i = 0; i < shooters.length; i++) {
+                var ocean = new Ocean(config);
+                ocean.placeAllShipsRandomly(new SplittableRandom(layoutSeed));
+                randoms[i].reseed(Tournament.mix(layoutSeed, i));
+                shots[i] = Shooter.play(shooters[i], ocean);
+            }
+            statistics.recordGame(shots);
+        }
+        return statistics;
+    }
+
+    /**
+     * Method where the worker process is started by the coordinator.
+     *
+     * @param args port of the coordinator and slot of the worker
+     * @throws IOException when the connection to the coordinator fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Port and slot of the worker are required.");
+        }
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0]));
+             var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             var out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            out.println("HELLO " + args[1]);
+            out.flush();
+            var job = in.readLine();
+            if (job == null || !job.startsWith("JOB ")) {
+                throw new IOException("Coordinator sent no job.");
+            }
+            var parts = job.split(" ");
+            var config = new GameConfig(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]),
+                    GameConfig.STANDARD.getFleet());
+            var worker = new ShardWorker(config, List.of(parts[4].split(",")), Long.parseLong(parts[1]));
+            var completed = 0;
+            for (var line = in.readLine(); line != null && !line.equals("STOP"); line = in.readLine()) {
+                var shard = line.split(" ");
+                if (completed == CRASH_AFTER) {
+                    Runtime.getRuntime().halt(3);
+                }
+                var statistics = worker.play(Long.parseLong(shard[2]), Long.parseLong(shard[3]));
+                out.println("DONE " + shard[1] + " " + statistics.encode());
+                out.flush();
+                completed++;
+            }
+        }
+    }
+
+    /**
+     * Shooter which records every shot of the wrapped shooter to statistics.
+     */
+    private static final class RecordingShooter implements Shooter {
+
+        /**
+         * Wrapped shooter.
+         */
+        private final Shooter shooter;
+
+        /**
+         * Statistics receiving shots.
+         */
+        private final ShardStatistics statistics;
+
+        /**
+         * Index of the strategy of the wrapped shooter.
+         */
+        private final int strategy;
+
+        /**
+         * Amount of columns of the playing field.
+         */
+        private final int columns;
+
+        /**
+         * Constructor, the purpose of which is to wrap the shooter.
+         *
+         * @param shooter    wrapped shooter
+         * @param statistics statistics receiving shots
+         * @param strategy   index of the strategy of the wrapped shooter
+         * @param columns    amount of columns of the playing field
+         */
+        RecordingShooter(Shooter shooter, ShardStatistics statistics, int strategy, int columns) {
+            this.shooter = shooter;
+            this.statistics = statistics;
+            this.strategy = strategy;
+            this.columns = columns;
+        }
+
+        @Override
+        public int nextShot() {
+            return shooter.nextShot();
+        }
+
+        @Override
+        public void observe(int row, int column, ShotResult result) {
+            statistics.recordShot(strategy, row * columns + column, result != ShotResult.MISS);
+            shooter.observe(row, column, result);
+        }
+
+        @Override
+        public void reset() {
+            shooter.reset();
+        }
+    }
+}
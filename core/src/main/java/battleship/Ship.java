@@ -3,22 +3,17 @@ package battleship;
 abstract class Ship {
 
     /**
-     * Constant size of playing field.
-     */
-    private static final int FIELD_SIZE = 10;
-
-    /**
-     * The row (0 to 9) which contains the bow (front) of the ship.
+     * The row (0 to side − 1) which contains the bow (front) of the ship.
      */
     private int bowRow;
 
     /**
-     * The column (0 to 9) which contains the bow (front) of the ship.
+     * The column (0 to side − 1) which contains the bow (front) of the ship.
      */
     private int bowColumn;
 
     /**
-     * The number of squares occupied by the ship. An "empty sea" location has length 1.
+     * The number of squares occupied by the ship.
      */
     int length;
 
@@ -32,6 +27,32 @@ abstract class Ship {
      */
     boolean[] hit = new boolean[4];
 
+    /**
+     * The number of parts of the ship which have been hit.
+     */
+    private int affectedParts;
+
+    /**
+     * Method to create a ship of the given length.
+     *
+     * @param length number of squares occupied by the ship
+     * @return submarine, destroyer, cruiser or battleship for lengths 1 to 4, otherwise – custom ship
+     */
+    static Ship ofLength(int length) {
+        switch (length) {
+            case 1:
+                return new Submarine();
+            case 2:
+                return new Destroyer();
+            case 3:
+                return new Cruiser();
+            case 4:
+                return new Battleship();
+            default:
+                return new CustomShip(length);
+        }
+    }
+
     /**
      * Getter for length variable.
      *
@@ -44,7 +65,7 @@ abstract class Ship {
     /**
      * Getter for bowRow variable.
      *
-     * @return bowRow value – integer number 0..9
+     * @return bowRow value – index of the row, from 0 to {@link GameConfig#getRows()} - 1
      */
     int getBowRow() {
         return bowRow;
@@ -53,21 +74,19 @@ abstract class Ship {
     /**
      * Getter for bowColumn variable.
      *
-     * @return bowColumn value – integer number 0..9
+     * @return bowColumn value – index of the column, from 0 to {@link GameConfig#getColumns()} - 1
      */
     int getBowColumn() {
         return bowColumn;
     }
 
+    /**
+     * Getter for the number of parts of the ship which have been hit.
+     *
+     * @return number of affected parts
+     */
     int getAmountOfAffectedParts() {
-        int amountOfAffectedParts = 0;
-        for (boolean partWasHit : hit) {
-            if (partWasHit) {
-                amountOfAffectedParts++;
-            }
-        }
-
-        return amountOfAffectedParts;
+        return affectedParts;
     }
 
     /**
@@ -82,7 +101,7 @@ abstract class Ship {
     /**
      * Setter for the value of bowRow.
      *
-     * @param row integer number 0..9
+     * @param row index of the row, from 0 to {@link GameConfig#getRows()} - 1
      */
     void setBowRow(int row) {
         bowRow = row;
@@ -91,7 +110,7 @@ abstract class Ship {
     /**
      * Setter for the value of bowColumn.
      *
-     * @param column integer number 0..9
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
      */
     void setBowColumn(int column) {
         bowColumn = column;
@@ -116,35 +135,53 @@ abstract class Ship {
     /**
      * Method to check whether it is legal to place the ship in the specific place in the ocean.
      *
-     * @param row        integer number 0..9
-     * @param column     integer number 0..9
+     * @param row        index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column     index of the column, from 0 to {@link GameConfig#getColumns()} - 1
      * @param horizontal boolean parameter which is true if ship is horizontally oriented, otherwise - false
      * @param ocean      instance of Ocean
      * @return true if it is okay to put a ship of this length with its bow in this location,
      * with the given orientation, false – otherwise
      */
     boolean okToPlaceShipAt(int row, int column, boolean horizontal, Ocean ocean) {
+        return okToPlaceShipAt(row, column, getLength(), horizontal, ocean.getConfig(), ocean.getOccupiedCells());
+    }
+
+    /**
+     * Method to check whether it is legal to place a ship of the given length in the specific place,
+     * that is the ship fits into the playing field and neither overlaps nor touches occupied cells.
+     *
+     * @param row        row of the bow
+     * @param column     column of the bow
+     * @param length     number of squares occupied by the ship
+     * @param horizontal true if ship is horizontally oriented, otherwise - false
+     * @param config     size of the playing field
+     * @param occupied   cells occupied by other ships
+     * @return true if it is okay to put the ship in this location, false – otherwise
+     */
+    static boolean okToPlaceShipAt(int row, int column, int length, boolean horizontal,
+                                   GameConfig config, CellSet occupied) {
+        var columns = config.getColumns();
         if (horizontal) {
-            if (column + getLength() > FIELD_SIZE) {
+            if (column + length > columns) {
                 return false;
             }
             for (var i = row - 1; i <= row + 1; i++) {
-                for (var j = column - 1; j <= column + getLength() + 1; j++) {
-                    if (!indexesOutOfBounds(i, j)) {
-                        if (ocean.isOccupied(i, j)) {
+                for (var j = column - 1; j <= column + length; j++) {
+                    if (config.isInside(i, j)) {
+                        if (occupied.contains(i * columns + j)) {
                             return false;
                         }
                     }
                 }
             }
         } else {
-            if (row + getLength() > FIELD_SIZE) {
+            if (row + length > config.getRows()) {
                 return false;
             }
-            for (var i = row - 1; i < row + getLength() + 1; i++) {
+            for (var i = row - 1; i < row + length + 1; i++) {
                 for (var j = column - 1; j <= column + 1; j++) {
-                    if (!indexesOutOfBounds(i, j)) {
-                        if (ocean.isOccupied(i, j)) {
+                    if (config.isInside(i, j)) {
+                        if (occupied.contains(i * columns + j)) {
                             return false;
                         }
                     }
@@ -155,22 +192,11 @@ abstract class Ship {
         return true;
     }
 
-    /**
-     * Method to check whether i and j are out of bounds of playing field
-     *
-     * @param i row number
-     * @param j column number
-     * @return true if at least one of the indexes is out of bounds, otherwise – false
-     */
-    private boolean indexesOutOfBounds(int i, int j) {
-        return i < 0 || i > 9 || j < 0 || j > 9;
-    }
-
     /**
      * Setter for bowRow, bowColumn and horizontal fields.
      *
-     * @param row        integer number 0..9
-     * @param column     integer number 0..9
+     * @param row        index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column     index of the column, from 0 to {@link GameConfig#getColumns()} - 1
      * @param horizontal boolean parameter which is true if ship is horizontally oriented, otherwise - false
      */
     private void setProperties(int row, int column, boolean horizontal) {
@@ -182,30 +208,21 @@ abstract class Ship {
     /**
      * Method which "puts" the ship into the ocean.
      *
-     * @param row        integer number 0..9
-     * @param column     integer number 0..9
+     * @param row        index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column     index of the column, from 0 to {@link GameConfig#getColumns()} - 1
      * @param horizontal boolean parameter which is true if ship is horizontally oriented, otherwise - false
      * @param ocean      instance of Ocean
      */
     void placeShipAt(int row, int column, boolean horizontal, Ocean ocean) {
         setProperties(row, column, horizontal);
-
-        if (isHorizontal()) {
-            for (var j = column; j < column + getLength(); j++) {
-                ocean.getShipArray()[row][j] = this;
-            }
-        } else {
-            for (var i = row; i < row + getLength(); i++) {
-                ocean.getShipArray()[i][column] = this;
-            }
-        }
+        ocean.placeShip(this);
     }
 
     /**
      * Method to check whether given coordinate was hit by a player.
      *
-     * @param row    integer number 0..9
-     * @param column integer number 0..9
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
      * @return boolean variable which is true if ship at the given position was hit, otherwise - false
      */
     boolean isShootAt(int row, int column) {
@@ -215,8 +232,8 @@ abstract class Ship {
     /**
      * Method which is used to check if a ship has been hit and mark affected part.
      *
-     * @param row    integer number 0..9
-     * @param column integer number 0..9
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
      * @return true if a part of the ship occupies the given row and column, and the ship hasn't been sunk,
      * otherwise – false
      */
@@ -224,12 +241,12 @@ abstract class Ship {
         if (!isSunk()) {
             if (isHorizontal()) {
                 if (row == getBowRow() && column >= getBowColumn() && column < getBowColumn() + getLength()) {
-                    hit[column - getBowColumn()] = true;
+                    markHit(column - getBowColumn());
                     return true;
                 }
             } else {
                 if (column == getBowColumn() && row >= getBowRow() && row < getBowRow() + getLength()) {
-                    hit[row - getBowRow()] = true;
+                    markHit(row - getBowRow());
                     return true;
                 }
             }
@@ -237,13 +254,25 @@ abstract class Ship {
         return false;
     }
 
+    /**
+     * Method which marks the part of the ship as hit and updates the number of affected parts.
+     *
+     * @param part index of the part counting from the bow
+     */
+    private void markHit(int part) {
+        if (!hit[part]) {
+            hit[part] = true;
+            affectedParts++;
+        }
+    }
+
     /**
      * Method which is used to check if a ship has been sunk.
      *
      * @return true if every part of the ship has been hit, otherwise – false
      */
     boolean isSunk() {
-        return getAmountOfAffectedParts() == hit.length;
+        return affectedParts == length;
     }
 
     /**
@@ -0,0 +1,47 @@
+package battleship;
+
+/**
+ * Strategy of choosing cells to shoot at, which learns from results of the shots.
+ * Cells are identified by index {@code row * columns + column}.
+ */
+interface Shooter {
+
+    /**
+     * Method to choose the next cell to shoot at.
+     *
+     * @return index of a cell which has not been shot at yet
+     */
+    int nextShot();
+
+    /**
+     * Method which informs the shooter about the result of a shot.
+     *
+     * @param row    index of the row, from 0 to {@link GameConfig#getRows()} - 1
+     * @param column index of the column, from 0 to {@link GameConfig#getColumns()} - 1
+     * @param result observed result of the shot
+     */
+    void observe(int row, int column, ShotResult result);
+
+    /**
+     * Method which forgets all observations to start a new game.
+     */
+    void reset();
+
+    /**
+     * Method which plays the game until it is over.
+     *
+     * @param shooter shooter choosing cells
+     * @param ocean   ocean with placed ships
+     * @return amount of shots fired
+     */
+    static int play(Shooter shooter, Ocean ocean) {
+        shooter.reset();
+        while (!ocean.isGameOver()) {
+            var cell = shooter.nextShot();
+            var row = cell / ocean.getConfig().getColumns();
+            var column = cell % ocean.getConfig().getColumns();
+            shooter.observe(row, column, ocean.fireAt(row, column));
+        }
+        return ocean.getShotsFired();
+    }
+}
@@ -0,0 +1,19 @@
+package battleship;
+
+/**
+ * Possible results of a shot observed by the player.
+ */
+enum ShotResult {
+    /**
+     * Shot at an empty sea.
+     */
+    MISS,
+    /**
+     * Shot hit a ship which is still afloat, or a ship which had already been sunk before the shot.
+     */
+    HIT,
+    /**
+     * Shot hit the last afloat part of a ship, reported only once per ship.
+     */
+    SUNK
+}
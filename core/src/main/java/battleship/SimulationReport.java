@@ -0,0 +1,148 @@
+package battleship;
+
+import java.util.List;
+
+/**
+ * Class of results of a headless simulation batch.
+ */
+final class SimulationReport {
+
+    /**
+     * Statistics of every worker.
+     */
+    private final List<WorkerStatistics> workers;
+
+    /**
+     * Wall clock time of the whole batch, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Histogram of games by amount of shots needed to win, merged over all workers.
+     */
+    private final long[] shotsHistogram;
+
+    /**
+     * Total amount of games played.
+     */
+    private final long gamesPlayed;
+
+    /**
+     * Constructor, the purpose of which is to merge statistics of all workers.
+     *
+     * @param workers      statistics of every worker
+     * @param elapsedNanos wall clock time of the whole batch, in nanoseconds
+     */
+    SimulationReport(List<WorkerStatistics> workers, long elapsedNanos) {
+        this.workers = List.copyOf(workers);
+        this.elapsedNanos = elapsedNanos;
+        var histogramLength = 0;
+        for (var worker : workers) {
+            histogramLength = Math.max(histogramLength, worker.getShotsHistogram().length);
+        }
+        shotsHistogram = new long[histogramLength];
+        long games = 0;
+        for (var worker : workers) {
+            var histogram = worker.getShotsHistogram();
+            for (var shots = 0; shots < histogram.length; shots++) {
+                shotsHistogram[shots] += histogram[shots];
+            }
+            games += worker.getGamesPlayed();
+        }
+        gamesPlayed = games;
+    }
+
+    /**
+     * Getter for statistics of every worker.
+     *
+     * @return list of worker statistics
+     */
+    List<WorkerStatistics> getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Getter for merged shots histogram.
+     *
+     * @return histogram of games by amount of shots needed to win, index is amount of shots
+     */
+    long[] getShotsHistogram() {
+        return shotsHistogram.clone();
+    }
+
+    /**
+     * Getter for total amount of games played.
+     *
+     * @return amount of games played
+     */
+    long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Method to get amount of games played per second over the whole batch.
+     *
+     * @return games per second
+     */
+    double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : gamesPlayed * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Method to get mean amount of shots needed to win.
+     *
+     * @return mean amount of shots
+     */
+    double getMeanShots() {
+        long total = 0;
+        for (var shots = 0; shots < shotsHistogram.length; shots++) {
+            total += shots * shotsHistogram[shots];
+        }
+        return gamesPlayed == 0 ? 0 : (double) total / gamesPlayed;
+    }
+
+    /**
+     * Method to get the amount of shots below which the given fraction of games has been won.
+     *
+     * @param fraction number from 0 to 1
+     * @return amount of shots at the given percentile
+     */
+    int getShotsPercentile(double fraction) {
+        var threshold = Math.ceil(fraction * gamesPlayed);
+        long seen = 0;
+        for (var shots = 0; shots < shotsHistogram.length; shots++) {
+            seen += shotsHistogram[shots];
+            if (seen > 0 && seen >= threshold) {
+                return shots;
+            }
+        }
+        return shotsHistogram.length - 1;
+    }
+
+    /**
+     * Method which is used to get human readable report.
+     *
+     * @return text report with totals, shots distribution and per worker statistics
+     */
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        sb.append(String.format("Games: %d in %.3f s (%.0f games/s)\n",
+                gamesPlayed, elapsedNanos / 1e9, getGamesPerSecond()));
+        sb.append(String.format("Shots: mean %.2f, min %d, p50 %d, p90 %d, p99 %d, max %d\n",
+                getMeanShots(), getShotsPercentile(0), getShotsPercentile(0.5), getShotsPercentile(0.9),
+                getShotsPercentile(0.99), getShotsPercentile(1)));
+        sb.append("Shots distribution:\n");
+        for (var shots = 0; shots < shotsHistogram.length; shots++) {
+            if (shotsHistogram[shots] != 0) {
+                sb.append(String.format("  %3d: %d\n", shots, shotsHistogram[shots]));
+            }
+        }
+        sb.append("Workers:\n");
+        for (var worker : workers) {
+            sb.append(String.format("  #%d: %d games, %.0f games/s, mean shots %.2f\n", worker.getWorkerIndex(),
+                    worker.getGamesPlayed(), worker.getGamesPerSecond(), worker.getMeanShots()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,193 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Headless runner which plays batches of full games without user interface.
+ * Games are sharded between a fixed pool of workers, every worker owns its own generator
+ * of pseudo random numbers and its own statistics, so workers share no mutable state
+ * except an optional concurrent cache of shooter decisions.
+ */
+final class SimulationRunner {
+
+    /**
+     * Amount of decisions kept by the cache shared by cached shooters.
+     */
+    private static final int DECISION_CACHE_CAPACITY = 1 << 20;
+
+    /**
+     * Amount of games to play.
+     */
+    private final int games;
+
+    /**
+     * Amount of workers to shard games between.
+     */
+    private final int workers;
+
+    /**
+     * Seed from which generators of all workers are split.
+     */
+    private final long seed;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Factory of shooters, called once per worker with game settings and the generator owned by the worker.
+     */
+    private final BiFunction<GameConfig, RandomGenerator, Shooter> shooterFactory;
+
+    /**
+     * Directory where every worker records its games to its own journal, null if games are not recorded.
+     */
+    private Path journalDirectory;
+
+    /**
+     * Constructor, the purpose of which is to set up batch parameters.
+     *
+     * @param games   amount of games to play
+     * @param workers amount of workers to shard games between
+     * @param seed    seed from which generators of all workers are split
+     * @throws IllegalArgumentException when amount of games is negative or amount of workers is not positive
+     */
+    SimulationRunner(int games, int workers, long seed) throws IllegalArgumentException {
+        this(games, workers, seed, GameConfig.STANDARD, RandomShooter::new);
+    }
+
+    /**
+     * Constructor, the purpose of which is to set up batch parameters and shooting strategy.
+     *
+     * @param games          amount of games to play
+     * @param workers        amount of workers to shard games between
+     * @param seed           seed from which generators of all workers are split
+     * @param config         size of the playing field and composition of the fleet
+     * @param shooterFactory factory of shooters, called once per worker with game settings
+     *                       and the generator owned by the worker
+     * @throws IllegalArgumentException when amount of games is negative or amount of workers is not positive
+     */
+    SimulationRunner(int games, int workers, long seed, GameConfig config,
+                     BiFunction<GameConfig, RandomGenerator, Shooter> shooterFactory) throws IllegalArgumentException {
+        if (games < 0 || workers <= 0) {
+            throw new IllegalArgumentException("Incorrect simulation parameters.");
+        }
+        this.games = games;
+        this.workers = workers;
+        this.seed = seed;
+        this.config = config;
+        this.shooterFactory = shooterFactory;
+    }
+
+    /**
+     * Setter for the directory where every worker records its games to its own journal.
+     *
+     * @param journalDirectory directory of journals, null if games should not be recorded
+     */
+    void setJournalDirectory(Path journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Method which plays all games and waits for the workers to finish.
+     *
+     * @return report with merged and per worker statistics
+     * @throws InterruptedException when the calling thread is interrupted while waiting
+     */
+    SimulationReport run() throws InterruptedException {
+        var master = new SplittableRandom(seed);
+        var tasks = new ArrayList<Callable<WorkerStatistics>>(workers);
+        for (var i = 0; i < workers; i++) {
+            var workerIndex = i;
+            var workerGames = games / workers + (i < games % workers ? 1 : 0);
+            var random = master.split();
+            tasks.add(() -> play(workerIndex, workerGames, random));
+        }
+
+        var executor = Executors.newFixedThreadPool(workers);
+        try {
+            var start = System.nanoTime();
+            var futures = executor.invokeAll(tasks);
+            var results = new ArrayList<WorkerStatistics>(workers);
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            return new SimulationReport(results, System.nanoTime() - start);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Simulation worker failed.", ex.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Method which plays games of one worker.
+     *
+     * @param workerIndex index of the worker
+     * @param games       amount of games to play
+     * @param random      generator of pseudo random numbers owned by the worker
+     * @return statistics of the worker
+     * @throws IOException when it is impossible to write the journal of the worker
+     */
+    private WorkerStatistics play(int workerIndex, int games, SplittableRandom random) throws IOException {
+        var histogram = new long[config.getFleetCells() + 1];
+        var shooter = shooterFactory.apply(config, random);
+        var journal = journalDirectory == null ? null
+                : new MoveJournal(journalDirectory.resolve("worker-" + workerIndex));
+        try {
+            var start = System.nanoTime();
+            for (var game = 0; game < games; game++) {
+                var ocean = new Ocean(config);
+                ocean.setJournal(journal);
+                ocean.placeAllShipsRandomly(random);
+                var shots = Shooter.play(shooter, ocean);
+                if (shots >= histogram.length) {
+                    histogram = Arrays.copyOf(histogram, Math.max(shots + 1, histogram.length * 2));
+                }
+                histogram[shots]++;
+            }
+            return new WorkerStatistics(workerIndex, games, System.nanoTime() - start, histogram);
+        } finally {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    /**
+     * Method where simulation is started from command line.
+     *
+     * @param args amount of games, amount of workers, seed, shooter ("random", "density" or "density-cached"),
+     *             side of the square playing field with the standard fleet and journal directory, all optional
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var games = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        var workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        var seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        var shooterName = args.length > 3 ? args[3] : "random";
+        var cache = shooterName.equals("density-cached") ? new ResultCache<Integer>(DECISION_CACHE_CAPACITY) : null;
+        BiFunction<GameConfig, RandomGenerator, Shooter> shooterFactory = shooterName.startsWith("density")
+                ? (config, random) -> ProbabilityDensityShooter.create(config, random, cache) : RandomShooter::new;
+        var side = args.length > 4 ? Integer.parseInt(args[4]) : GameConfig.STANDARD.getRows();
+        var config = new GameConfig(side, side, GameConfig.STANDARD.getFleet());
+        var runner = new SimulationRunner(games, workers, seed, config, shooterFactory);
+        if (args.length > 5) {
+            runner.setJournalDirectory(Path.of(args[5]));
+        }
+        System.out.print(runner.run());
+        if (cache != null) {
+            System.out.print(cache);
+        }
+    }
+}
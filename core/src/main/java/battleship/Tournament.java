@@ -0,0 +1,506 @@
+package battleship;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tournament of shooting strategies. Every strategy plays every layout, layouts are generated by
+ * {@link Ocean#placeAllShipsRandomly(RandomGenerator)} from seeds derived from the master seed and the index
+ * of the game, so results do not depend on the amount of workers or on scheduling.
+ * Games are played in rounds spread over all cores until the confidence interval of the mean amount of shots
+ * of every strategy is narrower than the requested precision.
+ */
+final class Tournament {
+
+    /**
+     * Known strategies by name.
+     */
+    static final Map<String, BiFunction<GameConfig, RandomGenerator, Shooter>> STRATEGIES = new LinkedHashMap<>();
+
+    static {
+        STRATEGIES.put("random", RandomShooter::new);
+        STRATEGIES.put("hunt-target", HuntTargetShooter::new);
+        STRATEGIES.put("density", ProbabilityDensityShooter::new);
+        // Decisions are limited by expanded positions only, so results stay reproducible.
+        STRATEGIES.put("endgame", (config, random) -> new EndgameShooter(config, random,
+                EndgameSolver.DEFAULT_LAYOUT_THRESHOLD, Long.MAX_VALUE, EndgameSolver.DEFAULT_EXPANSIONS));
+    }
+
+    /**
+     * Quantile of the standard normal distribution for two-sided 95% confidence intervals.
+     */
+    static final double CONFIDENCE_Z = 1.959964;
+
+    /**
+     * Amount of games of the first round, also the smallest round.
+     */
+    private static final int FIRST_ROUND = 1000;
+
+    /**
+     * Amount of tasks per worker in a round, so faster workers take over the work of slower ones.
+     */
+    private static final int TASKS_PER_WORKER = 4;
+
+    /**
+     * Names of the playing strategies.
+     */
+    private final List<String> names;
+
+    /**
+     * Factories of shooters of the playing strategies.
+     */
+    private final List<BiFunction<GameConfig, RandomGenerator, Shooter>> factories;
+
+    /**
+     * Size of the playing field and composition of the fleet.
+     */
+    private final GameConfig config;
+
+    /**
+     * Seed from which all layouts and shooter decisions are derived.
+     */
+    private final long masterSeed;
+
+    /**
+     * Amount of worker threads.
+     */
+    private final int workers;
+
+    /**
+     * Largest half-width of the confidence interval of the mean amount of shots at which the tournament stops.
+     */
+    private final double precision;
+
+    /**
+     * Largest amount of layouts played whatever the precision.
+     */
+    private final long maxGames;
+
+    /**
+     * Constructor, the purpose of which is to set up the tournament.
+     *
+     * @param names      names of known strategies to play, see {@link #STRATEGIES}
+     * @param config     size of the playing field and composition of the fleet
+     * @param masterSeed seed from which all layouts and shooter decisions are derived
+     * @param workers    amount of worker threads
+     * @param precision  largest half-width of the confidence interval of the mean amount of shots, in shots
+     * @param maxGames   largest amount of layouts to play
+     * @throws IllegalArgumentException when a strategy is unknown or parameters are incorrect
+     */
+    Tournament(List<String> names, GameConfig config, long masterSeed, int workers, double precision, long maxGames)
+            throws IllegalArgumentException {
+        if (names.size() < 2 || workers <= 0 || !(precision > 0) || maxGames <= 0) {
+            throw new IllegalArgumentException("Incorrect tournament parameters.");
+        }
+        this.names = List.copyOf(names);
+        this.factories = new ArrayList<>(names.size());
+        for (var name : names) {
+            var factory = STRATEGIES.get(name);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unknown strategy " + name + ".");
+            }
+            factories.add(factory);
+        }
+        this.config = config;
+        this.masterSeed = masterSeed;
+        this.workers = workers;
+        this.precision = precision;
+        this.maxGames = maxGames;
+    }
+
+    /**
+     * Method to derive a seed from the master seed and a stream index with the SplitMix64 finalizer.
+     *
+     * @param seed  master seed
+     * @param index index of the stream
+     * @return derived seed
+     */
+    static long mix(long seed, long index) {
+        var z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Method which plays rounds of games until the requested precision or the largest amount of games is reached.
+     *
+     * @return report with rankings, confidence intervals, pairwise results and ratings
+     * @throws InterruptedException when the calling thread is interrupted while waiting
+     */
+    TournamentReport run() throws InterruptedException {
+        var tally = new Tally(names.size());
+        var executor = Executors.newFixedThreadPool(workers);
+        try {
+            var start = System.nanoTime();
+            long played = 0;
+            long round = Math.min(FIRST_ROUND, maxGames);
+            var rounds = 0;
+            while (round > 0) {
+                var tasks = new ArrayList<Callable<Tally>>();
+                var taskCount = (int) Math.min(round, (long) workers * TASKS_PER_WORKER);
+                for (var i = 0; i < taskCount; i++) {
+                    var from = played + round * i / taskCount;
+                    var to = played + round * (i + 1) / taskCount;
+                    tasks.add(() -> play(from, to));
+                }
+                for (var future : executor.invokeAll(tasks)) {
+                    tally.merge(future.get());
+                }
+                played += round;
+                rounds++;
+                round = nextRound(tally, played);
+            }
+            return new TournamentReport(names, tally, masterSeed, precision, rounds, System.nanoTime() - start);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Tournament worker failed.", ex.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Method to choose the size of the next round from the variance observed so far.
+     * Rounds at most double the amount of games, so a poor early estimate cannot overshoot by much.
+     *
+     * @param tally  results so far
+     * @param played amount of layouts played so far
+     * @return amount of games of the next round, 0 to stop
+     */
+    private long nextRound(Tally tally, long played) {
+        var needed = 0.0;
+        for (var i = 0; i < names.size(); i++) {
+            var halfWidth = tally.getHalfWidth(i);
+            if (halfWidth > precision) {
+                needed = Math.max(needed, played * (halfWidth / precision) * (halfWidth / precision));
+            }
+        }
+        if (needed == 0) {
+            return 0;
+        }
+        var round = Math.max(FIRST_ROUND, Math.min(played, (long) Math.ceil(needed) - played));
+        return Math.min(round, maxGames - played);
+    }
+
+    /**
+     * Method which plays the layouts of one task with every strategy.
+     *
+     * @param from index of the first layout
+     * @param to   index after the last layout
+     * @return results of the task
+     */
+    private Tally play(long from, long to) {
+        var tally = new Tally(names.size());
+        var randoms = new GameRandom[names.size()];
+        var shooters = new Shooter[names.size()];
+        for (var i = 0; i < shooters.length; i++) {
+            randoms[i] = new GameRandom();
+            shooters[i] = factories.get(i).apply(config, randoms[i]);
+        }
+        var shots = new int[shooters.length];
+        for (var game = from; game < to; game++) {
+            var layoutSeed = mix(masterSeed, game);
+            for (var i = 0; i < shooters.length; i++) {
+                var ocean = new Ocean(config);
+                ocean.placeAllShipsRandomly(new SplittableRandom(layoutSeed));
+                randoms[i].reseed(mix(layoutSeed, i));
+                shots[i] = Shooter.play(shooters[i], ocean);
+            }
+            tally.record(shots);
+        }
+        return tally;
+    }
+
+    /**
+     * Method where the tournament is started from command line.
+     *
+     * @param args precision in shots (0.1 by default), master seed, comma separated strategies
+     *             (all by default), path of the JSON report, amount of workers and largest amount of games,
+     *             all optional
+     * @throws IOException          when it is impossible to write the report
+     * @throws InterruptedException when the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var precision = args.length > 0 ? Double.parseDouble(args[0]) : 0.1;
+        var seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        var names = args.length > 2 ? List.of(args[2].split(",")) : List.copyOf(STRATEGIES.keySet());
+        var report = Path.of(args.length > 3 ? args[3] : "tournament-report.json");
+        var workers = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        var maxGames = args.length > 5 ? Long.parseLong(args[5]) : 10_000_000L;
+        var result = new Tournament(names, GameConfig.STANDARD, seed, workers, precision, maxGames).run();
+        System.out.print(result);
+        Files.writeString(report, result.toJson(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Results of games accumulated in integers, so merging in any order gives the same totals.
+     */
+    static final class Tally {
+
+        /**
+         * Amount of layouts played.
+         */
+        private long games;
+
+        /**
+         * Sum of shots of every strategy.
+         */
+        private final long[] sums;
+
+        /**
+         * Sum of squared shots of every strategy.
+         */
+        private final long[] squares;
+
+        /**
+         * Sum of differences of shots of every pair of strategies, first minus second.
+         */
+        private final long[][] differenceSums;
+
+        /**
+         * Sum of squared differences of shots of every pair of strategies.
+         */
+        private final long[][] differenceSquares;
+
+        /**
+         * Amount of layouts where the first strategy of the pair needed fewer shots than the second one.
+         */
+        private final long[][] wins;
+
+        /**
+         * Constructor, the purpose of which is to create empty results.
+         *
+         * @param strategies amount of strategies
+         */
+        Tally(int strategies) {
+            sums = new long[strategies];
+            squares = new long[strategies];
+            differenceSums = new long[strategies][strategies];
+            differenceSquares = new long[strategies][strategies];
+            wins = new long[strategies][strategies];
+        }
+
+        /**
+         * Method which records shots of every strategy on one layout.
+         *
+         * @param shots amount of shots needed by every strategy
+         */
+        void record(int[] shots) {
+            games++;
+            for (var i = 0; i < shots.length; i++) {
+                sums[i] += shots[i];
+                squares[i] += (long) shots[i] * shots[i];
+                for (var j = 0; j < shots.length; j++) {
+                    var difference = shots[i] - shots[j];
+                    differenceSums[i][j] += difference;
+                    differenceSquares[i][j] += (long) difference * difference;
+                    if (difference < 0) {
+                        wins[i][j]++;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Method which adds the other results to these.
+         *
+         * @param other results to add
+         */
+        void merge(Tally other) {
+            games += other.games;
+            for (var i = 0; i < sums.length; i++) {
+                sums[i] += other.sums[i];
+                squares[i] += other.squares[i];
+                for (var j = 0; j < sums.length; j++) {
+                    differenceSums[i][j] += other.differenceSums[i][j];
+                    differenceSquares[i][j] += other.differenceSquares[i][j];
+                    wins[i][j] += other.wins[i][j];
+                }
+            }
+        }
+
+        /**
+         * Method which lists all counters, so results can be sent to another process or stored.
+         *
+         * @return amount of layouts followed by sums, squares, differences and wins of every strategy
+         */
+        long[] toArray() {
+            var count = sums.length;
+            var values = new long[getArrayLength(count)];
+            values[0] = games;
+            System.arraycopy(sums, 0, values, 1, count);
+            System.arraycopy(squares, 0, values, 1 + count, count);
+            for (var i = 0; i < count; i++) {
+                var offset = 1 + 2 * count + i * count;
+                System.arraycopy(differenceSums[i], 0, values, offset, count);
+                System.arraycopy(differenceSquares[i], 0, values, offset + count * count, count);
+                System.arraycopy(wins[i], 0, values, offset + 2 * count * count, count);
+            }
+            return values;
+        }
+
+        /**
+         * Method to restore results listed by {@link #toArray()}.
+         *
+         * @param strategies amount of strategies
+         * @param values     array containing listed counters
+         * @param offset     position of the amount of layouts in the array
+         * @return restored results
+         * @throws IllegalArgumentException when the array is too short
+         */
+        static Tally fromArray(int strategies, long[] values, int offset) throws IllegalArgumentException {
+            if (values.length - offset < getArrayLength(strategies)) {
+                throw new IllegalArgumentException("Incomplete tournament results.");
+            }
+            var tally = new Tally(strategies);
+            tally.games = values[offset];
+            System.arraycopy(values, offset + 1, tally.sums, 0, strategies);
+            System.arraycopy(values, offset + 1 + strategies, tally.squares, 0, strategies);
+            for (var i = 0; i < strategies; i++) {
+                var from = offset + 1 + 2 * strategies + i * strategies;
+                System.arraycopy(values, from, tally.differenceSums[i], 0, strategies);
+                System.arraycopy(values, from + strategies * strategies, tally.differenceSquares[i], 0, strategies);
+                System.arraycopy(values, from + 2 * strategies * strategies, tally.wins[i], 0, strategies);
+            }
+            return tally;
+        }
+
+        /**
+         * Getter for the amount of counters listed by {@link #toArray()}.
+         *
+         * @param strategies amount of strategies
+         * @return length of the array
+         */
+        static int getArrayLength(int strategies) {
+            return 1 + 2 * strategies + 3 * strategies * strategies;
+        }
+
+        /**
+         * Getter for the amount of layouts played.
+         *
+         * @return amount of layouts
+         */
+        long getGames() {
+            return games;
+        }
+
+        /**
+         * Getter for the mean amount of shots of the strategy.
+         *
+         * @param strategy index of the strategy
+         * @return mean amount of shots
+         */
+        double getMean(int strategy) {
+            return games == 0 ? 0 : (double) sums[strategy] / games;
+        }
+
+        /**
+         * Getter for the standard deviation of shots of the strategy.
+         *
+         * @param strategy index of the strategy
+         * @return sample standard deviation
+         */
+        double getStandardDeviation(int strategy) {
+            return deviation(sums[strategy], squares[strategy]);
+        }
+
+        /**
+         * Getter for the half-width of the confidence interval of the mean amount of shots of the strategy.
+         *
+         * @param strategy index of the strategy
+         * @return half-width in shots, infinite until two games are played
+         */
+        double getHalfWidth(int strategy) {
+            return games < 2 ? Double.POSITIVE_INFINITY
+                    : CONFIDENCE_Z * getStandardDeviation(strategy) / Math.sqrt(games);
+        }
+
+        /**
+         * Getter for the mean difference of shots of two strategies on the same layouts.
+         *
+         * @param first  index of the first strategy
+         * @param second index of the second strategy
+         * @return mean of shots of the first strategy minus shots of the second one
+         */
+        double getMeanDifference(int first, int second) {
+            return games == 0 ? 0 : (double) differenceSums[first][second] / games;
+        }
+
+        /**
+         * Getter for the half-width of the confidence interval of the mean difference of two strategies.
+         *
+         * @param first  index of the first strategy
+         * @param second index of the second strategy
+         * @return half-width in shots, infinite until two games are played
+         */
+        double getDifferenceHalfWidth(int first, int second) {
+            return games < 2 ? Double.POSITIVE_INFINITY : CONFIDENCE_Z
+                    * deviation(differenceSums[first][second], differenceSquares[first][second]) / Math.sqrt(games);
+        }
+
+        /**
+         * Getter for the amount of layouts where the first strategy needed fewer shots than the second one.
+         *
+         * @param first  index of the first strategy
+         * @param second index of the second strategy
+         * @return amount of wins
+         */
+        long getWins(int first, int second) {
+            return wins[first][second];
+        }
+
+        /**
+         * Method to compute the sample standard deviation from integer sums.
+         *
+         * @param sum     sum of values
+         * @param squares sum of squared values
+         * @return sample standard deviation, 0 until two values are recorded
+         */
+        private double deviation(long sum, long squares) {
+            if (games < 2) {
+                return 0;
+            }
+            var mean = (double) sum / games;
+            return Math.sqrt(Math.max(0, (squares - mean * sum) / (games - 1)));
+        }
+    }
+
+    /**
+     * Generator of pseudo random numbers which can be reseeded before every game,
+     * so decisions of a shooter depend only on the game and not on games played before by the same worker.
+     */
+    static final class GameRandom implements RandomGenerator {
+
+        /**
+         * State of the SplitMix64 generator.
+         */
+        private long state;
+
+        /**
+         * Method which restarts the sequence from the seed.
+         *
+         * @param seed new seed
+         */
+        void reseed(long seed) {
+            state = seed;
+        }
+
+        @Override
+        public long nextLong() {
+            state += 0x9E3779B97F4A7C15L;
+            return mix(state, -1);
+        }
+    }
+}
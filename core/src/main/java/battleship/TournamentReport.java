@@ -0,0 +1,247 @@
+package battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class of results of a tournament of shooting strategies: ranking by mean amount of shots to win with
+ * confidence intervals, paired comparisons on the same layouts and ratings on the Elo scale.
+ * Every layout counts as a match between every two strategies, won by the strategy needing fewer shots.
+ * Ratings are the maximum likelihood fit of the Bradley-Terry model, so they do not depend on the order of games.
+ */
+final class TournamentReport {
+
+    /**
+     * Rating around which ratings of all strategies are centered.
+     */
+    static final double BASE_RATING = 1500;
+
+    /**
+     * Amount of iterations of the rating fit.
+     */
+    private static final int RATING_ITERATIONS = 10_000;
+
+    /**
+     * Names of the strategies.
+     */
+    private final List<String> names;
+
+    /**
+     * Accumulated results of all games.
+     */
+    private final Tournament.Tally tally;
+
+    /**
+     * Seed from which all layouts and shooter decisions were derived.
+     */
+    private final long masterSeed;
+
+    /**
+     * Requested half-width of confidence intervals, in shots.
+     */
+    private final double precision;
+
+    /**
+     * Amount of rounds played.
+     */
+    private final int rounds;
+
+    /**
+     * Wall clock time of the whole tournament, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Rating of every strategy on the Elo scale.
+     */
+    private final double[] ratings;
+
+    /**
+     * Indices of strategies from the best one to the worst one.
+     */
+    private final List<Integer> ranking;
+
+    /**
+     * Constructor, the purpose of which is to rank strategies and fit their ratings.
+     *
+     * @param names        names of the strategies
+     * @param tally        accumulated results of all games
+     * @param masterSeed   seed from which all layouts and shooter decisions were derived
+     * @param precision    requested half-width of confidence intervals, in shots
+     * @param rounds       amount of rounds played
+     * @param elapsedNanos wall clock time of the whole tournament, in nanoseconds
+     */
+    TournamentReport(List<String> names, Tournament.Tally tally, long masterSeed, double precision, int rounds,
+                     long elapsedNanos) {
+        this.names = List.copyOf(names);
+        this.tally = tally;
+        this.masterSeed = masterSeed;
+        this.precision = precision;
+        this.rounds = rounds;
+        this.elapsedNanos = elapsedNanos;
+        this.ratings = fitRatings();
+        var order = new ArrayList<Integer>();
+        for (var i = 0; i < names.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble(tally::getMean));
+        this.ranking = List.copyOf(order);
+    }
+
+    /**
+     * Method to fit Bradley-Terry strengths by minorization-maximization and convert them to the Elo scale.
+     * A draw counts as half a win for both strategies; one virtual draw per pair keeps strengths finite
+     * when a strategy wins every game.
+     *
+     * @return rating of every strategy
+     */
+    private double[] fitRatings() {
+        var count = names.size();
+        var games = tally.getGames();
+        var scores = new double[count][count];
+        for (var i = 0; i < count; i++) {
+            for (var j = 0; j < count; j++) {
+                if (i != j) {
+                    var draws = games - tally.getWins(i, j) - tally.getWins(j, i);
+                    scores[i][j] = tally.getWins(i, j) + 0.5 * draws + 0.5;
+                }
+            }
+        }
+        var strengths = new double[count];
+        Arrays.fill(strengths, 1);
+        for (var iteration = 0; iteration < RATING_ITERATIONS; iteration++) {
+            var change = 0.0;
+            for (var i = 0; i < count; i++) {
+                var won = 0.0;
+                var denominator = 0.0;
+                for (var j = 0; j < count; j++) {
+                    if (i != j) {
+                        won += scores[i][j];
+                        denominator += (games + 1) / (strengths[i] + strengths[j]);
+                    }
+                }
+                var updated = won / denominator;
+                change = Math.max(change, Math.abs(updated - strengths[i]) / strengths[i]);
+                strengths[i] = updated;
+            }
+            if (change < 1e-12) {
+                break;
+            }
+        }
+        var ratings = new double[count];
+        var mean = 0.0;
+        for (var i = 0; i < count; i++) {
+            ratings[i] = 400 * Math.log10(strengths[i]);
+            mean += ratings[i] / count;
+        }
+        for (var i = 0; i < count; i++) {
+            ratings[i] += BASE_RATING - mean;
+        }
+        return ratings;
+    }
+
+    /**
+     * Getter for indices of strategies from the best one to the worst one.
+     *
+     * @return ranking by mean amount of shots
+     */
+    List<Integer> getRanking() {
+        return ranking;
+    }
+
+    /**
+     * Getter for the rating of the strategy.
+     *
+     * @param strategy index of the strategy
+     * @return rating on the Elo scale
+     */
+    double getRating(int strategy) {
+        return ratings[strategy];
+    }
+
+    /**
+     * Getter for accumulated results of all games.
+     *
+     * @return results
+     */
+    Tournament.Tally getTally() {
+        return tally;
+    }
+
+    /**
+     * Method which builds a JSON report.
+     *
+     * @return standings and paired comparisons of every two strategies
+     */
+    String toJson() {
+        var sb = new StringBuilder("{\n");
+        sb.append(String.format(Locale.ROOT,
+                "  \"masterSeed\": %d,\n  \"games\": %d,\n  \"rounds\": %d,\n  \"confidence\": 0.95,\n"
+                        + "  \"precision\": %s,\n  \"elapsedSeconds\": %.3f,\n",
+                masterSeed, tally.getGames(), rounds, precision, elapsedNanos / 1e9));
+        sb.append("  \"standings\": [\n");
+        for (var place = 0; place < ranking.size(); place++) {
+            var i = ranking.get(place);
+            var mean = tally.getMean(i);
+            var halfWidth = tally.getHalfWidth(i);
+            sb.append(String.format(Locale.ROOT,
+                    "    {\"rank\": %d, \"strategy\": \"%s\", \"meanShots\": %.4f, \"stdDev\": %.4f, "
+                            + "\"ciLow\": %.4f, \"ciHigh\": %.4f, \"elo\": %.1f}",
+                    place + 1, names.get(i), mean, tally.getStandardDeviation(i), mean - halfWidth, mean + halfWidth,
+                    ratings[i]));
+            sb.append(place + 1 < ranking.size() ? ",\n" : "\n");
+        }
+        sb.append("  ],\n  \"pairs\": [\n");
+        var pairs = new ArrayList<String>();
+        for (var a = 0; a < ranking.size(); a++) {
+            for (var b = a + 1; b < ranking.size(); b++) {
+                var i = ranking.get(a);
+                var j = ranking.get(b);
+                var difference = tally.getMeanDifference(i, j);
+                var halfWidth = tally.getDifferenceHalfWidth(i, j);
+                pairs.add(String.format(Locale.ROOT,
+                        "    {\"first\": \"%s\", \"second\": \"%s\", \"meanDifference\": %.4f, \"ciLow\": %.4f, "
+                                + "\"ciHigh\": %.4f, \"firstWins\": %d, \"secondWins\": %d, \"draws\": %d}",
+                        names.get(i), names.get(j), difference, difference - halfWidth, difference + halfWidth,
+                        tally.getWins(i, j), tally.getWins(j, i),
+                        tally.getGames() - tally.getWins(i, j) - tally.getWins(j, i)));
+            }
+        }
+        sb.append(String.join(",\n", pairs)).append("\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Method which is used to get human readable report.
+     *
+     * @return text report with standings and paired comparisons
+     */
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Layouts: %d in %d rounds, %.3f s, master seed %d%n",
+                tally.getGames(), rounds, elapsedNanos / 1e9, masterSeed));
+        sb.append(String.format("%-4s %-14s %10s %18s %8s%n", "rank", "strategy", "mean shots", "95% CI", "elo"));
+        for (var place = 0; place < ranking.size(); place++) {
+            var i = ranking.get(place);
+            var mean = tally.getMean(i);
+            var halfWidth = tally.getHalfWidth(i);
+            sb.append(String.format(Locale.ROOT, "%-4d %-14s %10.3f    [%6.3f, %6.3f] %8.1f%n", place + 1,
+                    names.get(i), mean, mean - halfWidth, mean + halfWidth, ratings[i]));
+        }
+        sb.append("Paired differences of adjacent strategies:\n");
+        for (var place = 0; place + 1 < ranking.size(); place++) {
+            var i = ranking.get(place);
+            var j = ranking.get(place + 1);
+            var difference = tally.getMeanDifference(i, j);
+            var halfWidth = tally.getDifferenceHalfWidth(i, j);
+            sb.append(String.format(Locale.ROOT, "  %s - %s: %.3f shots [%.3f, %.3f], wins %d / %d%n",
+                    names.get(i), names.get(j), difference, difference - halfWidth, difference + halfWidth,
+                    tally.getWins(i, j), tally.getWins(j, i)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package battleship;
+
+/**
+ * Class of statistics gathered by one simulation worker.
+ */
+final class WorkerStatistics {
+
+    /**
+     * Index of the worker.
+     */
+    private final int workerIndex;
+
+    /**
+     * Amount of games played by the worker.
+     */
+    private final int gamesPlayed;
+
+    /**
+     * Time the worker has spent playing, in nanoseconds.
+     */
+    private final long elapsedNanos;
+
+    /**
+     * Histogram of games by amount of shots needed to win, index is amount of shots.
+     */
+    private final long[] shotsHistogram;
+
+    /**
+     * Constructor, the purpose of which is to store worker results.
+     *
+     * @param workerIndex    index of the worker
+     * @param gamesPlayed    amount of games played by the worker
+     * @param elapsedNanos   time the worker has spent playing, in nanoseconds
+     * @param shotsHistogram histogram of games by amount of shots needed to win
+     */
+    WorkerStatistics(int workerIndex, int gamesPlayed, long elapsedNanos, long[] shotsHistogram) {
+        this.workerIndex = workerIndex;
+        this.gamesPlayed = gamesPlayed;
+        this.elapsedNanos = elapsedNanos;
+        this.shotsHistogram = shotsHistogram;
+    }
+
+    /**
+     * Getter for worker index.
+     *
+     * @return index of the worker
+     */
+    int getWorkerIndex() {
+        return workerIndex;
+    }
+
+    /**
+     * Getter for amount of games played.
+     *
+     * @return amount of games played by the worker
+     */
+    int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Getter for elapsed time.
+     *
+     * @return time the worker has spent playing, in nanoseconds
+     */
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Getter for shots histogram.
+     *
+     * @return histogram of games by amount of shots needed to win, index is amount of shots
+     */
+    long[] getShotsHistogram() {
+        return shotsHistogram;
+    }
+
+    /**
+     * Method to get amount of games played per second by the worker.
+     *
+     * @return games per second
+     */
+    double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : gamesPlayed * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Method to get mean amount of shots needed to win.
+     *
+     * @return mean amount of shots
+     */
+    double getMeanShots() {
+        long total = 0;
+        for (var shots = 0; shots < shotsHistogram.length; shots++) {
+            total += shots * shotsHistogram[shots];
+        }
+        return gamesPlayed == 0 ? 0 : (double) total / gamesPlayed;
+    }
+}
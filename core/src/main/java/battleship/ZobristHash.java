@@ -0,0 +1,180 @@
+package battleship;
+
+import java.util.Arrays;
+
+/**
+ * Incremental Zobrist hash of a board together with hashes of its symmetric images.
+ * A square board has eight symmetries (rotations and reflections), a rectangular one has four.
+ * Every (cell, feature) pair has a pseudo random key computed by a mixing function, so no key table is stored.
+ * Toggling a feature updates the hash of every image, and the smallest of them is the canonical hash
+ * shared by all symmetric boards.
+ */
+final class ZobristHash {
+
+    /**
+     * Amount of distinct features of a cell supported by the keys.
+     */
+    static final int FEATURES = 4;
+
+    /**
+     * Seed of the keys.
+     */
+    private static final long SEED = 0x5DEECE66DL;
+
+    /**
+     * Amount of rows of the board.
+     */
+    private final int rows;
+
+    /**
+     * Amount of columns of the board.
+     */
+    private final int columns;
+
+    /**
+     * Hash of the image of the board under every symmetry, the first one is the board itself.
+     */
+    private final long[] lanes;
+
+    /**
+     * Constructor, the purpose of which is to create a hash of an empty board.
+     *
+     * @param rows    amount of rows of the board
+     * @param columns amount of columns of the board
+     */
+    ZobristHash(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        lanes = new long[rows == columns ? 8 : 4];
+    }
+
+    /**
+     * Method which adds the feature to the cell, or removes it if the cell already has it.
+     *
+     * @param cell    index of the cell
+     * @param feature feature from 0 to {@link #FEATURES} - 1
+     */
+    void toggle(int cell, int feature) {
+        var row = cell / columns;
+        var column = cell % columns;
+        var mirroredRow = rows - 1 - row;
+        var mirroredColumn = columns - 1 - column;
+        lanes[0] ^= key(cell, feature);
+        lanes[1] ^= key(row * columns + mirroredColumn, feature);
+        lanes[2] ^= key(mirroredRow * columns + column, feature);
+        lanes[3] ^= key(mirroredRow * columns + mirroredColumn, feature);
+        if (lanes.length == 8) {
+            lanes[4] ^= key(column * rows + row, feature);
+            lanes[5] ^= key(column * rows + mirroredRow, feature);
+            lanes[6] ^= key(mirroredColumn * rows + row, feature);
+            lanes[7] ^= key(mirroredColumn * rows + mirroredRow, feature);
+        }
+    }
+
+    /**
+     * Method which forgets all features to hash an empty board.
+     */
+    void clear() {
+        Arrays.fill(lanes, 0);
+    }
+
+    /**
+     * Getter for the hash of the board as it is.
+     *
+     * @return hash of the board
+     */
+    long getHash() {
+        return lanes[0];
+    }
+
+    /**
+     * Getter for the hash shared by the board and all its symmetric images.
+     *
+     * @return smallest hash among images of the board
+     */
+    long getCanonicalHash() {
+        return lanes[getCanonicalSymmetry()];
+    }
+
+    /**
+     * Getter for the symmetry mapping the board onto its canonical image.
+     *
+     * @return index of the symmetry from 0 to {@link #getSymmetries()} - 1
+     */
+    int getCanonicalSymmetry() {
+        var best = 0;
+        for (var symmetry = 1; symmetry < lanes.length; symmetry++) {
+            if (lanes[symmetry] < lanes[best]) {
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Getter for the amount of symmetries of the board.
+     *
+     * @return 8 for a square board, 4 for a rectangular one
+     */
+    int getSymmetries() {
+        return lanes.length;
+    }
+
+    /**
+     * Method which maps the cell of the board onto the cell of its image under the symmetry.
+     *
+     * @param cell     index of the cell of the board
+     * @param symmetry index of the symmetry
+     * @return index of the cell of the image
+     */
+    int transform(int cell, int symmetry) {
+        var row = cell / columns;
+        var column = cell % columns;
+        switch (symmetry) {
+            case 0:
+                return cell;
+            case 1:
+                return row * columns + columns - 1 - column;
+            case 2:
+                return (rows - 1 - row) * columns + column;
+            case 3:
+                return (rows - 1 - row) * columns + columns - 1 - column;
+            case 4:
+                return column * rows + row;
+            case 5:
+                return column * rows + rows - 1 - row;
+            case 6:
+                return (columns - 1 - column) * rows + row;
+            case 7:
+                return (columns - 1 - column) * rows + rows - 1 - row;
+            default:
+                throw new IllegalArgumentException("Unknown symmetry " + symmetry + ".");
+        }
+    }
+
+    /**
+     * Method which maps the cell of the image under the symmetry back onto the cell of the board.
+     *
+     * @param cell     index of the cell of the image
+     * @param symmetry index of the symmetry
+     * @return index of the cell of the board
+     */
+    int inverse(int cell, int symmetry) {
+        // Quarter turns are inverse to each other, all other symmetries are involutions.
+        return transform(cell, symmetry == 5 ? 6 : symmetry == 6 ? 5 : symmetry);
+    }
+
+    /**
+     * Method to compute the key of the feature of the cell.
+     *
+     * @param cell    index of the cell
+     * @param feature feature of the cell
+     * @return pseudo random key
+     */
+    static long key(int cell, int feature) {
+        var z = ((long) cell * FEATURES + feature) * 0x9E3779B97F4A7C15L + SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Headless core of the game: the rules, shooters, simulations, the server and the journal.
+ * The module does not read any user interface module, so the compiler keeps AWT, Swing and JavaFX out of it.
+ */
+module battleship.core {
+    requires jdk.jfr;
+
+    exports battleship;
+}
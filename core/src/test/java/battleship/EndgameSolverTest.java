@@ -0,0 +1,300 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link EndgameSolver}. Expected amounts of shots are checked by hand on single-row fields
+ * and against an exhaustive search without pruning, candidate filtering or transpositions on small fields.
+ */
+class EndgameSolverTest {
+
+    /**
+     * Budget large enough for every test position, so decisions never expire.
+     */
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * Small field with three ships, where random shots leave from a few to a few dozen layouts.
+     */
+    private static final GameConfig SMALL = new GameConfig(4, 4, List.of(new GameConfig.FleetEntry(2, 1),
+            new GameConfig.FleetEntry(1, 2)));
+
+    /**
+     * Largest amount of layouts of a position compared with the exhaustive search.
+     */
+    private static final int MAX_LAYOUTS = 16;
+
+    /**
+     * Test of a submarine hidden in one of three cells: it takes 1, 2 or 3 shots, 2 on average.
+     */
+    @Test
+    void submarineInRowOfThree() {
+        var config = new GameConfig(1, 3, List.of(new GameConfig.FleetEntry(1, 1)));
+        var decision = new EndgameSolver(config, 64, 1024).decide(new byte[3], UNLIMITED, UNLIMITED);
+        assertEquals(3, decision.getLayouts());
+        assertEquals(2.0, decision.getExpectedShots(), 1e-12);
+    }
+
+    /**
+     * Test of a destroyer in a row of three cells: the middle cell is hit in both layouts, so it is shot first,
+     * then one end sinks the destroyer or misses, 2.5 shots on average.
+     */
+    @Test
+    void destroyerInRowOfThree() {
+        var config = new GameConfig(1, 3, List.of(new GameConfig.FleetEntry(2, 1)));
+        var decision = new EndgameSolver(config, 64, 1024).decide(new byte[3], UNLIMITED, UNLIMITED);
+        assertEquals(2, decision.getLayouts());
+        assertEquals(1, decision.getCell());
+        assertEquals(2.5, decision.getExpectedShots(), 1e-12);
+    }
+
+    /**
+     * Test of random positions of a small field against the exhaustive search: the solver finds the optimal
+     * expected amount of shots, and its chosen cell achieves it.
+     */
+    @Test
+    void matchesExhaustiveSearch() {
+        var random = new SplittableRandom(22);
+        var solver = new EndgameSolver(SMALL, MAX_LAYOUTS, 1 << 16);
+        var compared = 0;
+        while (compared < 40) {
+            var ocean = new Ocean(SMALL);
+            ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+            var shots = 2 + random.nextInt(6);
+            for (var i = 0; i < shots && !ocean.isGameOver(); i++) {
+                var cell = random.nextInt(SMALL.getCells());
+                ocean.shootAt(cell / SMALL.getColumns(), cell % SMALL.getColumns());
+            }
+            if (ocean.isGameOver()) {
+                continue;
+            }
+            var observed = PosteriorSampler.observe(ocean);
+            var decision = solver.decide(observed, UNLIMITED, UNLIMITED);
+            if (decision.getLayouts() < 0) {
+                continue;
+            }
+            var search = new ExhaustiveSearch(observed);
+            assertEquals(search.layouts.size(), decision.getLayouts(), "Layouts of position " + compared);
+            var all = new BitSet();
+            all.set(0, search.layouts.size());
+            var shot = shotCells(observed);
+            assertEquals(search.expected(all, shot), decision.getExpectedShots(), 1e-9,
+                    "Expected shots of position " + compared);
+            assertEquals(search.expected(all, shot), search.expectedAfter(all, shot, decision.getCell()), 1e-9,
+                    "Chosen cell of position " + compared);
+            compared++;
+        }
+    }
+
+    /**
+     * Test of positions the solver does not take over: too many layouts, or too small a budget of expansions.
+     */
+    @Test
+    void largePositionsAreLeftToHeuristics() {
+        var crowded = new EndgameSolver(SMALL, 4, 1024).decide(new byte[SMALL.getCells()], UNLIMITED, UNLIMITED);
+        assertEquals(-1, crowded.getCell());
+        assertEquals(-1, crowded.getLayouts());
+
+        var observed = new byte[SMALL.getCells()];
+        observed[0] = PosteriorSampler.MISS;
+        observed[5] = PosteriorSampler.MISS;
+        observed[10] = PosteriorSampler.MISS;
+        var solver = new EndgameSolver(SMALL, 1024, 1024);
+        var expired = solver.decide(observed, UNLIMITED, 0);
+        assertTrue(expired.getLayouts() > 1);
+        assertEquals(-1, expired.getCell());
+        assertTrue(Double.isNaN(expired.getExpectedShots()));
+    }
+
+    /**
+     * Test of the transposition table kept between decisions: the same position is solved again
+     * from the table, with the same result.
+     */
+    @Test
+    void tableOutlivesDecisions() {
+        var observed = new byte[SMALL.getCells()];
+        observed[0] = PosteriorSampler.MISS;
+        observed[6] = PosteriorSampler.MISS;
+        observed[15] = PosteriorSampler.MISS;
+        var solver = new EndgameSolver(SMALL, 1024, 1 << 16);
+        var first = solver.decide(observed, UNLIMITED, UNLIMITED);
+        var misses = solver.getTable().getMisses();
+        var second = solver.decide(observed, UNLIMITED, UNLIMITED);
+        assertEquals(first.getCell(), second.getCell());
+        assertEquals(first.getExpectedShots(), second.getExpectedShots());
+        assertTrue(solver.getTable().getMisses() - misses < misses, "Second decision did not use the table");
+    }
+
+    /**
+     * Method to collect cells which have been shot at.
+     *
+     * @param observed observation of every cell
+     * @return bitmask of shot cells
+     */
+    private static long shotCells(byte[] observed) {
+        var shots = 0L;
+        for (var cell = 0; cell < observed.length; cell++) {
+            if (observed[cell] != PosteriorSampler.UNKNOWN) {
+                shots |= 1L << cell;
+            }
+        }
+        return shots;
+    }
+
+    /**
+     * Search of the whole shot tree of a position of {@link #SMALL}, trying every cell which has not been
+     * shot at. Every layout is a list of ships, and every ship is a bitmask of its cells.
+     */
+    private static final class ExhaustiveSearch {
+
+        /**
+         * Layouts of ships afloat consistent with observations.
+         */
+        private final List<long[]> layouts = new ArrayList<>();
+
+        /**
+         * Solved positions by layouts left and cells shot at.
+         */
+        private final Map<String, Double> solved = new HashMap<>();
+
+        /**
+         * Constructor, the purpose of which is to enumerate consistent layouts of ships afloat.
+         *
+         * @param observed observation of every cell
+         */
+        ExhaustiveSearch(byte[] observed) {
+            var board = new PosteriorSampler.Board(SMALL, observed);
+            var occupied = new CellSet(SMALL.getCells());
+            board.getSunkCells().forEach(occupied::add);
+            place(board.getAfloat(), 0, 0, occupied, new long[board.getAfloat().length], observed);
+        }
+
+        /**
+         * Method which places the ship at every legal location and continues with the next ship.
+         * Ships of the same length are placed at increasing locations, so every layout is met once.
+         *
+         * @param lengths  lengths of ships afloat
+         * @param ship     index of the ship to place
+         * @param from     smallest location, twice the bow cell plus one for vertical ships
+         * @param occupied cells of sunk ships and placed ships
+         * @param ships    cells of placed ships
+         * @param observed observation of every cell
+         */
+        private void place(int[] lengths, int ship, int from, CellSet occupied, long[] ships, byte[] observed) {
+            if (ship == lengths.length) {
+                var covered = 0L;
+                for (var cells : ships) {
+                    covered |= cells;
+                }
+                for (var cell = 0; cell < observed.length; cell++) {
+                    if (observed[cell] == PosteriorSampler.HIT && (covered & 1L << cell) == 0) {
+                        return;
+                    }
+                }
+                layouts.add(ships.clone());
+                return;
+            }
+            var length = lengths[ship];
+            var columns = SMALL.getColumns();
+            for (var location = from; location < 2 * SMALL.getCells(); location++) {
+                var horizontal = (location & 1) == 0;
+                var bow = location >>> 1;
+                if (length == 1 && !horizontal
+                        || !Ship.okToPlaceShipAt(bow / columns, bow % columns, length, horizontal, SMALL, occupied)) {
+                    continue;
+                }
+                var cells = 0L;
+                var hits = 0;
+                var missed = false;
+                for (var i = 0; i < length; i++) {
+                    var cell = horizontal ? bow + i : bow + i * columns;
+                    cells |= 1L << cell;
+                    missed |= observed[cell] == PosteriorSampler.MISS || observed[cell] == PosteriorSampler.SUNK;
+                    hits += observed[cell] == PosteriorSampler.HIT ? 1 : 0;
+                }
+                if (missed || hits == length) {
+                    continue;
+                }
+                for (var bits = cells; bits != 0; bits &= bits - 1) {
+                    occupied.add(Long.numberOfTrailingZeros(bits));
+                }
+                ships[ship] = cells;
+                var next = ship + 1 < lengths.length && lengths[ship + 1] == length ? location + 1 : 0;
+                place(lengths, ship + 1, next, occupied, ships, observed);
+                for (var bits = cells; bits != 0; bits &= bits - 1) {
+                    occupied.remove(Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+
+        /**
+         * Method to compute the smallest expected amount of shots to sink all ships afloat.
+         *
+         * @param alive layouts consistent with the shots
+         * @param shots cells which have been shot at
+         * @return expected amount of shots of the best strategy
+         */
+        double expected(BitSet alive, long shots) {
+            var first = alive.nextSetBit(0);
+            var allSunk = true;
+            for (var cells : layouts.get(first)) {
+                allSunk &= (cells & ~shots) == 0;
+            }
+            if (allSunk) {
+                return 0;
+            }
+            var key = alive + "/" + shots;
+            var value = solved.get(key);
+            if (value == null) {
+                value = Double.POSITIVE_INFINITY;
+                for (var cell = 0; cell < SMALL.getCells(); cell++) {
+                    if ((shots & 1L << cell) == 0) {
+                        value = Math.min(value, expectedAfter(alive, shots, cell));
+                    }
+                }
+                solved.put(key, value);
+            }
+            return value;
+        }
+
+        /**
+         * Method to compute the expected amount of shots to sink all ships afloat if the cell is shot next.
+         * Layouts are split by the result of the shot: a miss, a hit or a sunk ship.
+         *
+         * @param alive layouts consistent with the shots
+         * @param shots cells which have been shot at
+         * @param cell  cell shot next
+         * @return expected amount of shots including the shot at the cell
+         */
+        double expectedAfter(BitSet alive, long shots, int cell) {
+            var groups = new BitSet[]{new BitSet(), new BitSet(), new BitSet()};
+            for (var i = alive.nextSetBit(0); i >= 0; i = alive.nextSetBit(i + 1)) {
+                var result = 0;
+                for (var cells : layouts.get(i)) {
+                    if ((cells & 1L << cell) != 0) {
+                        result = (cells & ~shots & ~(1L << cell)) == 0 ? 2 : 1;
+                    }
+                }
+                groups[result].set(i);
+            }
+            var value = 1.0;
+            for (var group : groups) {
+                if (!group.isEmpty()) {
+                    value += (double) group.cardinality() / alive.cardinality()
+                            * expected(group, shots | 1L << cell);
+                }
+            }
+            return value;
+        }
+    }
+}
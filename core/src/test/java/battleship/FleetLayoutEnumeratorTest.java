@@ -0,0 +1,169 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link FleetLayoutEnumerator}. Counts are checked by hand on tiny fields and against
+ * a backtracking count with {@link Ship#okToPlaceShipAt} on small fields, square and rectangular,
+ * with one and several longest ships.
+ */
+class FleetLayoutEnumeratorTest {
+
+    /**
+     * Small fields compared with backtracking.
+     */
+    private static final List<GameConfig> SMALL = List.of(
+            new GameConfig(4, 4, List.of(new GameConfig.FleetEntry(2, 1), new GameConfig.FleetEntry(1, 2))),
+            new GameConfig(5, 5, List.of(new GameConfig.FleetEntry(3, 1), new GameConfig.FleetEntry(2, 1),
+                    new GameConfig.FleetEntry(1, 2))),
+            new GameConfig(4, 6, List.of(new GameConfig.FleetEntry(3, 1), new GameConfig.FleetEntry(2, 2))),
+            new GameConfig(5, 5, List.of(new GameConfig.FleetEntry(2, 3))),
+            new GameConfig(3, 7, List.of(new GameConfig.FleetEntry(4, 1), new GameConfig.FleetEntry(1, 3))));
+
+    /**
+     * Test of counts which are easy to find by hand.
+     *
+     * @throws InterruptedException when the test is interrupted
+     */
+    @Test
+    void tinyFieldsHaveKnownCounts() throws InterruptedException {
+        assertEquals(9, count(3, 3, new GameConfig.FleetEntry(1, 1)));
+        // 36 pairs of cells, of which 6 + 6 are side by side and 8 are diagonal neighbours.
+        assertEquals(16, count(3, 3, new GameConfig.FleetEntry(1, 2)));
+        assertEquals(4, count(2, 2, new GameConfig.FleetEntry(2, 1)));
+        assertEquals(2, count(1, 3, new GameConfig.FleetEntry(2, 1)));
+        assertEquals(1, count(1, 3, new GameConfig.FleetEntry(1, 2)));
+        assertEquals(0, count(2, 2, new GameConfig.FleetEntry(1, 2)));
+    }
+
+    /**
+     * Test of counts and per-cell occupancy of small fields against backtracking.
+     *
+     * @throws InterruptedException when the test is interrupted
+     */
+    @Test
+    void countsMatchBacktracking() throws InterruptedException {
+        for (var config : SMALL) {
+            var expected = new long[config.getCells() + 1];
+            backtrack(config, config.getShipLengths(), 0, new CellSet(config.getCells()), expected);
+            var copies = 1L;
+            for (var entry : config.getFleet()) {
+                for (var i = 2; i <= entry.getCount(); i++) {
+                    copies *= i;
+                }
+            }
+            for (var i = 0; i < expected.length; i++) {
+                expected[i] /= copies;
+            }
+            for (var workers : new int[]{1, 3}) {
+                var census = new FleetLayoutEnumerator(config).count(workers);
+                var actual = new long[config.getCells() + 1];
+                actual[0] = census.getLayouts();
+                for (var cell = 0; cell < config.getCells(); cell++) {
+                    actual[cell + 1] = census.getOccupying(cell);
+                }
+                assertArrayEquals(expected, actual, config.getRows() + "x" + config.getColumns() + " "
+                        + config.getFleet().size() + " kinds of ships, " + workers + " workers");
+            }
+        }
+    }
+
+    /**
+     * Test of the stream: sequential and parallel streams visit every layout once and agree with the count.
+     *
+     * @throws InterruptedException when the test is interrupted
+     */
+    @Test
+    void streamVisitsEveryLayoutOnce() throws InterruptedException {
+        for (var config : SMALL) {
+            var enumerator = new FleetLayoutEnumerator(config);
+            var layouts = enumerator.count(1).getLayouts();
+            var sequential = new HashSet<Set<Integer>>();
+            enumerator.stream(false).forEach(layout -> sequential.add(cells(enumerator, layout)));
+            var parallel = ConcurrentHashMap.<Set<Integer>>newKeySet();
+            assertEquals(layouts, enumerator.stream(true).peek(layout -> parallel.add(cells(enumerator, layout)))
+                    .count());
+            assertEquals(layouts, sequential.size());
+            assertEquals(sequential, parallel);
+        }
+    }
+
+    /**
+     * Method which counts layouts of the fleet of one kind of ships.
+     *
+     * @param rows    amount of rows
+     * @param columns amount of columns
+     * @param entry   ships of the fleet
+     * @return amount of layouts
+     * @throws InterruptedException when the test is interrupted
+     */
+    private static long count(int rows, int columns, GameConfig.FleetEntry entry) throws InterruptedException {
+        return new FleetLayoutEnumerator(new GameConfig(rows, columns, List.of(entry))).count(1).getLayouts();
+    }
+
+    /**
+     * Method which places every ship, in order, at every legal location and counts complete layouts
+     * together with the cells they occupy. Ships of the same length are told apart, so every layout
+     * is counted once per order of such ships.
+     *
+     * @param config   size of the playing field and composition of the fleet
+     * @param lengths  lengths of ships in order of placement
+     * @param index    index of the ship to place
+     * @param occupied cells occupied by placed ships
+     * @param totals   amount of layouts followed by the amount of layouts occupying every cell
+     */
+    private static void backtrack(GameConfig config, int[] lengths, int index, CellSet occupied, long[] totals) {
+        if (index == lengths.length) {
+            totals[0]++;
+            occupied.forEach(cell -> totals[cell + 1]++);
+            return;
+        }
+        var length = lengths[index];
+        var columns = config.getColumns();
+        for (var cell = 0; cell < config.getCells(); cell++) {
+            for (var horizontal : length == 1 ? new boolean[]{true} : new boolean[]{true, false}) {
+                if (!Ship.okToPlaceShipAt(cell / columns, cell % columns, length, horizontal, config, occupied)) {
+                    continue;
+                }
+                var step = horizontal ? 1 : columns;
+                for (var part = 0; part < length; part++) {
+                    occupied.add(cell + part * step);
+                }
+                backtrack(config, lengths, index + 1, occupied, totals);
+                for (var part = 0; part < length; part++) {
+                    occupied.remove(cell + part * step);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to collect cells of the layout.
+     *
+     * @param enumerator enumerator which streamed the layout
+     * @param layout     locations of ships
+     * @return occupied cells
+     */
+    private static Set<Integer> cells(FleetLayoutEnumerator enumerator, int[] layout) {
+        var generator = enumerator.getGenerator();
+        var columns = enumerator.getConfig().getColumns();
+        var cells = new HashSet<Integer>();
+        var lengths = enumerator.getConfig().getShipLengths();
+        for (var i = 0; i < layout.length; i++) {
+            var bow = generator.getBowRow(layout[i]) * columns + generator.getBowColumn(layout[i]);
+            var step = generator.isHorizontal(layout[i]) ? 1 : columns;
+            for (var part = 0; part < lengths[i]; part++) {
+                cells.add(bow + part * step);
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,251 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the distribution of fleet layouts picked by {@link FleetPlacementGenerator}.
+ * Rejection sampling places every ship uniformly among its legal locations, so the generator must
+ * produce layouts and cells with the same frequencies. Frequencies are compared by the chi-square test
+ * at the significance level of 0.001; seeds are fixed, so the outcome is reproducible.
+ */
+class FleetPlacementGeneratorTest {
+
+    /**
+     * Amount of sampled layouts of every method.
+     */
+    private static final int SAMPLES = 40_000;
+
+    /**
+     * Quantile of the standard normal distribution for the significance level of 0.001.
+     */
+    private static final double Z = 3.090;
+
+    /**
+     * Field small enough to enumerate every layout, where no ship can ever be left without a location.
+     */
+    private static final GameConfig SMALL = new GameConfig(4, 4, List.of(
+            new GameConfig.FleetEntry(3, 1), new GameConfig.FleetEntry(1, 1)));
+
+    /**
+     * Test of per-layout frequencies of the generator against exact probabilities of rejection sampling.
+     */
+    @Test
+    void layoutsFollowRejectionSampling() {
+        var reference = reference(SMALL);
+        var observed = sample(SMALL, PlacementMethod.CONSTRAINT_AWARE, 1);
+        assertTrue(reference.keySet().containsAll(observed.keySet()), "Generator picked an illegal layout");
+        assertFits(observed, reference);
+    }
+
+    /**
+     * Test of the reference itself: layouts of rejection sampling follow the enumerated probabilities.
+     */
+    @Test
+    void rejectionSamplingFollowsReference() {
+        var reference = reference(SMALL);
+        var observed = sample(SMALL, PlacementMethod.REJECTION_SAMPLING, 2);
+        assertTrue(reference.keySet().containsAll(observed.keySet()), "Rejection sampling picked an illegal layout");
+        assertFits(observed, reference);
+    }
+
+    /**
+     * Test of per-cell frequencies of the last ship of the generator against exact probabilities of rejection sampling.
+     */
+    @Test
+    void cellsFollowRejectionSampling() {
+        var reference = new HashMap<String, Double>();
+        reference(SMALL).forEach((layout, probability) -> reference.merge(lastShip(layout), probability, Double::sum));
+        var observed = new HashMap<String, Integer>();
+        sample(SMALL, PlacementMethod.CONSTRAINT_AWARE, 3)
+                .forEach((layout, count) -> observed.merge(lastShip(layout), count, Integer::sum));
+        assertFits(observed, reference);
+    }
+
+    /**
+     * Test of per-cell frequencies of the last submarine on the standard field, which is too large to enumerate,
+     * against frequencies of rejection sampling by the chi-square test of homogeneity.
+     */
+    @Test
+    void standardCellsMatchRejectionSampling() {
+        var generated = new int[GameConfig.STANDARD.getCells()];
+        var rejected = new int[GameConfig.STANDARD.getCells()];
+        var generatorRandom = new SplittableRandom(4);
+        var rejectionRandom = new SplittableRandom(5);
+        for (var i = 0; i < SAMPLES / 2; i++) {
+            generated[lastCell(generatorRandom, PlacementMethod.CONSTRAINT_AWARE)]++;
+            rejected[lastCell(rejectionRandom, PlacementMethod.REJECTION_SAMPLING)]++;
+        }
+        var statistic = 0.0;
+        var categories = 0;
+        for (var cell = 0; cell < generated.length; cell++) {
+            var total = generated[cell] + rejected[cell];
+            if (total > 0) {
+                var difference = generated[cell] - rejected[cell];
+                statistic += (double) difference * difference / total;
+                categories++;
+            }
+        }
+        assertEquals(GameConfig.STANDARD.getCells(), categories, "Some cell never holds the last submarine");
+        assertTrue(statistic < criticalValue(categories - 1),
+                "Chi-square " + statistic + " with " + (categories - 1) + " degrees of freedom");
+    }
+
+    /**
+     * Method which places the standard fleet and finds the cell of the last ship, which is a submarine.
+     *
+     * @param random generator of pseudo random numbers
+     * @param method method of choosing ship locations
+     * @return index of the cell
+     */
+    private static int lastCell(SplittableRandom random, PlacementMethod method) {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random, method);
+        var ship = ocean.getShip(ocean.getFleetSize() - 1);
+        assertEquals(1, ship.getLength());
+        return ocean.cellIndex(ship.getBowRow(), ship.getBowColumn());
+    }
+
+    /**
+     * Method which places the fleet many times and counts the layouts.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param method method of choosing ship locations
+     * @param seed   seed of the generator of pseudo random numbers
+     * @return amount of samples of every layout
+     */
+    private static Map<String, Integer> sample(GameConfig config, PlacementMethod method, long seed) {
+        var random = new SplittableRandom(seed);
+        var counts = new HashMap<String, Integer>();
+        for (var i = 0; i < SAMPLES; i++) {
+            var ocean = new Ocean(config);
+            ocean.placeAllShipsRandomly(random, method);
+            var layout = new StringBuilder();
+            for (var j = 0; j < ocean.getFleetSize(); j++) {
+                var ship = ocean.getShip(j);
+                layout.append(location(ship.getBowRow(), ship.getBowColumn(), ship.getLength(), ship.isHorizontal()));
+            }
+            counts.merge(layout.toString(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Method which enumerates all layouts and their probabilities when every ship, in order of the fleet,
+     * is placed uniformly among its legal locations, which is the distribution of rejection sampling.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @return probability of every layout
+     */
+    private static Map<String, Double> reference(GameConfig config) {
+        var probabilities = new HashMap<String, Double>();
+        enumerate(config, config.getShipLengths(), 0, new CellSet(config.getCells()), "", 1.0, probabilities);
+        assertEquals(1.0, probabilities.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9,
+                "Some ship can be left without a location");
+        return probabilities;
+    }
+
+    /**
+     * Method which places the ship in every legal location and continues with the next ship.
+     *
+     * @param config        size of the playing field and composition of the fleet
+     * @param lengths       lengths of ships in order of placement
+     * @param index         index of the ship to place
+     * @param occupied      cells occupied by placed ships
+     * @param layout        locations of placed ships
+     * @param probability   probability of the placed ships
+     * @param probabilities probability of every complete layout
+     */
+    private static void enumerate(GameConfig config, int[] lengths, int index, CellSet occupied, String layout,
+                                  double probability, Map<String, Double> probabilities) {
+        if (index == lengths.length) {
+            probabilities.put(layout, probability);
+            return;
+        }
+        var length = lengths[index];
+        var legal = new ArrayList<int[]>();
+        for (var row = 0; row < config.getRows(); row++) {
+            for (var column = 0; column < config.getColumns(); column++) {
+                for (var horizontal : length == 1 ? new boolean[]{true} : new boolean[]{true, false}) {
+                    if (Ship.okToPlaceShipAt(row, column, length, horizontal, config, occupied)) {
+                        legal.add(new int[]{row, column, horizontal ? 1 : 0});
+                    }
+                }
+            }
+        }
+        for (var location : legal) {
+            var step = location[2] == 1 ? 1 : config.getColumns();
+            var bow = location[0] * config.getColumns() + location[1];
+            for (var part = 0; part < length; part++) {
+                occupied.add(bow + part * step);
+            }
+            enumerate(config, lengths, index + 1, occupied,
+                    layout + location(location[0], location[1], length, location[2] == 1),
+                    probability / legal.size(), probabilities);
+            for (var part = 0; part < length; part++) {
+                occupied.remove(bow + part * step);
+            }
+        }
+    }
+
+    /**
+     * Method to describe the location of a ship, where both orientations of a single cell ship are the same.
+     *
+     * @param row        row of the bow
+     * @param column     column of the bow
+     * @param length     length of the ship
+     * @param horizontal true if ship is horizontally oriented, otherwise - false
+     * @return description of the location
+     */
+    private static String location(int row, int column, int length, boolean horizontal) {
+        return "(" + row + "," + column + (length == 1 || horizontal ? ",h)" : ",v)");
+    }
+
+    /**
+     * Method to get the location of the last ship of the layout.
+     *
+     * @param layout description of the layout
+     * @return description of the location of the last ship
+     */
+    private static String lastShip(String layout) {
+        return layout.substring(layout.lastIndexOf('('));
+    }
+
+    /**
+     * Method which asserts that observed counts fit the expected probabilities by the chi-square test.
+     *
+     * @param observed amount of samples of every category
+     * @param expected probability of every category
+     */
+    private static void assertFits(Map<String, Integer> observed, Map<String, Double> expected) {
+        var samples = observed.values().stream().mapToInt(Integer::intValue).sum();
+        var statistic = 0.0;
+        for (var category : expected.entrySet()) {
+            var expectedCount = samples * category.getValue();
+            var difference = observed.getOrDefault(category.getKey(), 0) - expectedCount;
+            statistic += difference * difference / expectedCount;
+        }
+        var degrees = expected.size() - 1;
+        assertTrue(statistic < criticalValue(degrees),
+                "Chi-square " + statistic + " with " + degrees + " degrees of freedom");
+    }
+
+    /**
+     * Method to approximate the critical value of the chi-square distribution by the Wilson–Hilferty transformation.
+     *
+     * @param degrees degrees of freedom
+     * @return value exceeded with probability 0.001
+     */
+    private static double criticalValue(int degrees) {
+        var variance = 2.0 / (9 * degrees);
+        return degrees * Math.pow(1 - variance + Z * Math.sqrt(variance), 3);
+    }
+}
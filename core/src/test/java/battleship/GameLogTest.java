@@ -0,0 +1,124 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link GameLog}: the ring keeps the newest entries in order when it wraps around,
+ * and the listener and the sink see every change in order.
+ */
+class GameLogTest {
+
+    /**
+     * Capacity of tested logs.
+     */
+    private static final int CAPACITY = 3;
+
+    /**
+     * Test of a log filled several times over: the oldest entry is evicted by every append at capacity,
+     * and entries are always read from the oldest one.
+     */
+    @Test
+    void wraparoundEvictsOldestEntries() {
+        var log = new GameLog(CAPACITY);
+        var evicted = new ArrayList<String>();
+        var streamed = new ArrayList<String>();
+        log.setListener(new RecordingListener(evicted, new ArrayList<>()));
+        log.setSink(streamed::add);
+        for (var i = 0; i < 3 * CAPACITY + 1; i++) {
+            log.append("entry " + i);
+            assertEquals(Math.min(i + 1, CAPACITY), log.size());
+            for (var index = 0; index < log.size(); index++) {
+                assertEquals("entry " + (i + 1 - log.size() + index), log.get(index), "After entry " + i);
+            }
+        }
+        assertEquals(3 * CAPACITY + 1, log.getAppended());
+        assertEquals(List.of("entry 0", "entry 1", "entry 2", "entry 3", "entry 4", "entry 5", "entry 6"), evicted);
+        assertEquals(3 * CAPACITY + 1, streamed.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(CAPACITY));
+        assertThrows(IndexOutOfBoundsException.class, () -> log.get(-1));
+    }
+
+    /**
+     * Test of clearing a wrapped log: removed entries are reported from the oldest one, and the log
+     * starts over from an empty ring while the count of appended entries goes on.
+     */
+    @Test
+    void clearAfterWraparoundStartsOver() {
+        var log = new GameLog(CAPACITY);
+        var cleared = new ArrayList<List<String>>();
+        log.setListener(new RecordingListener(new ArrayList<>(), cleared));
+        for (var i = 0; i < CAPACITY + 2; i++) {
+            log.append("entry " + i);
+        }
+        log.clear();
+        assertEquals(List.of(List.of("entry 2", "entry 3", "entry 4")), cleared);
+        assertEquals(0, log.size());
+        log.clear();
+        assertEquals(1, cleared.size());
+        log.append("next");
+        assertEquals(1, log.size());
+        assertEquals("next", log.get(0));
+        assertEquals(CAPACITY + 3, log.getAppended());
+    }
+
+    /**
+     * Test of a log of one entry, where every append evicts the previous entry.
+     */
+    @Test
+    void singleEntryLogKeepsLastEntry() {
+        var log = new GameLog(1);
+        var evicted = new ArrayList<String>();
+        log.setListener(new RecordingListener(evicted, new ArrayList<>()));
+        log.append("first");
+        log.append("second");
+        assertEquals(1, log.size());
+        assertEquals("second", log.get(0));
+        assertEquals(List.of("first"), evicted);
+        assertThrows(IllegalArgumentException.class, () -> new GameLog(0));
+    }
+
+    /**
+     * Listener which remembers evicted and cleared entries.
+     */
+    private static final class RecordingListener implements GameLog.Listener {
+
+        /**
+         * Evicted entries in order of eviction.
+         */
+        private final List<String> evicted;
+
+        /**
+         * Removed entries of every clearing.
+         */
+        private final List<List<String>> cleared;
+
+        /**
+         * Constructor, the purpose of which is to set the lists receiving changes.
+         *
+         * @param evicted list receiving evicted entries
+         * @param cleared list receiving removed entries of every clearing
+         */
+        RecordingListener(List<String> evicted, List<List<String>> cleared) {
+            this.evicted = evicted;
+            this.cleared = cleared;
+        }
+
+        @Override
+        public void appended(String entry, String evicted) {
+            if (evicted != null) {
+                this.evicted.add(evicted);
+            }
+        }
+
+        @Override
+        public void cleared(List<String> removed) {
+            cleared.add(removed);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package battleship;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Tests of {@link GameMetrics} with histograms and counters disabled, as in the default build:
+ * without a flight recording nothing is timed or recorded, and with a recording the events of moves are committed.
+ */
+class GameMetricsTest {
+
+    /**
+     * Test of the disabled path: every phase gets the same span doing nothing, and neither spans
+     * nor shots change the histograms or the counters.
+     */
+    @Test
+    void disabledMetricsRecordNothing() {
+        assumeFalse(GameMetrics.ENABLED);
+        var metrics = GameMetrics.get();
+        var move = metrics.begin(GameMetrics.Phase.MOVE);
+        for (var phase : GameMetrics.Phase.values()) {
+            var span = metrics.begin(phase);
+            assertSame(move, span);
+            span.end();
+        }
+        move.endMove(1, 2, ShotResult.HIT);
+        metrics.countShot(ShotResult.SUNK);
+        metrics.countShot(null);
+        for (var phase : GameMetrics.Phase.values()) {
+            assertEquals(0, metrics.getHistogram(phase).getCount());
+        }
+        assertTrue(metrics.toText().startsWith("Shots: 0, hits: 0, sinks: 0, re-shots: 0"), metrics.toText());
+        assertNull(metrics.startReporting());
+    }
+
+    /**
+     * Test of flight recorder events: while a recording with battleship events runs, a move and its phase
+     * are committed with their details, and histograms stay empty.
+     *
+     * @param directory temporary directory for the recording
+     * @throws Exception when the recording cannot be written or read
+     */
+    @Test
+    void recordingReceivesMoveEvents(@TempDir Path directory) throws Exception {
+        assumeFalse(GameMetrics.ENABLED);
+        var metrics = GameMetrics.get();
+        var file = directory.resolve("moves.jfr");
+        try (var recording = new Recording()) {
+            recording.enable("battleship.Move");
+            recording.enable("battleship.MovePhase");
+            recording.start();
+            var move = metrics.begin(GameMetrics.Phase.MOVE);
+            var shot = metrics.begin(GameMetrics.Phase.SHOT);
+            assertNotSame(move, shot);
+            shot.end();
+            move.endMove(3, 4, null);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        var moves = events.stream().filter(event -> event.getEventType().getName().equals("battleship.Move")).toList();
+        var phases = events.stream().filter(event -> event.getEventType().getName().equals("battleship.MovePhase"))
+                .toList();
+        assertEquals(1, moves.size());
+        assertEquals(3, moves.get(0).getInt("row"));
+        assertEquals(4, moves.get(0).getInt("column"));
+        assertEquals("RESHOT", moves.get(0).getString("result"));
+        assertEquals(1, phases.size());
+        assertEquals("shot", phases.get(0).getString("phase"));
+        assertEquals(0, metrics.getHistogram(GameMetrics.Phase.MOVE).getCount());
+    }
+}
@@ -0,0 +1,204 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loopback tests of {@link GameServer}: scripted games of several concurrent clients on an ephemeral port,
+ * and the load generator against the same server.
+ */
+class GameServerTest {
+
+    /**
+     * Amount of concurrent clients.
+     */
+    private static final int CLIENTS = 6;
+
+    /**
+     * Longest wait for an answer, in milliseconds.
+     */
+    private static final int READ_TIMEOUT = 10_000;
+
+    /**
+     * Test of concurrent clients, each of which plays two games by sweeping the field cell by cell,
+     * sends a command split between writes and malformed lines in between, and quits.
+     * Every command gets exactly one answer in order.
+     *
+     * @throws Exception when a client fails or the test thread is interrupted
+     */
+    @Test
+    void concurrentClientsPlayScriptedGames() throws Exception {
+        try (var server = new GameServer(0, 2, GameConfig.STANDARD, 10)) {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (var i = 0; i < CLIENTS; i++) {
+                var pipelined = i % 2 == 0;
+                tasks.add(() -> {
+                    playScript(server.getPort(), pipelined);
+                    return null;
+                });
+            }
+            var executor = Executors.newFixedThreadPool(CLIENTS);
+            try {
+                for (var future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            }
+        }
+    }
+
+    /**
+     * Test of the load generator with idle and active sessions: shots are answered without errors.
+     *
+     * @throws IOException when it is impossible to talk to the server
+     */
+    @Test
+    void loadGeneratorGetsAnswers() throws IOException {
+        try (var server = new GameServer(0, 2, GameConfig.STANDARD, 11)) {
+            var generator = new GameServerLoadGenerator(new InetSocketAddress("127.0.0.1", server.getPort()),
+                    GameConfig.STANDARD);
+            var idle = generator.openIdle(50);
+            try {
+                assertTrue(generator.shoot(8, 500) > 0);
+            } finally {
+                for (var channel : idle) {
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which connects to the server and plays the script of one client.
+     *
+     * @param port      port of the server
+     * @param pipelined true to send all shots of a game at once, false to wait for every answer
+     * @throws IOException when it is impossible to talk to the server
+     */
+    private static void playScript(int port, boolean pipelined) throws IOException {
+        try (var socket = new Socket("127.0.0.1", port)) {
+            socket.setSoTimeout(READ_TIMEOUT);
+            var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            var out = socket.getOutputStream();
+            assertEquals("WELCOME 10 10", in.readLine());
+            playGame(in, out, pipelined);
+
+            send(out, "0 0");
+            assertEquals("ERROR Game is over. Send NEW to play again.", in.readLine());
+            out.write("NE".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            out.write("W\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            assertEquals("NEW GAME", in.readLine());
+            send(out, "10 0");
+            assertEquals("ERROR Incorrect coordinates. Try again!", in.readLine());
+            send(out, "x".repeat(100));
+            assertEquals("ERROR Line is too long.", in.readLine());
+            playGame(in, out, pipelined);
+
+            send(out, "QUIT");
+            assertNull(in.readLine());
+        }
+    }
+
+    /**
+     * Method which sweeps the field row by row until the fleet is sunk and checks the answers:
+     * every ship of the standard fleet is sunk once, the last one with GAME OVER and the amount of shots.
+     *
+     * @param in        reader of answers
+     * @param out       stream of commands
+     * @param pipelined true to send all shots at once, false to wait for every answer
+     * @throws IOException when it is impossible to talk to the server
+     */
+    private static void playGame(BufferedReader in, OutputStream out, boolean pipelined) throws IOException {
+        var cells = GameConfig.STANDARD.getCells();
+        if (pipelined) {
+            var commands = new StringBuilder();
+            for (var cell = 0; cell < cells; cell++) {
+                commands.append(cell / 10).append(' ').append(cell % 10).append('\n');
+            }
+            out.write(commands.toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+        var sunk = new HashMap<String, Integer>();
+        var answers = new ArrayList<String>();
+        String gameOver = null;
+        for (var cell = 0; cell < cells; cell++) {
+            if (!pipelined) {
+                send(out, (cell / 10) + " " + (cell % 10));
+            }
+            var answer = in.readLine();
+            answers.add(answer);
+            if (gameOver != null) {
+                assertEquals("ERROR Game is over. Send NEW to play again.", answer);
+            } else if (answer.startsWith("GAME OVER ")) {
+                gameOver = answer;
+                if (!pipelined) {
+                    break;
+                }
+            } else if (answer.startsWith("SUNK ")) {
+                sunk.merge(answer.substring("SUNK ".length()), 1, Integer::sum);
+            } else {
+                assertTrue(answer.equals("MISS") || answer.equals("HIT"), answer);
+            }
+        }
+        assertTrue(gameOver != null, answers.toString());
+        var shots = Integer.parseInt(gameOver.substring("GAME OVER ".length()));
+        assertEquals(answers.indexOf(gameOver) + 1, shots, answers.toString());
+        var sunkTotal = sunk.values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(9, sunkTotal, sunk.toString());
+        assertEquals(20, answers.subList(0, shots).stream().filter(answer -> !answer.equals("MISS")).count(),
+                answers.toString());
+        assertFleetSunk(sunk);
+    }
+
+    /**
+     * Method which asserts that the sunk ships, with one ship missing for the last one, match the standard fleet.
+     *
+     * @param sunk amount of sunk ships of every type, without the ship sunk by the last shot
+     */
+    private static void assertFleetSunk(Map<String, Integer> sunk) {
+        var expected = Map.of("battleship", 1, "cruiser", 2, "destroyer", 3, "submarine", 4);
+        var missing = new ArrayList<String>();
+        for (var type : expected.keySet()) {
+            var count = sunk.getOrDefault(type, 0);
+            assertTrue(count == expected.get(type) || count == expected.get(type) - 1, type + ": " + sunk);
+            if (count < expected.get(type)) {
+                missing.add(type);
+            }
+        }
+        assertEquals(1, missing.size(), sunk.toString());
+        assertTrue(expected.keySet().containsAll(sunk.keySet()), sunk.toString());
+    }
+
+    /**
+     * Method which sends one command.
+     *
+     * @param out     stream of commands
+     * @param command command without line separator
+     * @throws IOException when it is impossible to write
+     */
+    private static void send(OutputStream out, String command) throws IOException {
+        out.write((command + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
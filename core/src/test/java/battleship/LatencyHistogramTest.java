@@ -0,0 +1,137 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link LatencyHistogram}: bucket boundaries, the precision of buckets up to the largest long value,
+ * and percentiles of empty and filled histograms.
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Largest value counted exactly.
+     */
+    private static final int EXACT_LIMIT = 127;
+
+    /**
+     * Test of small values, each of which has its own bucket.
+     */
+    @Test
+    void smallValuesAreExact() {
+        for (var value = 0; value <= EXACT_LIMIT; value++) {
+            assertEquals(value, LatencyHistogram.bucket(value));
+            assertEquals(value, LatencyHistogram.highestEquivalentValue(value));
+        }
+        assertEquals(EXACT_LIMIT + 1, LatencyHistogram.bucket(EXACT_LIMIT + 1));
+        assertEquals(EXACT_LIMIT + 1, LatencyHistogram.bucket(EXACT_LIMIT + 2));
+        assertEquals(EXACT_LIMIT + 2, LatencyHistogram.highestEquivalentValue(EXACT_LIMIT + 1));
+    }
+
+    /**
+     * Test of every power of two and its neighbours: buckets are contiguous, a new bucket starts
+     * at the power of two, and the last bucket ends at the largest long value.
+     */
+    @Test
+    void bucketsAreContiguousAtPowersOfTwo() {
+        for (var bit = 7; bit < Long.SIZE - 1; bit++) {
+            var power = 1L << bit;
+            var bucket = LatencyHistogram.bucket(power);
+            assertEquals(LatencyHistogram.bucket(power - 1) + 1, bucket, "2^" + bit);
+            assertEquals(power - 1, LatencyHistogram.highestEquivalentValue(bucket - 1), "2^" + bit);
+            var highest = LatencyHistogram.highestEquivalentValue(bucket);
+            assertEquals(bucket, LatencyHistogram.bucket(highest), "2^" + bit);
+        }
+        var last = LatencyHistogram.bucket(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(last));
+        assertEquals(last, LatencyHistogram.bucket(Long.MAX_VALUE - (Long.MAX_VALUE >>> 7)));
+    }
+
+    /**
+     * Test of random values of every magnitude: the value lies in its bucket, and the bucket is narrower
+     * than 1/64 of the value.
+     */
+    @Test
+    void bucketsKeepTwoSignificantDigits() {
+        var random = new SplittableRandom(15);
+        for (var i = 0; i < 100_000; i++) {
+            var value = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(Long.SIZE - 1);
+            var bucket = LatencyHistogram.bucket(value);
+            var highest = LatencyHistogram.highestEquivalentValue(bucket);
+            assertTrue(value <= highest, "Value " + value);
+            assertTrue(bucket == 0 || LatencyHistogram.highestEquivalentValue(bucket - 1) < value, "Value " + value);
+            assertTrue(highest - value <= value / 64, "Value " + value);
+        }
+    }
+
+    /**
+     * Test of the histogram without values.
+     */
+    @Test
+    void emptyHistogramReportsZeros() {
+        var histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Test of percentiles of small values, which are exact, and of negative values, which are counted as 0.
+     */
+    @Test
+    void percentilesOfExactValues() {
+        var histogram = new LatencyHistogram();
+        for (var value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(1, histogram.getValueAtPercentile(1));
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(50.5, histogram.getMean());
+        histogram.record(-5);
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(101, histogram.getCount());
+        assertEquals(100, histogram.getMax());
+    }
+
+    /**
+     * Test of percentiles of large values: they are at most 1/64 above the exact percentile
+     * and never above the largest recorded value.
+     */
+    @Test
+    void percentilesOfLargeValues() {
+        var histogram = new LatencyHistogram();
+        for (var value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000L);
+        }
+        for (var percentile : new double[]{10, 50, 90, 99, 99.9}) {
+            var exact = (long) (percentile * 1000) * 1000;
+            var reported = histogram.getValueAtPercentile(percentile);
+            assertTrue(reported >= exact && reported - exact <= exact / 64, percentile + ": " + reported);
+        }
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+        assertEquals(100_000_000, histogram.getMax());
+    }
+
+    /**
+     * Test of the largest long value, which fits into the last bucket and is reported exactly.
+     */
+    @Test
+    void largestValueIsRecorded() {
+        var histogram = new LatencyHistogram();
+        histogram.record(1);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(1, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+}
@@ -0,0 +1,283 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link MoveJournal} and {@link MoveJournalReader}. Games are recorded the way the battlefield
+ * records them, and every rebuilt ocean is compared with a twin which fires the shots of the last branch.
+ */
+class MoveJournalTest {
+
+    /**
+     * Segment size small enough to split a game between several segments.
+     */
+    private static final int SMALL_SEGMENT = 256;
+
+    /**
+     * Directory of the journal.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test of games played to the end without undo, recorded to many small segments.
+     *
+     * @throws IOException when it is impossible to write or read the journal
+     */
+    @Test
+    void gamesSurviveSegmentBoundaries() throws IOException {
+        var random = new SplittableRandom(11);
+        var expected = new ArrayList<Ocean>();
+        long written;
+        try (var journal = new MoveJournal(directory, SMALL_SEGMENT, 8)) {
+            for (var game = 0; game < 10; game++) {
+                var seed = random.nextLong();
+                var ocean = placed(seed);
+                ocean.setJournal(journal);
+                var twin = placed(seed);
+                var columns = ocean.getConfig().getColumns();
+                while (!ocean.isGameOver()) {
+                    var cell = random.nextInt(ocean.getConfig().getCells());
+                    ocean.fireAt(cell / columns, cell % columns);
+                    twin.shootAt(cell / columns, cell % columns);
+                }
+                expected.add(twin);
+            }
+            written = journal.getEvents();
+        }
+        assertTrue(MoveJournalReader.listSegments(directory).size() > 1, "Journal did not roll over");
+        assertEquals(written, new MoveJournalReader(directory).replay(new CountingListener()));
+        assertRebuilt(expected);
+    }
+
+    /**
+     * Test of random undo, redo and new branches: only the shots of the last branch are rebuilt.
+     *
+     * @throws IOException when it is impossible to write or read the journal
+     */
+    @Test
+    void undoneShotsAreNotRebuilt() throws IOException {
+        var random = new SplittableRandom(25);
+        var expected = new ArrayList<Ocean>();
+        try (var journal = new MoveJournal(directory, SMALL_SEGMENT, 8)) {
+            for (var game = 0; game < 20; game++) {
+                var seed = random.nextLong();
+                var ocean = placed(seed);
+                ocean.setJournal(journal);
+                var played = new ArrayDeque<Integer>();
+                var undone = new ArrayDeque<Integer>();
+                for (var move = 0; move < 200; move++) {
+                    var action = random.nextInt(10);
+                    if (action == 0 && !played.isEmpty()) {
+                        var cell = played.pop();
+                        undone.push(cell);
+                        journal.shotUndone(cell);
+                    } else if (action == 1 && !undone.isEmpty()) {
+                        var cell = undone.pop();
+                        played.push(cell);
+                        journal.shotRedone(cell);
+                    } else {
+                        if (!undone.isEmpty()) {
+                            journal.branchStarted(undone.size());
+                            undone.clear();
+                        }
+                        var cell = random.nextInt(ocean.getConfig().getCells());
+                        played.push(cell);
+                        journal.shotFired(cell, ShotResult.MISS);
+                    }
+                }
+                var twin = placed(seed);
+                var columns = twin.getConfig().getColumns();
+                for (var iterator = played.descendingIterator(); iterator.hasNext(); ) {
+                    var cell = iterator.next();
+                    twin.shootAt(cell / columns, cell % columns);
+                }
+                expected.add(twin);
+            }
+        }
+        assertRebuilt(expected);
+    }
+
+    /**
+     * Test of a journal opened again: new events go to new segments after the existing ones.
+     *
+     * @throws IOException when it is impossible to write or read the journal
+     */
+    @Test
+    void reopenedJournalAppends() throws IOException {
+        var expected = new ArrayList<Ocean>();
+        for (var seed = 0; seed < 3; seed++) {
+            try (var journal = new MoveJournal(directory, SMALL_SEGMENT, 8)) {
+                var ocean = placed(seed);
+                ocean.setJournal(journal);
+                ocean.fireAt(seed, seed);
+                var twin = placed(seed);
+                twin.shootAt(seed, seed);
+                expected.add(twin);
+            }
+        }
+        assertRebuilt(expected);
+    }
+
+    /**
+     * Test of a journal reopened after its first segment has been deleted: the new segment follows
+     * the highest existing one instead of colliding with it.
+     *
+     * @throws IOException when it is impossible to write or read the journal
+     */
+    @Test
+    void reopenedJournalSkipsDeletedSegments() throws IOException {
+        for (var seed = 0; seed < 2; seed++) {
+            try (var journal = new MoveJournal(directory, SMALL_SEGMENT, 8)) {
+                placed(seed).setJournal(journal);
+            }
+        }
+        Files.delete(MoveJournal.segmentPath(directory, 0));
+        var expected = new ArrayList<Ocean>();
+        expected.add(placed(1));
+        try (var journal = new MoveJournal(directory, SMALL_SEGMENT, 8)) {
+            var ocean = placed(2);
+            ocean.setJournal(journal);
+            ocean.fireAt(2, 2);
+            var twin = placed(2);
+            twin.shootAt(2, 2);
+            expected.add(twin);
+        }
+        assertEquals(List.of(MoveJournal.segmentPath(directory, 1), MoveJournal.segmentPath(directory, 2)),
+                MoveJournalReader.listSegments(directory));
+        assertRebuilt(expected);
+    }
+
+    /**
+     * Test of a fleet with more kinds of ships than a signed byte can count, which is read back unchanged.
+     *
+     * @throws IOException when it is impossible to write or read the journal
+     */
+    @Test
+    void largeFleetIsReadBack() throws IOException {
+        var fleet = new ArrayList<GameConfig.FleetEntry>();
+        for (var length = 1; length <= 300; length++) {
+            fleet.add(new GameConfig.FleetEntry(length, 1));
+        }
+        var config = new GameConfig(500, 500, fleet);
+        try (var journal = new MoveJournal(directory, SMALL_SEGMENT * 16, 8)) {
+            journal.gameStarted(config);
+        }
+        var read = new ArrayList<GameConfig>();
+        new MoveJournalReader(directory).replay(new CountingListener() {
+            @Override
+            public void gameStarted(GameConfig config) {
+                read.add(config);
+            }
+        });
+        assertEquals(1, read.size());
+        assertEquals(300, read.get(0).getFleet().size());
+        for (var i = 0; i < 300; i++) {
+            assertEquals(config.getFleet().get(i).getLength(), read.get(0).getFleet().get(i).getLength());
+            assertEquals(config.getFleet().get(i).getCount(), read.get(0).getFleet().get(i).getCount());
+        }
+    }
+
+    /**
+     * Test of writing to a closed journal, which fails with IllegalStateException.
+     *
+     * @throws IOException when it is impossible to open the journal
+     */
+    @Test
+    void closedJournalRejectsWrites() throws IOException {
+        var journal = new MoveJournal(directory, SMALL_SEGMENT, 8);
+        journal.shotFired(0, ShotResult.MISS);
+        journal.close();
+        assertThrows(IllegalStateException.class, journal::commit);
+        assertThrows(IllegalStateException.class, () -> journal.shotFired(1, ShotResult.HIT));
+        journal.close();
+        assertEquals(1, new MoveJournalReader(directory).replay(new CountingListener()));
+    }
+
+    /**
+     * Test of an unknown event type, which is reported instead of being skipped.
+     *
+     * @throws IOException when it is impossible to write the segment
+     */
+    @Test
+    void corruptedEventIsReported() throws IOException {
+        Files.write(MoveJournal.segmentPath(directory, 0), new byte[]{MoveJournal.SHOT_MISS, 0, 0, 0, 1, 42});
+        var reader = new MoveJournalReader(directory);
+        assertThrows(IOException.class, () -> reader.replay(new CountingListener()));
+    }
+
+    /**
+     * Method which creates an ocean with a fleet placed by the given seed.
+     *
+     * @param seed seed of placement
+     * @return ocean with all ships placed
+     */
+    private static Ocean placed(long seed) {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(new SplittableRandom(seed), PlacementMethod.CONSTRAINT_AWARE);
+        return ocean;
+    }
+
+    /**
+     * Method which asserts that the journal rebuilds the expected oceans, in order.
+     *
+     * @param expected oceans of recorded games
+     * @throws IOException when it is impossible to read the journal
+     */
+    private void assertRebuilt(List<Ocean> expected) throws IOException {
+        var rebuilt = new ArrayList<Ocean>();
+        assertEquals(expected.size(), new MoveJournalReader(directory).replayOceans(rebuilt::add));
+        for (var i = 0; i < expected.size(); i++) {
+            var want = expected.get(i);
+            var got = rebuilt.get(i);
+            assertEquals(want.getShotsFired(), got.getShotsFired(), "Shots of game " + i);
+            assertEquals(want.getHitCount(), got.getHitCount(), "Hits of game " + i);
+            assertEquals(want.getShipsSunk(), got.getShipsSunk(), "Sunk ships of game " + i);
+            assertEquals(want.getShots().cardinality(), got.getShots().cardinality(), "Shot cells of game " + i);
+            assertEquals(want.getCanonicalHash(), got.getCanonicalHash(), "Hash of game " + i);
+        }
+    }
+
+    /**
+     * Listener which ignores events, so only their amount is counted by the reader.
+     */
+    private static class CountingListener implements MoveJournalReader.Listener {
+
+        @Override
+        public void gameStarted(GameConfig config) {
+        }
+
+        @Override
+        public void shipPlaced(int bowCell, int length, boolean horizontal) {
+        }
+
+        @Override
+        public void shotFired(int cell, ShotResult result) {
+        }
+
+        @Override
+        public void shotUndone(int cell) {
+        }
+
+        @Override
+        public void shotRedone(int cell) {
+        }
+
+        @Override
+        public void branchStarted(int abandoned) {
+        }
+    }
+}
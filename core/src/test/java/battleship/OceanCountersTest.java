@@ -0,0 +1,114 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the fleet counters kept by {@link Ocean}: the amounts of sunk, damaged and intact ships
+ * are right after every shot, also for ships whose bow lies below the main diagonal of the field,
+ * which the old scan of the upper triangle missed.
+ */
+class OceanCountersTest {
+
+    /**
+     * Fleet of one battleship, one destroyer and one submarine.
+     */
+    private static final GameConfig SMALL_FLEET = new GameConfig(10, 10, List.of(new GameConfig.FleetEntry(4, 1),
+            new GameConfig.FleetEntry(2, 1), new GameConfig.FleetEntry(1, 1)));
+
+    /**
+     * Test of a scripted game: a battleship with the bow below the diagonal, a destroyer above it
+     * and a submarine on it, with misses at diagonal neighbours of hit cells and a repeated hit.
+     */
+    @Test
+    void countersFollowEveryShot() {
+        var ocean = new Ocean(SMALL_FLEET);
+        Ship.ofLength(4).placeShipAt(5, 1, false, ocean);
+        Ship.ofLength(2).placeShipAt(1, 6, true, ocean);
+        Ship.ofLength(1).placeShipAt(3, 3, true, ocean);
+        assertCounters(ocean, 0, 0, 3);
+
+        ocean.shootAt(0, 0);
+        assertCounters(ocean, 0, 0, 3);
+        assertTrue(ocean.shootAt(6, 1), "Battleship below the diagonal");
+        assertCounters(ocean, 0, 1, 2);
+        assertFalse(ocean.shootAt(7, 2), "Diagonal neighbour of the hit cell");
+        assertFalse(ocean.shootAt(5, 0), "Diagonal neighbour of the hit cell");
+        assertCounters(ocean, 0, 1, 2);
+        assertTrue(ocean.shootAt(6, 1), "Repeated hit");
+        assertCounters(ocean, 0, 1, 2);
+        assertTrue(ocean.shootAt(1, 6));
+        assertCounters(ocean, 0, 2, 1);
+        assertTrue(ocean.shootAt(3, 3));
+        assertCounters(ocean, 1, 2, 0);
+        assertTrue(ocean.shootAt(1, 7));
+        assertCounters(ocean, 2, 1, 0);
+        assertTrue(ocean.shootAt(5, 1));
+        assertTrue(ocean.shootAt(8, 1));
+        assertCounters(ocean, 2, 1, 0);
+        assertFalse(ocean.isGameOver());
+        assertTrue(ocean.shootAt(7, 1));
+        assertCounters(ocean, 3, 0, 0);
+        assertTrue(ocean.isGameOver());
+        assertEquals(11, ocean.getShotsFired());
+        assertEquals(8, ocean.getHitCount());
+    }
+
+    /**
+     * Test of random games on fields of several shapes: after every shot the counters match a count
+     * over the whole fleet.
+     */
+    @Test
+    void countersMatchFleetInRandomGames() {
+        var random = new SplittableRandom(5);
+        var wide = new GameConfig(6, 15, GameConfig.STANDARD.getFleet());
+        var tall = new GameConfig(15, 6, GameConfig.STANDARD.getFleet());
+        for (var config : List.of(GameConfig.STANDARD, wide, tall)) {
+            for (var game = 0; game < 50; game++) {
+                var ocean = new Ocean(config);
+                ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+                while (!ocean.isGameOver()) {
+                    var cell = random.nextInt(config.getCells());
+                    ocean.shootAt(cell / config.getColumns(), cell % config.getColumns());
+                    var sunk = 0;
+                    var damaged = 0;
+                    for (var i = 0; i < ocean.getFleetSize(); i++) {
+                        var ship = ocean.getShip(i);
+                        if (ship.isSunk()) {
+                            sunk++;
+                        } else if (ship.getAmountOfAffectedParts() > 0) {
+                            damaged++;
+                        }
+                    }
+                    assertCounters(ocean, sunk, damaged, ocean.getFleetSize() - sunk - damaged);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method which asserts the fleet counters of the ocean and of its statistics.
+     *
+     * @param ocean   checked ocean
+     * @param sunk    expected amount of sunk ships
+     * @param damaged expected amount of ships which have been hit but not sunk
+     * @param intact  expected amount of ships which have not been hit
+     */
+    private static void assertCounters(Ocean ocean, int sunk, int damaged, int intact) {
+        var message = "After " + ocean.getShotsFired() + " shots";
+        assertEquals(sunk, ocean.getShipsSunk(), message);
+        assertEquals(damaged, ocean.getShipsShot(), message);
+        var stats = ocean.getStats();
+        assertEquals(sunk, stats.getShipsSunk(), message);
+        assertEquals(damaged, stats.getShipsDamaged(), message);
+        assertEquals(intact, stats.getShipsIntact(), message);
+        assertEquals(ocean.getShotsFired(), stats.getShotsFired(), message);
+        assertEquals(ocean.getHitCount(), stats.getHitCount(), message);
+    }
+}
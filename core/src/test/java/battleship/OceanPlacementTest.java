@@ -0,0 +1,151 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of placement from seeds: the same seed always gives the same fleet layout, on any thread.
+ */
+class OceanPlacementTest {
+
+    /**
+     * Amount of checked seeds.
+     */
+    private static final int SEEDS = 2000;
+
+    /**
+     * Amount of threads placing fleets at the same time.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * Test of seeds placed twice, on the standard field, on a field of other settings and on a field too large
+     * to precompute ship locations. The seed is recorded in the ocean.
+     */
+    @Test
+    void sameSeedGivesSameLayout() {
+        var random = new SplittableRandom(21);
+        var custom = new GameConfig(7, 13, List.of(new GameConfig.FleetEntry(5, 1),
+                new GameConfig.FleetEntry(2, 3)));
+        var huge = new GameConfig(GameConfig.MAX_SIDE, GameConfig.MAX_SIDE, GameConfig.STANDARD.getFleet());
+        for (var config : List.of(GameConfig.STANDARD, custom, huge)) {
+            var layouts = new HashSet<String>();
+            for (var i = 0; i < SEEDS; i++) {
+                var seed = random.nextLong();
+                var first = placed(config, seed);
+                assertEquals(seed, first.getSeed().orElseThrow());
+                var layout = layout(first);
+                assertEquals(layout, layout(placed(config, seed)), "Seed " + seed);
+                layouts.add(layout);
+            }
+            assertTrue(layouts.size() > SEEDS * 99 / 100, "Seeds gave only " + layouts.size() + " layouts");
+        }
+    }
+
+    /**
+     * Test of the seed drawn by the ocean itself, which reproduces its layout.
+     */
+    @Test
+    void drawnSeedReproducesLayout() {
+        for (var i = 0; i < 100; i++) {
+            var ocean = new Ocean();
+            ocean.placeAllShipsRandomly();
+            assertEquals(layout(ocean), layout(placed(GameConfig.STANDARD, ocean.getSeed().orElseThrow())));
+        }
+    }
+
+    /**
+     * Test of the same seeds placed by several threads at once, each in its own order.
+     *
+     * @throws Exception when a thread fails or the test thread is interrupted
+     */
+    @Test
+    void layoutsDoNotDependOnThreads() throws Exception {
+        var random = new SplittableRandom(22);
+        var seeds = new long[SEEDS];
+        var expected = new String[SEEDS];
+        for (var i = 0; i < SEEDS; i++) {
+            seeds[i] = random.nextLong();
+            expected[i] = layout(placed(GameConfig.STANDARD, seeds[i]));
+        }
+        var tasks = new ArrayList<Callable<String[]>>();
+        for (var t = 0; t < THREADS; t++) {
+            var order = shuffled(SEEDS, random.split());
+            tasks.add(() -> {
+                var layouts = new String[SEEDS];
+                for (var index : order) {
+                    layouts[index] = layout(placed(GameConfig.STANDARD, seeds[index]));
+                }
+                return layouts;
+            });
+        }
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                var layouts = future.get();
+                for (var i = 0; i < SEEDS; i++) {
+                    assertEquals(expected[i], layouts[i], "Seed " + seeds[i]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Method which creates an ocean with a fleet placed from the seed.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param seed   seed of placement
+     * @return ocean with all ships placed
+     */
+    private static Ocean placed(GameConfig config, long seed) {
+        var ocean = new Ocean(config);
+        ocean.placeAllShipsRandomly(seed);
+        return ocean;
+    }
+
+    /**
+     * Method which shuffles indices.
+     *
+     * @param size   amount of indices
+     * @param random generator of the order
+     * @return indices from 0 to size - 1 in random order
+     */
+    private static int[] shuffled(int size, SplittableRandom random) {
+        var order = new int[size];
+        for (var i = 0; i < size; i++) {
+            var j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Method which describes the ships of the ocean in placement order.
+     *
+     * @param ocean ocean with all ships placed
+     * @return length, bow and orientation of every ship
+     */
+    private static String layout(Ocean ocean) {
+        var sb = new StringBuilder();
+        for (var i = 0; i < ocean.getFleetSize(); i++) {
+            var ship = ocean.getShip(i);
+            sb.append(ship.getLength()).append('@').append(ship.getBowRow()).append(',')
+                    .append(ship.getBowColumn()).append(ship.isHorizontal() ? 'h' : 'v').append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,206 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link OceanSnapshotCodec}: snapshots of games in progress are restored exactly,
+ * a standard game takes about 40 bytes, and damaged snapshots are rejected with IllegalArgumentException.
+ */
+class OceanSnapshotCodecTest {
+
+    /**
+     * Largest size of a snapshot of a standard game, in bytes.
+     */
+    private static final int STANDARD_SIZE = 48;
+
+    /**
+     * Test of games in the middle, with repeated shots, on the standard field, on a field which differs
+     * from the expected settings and on a huge field where shots are saved as a list.
+     */
+    @Test
+    void midGameOceanIsRestored() {
+        var random = new SplittableRandom(12);
+        var custom = new GameConfig(7, 13, List.of(new GameConfig.FleetEntry(5, 1),
+                new GameConfig.FleetEntry(2, 3)));
+        var huge = new GameConfig(1000, 1000, GameConfig.STANDARD.getFleet());
+        for (var config : List.of(GameConfig.STANDARD, custom, huge)) {
+            for (var game = 0; game < 20; game++) {
+                var ocean = played(config, random, random.nextInt(Math.min(config.getCells(), 120)));
+                var restored = roundTrip(ocean);
+                assertSameGame(ocean, restored);
+            }
+        }
+    }
+
+    /**
+     * Test of the size of standard games: the calculated size is the written size, and it stays about 40 bytes
+     * from the first shot to the end of the game.
+     */
+    @Test
+    void standardSnapshotIsSmall() {
+        var random = new SplittableRandom(13);
+        for (var shots = 0; shots <= 100; shots += 10) {
+            var ocean = played(GameConfig.STANDARD, random, shots);
+            var buffer = ByteBuffer.allocate(1024);
+            OceanSnapshotCodec.encode(ocean, buffer);
+            assertEquals(OceanSnapshotCodec.encodedSize(ocean), buffer.position());
+            assertTrue(buffer.position() <= STANDARD_SIZE, "Snapshot after " + shots + " shots takes "
+                    + buffer.position() + " bytes");
+        }
+    }
+
+    /**
+     * Test of every truncation of a snapshot.
+     */
+    @Test
+    void truncatedSnapshotIsRejected() {
+        var snapshot = encode(played(GameConfig.STANDARD, new SplittableRandom(14), 30));
+        for (var length = 0; length < snapshot.length; length++) {
+            var truncated = ByteBuffer.wrap(snapshot, 0, length);
+            assertThrows(IllegalArgumentException.class, () -> OceanSnapshotCodec.decode(truncated),
+                    "Snapshot cut to " + length + " bytes");
+        }
+    }
+
+    /**
+     * Test of damaged parts of a snapshot, in order: the version, a negative shot cell, a ship outside
+     * of the field, shots and hits below the amount of shot and hit cells, more repeated hits than repeated shots
+     * and an unknown shot grid mode.
+     */
+    @Test
+    void corruptedSnapshotIsRejected() {
+        var config = new GameConfig(3, 3, List.of(new GameConfig.FleetEntry(2, 1)));
+        // Destroyer at cell 0 horizontally, 2 shots with 1 hit, shot list with cells 0 and 4.
+        var valid = new byte[]{1, 3, 3, 1, 2, 1, 2, 1, 1, 2, 0, 4};
+        assertEquals(2, OceanSnapshotCodec.decode(ByteBuffer.wrap(valid), config).getShotsFired());
+
+        assertRejected(config, 2, 3, 3, 1, 2, 1, 2, 1, 1, 2, 0, 4);
+        assertRejected(config, 1, 3, 3, 1, 2, 1, 2, 1, 1, 2, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 4);
+        assertRejected(config, 1, 3, 3, 1, 2, 5, 2, 1, 1, 2, 0, 4);
+        assertRejected(config, 1, 3, 3, 1, 2, 1, 1, 1, 1, 2, 0, 4);
+        assertRejected(config, 1, 3, 3, 1, 2, 1, 2, 0, 1, 2, 0, 4);
+        assertRejected(config, 1, 3, 3, 1, 2, 1, 2, 2, 1, 2, 0, 4);
+        assertRejected(config, 1, 3, 3, 1, 2, 1, 2, 1, 2, 2, 0, 4);
+    }
+
+    /**
+     * Test of random damage: a snapshot with flipped bits is either restored or rejected with
+     * IllegalArgumentException, never with another exception.
+     */
+    @Test
+    void randomDamageIsReportedAsIllegalArgument() {
+        var random = new SplittableRandom(15);
+        var snapshot = encode(played(GameConfig.STANDARD, random, 40));
+        for (var trial = 0; trial < 20_000; trial++) {
+            var damaged = snapshot.clone();
+            for (var flips = 1 + random.nextInt(3); flips > 0; flips--) {
+                damaged[random.nextInt(damaged.length)] ^= (byte) (1 << random.nextInt(Byte.SIZE));
+            }
+            try {
+                OceanSnapshotCodec.decode(ByteBuffer.wrap(damaged));
+            } catch (IllegalArgumentException ex) {
+                // Rejected as promised.
+            }
+        }
+    }
+
+    /**
+     * Method which places the fleet at random and fires random shots, some of them at the same cell.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param random generator of layouts and shots
+     * @param shots  amount of shots
+     * @return ocean of the game in progress
+     */
+    private static Ocean played(GameConfig config, SplittableRandom random, int shots) {
+        var ocean = new Ocean(config);
+        ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+        var cells = Math.min(config.getCells(), 200);
+        for (var i = 0; i < shots && !ocean.isGameOver(); i++) {
+            var cell = random.nextInt(cells);
+            ocean.shootAt(cell / config.getColumns(), cell % config.getColumns());
+        }
+        return ocean;
+    }
+
+    /**
+     * Method which writes the snapshot of the ocean.
+     *
+     * @param ocean ocean to save
+     * @return bytes of the snapshot
+     */
+    private static byte[] encode(Ocean ocean) {
+        var snapshot = new byte[OceanSnapshotCodec.encodedSize(ocean)];
+        OceanSnapshotCodec.encode(ocean, ByteBuffer.wrap(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Method which saves the ocean and restores it with the standard settings expected.
+     *
+     * @param ocean ocean to save
+     * @return restored ocean
+     */
+    private static Ocean roundTrip(Ocean ocean) {
+        var buffer = ByteBuffer.wrap(encode(ocean));
+        var restored = OceanSnapshotCodec.decode(buffer);
+        assertEquals(0, buffer.remaining());
+        return restored;
+    }
+
+    /**
+     * Method which asserts that the restored ocean has the same settings, fleet, shots and counters.
+     *
+     * @param expected saved ocean
+     * @param actual   restored ocean
+     */
+    private static void assertSameGame(Ocean expected, Ocean actual) {
+        var config = expected.getConfig();
+        assertEquals(config.getRows(), actual.getConfig().getRows());
+        assertEquals(config.getColumns(), actual.getConfig().getColumns());
+        assertEquals(config.getFleet().size(), actual.getConfig().getFleet().size());
+        for (var i = 0; i < config.getFleet().size(); i++) {
+            assertEquals(config.getFleet().get(i).getLength(), actual.getConfig().getFleet().get(i).getLength());
+            assertEquals(config.getFleet().get(i).getCount(), actual.getConfig().getFleet().get(i).getCount());
+        }
+        assertEquals(expected.getFleetSize(), actual.getFleetSize());
+        for (var i = 0; i < expected.getFleetSize(); i++) {
+            var want = expected.getShip(i);
+            var got = actual.getShip(i);
+            assertEquals(want.getLength(), got.getLength());
+            assertEquals(want.getBowRow(), got.getBowRow());
+            assertEquals(want.getBowColumn(), got.getBowColumn());
+            assertEquals(want.isHorizontal(), got.isHorizontal());
+            assertEquals(want.isSunk(), got.isSunk());
+        }
+        assertEquals(expected.getShots().cardinality(), actual.getShots().cardinality());
+        expected.getShots().forEach(cell -> assertTrue(actual.getShots().contains(cell)));
+        assertEquals(expected.getShotsFired(), actual.getShotsFired());
+        assertEquals(expected.getHitCount(), actual.getHitCount());
+        assertEquals(expected.getShipsSunk(), actual.getShipsSunk());
+        assertEquals(expected.getCanonicalHash(), actual.getCanonicalHash());
+    }
+
+    /**
+     * Method which asserts that the damaged snapshot is rejected.
+     *
+     * @param config expected settings
+     * @param bytes  bytes of the snapshot
+     */
+    private static void assertRejected(GameConfig config, int... bytes) {
+        var snapshot = new byte[bytes.length];
+        for (var i = 0; i < bytes.length; i++) {
+            snapshot[i] = (byte) bytes[i];
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> OceanSnapshotCodec.decode(ByteBuffer.wrap(snapshot), config));
+    }
+}
@@ -0,0 +1,221 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link OceanState}. Every version is compared with a twin {@link Ocean} which fires the shots
+ * of its history, and versions met earlier are checked again after their descendants have been created.
+ */
+class OceanStateTest {
+
+    /**
+     * Test of random undo, redo and new branches, the way the battlefield moves between versions.
+     */
+    @Test
+    void versionsMatchReplayedOcean() {
+        var random = new SplittableRandom(25);
+        for (var game = 0; game < 10; game++) {
+            var seed = random.nextLong();
+            var state = OceanState.of(placed(seed));
+            var redo = new ArrayDeque<OceanState>();
+            var visited = new ArrayList<OceanState>();
+            var snapshots = new ArrayList<String>();
+            for (var move = 0; move < 150; move++) {
+                var action = random.nextInt(10);
+                if (action < 2 && state.getParent() != null) {
+                    redo.push(state);
+                    state = state.getParent();
+                } else if (action < 4 && !redo.isEmpty()) {
+                    state = redo.pop();
+                } else {
+                    redo.clear();
+                    var parent = state;
+                    state = state.fire(random.nextInt(state.getConfig().getCells()));
+                    assertSame(parent, state.getParent());
+                    assertEquals(parent.getDepth() + 1, state.getDepth());
+                }
+                assertMatches(seed, state);
+                visited.add(state);
+                snapshots.add(snapshot(state));
+            }
+            for (var i = 0; i < visited.size(); i++) {
+                assertEquals(snapshots.get(i), snapshot(visited.get(i)), "Version " + i + " of game " + game);
+            }
+        }
+    }
+
+    /**
+     * Test of games played to the end, including shots at cells which have already been shot at.
+     */
+    @Test
+    void finishedGamesMatchOcean() {
+        var random = new SplittableRandom(26);
+        var config = new GameConfig(6, 7, List.of(new GameConfig.FleetEntry(3, 1),
+                new GameConfig.FleetEntry(2, 2), new GameConfig.FleetEntry(1, 2)));
+        for (var game = 0; game < 20; game++) {
+            var ocean = new Ocean(config);
+            ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+            var state = OceanState.of(ocean);
+            while (!state.isGameOver()) {
+                var cell = random.nextInt(config.getCells());
+                var result = ocean.fireAt(cell / config.getColumns(), cell % config.getColumns());
+                state = state.fire(cell);
+                assertEquals(result, state.getLastResult());
+                assertEquals(cell, state.getLastCell());
+                assertCounters(ocean, state);
+            }
+            assertTrue(ocean.isGameOver());
+        }
+    }
+
+    /**
+     * Test of the first version: it copies shots fired before, and later shots at the ocean do not change it.
+     */
+    @Test
+    void firstVersionIsDetachedFromOcean() {
+        var ocean = placed(27);
+        var columns = ocean.getConfig().getColumns();
+        for (var cell = 0; cell < 30; cell += 3) {
+            ocean.fireAt(cell / columns, cell % columns);
+        }
+        var state = OceanState.of(ocean);
+        assertNull(state.getParent());
+        assertEquals(0, state.getDepth());
+        assertEquals(-1, state.getLastCell());
+        assertNull(state.getLastResult());
+        assertCounters(ocean, state);
+        var before = snapshot(state);
+        for (var cell = 30; cell < 60; cell++) {
+            ocean.fireAt(cell / columns, cell % columns);
+        }
+        assertEquals(before, snapshot(state));
+    }
+
+    /**
+     * Test of branches one move ahead: one child for every cell not shot at, in ascending order.
+     */
+    @Test
+    void branchesCoverUnshotCells() {
+        var random = new SplittableRandom(28);
+        var state = OceanState.of(placed(28));
+        for (var i = 0; i < 40; i++) {
+            state = state.fire(random.nextInt(state.getConfig().getCells()));
+        }
+        var before = snapshot(state);
+        var branches = state.getBranches();
+        assertEquals(state.getConfig().getCells() - shotCells(state), branches.size());
+        var previous = -1;
+        for (var branch : branches) {
+            assertSame(state, branch.getParent());
+            assertTrue(branch.getLastCell() > previous);
+            previous = branch.getLastCell();
+            var row = previous / state.getConfig().getColumns();
+            var column = previous % state.getConfig().getColumns();
+            assertTrue(!state.isShot(row, column) && branch.isShot(row, column));
+        }
+        assertEquals(before, snapshot(state));
+    }
+
+    /**
+     * Method which creates an ocean of the standard game with a fleet placed by the given seed.
+     *
+     * @param seed seed of placement
+     * @return ocean with all ships placed
+     */
+    private static Ocean placed(long seed) {
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(new SplittableRandom(seed), PlacementMethod.CONSTRAINT_AWARE);
+        return ocean;
+    }
+
+    /**
+     * Method which asserts that the version matches an ocean firing the shots of its history.
+     *
+     * @param seed  seed of placement of the fleet
+     * @param state version to check
+     */
+    private static void assertMatches(long seed, OceanState state) {
+        var ocean = placed(seed);
+        var columns = ocean.getConfig().getColumns();
+        var history = state.getHistory();
+        assertEquals(state.getDepth() + 1, history.size());
+        assertSame(state, history.get(history.size() - 1));
+        for (var version : history.subList(1, history.size())) {
+            var cell = version.getLastCell();
+            assertEquals(ocean.fireAt(cell / columns, cell % columns), version.getLastResult());
+        }
+        assertCounters(ocean, state);
+    }
+
+    /**
+     * Method which asserts that counters, shots and sunk ships of the version equal those of the ocean.
+     *
+     * @param ocean ocean in the same state
+     * @param state version to check
+     */
+    private static void assertCounters(Ocean ocean, OceanState state) {
+        assertEquals(ocean.getShotsFired(), state.getShotsFired());
+        assertEquals(ocean.getHitCount(), state.getHitCount());
+        assertEquals(ocean.getShipsSunk(), state.getShipsSunk());
+        assertEquals(ocean.getStats().getShipsDamaged(), state.getStats().getShipsDamaged());
+        assertEquals(ocean.getStats().getShipsIntact(), state.getStats().getShipsIntact());
+        assertEquals(ocean.isGameOver(), state.isGameOver());
+        var config = ocean.getConfig();
+        for (var row = 0; row < config.getRows(); row++) {
+            for (var column = 0; column < config.getColumns(); column++) {
+                assertEquals(ocean.isShot(row, column), state.isShot(row, column));
+                assertEquals(ocean.isOccupied(row, column), state.getShipAt(row, column) != null);
+                assertEquals(ocean.isOccupied(row, column) && ocean.getShipAt(row, column).isSunk(),
+                        state.isSunkAt(row, column));
+            }
+        }
+    }
+
+    /**
+     * Method to count cells which have been shot at.
+     *
+     * @param state version of the game
+     * @return amount of shot cells
+     */
+    private static int shotCells(OceanState state) {
+        var shot = 0;
+        var config = state.getConfig();
+        for (var cell = 0; cell < config.getCells(); cell++) {
+            if (state.isShot(cell / config.getColumns(), cell % config.getColumns())) {
+                shot++;
+            }
+        }
+        return shot;
+    }
+
+    /**
+     * Method which describes everything a version reports, so a later change of the version is noticed.
+     *
+     * @param state version of the game
+     * @return counters, last shot and marks of every cell
+     */
+    private static String snapshot(OceanState state) {
+        var sb = new StringBuilder();
+        sb.append(state.getShotsFired()).append(' ').append(state.getHitCount()).append(' ')
+                .append(state.getShipsSunk()).append(' ').append(state.getStats().getShipsDamaged()).append(' ')
+                .append(state.getDepth()).append(' ').append(state.getLastCell()).append(' ')
+                .append(state.getLastResult()).append(' ');
+        var config = state.getConfig();
+        for (var row = 0; row < config.getRows(); row++) {
+            for (var column = 0; column < config.getColumns(); column++) {
+                sb.append(state.isSunkAt(row, column) ? 'x' : state.isShot(row, column) ? '*' : '.');
+            }
+        }
+        return sb.toString();
+    }
+}
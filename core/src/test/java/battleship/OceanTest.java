@@ -0,0 +1,293 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link Ocean}. Every batch of shots is checked against a twin ocean with the same fleet
+ * which fires the same cells one at a time in ascending order.
+ */
+class OceanTest {
+
+    /**
+     * Amount of random games played by batch and by single shots.
+     */
+    private static final int GAMES = 300;
+
+    /**
+     * Directory for journals of the test.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test of random batches, including cells shot at by earlier batches, on the standard field.
+     */
+    @Test
+    void batchMatchesSingleShots() {
+        var random = new SplittableRandom(16);
+        for (var game = 0; game < GAMES; game++) {
+            var seed = random.nextLong();
+            var batched = placed(GameConfig.STANDARD, seed);
+            var single = placed(GameConfig.STANDARD, seed);
+            var result = new BatchResult();
+            while (!single.isGameOver()) {
+                var targets = randomTargets(GameConfig.STANDARD, random, random.nextDouble(0.02, 0.3));
+                batched.shootBatch(targets, result);
+                assertBatch(targets, result, single);
+                assertSameOcean(single, batched);
+            }
+        }
+    }
+
+    /**
+     * Test of the same batch fired twice, so the second one only hits cells which have already been shot at.
+     */
+    @Test
+    void repeatedBatchMatchesSingleShots() {
+        var batched = placed(GameConfig.STANDARD, 7);
+        var single = placed(GameConfig.STANDARD, 7);
+        var targets = randomTargets(GameConfig.STANDARD, new SplittableRandom(7), 0.5);
+        var result = new BatchResult();
+        for (var i = 0; i < 2; i++) {
+            batched.shootBatch(targets, result);
+            assertBatch(targets, result, single);
+            assertSameOcean(single, batched);
+        }
+        assertEquals(0, result.getSunkCount(), "Ships cannot be sunk again");
+    }
+
+    /**
+     * Test of a field whose cells fill the last word of the bitset, so there are no bits outside of the field.
+     */
+    @Test
+    void fullWordFieldMatchesSingleShots() {
+        var config = new GameConfig(8, 8, GameConfig.STANDARD.getFleet());
+        var batched = placed(config, 11);
+        var single = placed(config, 11);
+        var targets = new long[]{-1L};
+        var result = new BatchResult();
+        batched.shootBatch(targets, result);
+        assertBatch(targets, result, single);
+        assertSameOcean(single, batched);
+        assertEquals(config.getShipsAmount(), result.getSunkCount());
+    }
+
+    /**
+     * Test of targets outside of the playing field, which are rejected before any shot is fired.
+     */
+    @Test
+    void targetsOutsideOfFieldAreRejected() {
+        var ocean = placed(GameConfig.STANDARD, 3);
+        var hash = ocean.getCanonicalHash();
+        var result = new BatchResult();
+        assertThrows(IllegalArgumentException.class, () -> ocean.shootBatch(new long[]{1, 0, 0}, result));
+        assertThrows(IllegalArgumentException.class, () -> ocean.shootBatch(new long[]{1}, result));
+        assertThrows(IllegalArgumentException.class,
+                () -> ocean.shootBatch(new long[]{1, 1L << GameConfig.STANDARD.getCells() % Long.SIZE}, result));
+        assertEquals(0, ocean.getShotsFired());
+        assertEquals(0, ocean.getShots().cardinality());
+        assertEquals(hash, ocean.getCanonicalHash());
+    }
+
+    /**
+     * Test of the journal path: a batch records the same events as single shots.
+     *
+     * @throws IOException when it is impossible to write or read a journal
+     */
+    @Test
+    void batchRecordsSameJournal() throws IOException {
+        var random = new SplittableRandom(25);
+        var batchedDirectory = directory.resolve("batched");
+        var singleDirectory = directory.resolve("single");
+        try (var batchedJournal = new MoveJournal(batchedDirectory, 1 << 16, 16);
+             var singleJournal = new MoveJournal(singleDirectory, 1 << 16, 16)) {
+            for (var game = 0; game < 20; game++) {
+                var seed = random.nextLong();
+                var batched = placed(GameConfig.STANDARD, seed);
+                var single = placed(GameConfig.STANDARD, seed);
+                batched.setJournal(batchedJournal);
+                single.setJournal(singleJournal);
+                var result = new BatchResult();
+                while (!single.isGameOver()) {
+                    var targets = randomTargets(GameConfig.STANDARD, random, 0.2);
+                    batched.shootBatch(targets, result);
+                    assertBatch(targets, result, single);
+                    assertSameOcean(single, batched);
+                }
+            }
+        }
+        var batchedEvents = events(batchedDirectory);
+        assertEquals(events(singleDirectory), batchedEvents);
+        assertEquals(20, batchedEvents.stream().filter(event -> event.startsWith("start")).count());
+    }
+
+    /**
+     * Method which creates an ocean with a fleet placed by the given seed.
+     *
+     * @param config size of the playing field and composition of the fleet
+     * @param seed   seed of placement
+     * @return ocean with all ships placed
+     */
+    private static Ocean placed(GameConfig config, long seed) {
+        var ocean = new Ocean(config);
+        ocean.placeAllShipsRandomly(new SplittableRandom(seed), PlacementMethod.CONSTRAINT_AWARE);
+        return ocean;
+    }
+
+    /**
+     * Method which picks every cell of the field with the given probability.
+     *
+     * @param config  size of the playing field
+     * @param random  generator of pseudo random numbers
+     * @param density probability of picking a cell
+     * @return bitset of target cells
+     */
+    private static long[] randomTargets(GameConfig config, SplittableRandom random, double density) {
+        var targets = new long[CellSet.getWordCount(config.getCells())];
+        for (var cell = 0; cell < config.getCells(); cell++) {
+            if (random.nextDouble() < density) {
+                targets[cell >>> 6] |= 1L << cell;
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Method which fires the targets of the batch one at a time and asserts that the batch had the same outcome.
+     *
+     * @param targets bitset of target cells
+     * @param result  result of the batch
+     * @param single  ocean firing single shots
+     */
+    private static void assertBatch(long[] targets, BatchResult result, Ocean single) {
+        var columns = single.getConfig().getColumns();
+        var hits = new long[targets.length];
+        var misses = new long[targets.length];
+        var sunk = new ArrayList<Ship>();
+        var shots = 0;
+        for (var w = 0; w < targets.length; w++) {
+            for (var bits = targets[w]; bits != 0; bits &= bits - 1) {
+                var cell = w * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                var shot = single.fireAt(cell / columns, cell % columns);
+                if (shot == ShotResult.MISS) {
+                    misses[w] |= 1L << cell;
+                } else {
+                    hits[w] |= 1L << cell;
+                }
+                if (shot == ShotResult.SUNK) {
+                    sunk.add(single.getShipAt(cell / columns, cell % columns));
+                }
+                shots++;
+            }
+        }
+        assertEquals(shots, result.getShots());
+        for (var w = 0; w < targets.length; w++) {
+            assertEquals(hits[w], result.getHits(w), "Hits of word " + w);
+            assertEquals(misses[w], result.getMisses(w), "Misses of word " + w);
+        }
+        assertEquals(sunk.size(), result.getSunkCount());
+        for (var i = 0; i < sunk.size(); i++) {
+            assertEquals(describe(sunk.get(i)), describe(result.getSunk(i)));
+        }
+    }
+
+    /**
+     * Method which asserts that both oceans have the same counters, shots, ships and hash.
+     *
+     * @param expected ocean firing single shots
+     * @param actual   ocean firing batches
+     */
+    private static void assertSameOcean(Ocean expected, Ocean actual) {
+        assertEquals(expected.getShotsFired(), actual.getShotsFired());
+        assertEquals(expected.getHitCount(), actual.getHitCount());
+        assertEquals(expected.getShipsSunk(), actual.getShipsSunk());
+        assertEquals(expected.getShipsShot(), actual.getShipsShot());
+        assertEquals(expected.getStats().getShipsDamaged(), actual.getStats().getShipsDamaged());
+        assertEquals(expected.getStats().getShipsIntact(), actual.getStats().getShipsIntact());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertArrayEquals(words(expected.getShots()), words(actual.getShots()));
+        for (var i = 0; i < expected.getFleetSize(); i++) {
+            assertEquals(describe(expected.getShip(i)), describe(actual.getShip(i)));
+        }
+        assertEquals(expected.getCanonicalHash(), actual.getCanonicalHash());
+    }
+
+    /**
+     * Method to describe the location and damage of the ship.
+     *
+     * @param ship ship to describe
+     * @return location, length and amount of hit parts
+     */
+    private static String describe(Ship ship) {
+        return ship.getBowRow() + "," + ship.getBowColumn() + (ship.isHorizontal() ? ",h," : ",v,")
+                + ship.getLength() + "," + ship.getAmountOfAffectedParts();
+    }
+
+    /**
+     * Method to copy words of the set.
+     *
+     * @param set set of cells
+     * @return words of the set
+     */
+    private static long[] words(CellSet set) {
+        var words = new long[set.getWordCount()];
+        for (var i = 0; i < words.length; i++) {
+            words[i] = set.getWord(i);
+        }
+        return words;
+    }
+
+    /**
+     * Method which reads all events of the journal as text.
+     *
+     * @param journal directory of the journal
+     * @return events in order of writing
+     * @throws IOException when it is impossible to read the journal
+     */
+    private static List<String> events(Path journal) throws IOException {
+        var events = new ArrayList<String>();
+        new MoveJournalReader(journal).replay(new MoveJournalReader.Listener() {
+            @Override
+            public void gameStarted(GameConfig config) {
+                events.add("start " + config.getRows() + "x" + config.getColumns());
+            }
+
+            @Override
+            public void shipPlaced(int bowCell, int length, boolean horizontal) {
+                events.add("place " + bowCell + " " + length + " " + horizontal);
+            }
+
+            @Override
+            public void shotFired(int cell, ShotResult result) {
+                events.add("shot " + cell + " " + result);
+            }
+
+            @Override
+            public void shotUndone(int cell) {
+                events.add("undo " + cell);
+            }
+
+            @Override
+            public void shotRedone(int cell) {
+                events.add("redo " + cell);
+            }
+
+            @Override
+            public void branchStarted(int abandoned) {
+                events.add("branch " + abandoned);
+            }
+        });
+        return events;
+    }
+}
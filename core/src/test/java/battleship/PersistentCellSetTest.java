@@ -0,0 +1,99 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests of {@link PersistentCellSet} against {@link CellSet}, on fields where the trie is a single leaf,
+ * one level and two levels of inner nodes.
+ */
+class PersistentCellSetTest {
+
+    /**
+     * Amounts of cells: one word, the standard field, the largest single leaf, then one and two inner levels.
+     */
+    private static final int[] SIZES = {1, 64, 100, 512, 513, 900, 10_000};
+
+    /**
+     * Test of random additions: every version has the cells added before it, and older versions stay unchanged.
+     */
+    @Test
+    void versionsMatchMutableSets() {
+        var random = new SplittableRandom(25);
+        for (var cells : SIZES) {
+            var versions = new ArrayList<PersistentCellSet>();
+            var expected = new ArrayList<CellSet>();
+            var set = PersistentCellSet.empty(cells);
+            var mutable = new CellSet(cells);
+            for (var i = 0; i < 2 * cells && i < 3000; i++) {
+                var cell = random.nextInt(cells);
+                var next = set.with(cell);
+                if (mutable.contains(cell)) {
+                    assertSame(set, next, "Set changed by a cell already in it");
+                }
+                mutable.add(cell);
+                set = next;
+                versions.add(set);
+                expected.add(copy(mutable));
+            }
+            for (var i = 0; i < versions.size(); i++) {
+                assertSameCells(expected.get(i), versions.get(i), cells + " cells, version " + i);
+            }
+        }
+    }
+
+    /**
+     * Test of sets copied from mutable sets, which keep the copied cells and accept new ones.
+     */
+    @Test
+    void copiesMatchMutableSets() {
+        var random = new SplittableRandom(26);
+        for (var cells : SIZES) {
+            var mutable = new CellSet(cells);
+            for (var i = 0; i < cells / 3 + 1; i++) {
+                mutable.add(random.nextInt(cells));
+            }
+            var persistent = PersistentCellSet.of(mutable);
+            var before = copy(mutable);
+            assertSameCells(mutable, persistent, cells + " cells");
+            var cell = random.nextInt(cells);
+            var added = persistent.with(cell);
+            mutable.add(cell);
+            assertSameCells(mutable, added, cells + " cells after an addition");
+            assertSameCells(before, persistent, cells + " cells of the copy");
+            assertEquals(0, PersistentCellSet.of(new CellSet(cells)).size());
+        }
+    }
+
+    /**
+     * Method to copy the mutable set.
+     *
+     * @param set cells to copy
+     * @return new set of the same cells
+     */
+    private static CellSet copy(CellSet set) {
+        var copy = new CellSet(set.getCells());
+        set.forEach(copy::add);
+        return copy;
+    }
+
+    /**
+     * Method which asserts that the persistent set holds exactly the cells of the mutable set.
+     *
+     * @param expected mutable set of the same cells
+     * @param actual   persistent set to check
+     * @param message  description of the set
+     */
+    private static void assertSameCells(CellSet expected, PersistentCellSet actual, String message) {
+        assertEquals(expected.getCells(), actual.getCells(), message);
+        assertEquals(expected.cardinality(), actual.size(), message);
+        for (var cell = 0; cell < expected.getCells(); cell++) {
+            assertEquals(expected.contains(cell), actual.contains(cell), message + ", cell " + cell);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link PosteriorSampler}. On a field small enough to enumerate every layout consistent with
+ * the observations, the heatmap of the chains must match the exact per-cell probabilities.
+ */
+class PosteriorSamplerTest {
+
+    /**
+     * Field with a fleet of four ships, so one is sunk and three are afloat.
+     */
+    private static final GameConfig SMALL = new GameConfig(6, 6, List.of(new GameConfig.FleetEntry(3, 1),
+            new GameConfig.FleetEntry(2, 2), new GameConfig.FleetEntry(1, 1)));
+
+    /**
+     * Largest allowed difference between sampled and exact probabilities.
+     */
+    private static final double TOLERANCE = 0.02;
+
+    /**
+     * Test of the heatmap against probabilities of all consistent layouts of the ships afloat.
+     *
+     * @throws InterruptedException when the test is interrupted
+     */
+    @Test
+    void heatmapMatchesEnumeration() throws InterruptedException {
+        var observed = new byte[SMALL.getCells()];
+        observed[0] = PosteriorSampler.SUNK;
+        observed[1] = PosteriorSampler.SUNK;
+        observed[3 * 6 + 3] = PosteriorSampler.MISS;
+        observed[4 * 6 + 1] = PosteriorSampler.HIT;
+        observed[2 * 6 + 5] = PosteriorSampler.MISS;
+        var board = new PosteriorSampler.Board(SMALL, observed);
+        assertArrayEquals(new int[]{3, 2, 1}, board.getAfloat());
+        assertArrayEquals(new int[]{4 * 6 + 1}, board.getOpenHits());
+
+        var exact = new long[SMALL.getCells()];
+        var occupied = new CellSet(SMALL.getCells());
+        board.getSunkCells().forEach(occupied::add);
+        var layouts = enumerate(board, observed, 0, occupied, exact);
+        assertTrue(layouts > 0);
+
+        try (var sampler = new PosteriorSampler(SMALL, 2, 14)) {
+            var heatmap = sampler.sample(observed, TimeUnit.MILLISECONDS.toNanos(1500));
+            assertTrue(heatmap.getSamples() > 10_000, "Only " + heatmap.getSamples() + " samples");
+            for (var cell = 0; cell < exact.length; cell++) {
+                var probability = (double) exact[cell] / layouts;
+                if (probability == 0 || probability == 1) {
+                    assertEquals(probability, heatmap.getProbability(cell), "Cell " + cell);
+                } else {
+                    assertEquals(probability, heatmap.getProbability(cell), TOLERANCE, "Cell " + cell);
+                }
+            }
+            var best = heatmap.getBestCell();
+            assertEquals(PosteriorSampler.UNKNOWN, observed[best]);
+            for (var cell = 0; cell < exact.length; cell++) {
+                if (observed[cell] == PosteriorSampler.UNKNOWN) {
+                    assertTrue(exact[best] * (1 + TOLERANCE * 4) >= exact[cell], "Cell " + best + " is not the best");
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of observations of an ocean and of its immutable version, which must be the same.
+     */
+    @Test
+    void oceanAndStateObserveTheSame() {
+        var random = new SplittableRandom(8);
+        var ocean = new Ocean();
+        ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+        var state = OceanState.of(ocean);
+        var columns = ocean.getConfig().getColumns();
+        for (var shot = 0; shot < 60; shot++) {
+            var cell = random.nextInt(ocean.getConfig().getCells());
+            ocean.shootAt(cell / columns, cell % columns);
+            state = state.fire(cell);
+            assertArrayEquals(PosteriorSampler.observe(ocean), PosteriorSampler.observe(state));
+        }
+        var observed = PosteriorSampler.observe(ocean);
+        var board = new PosteriorSampler.Board(ocean.getConfig(), observed);
+        assertEquals(ocean.getFleetSize() - ocean.getShipsSunk(), board.getAfloat().length);
+    }
+
+    /**
+     * Test of observations which contradict the fleet.
+     */
+    @Test
+    void contradictionsAreRejected() {
+        var observed = new byte[SMALL.getCells()];
+        for (var column = 0; column < 4; column++) {
+            observed[column] = PosteriorSampler.SUNK;
+        }
+        assertThrows(IllegalArgumentException.class, () -> new PosteriorSampler.Board(SMALL, observed));
+        assertThrows(IllegalArgumentException.class, () -> new PosteriorSampler.Board(SMALL, new byte[5]));
+        assertThrows(IllegalArgumentException.class, () -> new PosteriorSampler(SMALL, 0, 1));
+    }
+
+    /**
+     * Method which places every ship afloat, in order, at every consistent location and counts the layouts
+     * covering all open hits, together with the cells covered by their ships.
+     *
+     * @param board    constraints derived from observations
+     * @param observed observation of every cell
+     * @param ship     index of the ship to place
+     * @param occupied cells of sunk ships and placed ships
+     * @param covering amount of counted layouts covering every cell
+     * @return amount of counted layouts
+     */
+    private static long enumerate(PosteriorSampler.Board board, byte[] observed, int ship, CellSet occupied,
+                                  long[] covering) {
+        var columns = SMALL.getColumns();
+        if (ship == board.getAfloat().length) {
+            for (var hit : board.getOpenHits()) {
+                if (!occupied.contains(hit)) {
+                    return 0;
+                }
+            }
+            occupied.forEach(cell -> {
+                if (!board.getSunkCells().contains(cell)) {
+                    covering[cell]++;
+                }
+            });
+            return 1;
+        }
+        var length = board.getAfloat()[ship];
+        long layouts = 0;
+        for (var bow = 0; bow < SMALL.getCells(); bow++) {
+            for (var horizontal : length == 1 ? new boolean[]{true} : new boolean[]{true, false}) {
+                if (!consistent(observed, occupied, length, bow, horizontal)) {
+                    continue;
+                }
+                var step = horizontal ? 1 : columns;
+                for (var i = 0; i < length; i++) {
+                    occupied.add(bow + i * step);
+                }
+                layouts += enumerate(board, observed, ship + 1, occupied, covering);
+                for (var i = 0; i < length; i++) {
+                    occupied.remove(bow + i * step);
+                }
+            }
+        }
+        return layouts;
+    }
+
+    /**
+     * Method to check whether a ship afloat may lie at the location: it follows the placement rules,
+     * covers no miss and no sunk cell, has a cell which has not been hit and touches no hit it does not cover.
+     *
+     * @param observed   observation of every cell
+     * @param occupied   cells of sunk ships and placed ships
+     * @param length     length of the ship
+     * @param bow        index of the bow cell
+     * @param horizontal true if the ship is horizontal, otherwise - false
+     * @return true if the location is consistent, otherwise - false
+     */
+    private static boolean consistent(byte[] observed, CellSet occupied, int length, int bow, boolean horizontal) {
+        var columns = SMALL.getColumns();
+        var row = bow / columns;
+        var column = bow % columns;
+        if (!Ship.okToPlaceShipAt(row, column, length, horizontal, SMALL, occupied)) {
+            return false;
+        }
+        var cells = new CellSet(SMALL.getCells());
+        var unshot = false;
+        for (var i = 0; i < length; i++) {
+            var cell = horizontal ? bow + i : bow + i * columns;
+            cells.add(cell);
+            unshot |= observed[cell] == PosteriorSampler.UNKNOWN;
+            if (observed[cell] == PosteriorSampler.MISS || observed[cell] == PosteriorSampler.SUNK) {
+                return false;
+            }
+        }
+        if (!unshot) {
+            return false;
+        }
+        for (var cell = 0; cell < SMALL.getCells(); cell++) {
+            if (observed[cell] == PosteriorSampler.HIT && !cells.contains(cell) && touches(cells, cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method to check whether the cell is next to a cell of the set, including diagonals.
+     *
+     * @param cells set of cells
+     * @param cell  index of the cell
+     * @return true if the cell touches the set, otherwise - false
+     */
+    private static boolean touches(CellSet cells, int cell) {
+        var columns = SMALL.getColumns();
+        for (var row = cell / columns - 1; row <= cell / columns + 1; row++) {
+            for (var column = cell % columns - 1; column <= cell % columns + 1; column++) {
+                if (SMALL.isInside(row, column) && cells.contains(row * columns + column)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,136 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests of {@link ResultCache}: capacity, lookups, eviction of colliding hashes and concurrent use.
+ */
+class ResultCacheTest {
+
+    /**
+     * Test of capacities, which are rounded up to a power of two and limited.
+     */
+    @Test
+    void capacityIsPowerOfTwo() {
+        assertEquals(1, new ResultCache<Integer>(1).getCapacity());
+        assertEquals(4, new ResultCache<Integer>(3).getCapacity());
+        assertEquals(1024, new ResultCache<Integer>(1000).getCapacity());
+        assertEquals(1024, new ResultCache<Integer>(1024).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache<Integer>(0));
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache<Integer>((1 << 30) + 1));
+    }
+
+    /**
+     * Test of lookups and their statistics.
+     */
+    @Test
+    void lookupsAreCounted() {
+        var cache = new ResultCache<String>(16);
+        assertNull(cache.get(5));
+        cache.put(5, "five");
+        assertEquals("five", cache.get(5));
+        assertEquals("five", cache.get(5));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-12);
+        cache.clear();
+        assertNull(cache.get(5));
+        assertEquals(2, cache.getHits(), "Statistics are kept by clear");
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * Test of hashes sharing a slot: the later result evicts the earlier one, storing the same hash does not.
+     */
+    @Test
+    void collidingHashEvicts() {
+        var cache = new ResultCache<String>(16);
+        cache.put(3, "three");
+        cache.put(3, "three again");
+        assertEquals(0, cache.getEvictions());
+        cache.put(3 + 16, "nineteen");
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(3), "Evicted hash must not return the result of the other hash");
+        assertEquals("nineteen", cache.get(3 + 16));
+        cache.put(7, "seven");
+        assertEquals(1, cache.getEvictions());
+        assertEquals("nineteen", cache.get(3 + 16));
+    }
+
+    /**
+     * Test of hashes differing only in high bits, which must not be confused.
+     */
+    @Test
+    void highBitsAreCompared() {
+        var cache = new ResultCache<String>(1);
+        cache.put(1L << 40, "high");
+        assertNull(cache.get(0));
+        assertEquals("high", cache.get(1L << 40));
+    }
+
+    /**
+     * Test of {@link ResultCache#computeIfAbsent(long, java.util.function.LongFunction)},
+     * which evaluates only missing results.
+     */
+    @Test
+    void computeIfAbsentEvaluatesOnce() {
+        var cache = new ResultCache<Long>(64);
+        var evaluations = new AtomicInteger();
+        for (var round = 0; round < 3; round++) {
+            for (long hash = 0; hash < 32; hash++) {
+                assertEquals(hash * hash, cache.computeIfAbsent(hash, h -> {
+                    evaluations.incrementAndGet();
+                    return h * h;
+                }));
+            }
+        }
+        assertEquals(32, evaluations.get());
+        assertEquals(64, cache.getHits());
+    }
+
+    /**
+     * Test of threads sharing a small cache: every lookup returns the result of its own hash.
+     *
+     * @throws Exception when a thread fails
+     */
+    @Test
+    void concurrentLookupsReturnOwnResults() throws Exception {
+        var cache = new ResultCache<Long>(256);
+        var threads = 4;
+        var lookups = 200_000;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var tasks = new ArrayList<Callable<Integer>>();
+            for (var thread = 0; thread < threads; thread++) {
+                var seed = thread;
+                tasks.add(() -> {
+                    var random = new SplittableRandom(seed);
+                    var wrong = 0;
+                    for (var i = 0; i < lookups; i++) {
+                        var hash = random.nextLong(4096) * 0x9E3779B97F4A7C15L;
+                        if (cache.computeIfAbsent(hash, h -> ~h) != ~hash) {
+                            wrong++;
+                        }
+                    }
+                    return wrong;
+                });
+            }
+            for (var result : executor.invokeAll(tasks)) {
+                assertEquals(0, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals((long) threads * lookups, cache.getHits() + cache.getMisses());
+    }
+}
@@ -0,0 +1,136 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link RollingLogFile}: files roll over exactly at the size limit, backups are shifted
+ * and the oldest one is dropped, and the kept files read back the newest entries in order.
+ */
+class RollingLogFileTest {
+
+    /**
+     * Amount of entries fitting into one file.
+     */
+    private static final int ENTRIES_PER_FILE = 4;
+
+    /**
+     * Amount of kept rolled over files.
+     */
+    private static final int BACKUPS = 2;
+
+    /**
+     * Directory of log files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test of a file which holds exactly four entries: the fifth entry starts a new file, and every file
+     * but the one being written is full.
+     *
+     * @throws IOException when it is impossible to write or read the files
+     */
+    @Test
+    void fileRollsOverAtSizeLimit() throws IOException {
+        var path = directory.resolve("game.log");
+        try (var file = new RollingLogFile(path, ENTRIES_PER_FILE * lineBytes(0), BACKUPS)) {
+            for (var i = 0; i < ENTRIES_PER_FILE; i++) {
+                file.accept(entry(i));
+            }
+            assertEquals(ENTRIES_PER_FILE * lineBytes(0), Files.size(path));
+            assertFalse(Files.exists(file.backupPath(1)));
+            file.accept(entry(ENTRIES_PER_FILE));
+            assertEquals(List.of(entry(ENTRIES_PER_FILE)), Files.readAllLines(path));
+            assertEquals(ENTRIES_PER_FILE * lineBytes(0), Files.size(file.backupPath(1)));
+        }
+    }
+
+    /**
+     * Test of many rollovers: only the configured amount of backups is kept, and the backups followed
+     * by the current file read back as the newest entries in order of writing.
+     *
+     * @throws IOException when it is impossible to write or read the files
+     */
+    @Test
+    void keptFilesReadBackNewestEntries() throws IOException {
+        var path = directory.resolve("game.log");
+        var written = 5 * ENTRIES_PER_FILE + 2;
+        try (var file = new RollingLogFile(path, ENTRIES_PER_FILE * lineBytes(0), BACKUPS)) {
+            for (var i = 0; i < written; i++) {
+                file.accept(entry(i));
+            }
+            assertFalse(Files.exists(file.backupPath(BACKUPS + 1)));
+            var lines = new ArrayList<String>();
+            for (var index = BACKUPS; index >= 1; index--) {
+                lines.addAll(Files.readAllLines(file.backupPath(index), StandardCharsets.UTF_8));
+            }
+            lines.addAll(Files.readAllLines(path, StandardCharsets.UTF_8));
+            var expected = new ArrayList<String>();
+            for (var i = written - lines.size(); i < written; i++) {
+                expected.add(entry(i));
+            }
+            assertEquals(BACKUPS * ENTRIES_PER_FILE + 2, lines.size());
+            assertEquals(expected, lines);
+        }
+    }
+
+    /**
+     * Test of an entry longer than the limit, which is written to a file of its own, and of reopening,
+     * which appends to the existing file and counts its size.
+     *
+     * @throws IOException when it is impossible to write or read the files
+     */
+    @Test
+    void longEntriesAndReopenedFilesRespectLimit() throws IOException {
+        var path = directory.resolve("game.log");
+        var longEntry = "x".repeat(3 * ENTRIES_PER_FILE * lineBytes(0));
+        try (var file = new RollingLogFile(path, ENTRIES_PER_FILE * lineBytes(0), BACKUPS)) {
+            file.accept(longEntry);
+            file.accept(entry(0));
+            assertEquals(List.of(longEntry), Files.readAllLines(file.backupPath(1)));
+        }
+        try (var file = new RollingLogFile(path, ENTRIES_PER_FILE * lineBytes(0), BACKUPS)) {
+            for (var i = 1; i <= ENTRIES_PER_FILE; i++) {
+                file.accept(entry(i));
+            }
+            assertEquals(List.of(entry(ENTRIES_PER_FILE)), Files.readAllLines(path));
+            assertEquals(List.of(entry(0), entry(1), entry(2), entry(3)), Files.readAllLines(file.backupPath(1)));
+            assertEquals(List.of(longEntry), Files.readAllLines(file.backupPath(2)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new RollingLogFile(path, 0, BACKUPS));
+        assertTrue(Files.exists(path));
+    }
+
+    /**
+     * Method to build the entry of the given number; all entries have the same length.
+     *
+     * @param index number of the entry
+     * @return text of the entry
+     */
+    private static String entry(int index) {
+        return String.format("shot %04d", index);
+    }
+
+    /**
+     * Method to compute the size of the entry written as a line.
+     *
+     * @param index number of the entry
+     * @return size of the line in bytes
+     */
+    private static int lineBytes(int index) {
+        return (entry(index) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,172 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link ShardCoordinator}, {@link ShardWorker} and {@link ShardStatistics}: statistics merged
+ * from shards, in whatever order and process they were played, equal statistics of a single process.
+ * Statistics are compared by their encoding, which holds every counter.
+ */
+class ShardCoordinatorTest {
+
+    /**
+     * Workers receive only the size of the field, so the fleet is the standard one.
+     */
+    private static final GameConfig CONFIG = GameConfig.STANDARD;
+
+    /**
+     * Fast strategies, so a few dozen games take a fraction of a second.
+     */
+    private static final List<String> NAMES = List.of("random", "hunt-target");
+
+    /**
+     * Seed of the job.
+     */
+    private static final long SEED = 24;
+
+    /**
+     * Amount of games of the job, not a multiple of {@link #SHARD_SIZE}, so the last shard is shorter.
+     */
+    private static final long GAMES = 40;
+
+    /**
+     * Amount of games of every shard but the last one.
+     */
+    private static final int SHARD_SIZE = 7;
+
+    /**
+     * Directory of checkpoints.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Test of shards played in one process and merged in random order after a round trip through their encoding.
+     */
+    @Test
+    void shardsMergeToSingleProcess() {
+        var worker = new ShardWorker(CONFIG, NAMES, SEED);
+        var expected = worker.play(0, GAMES).encode();
+        var random = new Random(24);
+        for (var shardSize : new int[]{1, 3, SHARD_SIZE, (int) GAMES}) {
+            var encoded = new ArrayList<String>();
+            for (var from = 0L; from < GAMES; from += shardSize) {
+                encoded.add(worker.play(from, Math.min(GAMES, from + shardSize)).encode());
+            }
+            Collections.shuffle(encoded, random);
+            var merged = new ShardStatistics(NAMES.size(), CONFIG.getCells());
+            for (var line : encoded) {
+                merged.merge(ShardStatistics.decode(NAMES.size(), CONFIG.getCells(), line));
+            }
+            assertEquals(GAMES, merged.getGames());
+            assertEquals(expected, merged.encode(), "Shards of " + shardSize + " games");
+        }
+    }
+
+    /**
+     * Test of the job played by worker processes, then resumed from its checkpoint without playing again.
+     *
+     * @throws Exception when the coordinator fails
+     */
+    @Test
+    void coordinatorMatchesSingleProcess() throws Exception {
+        var expected = new ShardWorker(CONFIG, NAMES, SEED).play(0, GAMES).encode();
+        var checkpoint = directory.resolve("job.txt");
+        var coordinator = new ShardCoordinator(CONFIG, NAMES, SEED, GAMES, SHARD_SIZE, 2, checkpoint);
+        assertEquals(6, coordinator.getShards());
+        assertEquals(expected, withWorkerClassPath(coordinator).encode());
+        assertEquals(0, coordinator.getResumedShards());
+
+        var resumed = new ShardCoordinator(CONFIG, NAMES, SEED, GAMES, SHARD_SIZE, 2, checkpoint);
+        assertEquals(expected, withWorkerClassPath(resumed).encode());
+        assertEquals(6, resumed.getResumedShards());
+        assertEquals(GAMES, resumed.getResumedGames());
+    }
+
+    /**
+     * Test of a checkpoint cut short by a crash in the middle of a line: the damaged shard is played again.
+     *
+     * @throws Exception when the coordinator fails
+     */
+    @Test
+    void damagedCheckpointLineIsPlayedAgain() throws Exception {
+        var expected = new ShardWorker(CONFIG, NAMES, SEED).play(0, GAMES).encode();
+        var checkpoint = directory.resolve("job.txt");
+        withWorkerClassPath(new ShardCoordinator(CONFIG, NAMES, SEED, GAMES, SHARD_SIZE, 1, checkpoint));
+        var lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        var last = lines.remove(lines.size() - 1);
+        lines.add(last.substring(0, last.length() / 2));
+        Files.write(checkpoint, lines, StandardCharsets.UTF_8);
+
+        var resumed = new ShardCoordinator(CONFIG, NAMES, SEED, GAMES, SHARD_SIZE, 1, checkpoint);
+        assertEquals(expected, withWorkerClassPath(resumed).encode());
+        assertEquals(5, resumed.getResumedShards());
+    }
+
+    /**
+     * Test of workers halting in the middle of every second shard: their shards are given to restarted workers.
+     *
+     * @throws Exception when the coordinator fails
+     */
+    @Test
+    void crashedWorkersAreRestarted() throws Exception {
+        var expected = new ShardWorker(CONFIG, NAMES, SEED).play(0, GAMES).encode();
+        var coordinator = new ShardCoordinator(CONFIG, NAMES, SEED, GAMES, SHARD_SIZE, 2, null);
+        System.setProperty("battleship.shard.crashAfter", "1");
+        try {
+            assertEquals(expected, withWorkerClassPath(coordinator).encode());
+        } finally {
+            System.clearProperty("battleship.shard.crashAfter");
+        }
+        assertTrue(coordinator.getRestarts() > 0, "No worker crashed");
+    }
+
+    /**
+     * Test of a checkpoint of another job, which is not mixed into the results.
+     *
+     * @throws Exception when it is impossible to write the checkpoint
+     */
+    @Test
+    void checkpointOfAnotherJobIsRejected() throws Exception {
+        var checkpoint = directory.resolve("job.txt");
+        Files.writeString(checkpoint, "JOB " + (SEED + 1) + " 10 10 random,hunt-target " + GAMES + " " + SHARD_SIZE
+                + "\n", StandardCharsets.UTF_8);
+        var coordinator = new ShardCoordinator(CONFIG, NAMES, SEED, GAMES, SHARD_SIZE, 1, checkpoint);
+        assertThrows(IllegalArgumentException.class, coordinator::run);
+    }
+
+    /**
+     * Method which runs the coordinator with the class path of worker processes including the classes of the game.
+     * Tests run on the module path, so the class path of this process alone does not.
+     *
+     * @param coordinator coordinator to run
+     * @return statistics merged from all shards
+     * @throws Exception when the coordinator fails
+     */
+    private static ShardStatistics withWorkerClassPath(ShardCoordinator coordinator) throws Exception {
+        var classPath = System.getProperty("java.class.path");
+        var modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null) {
+            System.setProperty("java.class.path", modulePath + File.pathSeparator + classPath);
+        }
+        try {
+            return coordinator.run();
+        } finally {
+            System.setProperty("java.class.path", classPath);
+        }
+    }
+}
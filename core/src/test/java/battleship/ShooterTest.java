@@ -0,0 +1,146 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link Shooter} strategies: every strategy sinks the fleet without shooting a cell twice,
+ * also when it is reused for many games, and smarter strategies need fewer shots.
+ */
+class ShooterTest {
+
+    /**
+     * Small field, where the last ships are found by elimination.
+     */
+    private static final GameConfig SMALL = new GameConfig(6, 6, List.of(new GameConfig.FleetEntry(3, 1),
+            new GameConfig.FleetEntry(2, 1), new GameConfig.FleetEntry(1, 1)));
+
+    /**
+     * Amount of games of every strategy on every field.
+     */
+    private static final int GAMES = 40;
+
+    /**
+     * Time budget of a decision of the posterior shooter in nanoseconds.
+     */
+    private static final long POSTERIOR_BUDGET = 2_000_000;
+
+    /**
+     * Test of every strategy of the tournament on the standard and the small field.
+     */
+    @Test
+    void strategiesFinishGamesWithoutRepeatedShots() {
+        for (var config : List.of(GameConfig.STANDARD, SMALL)) {
+            var means = new HashMap<String, Double>();
+            for (var entry : Tournament.STRATEGIES.entrySet()) {
+                var shooter = entry.getValue().apply(config, new SplittableRandom(8));
+                means.put(entry.getKey(), playGames(config, shooter, GAMES, entry.getKey()));
+            }
+            if (config == GameConfig.STANDARD) {
+                assertTrue(means.get("hunt-target") < means.get("random"), means.toString());
+                assertTrue(means.get("density") < means.get("hunt-target"), means.toString());
+                assertTrue(means.get("endgame") < means.get("hunt-target"), means.toString());
+            }
+        }
+    }
+
+    /**
+     * Test of the posterior shooter with a short time budget, reused for several games.
+     */
+    @Test
+    void posteriorShooterFinishesGames() {
+        var shooter = new PosteriorShooter(SMALL, new PosteriorSampler(SMALL, 8), POSTERIOR_BUDGET);
+        playGames(SMALL, shooter, 5, "posterior");
+    }
+
+    /**
+     * Method which plays games with random layouts and checks every shot.
+     *
+     * @param config  size of the playing field and composition of the fleet
+     * @param shooter shooter reused for all games
+     * @param games   amount of games
+     * @param name    name of the strategy
+     * @return mean amount of shots to sink the fleet
+     */
+    private static double playGames(GameConfig config, Shooter shooter, int games, String name) {
+        var random = new SplittableRandom(8);
+        var total = 0L;
+        for (var game = 0; game < games; game++) {
+            var ocean = new Ocean(config);
+            ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+            var checked = new CheckingShooter(shooter, ocean, name + ", game " + game);
+            var shots = Shooter.play(checked, ocean);
+            assertTrue(ocean.isGameOver());
+            assertEquals(checked.shots, shots, name + ", game " + game);
+            assertTrue(shots <= config.getCells(), name + ", game " + game);
+            total += shots;
+        }
+        return (double) total / games;
+    }
+
+    /**
+     * Shooter which passes calls on and asserts that every chosen cell is inside the field and not shot at yet.
+     */
+    private static final class CheckingShooter implements Shooter {
+
+        /**
+         * Checked shooter.
+         */
+        private final Shooter shooter;
+
+        /**
+         * Ocean of the game.
+         */
+        private final Ocean ocean;
+
+        /**
+         * Description of the game for failure messages.
+         */
+        private final String game;
+
+        /**
+         * Amount of shots chosen.
+         */
+        private int shots;
+
+        /**
+         * Constructor, the purpose of which is to wrap the shooter.
+         *
+         * @param shooter checked shooter
+         * @param ocean   ocean of the game
+         * @param game    description of the game for failure messages
+         */
+        CheckingShooter(Shooter shooter, Ocean ocean, String game) {
+            this.shooter = shooter;
+            this.ocean = ocean;
+            this.game = game;
+        }
+
+        @Override
+        public int nextShot() {
+            var cell = shooter.nextShot();
+            var columns = ocean.getConfig().getColumns();
+            assertTrue(cell >= 0 && cell < ocean.getConfig().getCells(), game + ", cell " + cell);
+            assertFalse(ocean.isShot(cell / columns, cell % columns), game + ", cell " + cell + " shot again");
+            shots++;
+            return cell;
+        }
+
+        @Override
+        public void observe(int row, int column, ShotResult result) {
+            shooter.observe(row, column, result);
+        }
+
+        @Override
+        public void reset() {
+            shooter.reset();
+        }
+    }
+}
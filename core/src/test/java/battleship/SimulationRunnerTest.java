@@ -0,0 +1,112 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests of {@link SimulationRunner} and {@link SimulationReport}: a seeded batch is reproduced exactly,
+ * and statistics merged from several workers agree with runs and reports of a single worker.
+ */
+class SimulationRunnerTest {
+
+    /**
+     * Seed of tested batches.
+     */
+    private static final long SEED = 2;
+
+    /**
+     * Test of a batch sharded unevenly between workers and run twice with the same seed:
+     * every worker plays the same games, and another seed gives other games.
+     *
+     * @throws InterruptedException when the test thread is interrupted
+     */
+    @Test
+    void seededRunIsDeterministic() throws InterruptedException {
+        var first = new SimulationRunner(301, 3, SEED).run();
+        var second = new SimulationRunner(301, 3, SEED).run();
+        assertEquals(3, first.getWorkers().size());
+        for (var i = 0; i < 3; i++) {
+            var expected = first.getWorkers().get(i);
+            var actual = second.getWorkers().get(i);
+            assertEquals(i, actual.getWorkerIndex());
+            assertEquals(i == 0 ? 101 : 100, actual.getGamesPlayed());
+            assertArrayEquals(trimmed(expected.getShotsHistogram()), trimmed(actual.getShotsHistogram()),
+                    "Worker " + i);
+        }
+        assertArrayEquals(trimmed(first.getShotsHistogram()), trimmed(second.getShotsHistogram()));
+        var other = new SimulationRunner(301, 3, SEED + 1).run();
+        assertFalse(Arrays.equals(trimmed(first.getShotsHistogram()), trimmed(other.getShotsHistogram())));
+    }
+
+    /**
+     * Test of merging: the merged histogram is the sum of the histograms of workers, the first worker
+     * plays the same games as a single worker run from the same seed, and a report of one worker holding
+     * all games gives the same totals, mean and percentiles as the merged report.
+     *
+     * @throws InterruptedException when the test thread is interrupted
+     */
+    @Test
+    void mergedStatisticsMatchSingleWorker() throws InterruptedException {
+        var merged = new SimulationRunner(402, 4, SEED).run();
+        var sum = new long[0];
+        for (var worker : merged.getWorkers()) {
+            var histogram = worker.getShotsHistogram();
+            sum = Arrays.copyOf(sum, Math.max(sum.length, histogram.length));
+            for (var shots = 0; shots < histogram.length; shots++) {
+                sum[shots] += histogram[shots];
+            }
+        }
+        assertArrayEquals(trimmed(sum), trimmed(merged.getShotsHistogram()));
+        assertEquals(402, merged.getGamesPlayed());
+
+        var firstWorker = merged.getWorkers().get(0);
+        var single = new SimulationRunner(firstWorker.getGamesPlayed(), 1, SEED).run();
+        assertArrayEquals(trimmed(firstWorker.getShotsHistogram()), trimmed(single.getShotsHistogram()));
+        assertEquals(firstWorker.getMeanShots(), single.getMeanShots(), 1e-9);
+
+        var combined = new SimulationReport(List.of(new WorkerStatistics(0, 402, 1, sum)), 1);
+        assertEquals(combined.getGamesPlayed(), merged.getGamesPlayed());
+        assertEquals(combined.getMeanShots(), merged.getMeanShots(), 1e-9);
+        for (var fraction : new double[]{0, 0.1, 0.5, 0.9, 0.99, 1}) {
+            assertEquals(combined.getShotsPercentile(fraction), merged.getShotsPercentile(fraction),
+                    "Fraction " + fraction);
+        }
+    }
+
+    /**
+     * Test of a report merged from workers with histograms of different lengths and from an idle worker.
+     */
+    @Test
+    void reportMergesHistogramsOfDifferentLengths() {
+        var report = new SimulationReport(List.of(
+                new WorkerStatistics(0, 3, 1, new long[]{0, 1, 2}),
+                new WorkerStatistics(1, 0, 1, new long[0]),
+                new WorkerStatistics(2, 2, 1, new long[]{0, 0, 0, 0, 1, 1})), 10);
+        assertArrayEquals(new long[]{0, 1, 2, 0, 1, 1}, report.getShotsHistogram());
+        assertEquals(5, report.getGamesPlayed());
+        assertEquals((1 + 2 * 2 + 4 + 5) / 5.0, report.getMeanShots(), 1e-9);
+        assertEquals(1, report.getShotsPercentile(0));
+        assertEquals(2, report.getShotsPercentile(0.5));
+        assertEquals(5, report.getShotsPercentile(1));
+    }
+
+    /**
+     * Method which removes trailing empty buckets of a histogram, whose length depends on how it has grown.
+     *
+     * @param histogram histogram of games by amount of shots
+     * @return histogram ending with a non-empty bucket
+     */
+    private static long[] trimmed(long[] histogram) {
+        var length = histogram.length;
+        while (length > 0 && histogram[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(histogram, length);
+    }
+}
@@ -0,0 +1,214 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of large playing fields: {@link CellSet} and {@link CellShipMap} behave the same on both sides
+ * of the switch from dense to sparse storage, games are played on fields above the switch,
+ * and sizes beyond the limits of {@link GameConfig} are rejected.
+ */
+class SparseFieldTest {
+
+    /**
+     * Amounts of cells just below, at and above the switch to sparse storage, and of the largest field.
+     */
+    private static final int[] CELLS = {CellSet.DENSE_LIMIT - 1, CellSet.DENSE_LIMIT, CellSet.DENSE_LIMIT + 1,
+            GameConfig.MAX_SIDE * GameConfig.MAX_SIDE};
+
+    /**
+     * Test of random additions and removals of single cells and whole words, compared with a bit set.
+     * Enough words are touched to grow the hash table of a sparse set many times.
+     */
+    @Test
+    void cellSetMatchesBitSet() {
+        var random = new SplittableRandom(9);
+        for (var cells : CELLS) {
+            var set = new CellSet(cells);
+            var expected = new BitSet();
+            for (var i = 0; i < 20_000; i++) {
+                var cell = random.nextInt(cells);
+                var action = random.nextInt(4);
+                if (action == 0) {
+                    assertEquals(expected.get(cell), set.remove(cell), "Cell " + cell);
+                    expected.clear(cell);
+                } else if (action == 1) {
+                    var index = cell >>> 6;
+                    var bits = random.nextLong() & (index + 1 < set.getWordCount() ? -1L : lastWordMask(cells));
+                    var added = set.addWord(index, bits);
+                    for (var bit = 0; bit < Long.SIZE; bit++) {
+                        var addedBit = (added >>> bit & 1) != 0;
+                        var wanted = (bits >>> bit & 1) != 0 && !expected.get(index * Long.SIZE + bit);
+                        assertEquals(wanted, addedBit, "Word " + index + ", bit " + bit);
+                        if (addedBit) {
+                            expected.set(index * Long.SIZE + bit);
+                        }
+                    }
+                } else {
+                    assertEquals(!expected.get(cell), set.add(cell), "Cell " + cell);
+                    expected.set(cell);
+                }
+            }
+            assertSameCells(expected, set);
+            var words = new BitSet();
+            expected.stream().forEach(cell -> words.set(cell >>> 6));
+            words.stream().forEach(index -> assertEquals(wordOf(expected, index), set.getWord(index)));
+            set.clear();
+            assertSameCells(new BitSet(), set);
+            assertTrue(set.add(cells - 1));
+            assertTrue(set.contains(cells - 1));
+        }
+    }
+
+    /**
+     * Test of ship ids of random cells compared with a hash map. A dense map keeps ids in chars
+     * and rejects larger ids, a sparse map keeps any id.
+     */
+    @Test
+    void cellShipMapMatchesHashMap() {
+        var random = new SplittableRandom(10);
+        for (var cells : CELLS) {
+            var map = new CellShipMap(cells);
+            var expected = new HashMap<Integer, Integer>();
+            for (var i = 0; i < 20_000; i++) {
+                var cell = random.nextInt(cells);
+                var id = 1 + random.nextInt(Character.MAX_VALUE);
+                map.put(cell, id);
+                expected.put(cell, id);
+            }
+            for (var i = 0; i < 20_000; i++) {
+                var cell = random.nextInt(cells);
+                assertEquals(expected.getOrDefault(cell, 0), map.get(cell), "Cell " + cell);
+            }
+            expected.forEach((cell, id) -> assertEquals(id, map.get(cell), "Cell " + cell));
+            if (cells <= CellSet.DENSE_LIMIT) {
+                assertThrows(IllegalArgumentException.class, () -> map.put(0, Character.MAX_VALUE + 1));
+            } else {
+                map.put(0, Character.MAX_VALUE + 1);
+                assertEquals(Character.MAX_VALUE + 1, map.get(0));
+            }
+        }
+    }
+
+    /**
+     * Test of games on fields above the switch, including the largest field: ships are placed without
+     * the placement generator, and shooting every ship cell and some sea sinks the whole fleet.
+     */
+    @Test
+    void gamesArePlayedAboveThreshold() {
+        var random = new SplittableRandom(11);
+        var justAbove = new GameConfig(257, 256, GameConfig.STANDARD.getFleet());
+        var largest = new GameConfig(GameConfig.MAX_SIDE, GameConfig.MAX_SIDE, GameConfig.STANDARD.getFleet());
+        for (var config : List.of(justAbove, largest)) {
+            assertTrue(config.getCells() > CellSet.DENSE_LIMIT);
+            assertFalse(config.canUsePlacementGenerator());
+            assertThrows(IllegalStateException.class, config::getPlacementGenerator);
+            var ocean = new Ocean(config);
+            ocean.placeAllShipsRandomly(random, PlacementMethod.CONSTRAINT_AWARE);
+            assertEquals(config.getShipsAmount(), ocean.getFleetSize());
+            var shipCells = new ArrayList<Integer>();
+            for (var i = 0; i < ocean.getFleetSize(); i++) {
+                var ship = ocean.getShip(i);
+                for (var part = 0; part < ship.getLength(); part++) {
+                    var row = ship.getBowRow() + (ship.isHorizontal() ? 0 : part);
+                    var column = ship.getBowColumn() + (ship.isHorizontal() ? part : 0);
+                    shipCells.add(row * config.getColumns() + column);
+                }
+            }
+            var misses = new HashSet<Integer>();
+            for (var i = 0; i < 1000; i++) {
+                var cell = random.nextInt(config.getCells());
+                if (!shipCells.contains(cell)) {
+                    assertFalse(ocean.shootAt(cell / config.getColumns(), cell % config.getColumns()));
+                    misses.add(cell);
+                }
+            }
+            for (var cell : shipCells) {
+                assertFalse(ocean.isGameOver());
+                assertTrue(ocean.shootAt(cell / config.getColumns(), cell % config.getColumns()));
+            }
+            assertTrue(ocean.isGameOver());
+            assertEquals(shipCells.size(), ocean.getHitCount());
+            assertEquals(shipCells.size() + misses.size(), ocean.getShots().cardinality());
+        }
+    }
+
+    /**
+     * Test of the limits of the field: sides from 1 to {@link GameConfig#MAX_SIDE} are accepted, other sides
+     * are rejected, and the placement generator is used only when its memory fits into
+     * {@link GameConfig#PRECOMPUTE_LIMIT}.
+     */
+    @Test
+    void sizesOutsideLimitsAreRejected() {
+        var fleet = List.of(new GameConfig.FleetEntry(1, 1));
+        for (var side : new int[]{1, GameConfig.MAX_SIDE}) {
+            assertEquals(side, new GameConfig(side, 1, fleet).getRows());
+            assertEquals(side, new GameConfig(1, side, fleet).getColumns());
+        }
+        for (var side : new int[]{Integer.MIN_VALUE, -1, 0, GameConfig.MAX_SIDE + 1, Integer.MAX_VALUE}) {
+            assertThrows(IllegalArgumentException.class, () -> new GameConfig(side, 10, fleet), "Rows " + side);
+            assertThrows(IllegalArgumentException.class, () -> new GameConfig(10, side, fleet), "Columns " + side);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameConfig(5, 6, List.of(new GameConfig.FleetEntry(7, 1))));
+        assertThrows(IllegalArgumentException.class, () -> new GameConfig(5, 6, List.of()));
+
+        assertTrue(GameConfig.canPrecompute(GameConfig.PRECOMPUTE_LIMIT));
+        assertFalse(GameConfig.canPrecompute(GameConfig.PRECOMPUTE_LIMIT + 1));
+        var atThreshold = new GameConfig(256, 256, GameConfig.STANDARD.getFleet());
+        assertEquals(CellSet.DENSE_LIMIT, atThreshold.getCells());
+        assertEquals(GameConfig.canPrecompute(FleetPlacementGenerator.estimateBytes(256, 256, 4)),
+                atThreshold.canUsePlacementGenerator());
+    }
+
+    /**
+     * Method to compute the mask of cells of the last word of a set.
+     *
+     * @param cells amount of cells which may be in the set
+     * @return bits of the last word which stand for cells
+     */
+    private static long lastWordMask(int cells) {
+        var used = cells % Long.SIZE;
+        return used == 0 ? -1L : (1L << used) - 1;
+    }
+
+    /**
+     * Method to get a word of the bit set.
+     *
+     * @param bits  bit set
+     * @param index index of the word
+     * @return bits {@code 64 * index} to {@code 64 * index + 63}
+     */
+    private static long wordOf(BitSet bits, int index) {
+        var word = bits.get(index * Long.SIZE, (index + 1) * Long.SIZE).toLongArray();
+        return word.length == 0 ? 0 : word[0];
+    }
+
+    /**
+     * Method which asserts that the set holds the same cells as the bit set.
+     *
+     * @param expected expected cells
+     * @param set      checked set
+     */
+    private static void assertSameCells(BitSet expected, CellSet set) {
+        assertEquals(expected.cardinality(), set.cardinality());
+        var visited = new BitSet();
+        set.forEach(cell -> {
+            assertFalse(visited.get(cell), "Cell " + cell + " visited twice");
+            visited.set(cell);
+        });
+        assertEquals(expected, visited);
+        expected.stream().forEach(cell -> assertTrue(set.contains(cell), "Cell " + cell));
+    }
+}
@@ -0,0 +1,164 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link Tournament} and of the ratings of {@link TournamentReport}.
+ */
+class TournamentTest {
+
+    /**
+     * Small field, so a few hundred games take well under a second. Placed ships never leave the next one
+     * without a location, so rejection sampling always finishes.
+     */
+    private static final GameConfig SMALL = new GameConfig(6, 6, List.of(new GameConfig.FleetEntry(3, 1),
+            new GameConfig.FleetEntry(2, 1), new GameConfig.FleetEntry(1, 1)));
+
+    /**
+     * Test of two strategies, where the fit has a closed form: with one virtual draw the expected score
+     * of the first strategy is (wins + draws / 2 + 1 / 2) / (games + 1).
+     */
+    @Test
+    void twoStrategyRatingHasClosedForm() {
+        var tally = new Tournament.Tally(2);
+        for (var game = 0; game < 30; game++) {
+            tally.record(new int[]{40, 50});
+        }
+        for (var game = 0; game < 9; game++) {
+            tally.record(new int[]{50, 40});
+        }
+        tally.record(new int[]{45, 45});
+        var report = report(tally, 2);
+        var score = (30 + 0.5 + 0.5) / 41;
+        var expected = 400 * Math.log10(score / (1 - score));
+        assertEquals(expected, report.getRating(0) - report.getRating(1), 1e-6);
+        assertEquals(2 * TournamentReport.BASE_RATING, report.getRating(0) + report.getRating(1), 1e-6);
+        assertEquals(List.of(0, 1), report.getRanking());
+    }
+
+    /**
+     * Test of draws only, which leave every strategy at the base rating.
+     */
+    @Test
+    void drawsKeepBaseRating() {
+        var tally = new Tournament.Tally(3);
+        for (var game = 0; game < 20; game++) {
+            tally.record(new int[]{60, 60, 60});
+        }
+        var report = report(tally, 3);
+        for (var i = 0; i < 3; i++) {
+            assertEquals(TournamentReport.BASE_RATING, report.getRating(i), 1e-6);
+        }
+    }
+
+    /**
+     * Test of random results of four strategies: ratings satisfy the maximum likelihood equations of the
+     * Bradley-Terry model, where every strategy expects exactly the score it has got.
+     */
+    @Test
+    void ratingsSatisfyLikelihoodEquations() {
+        var random = new SplittableRandom(20);
+        var count = 4;
+        var tally = new Tournament.Tally(count);
+        for (var game = 0; game < 500; game++) {
+            var shots = new int[count];
+            for (var i = 0; i < count; i++) {
+                shots[i] = 40 + random.nextInt(20) - 3 * i;
+            }
+            tally.record(shots);
+        }
+        var report = report(tally, count);
+        var games = tally.getGames();
+        for (var i = 0; i < count; i++) {
+            var score = 0.0;
+            var expected = 0.0;
+            for (var j = 0; j < count; j++) {
+                if (i != j) {
+                    var draws = games - tally.getWins(i, j) - tally.getWins(j, i);
+                    score += tally.getWins(i, j) + 0.5 * draws + 0.5;
+                    var difference = report.getRating(j) - report.getRating(i);
+                    expected += (games + 1) / (1 + Math.pow(10, difference / 400));
+                }
+            }
+            assertEquals(score, expected, 1e-6, "Strategy " + i);
+        }
+        assertEquals(List.of(3, 2, 1, 0), report.getRanking());
+    }
+
+    /**
+     * Test of results sent between processes: listed counters restore the same results, and merging parts
+     * gives the same results as recording all games in one place.
+     */
+    @Test
+    void tallyArrayAndMergeKeepResults() {
+        var random = new SplittableRandom(21);
+        var whole = new Tournament.Tally(3);
+        var first = new Tournament.Tally(3);
+        var second = new Tournament.Tally(3);
+        for (var game = 0; game < 100; game++) {
+            var shots = new int[]{random.nextInt(100), random.nextInt(100), random.nextInt(100)};
+            whole.record(shots);
+            (game % 3 == 0 ? first : second).record(shots);
+        }
+        first.merge(second);
+        assertArrayEquals(whole.toArray(), first.toArray());
+        var values = new long[5 + Tournament.Tally.getArrayLength(3)];
+        System.arraycopy(whole.toArray(), 0, values, 5, Tournament.Tally.getArrayLength(3));
+        assertArrayEquals(whole.toArray(), Tournament.Tally.fromArray(3, values, 5).toArray());
+        assertThrows(IllegalArgumentException.class, () -> Tournament.Tally.fromArray(3, values, 6));
+    }
+
+    /**
+     * Test of reproducibility: the same seed gives the same results whatever the amount of workers,
+     * and the stronger strategy gets the higher rating.
+     *
+     * @throws InterruptedException when the test is interrupted
+     */
+    @Test
+    void resultsDoNotDependOnWorkers() throws InterruptedException {
+        var names = List.of("random", "hunt-target");
+        var single = new Tournament(names, SMALL, 77, 1, 1e9, 300).run();
+        var parallel = new Tournament(names, SMALL, 77, 3, 1e9, 300).run();
+        assertEquals(300, single.getTally().getGames());
+        assertArrayEquals(single.getTally().toArray(), parallel.getTally().toArray());
+        assertEquals(single.getRating(1), parallel.getRating(1));
+        assertTrue(single.getRating(1) > single.getRating(0), "Hunt-target must outrate random shooting");
+        assertEquals(List.of(1, 0), single.getRanking());
+    }
+
+    /**
+     * Test of incorrect tournament parameters.
+     */
+    @Test
+    void incorrectParametersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Tournament(List.of("random"), SMALL, 1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(List.of("random", "psychic"), SMALL, 1, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tournament(List.of("random", "density"), SMALL, 1, 0, 1, 1));
+    }
+
+    /**
+     * Method which creates the report of the results.
+     *
+     * @param tally      results of games
+     * @param strategies amount of strategies
+     * @return report with fitted ratings
+     */
+    private static TournamentReport report(Tournament.Tally tally, int strategies) {
+        var names = new ArrayList<String>();
+        for (var i = 0; i < strategies; i++) {
+            names.add("strategy " + i);
+        }
+        return new TournamentReport(names, tally, 0, 1, 1, 0);
+    }
+}
@@ -0,0 +1,178 @@
+package battleship;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests of {@link ZobristHash}. Random boards are hashed together with their images under every symmetry,
+ * which are built cell by cell through {@link ZobristHash#transform(int, int)}.
+ */
+class ZobristHashTest {
+
+    /**
+     * Amount of random boards of every test.
+     */
+    private static final int BOARDS = 200;
+
+    /**
+     * Test of a square board, which has eight symmetries.
+     */
+    @Test
+    void squareImagesShareCanonicalHash() {
+        assertImagesShareCanonicalHash(10, 10, 8);
+    }
+
+    /**
+     * Test of a rectangular board, which has four symmetries.
+     */
+    @Test
+    void rectangularImagesShareCanonicalHash() {
+        assertImagesShareCanonicalHash(6, 9, 4);
+    }
+
+    /**
+     * Test of the canonical symmetry: the image under it has the canonical hash as its own hash.
+     */
+    @Test
+    void canonicalSymmetryLeadsToCanonicalImage() {
+        var random = new SplittableRandom(13);
+        for (var board = 0; board < BOARDS; board++) {
+            var cells = randomBoard(random, 64);
+            var hash = hash(8, 8, cells, 0);
+            var symmetry = hash.getCanonicalSymmetry();
+            assertEquals(hash.getCanonicalHash(), hash(8, 8, cells, symmetry).getHash());
+        }
+    }
+
+    /**
+     * Test of {@link ZobristHash#inverse(int, int)}, which undoes every transformation.
+     */
+    @Test
+    void inverseUndoesTransform() {
+        for (var shape : new int[][]{{7, 7}, {5, 8}}) {
+            var hash = new ZobristHash(shape[0], shape[1]);
+            for (var symmetry = 0; symmetry < hash.getSymmetries(); symmetry++) {
+                var images = new HashSet<Integer>();
+                for (var cell = 0; cell < shape[0] * shape[1]; cell++) {
+                    var image = hash.transform(cell, symmetry);
+                    images.add(image);
+                    assertEquals(cell, hash.inverse(image, symmetry), "Symmetry " + symmetry + ", cell " + cell);
+                }
+                assertEquals(shape[0] * shape[1], images.size(), "Symmetry " + symmetry + " is not a bijection");
+            }
+        }
+    }
+
+    /**
+     * Test of toggling: a feature toggled twice leaves no trace, and the order of toggles does not matter.
+     */
+    @Test
+    void togglesCommuteAndCancel() {
+        var random = new SplittableRandom(17);
+        var cells = randomBoard(random, 100);
+        var forward = hash(10, 10, cells, 0);
+        var backward = new ZobristHash(10, 10);
+        for (var i = cells.length - 1; i >= 0; i--) {
+            if (cells[i] != 0) {
+                backward.toggle(i, cells[i]);
+            }
+        }
+        assertEquals(forward.getHash(), backward.getHash());
+        assertEquals(forward.getCanonicalHash(), backward.getCanonicalHash());
+        for (var i = 0; i < cells.length; i++) {
+            if (cells[i] != 0) {
+                forward.toggle(i, cells[i]);
+            }
+        }
+        assertEquals(0, forward.getHash());
+        assertEquals(0, forward.getCanonicalHash());
+    }
+
+    /**
+     * Test of boards which are not symmetric to each other: their canonical hashes differ.
+     */
+    @Test
+    void differentBoardsHaveDifferentHashes() {
+        var random = new SplittableRandom(19);
+        var hashes = new HashSet<Long>();
+        for (var board = 0; board < BOARDS; board++) {
+            var hash = new ZobristHash(10, 10);
+            hash.toggle(board % 100, 1);
+            hash.toggle(random.nextInt(100), 2);
+            hash.toggle(random.nextInt(100), 3);
+            hashes.add(hash.getCanonicalHash());
+        }
+        var single = new ZobristHash(10, 10);
+        single.toggle(0, 1);
+        var other = new ZobristHash(10, 10);
+        other.toggle(1, 1);
+        assertNotEquals(single.getCanonicalHash(), other.getCanonicalHash());
+        assertEquals(BOARDS, hashes.size(), BOARDS - hashes.size() + " collisions among random boards");
+    }
+
+    /**
+     * Method which asserts that every image of random boards has the canonical hash of the board.
+     *
+     * @param rows       amount of rows of the board
+     * @param columns    amount of columns of the board
+     * @param symmetries expected amount of symmetries
+     */
+    private static void assertImagesShareCanonicalHash(int rows, int columns, int symmetries) {
+        var random = new SplittableRandom(rows * 31L + columns);
+        for (var board = 0; board < BOARDS; board++) {
+            var cells = randomBoard(random, rows * columns);
+            var hash = hash(rows, columns, cells, 0);
+            assertEquals(symmetries, hash.getSymmetries());
+            for (var symmetry = 1; symmetry < symmetries; symmetry++) {
+                var imageRows = symmetry < 4 ? rows : columns;
+                var imageColumns = symmetry < 4 ? columns : rows;
+                var image = new int[cells.length];
+                for (var cell = 0; cell < cells.length; cell++) {
+                    image[hash.transform(cell, symmetry)] = cells[cell];
+                }
+                assertEquals(hash.getCanonicalHash(), hash(imageRows, imageColumns, image, 0).getCanonicalHash(),
+                        "Symmetry " + symmetry + " of board " + board);
+            }
+        }
+    }
+
+    /**
+     * Method to create a random board, where feature 0 stands for a cell without features.
+     *
+     * @param random generator of pseudo random numbers
+     * @param cells  amount of cells
+     * @return feature of every cell
+     */
+    private static int[] randomBoard(SplittableRandom random, int cells) {
+        var board = new int[cells];
+        for (var cell = 0; cell < cells; cell++) {
+            board[cell] = random.nextInt(4) == 0 ? 1 + random.nextInt(ZobristHash.FEATURES - 1) : 0;
+        }
+        return board;
+    }
+
+    /**
+     * Method which hashes the image of the board under the symmetry.
+     *
+     * @param rows     amount of rows of the board
+     * @param columns  amount of columns of the board
+     * @param board    feature of every cell, 0 for a cell without features
+     * @param symmetry index of the symmetry, 0 for the board itself
+     * @return hash of the image
+     */
+    private static ZobristHash hash(int rows, int columns, int[] board, int symmetry) {
+        var hash = new ZobristHash(rows, columns);
+        var imageHash = symmetry < 4 ? new ZobristHash(rows, columns) : new ZobristHash(columns, rows);
+        for (var cell = 0; cell < board.length; cell++) {
+            if (board[cell] != 0) {
+                imageHash.toggle(hash.transform(cell, symmetry), board[cell]);
+            }
+        }
+        return imageHash;
+    }
+}